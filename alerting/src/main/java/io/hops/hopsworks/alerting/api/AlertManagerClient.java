@@ -36,6 +36,7 @@ import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Response;
 import java.io.Closeable;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -69,6 +70,16 @@ public class AlertManagerClient implements Closeable {
     }
   }
 
+  /**
+   * @return the client of the local Alertmanager followed by the clients of its peers
+   */
+  public List<ClientWrapper> getClients() {
+    List<ClientWrapper> clients = new ArrayList<>();
+    clients.add(this.clientWrapper);
+    clients.addAll(this.peerClients);
+    return clients;
+  }
+
   public Response healthy() throws AlertManagerResponseException, AlertManagerServerException {
     return this.clientWrapper.healthy();
   }
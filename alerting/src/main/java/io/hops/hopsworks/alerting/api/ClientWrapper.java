@@ -58,6 +58,10 @@ public class ClientWrapper implements Closeable {
     this.webTarget = client.target(target);
   }
 
+  public URI getTarget() {
+    return this.webTarget.getUri();
+  }
+
   @Override
   public void close() {
     if (this.client != null) {
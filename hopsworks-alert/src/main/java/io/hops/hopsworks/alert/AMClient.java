@@ -434,6 +434,15 @@ public class AMClient {
   public Response postAlerts(List<PostableAlert> postableAlerts, Project project)
       throws AlertManagerClientCreateException, AlertManagerResponseException, AlertManagerUnreachableException,
       AlertManagerAccessControlException {
+    setProjectLabels(postableAlerts, project);
+    return postAlerts(postableAlerts);
+  }
+
+  /**
+   * Check that the alerts belong to the project, and add the project and alert type labels if they are missing.
+   */
+  public void setProjectLabels(List<PostableAlert> postableAlerts, Project project)
+      throws AlertManagerAccessControlException {
     for (PostableAlert postableAlert : postableAlerts) {
       if (postableAlert.getLabels() == null) {
         throw new IllegalArgumentException("Labels can not be empty.");
@@ -461,7 +470,6 @@ public class AMClient {
         postableAlert.getLabels().put(Constants.ALERT_TYPE_LABEL, AlertType.PROJECT_ALERT.getValue());
       }
     }
-    return postAlerts(postableAlerts);
   }
 
   @Asynchronous
@@ -264,6 +264,24 @@ public class AMConfigUpdater implements Serializable {
     return alertManagerConfig != null;
   }
 
+  /**
+   * Apply all changes to the latest config and write and reload it once. Nothing is written if a change fails, and
+   * the file is rolled back if the reload fails.
+   *
+   * @return true if the config was modified
+   */
+  public boolean apply(AlertManagerConfigController alertManagerConfigController, AlertManagerClient client,
+      ConfigChangeSet changes, AlertManagerConfigFacade alertManagerConfigFacade)
+      throws AlertManagerDuplicateEntryException, AlertManagerNoSuchElementException,
+      AlertManagerConfigUpdateException, AlertManagerConfigReadException {
+    AlertManagerConfig alertManagerConfig = read(alertManagerConfigController, alertManagerConfigFacade);
+    if (!changes.applyTo(alertManagerConfig)) {
+      return false;
+    }
+    writeAndReload(alertManagerConfigController, client, alertManagerConfig, alertManagerConfigFacade);
+    return true;
+  }
+
   public boolean cleanProject(AlertManagerConfigController alertManagerConfigController, AlertManagerClient client,
       Project project, AlertManagerConfigFacade alertManagerConfigFacade, AlertReceiverFacade alertReceiverFacade)
       throws AlertManagerConfigReadException, AlertManagerConfigUpdateException {
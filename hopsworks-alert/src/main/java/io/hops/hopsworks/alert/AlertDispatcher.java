@@ -0,0 +1,234 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.alert;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
+import io.hops.hopsworks.alerting.api.AlertManagerClient;
+import io.hops.hopsworks.alerting.api.ClientWrapper;
+import io.hops.hopsworks.alerting.api.alert.dto.PostableAlert;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerResponseException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerServerException;
+import io.hops.hopsworks.persistence.entity.project.Project;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.EJB;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Posts alerts to the Alertmanager and its peers in the background, so job state changes and monitoring results do
+ * not wait on Alertmanager latency or outages. Alerts are queued, and every second sent in batches to each peer.
+ * A peer that can not be reached is retried with exponential backoff without holding back the other peers.
+ * The queue and the alerts pending for each peer are bounded, alerts that do not fit are dropped and logged.
+ */
+@Startup
+@Singleton
+@Lock(LockType.READ)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class AlertDispatcher {
+  private static final Logger LOGGER = Logger.getLogger(AlertDispatcher.class.getName());
+
+  static final int QUEUE_CAPACITY = 10000;
+  static final int BATCH_SIZE = 100;
+  static final long DISPATCH_INTERVAL_MS = 1000L;
+  static final long MAX_BACKOFF_MS = 5 * 60 * 1000L;
+
+  private final BlockingQueue<PostableAlert> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+  // only accessed by the thread holding dispatching
+  private final Map<URI, Peer> peers = new HashMap<>();
+  private final AtomicBoolean dispatching = new AtomicBoolean(false);
+  private final AtomicLong dropped = new AtomicLong();
+
+  @EJB
+  private AMClient amClient;
+  @Resource
+  private TimerService timerService;
+
+  private Timer timer;
+
+  public AlertDispatcher() {
+  }
+
+  //For test
+  @VisibleForTesting
+  AlertDispatcher(AMClient amClient) {
+    this.amClient = amClient;
+  }
+
+  @PostConstruct
+  public void init() {
+    timer = timerService.createIntervalTimer(DISPATCH_INTERVAL_MS, DISPATCH_INTERVAL_MS,
+      new TimerConfig("Alert dispatcher", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (timer != null) {
+      timer.cancel();
+    }
+    if (!queue.isEmpty()) {
+      LOGGER.log(Level.WARNING, "Shutting down with {0} alerts not dispatched.", queue.size());
+    }
+  }
+
+  /**
+   * Queue alerts of a project. The labels are checked and set before the alerts are queued.
+   *
+   * @throws AlertManagerAccessControlException if an alert does not belong to the project
+   */
+  public void enqueue(List<PostableAlert> postableAlerts, Project project) throws AlertManagerAccessControlException {
+    amClient.setProjectLabels(postableAlerts, project);
+    for (PostableAlert postableAlert : postableAlerts) {
+      if (!queue.offer(postableAlert)) {
+        dropped.incrementAndGet();
+      }
+    }
+  }
+
+  @Timeout
+  public void dispatch() {
+    dispatch(System.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  void dispatch(long now) {
+    if (!dispatching.compareAndSet(false, true)) {
+      // the previous run is still posting
+      return;
+    }
+    try {
+      long droppedAlerts = dropped.getAndSet(0);
+      if (droppedAlerts > 0) {
+        LOGGER.log(Level.WARNING, "Dropped {0} alerts, alert queue is full.", droppedAlerts);
+      }
+      AlertManagerClient client = amClient.getClient();
+      if (client == null) {
+        // keep the alerts queued until the client is created
+        return;
+      }
+      List<PostableAlert> postableAlerts = new ArrayList<>();
+      queue.drainTo(postableAlerts);
+      List<ClientWrapper> clients = client.getClients();
+      Set<URI> targets = clients.stream().map(ClientWrapper::getTarget).collect(Collectors.toSet());
+      peers.entrySet().removeIf(peer -> {
+        if (targets.contains(peer.getKey())) {
+          return false;
+        }
+        if (!peer.getValue().pending.isEmpty()) {
+          LOGGER.log(Level.WARNING, "Dropped {0} alerts of removed Alertmanager peer {1}.",
+            new Object[]{peer.getValue().pending.size(), peer.getKey()});
+        }
+        return true;
+      });
+      for (ClientWrapper clientWrapper : clients) {
+        Peer peer = peers.computeIfAbsent(clientWrapper.getTarget(), Peer::new);
+        peer.add(postableAlerts);
+        peer.send(clientWrapper, now);
+      }
+    } finally {
+      dispatching.set(false);
+    }
+  }
+
+  static long backoff(int failures) {
+    return Math.min(MAX_BACKOFF_MS, DISPATCH_INTERVAL_MS << Math.min(failures, 20));
+  }
+
+  /**
+   * Alerts pending for one Alertmanager, and its retry state.
+   */
+  private static class Peer {
+    private final URI target;
+    private final Deque<PostableAlert> pending = new ArrayDeque<>();
+    private int failures = 0;
+    private long nextAttempt = 0;
+
+    Peer(URI target) {
+      this.target = target;
+    }
+
+    void add(List<PostableAlert> postableAlerts) {
+      pending.addAll(postableAlerts);
+      int overflow = pending.size() - QUEUE_CAPACITY;
+      if (overflow > 0) {
+        for (int i = 0; i < overflow; i++) {
+          pending.pollFirst();
+        }
+        LOGGER.log(Level.WARNING, "Dropped {0} oldest alerts pending for Alertmanager {1}.",
+          new Object[]{overflow, target});
+      }
+    }
+
+    void send(ClientWrapper clientWrapper, long now) {
+      while (!pending.isEmpty() && now >= nextAttempt) {
+        List<PostableAlert> batch = new ArrayList<>(Math.min(BATCH_SIZE, pending.size()));
+        Iterator<PostableAlert> iterator = pending.iterator();
+        while (batch.size() < BATCH_SIZE && iterator.hasNext()) {
+          batch.add(iterator.next());
+        }
+        try {
+          clientWrapper.postAlerts(batch);
+          removeFirst(batch.size());
+          failures = 0;
+          nextAttempt = 0;
+        } catch (AlertManagerResponseException e) {
+          // the Alertmanager rejected the alerts, sending them again will not help
+          LOGGER.log(Level.WARNING, "Alertmanager {0} rejected {1} alerts. {2}",
+            new Object[]{target, batch.size(), e.getMessage()});
+          removeFirst(batch.size());
+        } catch (AlertManagerServerException e) {
+          failures++;
+          nextAttempt = now + backoff(failures);
+          LOGGER.log(Level.WARNING, "Could not post {0} alerts to {1}, retrying in {2} ms. {3}",
+            new Object[]{pending.size(), target, backoff(failures), e.getMessage()});
+        }
+      }
+    }
+
+    private void removeFirst(int count) {
+      for (int i = 0; i < count; i++) {
+        pending.pollFirst();
+      }
+    }
+  }
+}
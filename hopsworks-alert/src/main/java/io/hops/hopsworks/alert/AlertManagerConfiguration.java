@@ -411,13 +411,20 @@ public class AlertManagerConfiguration {
   public void addRoute(Route route, Project project) throws AlertManagerDuplicateEntryException,
       AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerAccessControlException,
       AlertManagerConfigReadException, AlertManagerNoSuchElementException {
+    fixRoute(route, project);
+    addRoute(route);
+  }
+
+  /**
+   * Add the project match to the route and check that the receiver of the route belongs to the project.
+   */
+  public void fixRoute(Route route, Project project) throws AlertManagerAccessControlException {
     ConfigUtil.fixRoute(route, project);
     if (!Strings.isNullOrEmpty(route.getReceiver()) && !route.getReceiver()
         .startsWith(Constants.RECEIVER_NAME_PREFIX.replace(Constants.PROJECT_PLACE_HOLDER, project.getName()))) {
       throw new AlertManagerAccessControlException(
           "You do not have permission to add a route with receiver=" + route.getReceiver());
     }
-    addRoute(route);
   }
 
   public void addRoute(Route route)
@@ -477,6 +484,25 @@ public class AlertManagerConfiguration {
     }
   }
 
+  /**
+   * Apply a batch of changes with a single write and reload of the Alertmanager config. The batch is applied under
+   * the cluster wide write lock to the latest config, so batches from different nodes do not overwrite each other.
+   */
+  public void apply(ConfigChangeSet changes) throws AlertManagerDuplicateEntryException,
+      AlertManagerNoSuchElementException, AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException,
+      AlertManagerConfigReadException {
+    if (changes.isEmpty()) {
+      return;
+    }
+    doSanityCheck();
+    boolean modified = amConfigUpdater.apply(alertManagerConfigController, amClient.getClient(), changes,
+      alertManagerConfigFacade);
+    if (modified) {
+      // broadcast to all nodes
+      broadcast("Alert Manager Config " + changes.size() + " changes applied");
+    }
+  }
+
   public void cleanProject(Project project) throws AlertManagerConfigReadException, AlertManagerConfigUpdateException {
     boolean cleaned = amConfigUpdater.cleanProject(alertManagerConfigController, amClient.getClient(), project,
       alertManagerConfigFacade, alertReceiverFacade);
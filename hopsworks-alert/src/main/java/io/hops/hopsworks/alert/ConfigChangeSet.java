@@ -0,0 +1,101 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.alert;
+
+import io.hops.hopsworks.alerting.config.ConfigUpdater;
+import io.hops.hopsworks.alerting.config.dto.AlertManagerConfig;
+import io.hops.hopsworks.alerting.config.dto.Route;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerDuplicateEntryException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerNoSuchElementException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An ordered batch of changes to the Alertmanager configuration. The changes are applied in memory to the latest
+ * configuration and written with a single write and reload, see {@link AlertManagerConfiguration#apply}. If one
+ * change fails none of them is written.
+ */
+public class ConfigChangeSet {
+
+  @FunctionalInterface
+  interface Change {
+    /**
+     * @return true if the configuration was modified
+     */
+    boolean apply(AlertManagerConfig alertManagerConfig) throws AlertManagerDuplicateEntryException,
+      AlertManagerNoSuchElementException;
+  }
+
+  private final List<Change> changes = new ArrayList<>();
+
+  /**
+   * @param ignoreDuplicate do not fail if the route already exists
+   */
+  public ConfigChangeSet addRoute(Route route, boolean ignoreDuplicate) {
+    changes.add(alertManagerConfig -> {
+      try {
+        ConfigUpdater.addRoute(alertManagerConfig, route);
+        return true;
+      } catch (AlertManagerDuplicateEntryException e) {
+        if (ignoreDuplicate) {
+          return false;
+        }
+        throw e;
+      }
+    });
+    return this;
+  }
+
+  public ConfigChangeSet updateRoute(Route routeToUpdate, Route route) {
+    changes.add(alertManagerConfig -> {
+      ConfigUpdater.updateRoute(alertManagerConfig, routeToUpdate, route);
+      return true;
+    });
+    return this;
+  }
+
+  /**
+   * Remove the route if it exists.
+   */
+  public ConfigChangeSet removeRoute(Route route) {
+    changes.add(alertManagerConfig -> alertManagerConfig.getRoute() != null &&
+      ConfigUpdater.removeRoute(alertManagerConfig, route) != null);
+    return this;
+  }
+
+  public boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  public int size() {
+    return changes.size();
+  }
+
+  /**
+   * Apply all changes, in the order they were added, to alertManagerConfig.
+   *
+   * @return true if the configuration was modified
+   */
+  boolean applyTo(AlertManagerConfig alertManagerConfig) throws AlertManagerDuplicateEntryException,
+    AlertManagerNoSuchElementException {
+    boolean modified = false;
+    for (Change change : changes) {
+      modified |= change.apply(alertManagerConfig);
+    }
+    return modified;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.alert;
+
+import io.hops.hopsworks.alerting.api.AlertManagerClient;
+import io.hops.hopsworks.alerting.api.ClientWrapper;
+import io.hops.hopsworks.alerting.api.alert.dto.PostableAlert;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerServerException;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TestAlertDispatcher {
+  private ClientWrapper local;
+  private ClientWrapper peer;
+  private AMClient amClient;
+  private AlertDispatcher alertDispatcher;
+  private final Project project = new Project("project1");
+
+  @Before
+  public void setUp() {
+    local = Mockito.mock(ClientWrapper.class);
+    Mockito.when(local.getTarget()).thenReturn(URI.create("http://10.0.0.1:9093"));
+    peer = Mockito.mock(ClientWrapper.class);
+    Mockito.when(peer.getTarget()).thenReturn(URI.create("http://10.0.0.2:9093"));
+    amClient = Mockito.mock(AMClient.class);
+    Mockito.when(amClient.getClient()).thenReturn(new AlertManagerClient(local, Collections.singletonList(peer)));
+    alertDispatcher = new AlertDispatcher(amClient);
+  }
+
+  private List<PostableAlert> alerts(int count) {
+    List<PostableAlert> postableAlerts = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      postableAlerts.add(new PostableAlert(new HashMap<>(), new HashMap<>()));
+    }
+    return postableAlerts;
+  }
+
+  @Test
+  public void testBatchPerPeer() throws Exception {
+    alertDispatcher.enqueue(alerts(3), project);
+    alertDispatcher.enqueue(alerts(AlertDispatcher.BATCH_SIZE), project);
+    alertDispatcher.dispatch(0);
+    verify(local, times(2)).postAlerts(anyList());
+    verify(peer, times(2)).postAlerts(anyList());
+    verify(local).postAlerts(argThat(batch -> batch.size() == 3));
+    alertDispatcher.dispatch(1000);
+    verify(local, times(2)).postAlerts(anyList());
+  }
+
+  @Test
+  public void testRetryWithBackoff() throws Exception {
+    Mockito.when(peer.postAlerts(anyList())).thenThrow(new AlertManagerServerException("unreachable"))
+      .thenReturn(null);
+    alertDispatcher.enqueue(alerts(2), project);
+    alertDispatcher.dispatch(0);
+    verify(local, times(1)).postAlerts(anyList());
+    verify(peer, times(1)).postAlerts(anyList());
+
+    // the peer is not retried before the backoff, the local Alertmanager still gets new alerts
+    alertDispatcher.enqueue(alerts(1), project);
+    alertDispatcher.dispatch(AlertDispatcher.backoff(1) - 1);
+    verify(local, times(2)).postAlerts(anyList());
+    verify(peer, times(1)).postAlerts(anyList());
+
+    alertDispatcher.dispatch(AlertDispatcher.backoff(1));
+    verify(peer, times(2)).postAlerts(anyList());
+    verify(peer).postAlerts(argThat(batch -> batch.size() == 3));
+  }
+
+  @Test
+  public void testKeepQueuedWithoutClient() throws Exception {
+    Mockito.when(amClient.getClient()).thenReturn(null);
+    alertDispatcher.enqueue(alerts(2), project);
+    alertDispatcher.dispatch(0);
+    verify(local, never()).postAlerts(anyList());
+    Mockito.when(amClient.getClient()).thenReturn(new AlertManagerClient(local, Arrays.asList(peer)));
+    alertDispatcher.dispatch(1000);
+    verify(local).postAlerts(argThat(batch -> batch.size() == 2));
+  }
+
+  @Test
+  public void testBackoff() {
+    Assert.assertEquals(2000, AlertDispatcher.backoff(1));
+    Assert.assertEquals(AlertDispatcher.MAX_BACKOFF_MS, AlertDispatcher.backoff(30));
+  }
+}
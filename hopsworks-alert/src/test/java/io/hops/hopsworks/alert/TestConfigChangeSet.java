@@ -0,0 +1,86 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.alert;
+
+import io.hops.hopsworks.alerting.config.dto.AlertManagerConfig;
+import io.hops.hopsworks.alerting.config.dto.EmailConfig;
+import io.hops.hopsworks.alerting.config.dto.Receiver;
+import io.hops.hopsworks.alerting.config.dto.Route;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerDuplicateEntryException;
+import io.hops.hopsworks.alerting.exceptions.AlertManagerNoSuchElementException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestConfigChangeSet {
+
+  private AlertManagerConfig alertManagerConfig;
+
+  @Before
+  public void setUp() {
+    List<Receiver> receivers = new ArrayList<>();
+    receivers.add(new Receiver("project1__email")
+      .withEmailConfigs(Collections.singletonList(new EmailConfig("test@hopsworks.ai"))));
+    alertManagerConfig = new AlertManagerConfig();
+    alertManagerConfig.setReceivers(receivers);
+    alertManagerConfig.setRoute(new Route("default"));
+  }
+
+  private Route route(String job) {
+    return new Route("project1__email").withMatch(Collections.singletonMap("job", job));
+  }
+
+  @Test
+  public void testApplyInOrder() throws Exception {
+    ConfigChangeSet changes = new ConfigChangeSet()
+      .addRoute(route("job1"), true)
+      .addRoute(route("job2"), true)
+      .removeRoute(route("job1"));
+    Assert.assertEquals(3, changes.size());
+    Assert.assertTrue(changes.applyTo(alertManagerConfig));
+    Assert.assertEquals(Collections.singletonList(route("job2")), alertManagerConfig.getRoute().getRoutes());
+  }
+
+  @Test
+  public void testNoModification() throws Exception {
+    alertManagerConfig.getRoute().setRoutes(new ArrayList<>(Collections.singletonList(route("job1"))));
+    ConfigChangeSet changes = new ConfigChangeSet()
+      .addRoute(route("job1"), true)
+      .removeRoute(route("job2"));
+    Assert.assertFalse(changes.applyTo(alertManagerConfig));
+    Assert.assertEquals(1, alertManagerConfig.getRoute().getRoutes().size());
+  }
+
+  @Test(expected = AlertManagerDuplicateEntryException.class)
+  public void testDuplicateRoute() throws Exception {
+    new ConfigChangeSet()
+      .addRoute(route("job1"), false)
+      .addRoute(route("job1"), false)
+      .applyTo(alertManagerConfig);
+  }
+
+  @Test(expected = AlertManagerNoSuchElementException.class)
+  public void testUnknownReceiver() throws Exception {
+    new ConfigChangeSet()
+      .addRoute(route("job1"), true)
+      .addRoute(new Route("project1__slack").withMatch(Collections.singletonMap("job", "job1")), true)
+      .applyTo(alertManagerConfig);
+  }
+}
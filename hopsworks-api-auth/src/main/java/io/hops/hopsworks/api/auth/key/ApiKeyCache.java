@@ -0,0 +1,133 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.api.auth.key;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiKey;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of verified api keys, keyed by key prefix. Keys are cached with their scopes already loaded, so that a cache
+ * hit does not need to read them from the database. Only the secret digest is kept, never the secret itself.
+ * The status and roles of the key owner are not taken from the cached entity, the api key filter reads them on every
+ * request. Entries are removed on every node of the cluster when a key is edited or deleted.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ApiKeyCache {
+
+  private static final String TOPIC_NAME = "api_key_invalidated";
+  private static final long MAX_SIZE = 10000;
+  private static final long TTL_SECONDS = 30;
+
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private Cache<String, ApiKey> keys;
+  private ITopic<String> invalidatedTopic;
+  private UUID listenerId;
+
+  private Counter hits;
+  private Counter misses;
+
+  @PostConstruct
+  public void init() {
+    keys = Caffeine.newBuilder()
+      .maximumSize(MAX_SIZE)
+      .expireAfterWrite(TTL_SECONDS, TimeUnit.SECONDS)
+      .build();
+    hits = metricRegistry.counter("api_key_cache_hits");
+    misses = metricRegistry.counter("api_key_cache_misses");
+    metricRegistry.gauge("api_key_cache_size", keys::estimatedSize);
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getTopic(TOPIC_NAME);
+      listenerId = invalidatedTopic.addMessageListener(new InvalidatedApiKeyListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (invalidatedTopic != null) {
+      //needed for redeploy to remove the listener
+      invalidatedTopic.removeMessageListener(listenerId);
+    }
+  }
+
+  public ApiKey get(String prefix) {
+    ApiKey apiKey = keys.getIfPresent(prefix);
+    if (apiKey == null) {
+      misses.inc();
+    } else {
+      hits.inc();
+    }
+    return apiKey;
+  }
+
+  /**
+   * Cache a key that was found in the database and verified. Lazy relations read by the api key filter are loaded
+   * here, before the entity is shared between threads.
+   *
+   * @param apiKey verified api key
+   */
+  public void put(ApiKey apiKey) {
+    apiKey.getApiKeyScopeCollection().size();
+    keys.put(apiKey.getPrefix(), apiKey);
+  }
+
+  /**
+   * Remove a key from the cache of every node.
+   *
+   * @param prefix key prefix
+   */
+  public void invalidate(String prefix) {
+    keys.invalidate(prefix);
+    //Notify other nodes if invalidatedTopic is created == Hazelcast is enabled
+    if (invalidatedTopic != null) {
+      invalidatedTopic.publish(prefix);
+    }
+  }
+
+
+  private class InvalidatedApiKeyListener implements MessageListener<String> {
+    @Override
+    public void onMessage(Message<String> message) {
+      if (!message.getPublishingMember().localMember()) {
+        keys.invalidate(message.getMessageObject());
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiKey;
 import io.hops.hopsworks.persistence.entity.util.AbstractFacade;
 
 import javax.ejb.Stateless;
+import javax.persistence.CacheRetrieveMode;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
@@ -32,6 +33,8 @@ import java.util.Set;
 @Stateless
 public class ApiKeyFacade extends AbstractFacade<ApiKey> {
 
+  private static final String CACHE_RETRIEVE_MODE = "javax.persistence.cache.retrieveMode";
+
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager em;
 
@@ -55,6 +58,23 @@ public class ApiKeyFacade extends AbstractFacade<ApiKey> {
     }
   }
 
+  /**
+   * Read the status and groups of the owner of a key, bypassing the shared cache as both can be changed on any node.
+   *
+   * @param uid id of the user
+   * @return the user, or null if it was removed
+   */
+  public Users findUserByUid(Integer uid) {
+    TypedQuery<Users> query = em.createNamedQuery("Users.findByUid", Users.class)
+      .setParameter("uid", uid)
+      .setHint(CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+    try {
+      return query.getSingleResult();
+    } catch (NoResultException e) {
+      return null;
+    }
+  }
+
   public ApiKey findByUserAndName(Users user, String name) {
     TypedQuery<ApiKey> query = em.createNamedQuery("ApiKey.findByUserAndName",
         ApiKey.class).setParameter("user", user).setParameter("name", name);
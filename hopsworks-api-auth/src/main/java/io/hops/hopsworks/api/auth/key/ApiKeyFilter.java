@@ -83,7 +83,7 @@ public abstract class ApiKeyFilter implements ContainerRequestFilter {
     String key = authorizationHeader.substring(API_KEY.length()).trim();
     try {
       ApiKey apiKey = getApiKey(key);
-      Users user = apiKey.getUser();
+      Users user = getUser(apiKey);
       validateUserStatus(user);
       List<String> roles = getUserRoles(user);
       Set<ApiScope> scopes = getApiScopes(apiKey);
@@ -102,6 +102,7 @@ public abstract class ApiKeyFilter implements ContainerRequestFilter {
 
   protected abstract void validateUserStatus(Users user) throws UserException;
   protected abstract ApiKey getApiKey(String key) throws ApiKeyException;
+  protected abstract Users getUser(ApiKey key) throws ApiKeyException;
   protected abstract Set<ApiScope> getApiScopes(ApiKey key);
   protected abstract List<String> getUserRoles(Users user);
   protected abstract RESTLogLevel getRestLogLevel();
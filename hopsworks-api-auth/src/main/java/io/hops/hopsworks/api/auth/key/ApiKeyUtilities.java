@@ -17,6 +17,7 @@ package io.hops.hopsworks.api.auth.key;
 
 import io.hops.hopsworks.api.auth.Secret;
 import io.hops.hopsworks.exceptions.ApiKeyException;
+import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiKey;
 import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiKeyScope;
 import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiScope;
@@ -26,6 +27,8 @@ import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.logging.Level;
@@ -35,24 +38,50 @@ import java.util.logging.Level;
 public class ApiKeyUtilities {
   @EJB
   private ApiKeyFacade apiKeyFacade;
+  @EJB
+  private ApiKeyCache apiKeyCache;
 
   public ApiKey getApiKey(String key) throws ApiKeyException {
     String[] parts = key.split(Secret.KEY_ID_SEPARATOR_REGEX);
     if (parts.length < 2) {
       throw new ApiKeyException(RESTCodes.ApiKeyErrorCode.KEY_INVALID, Level.FINE);
     }
-    ApiKey apiKey = apiKeyFacade.findByPrefix(parts[0]);
+    ApiKey apiKey = apiKeyCache.get(parts[0]);
+    boolean cached = apiKey != null;
+    if (!cached) {
+      apiKey = apiKeyFacade.findByPrefix(parts[0]);
+    }
     if (apiKey == null) {
       throw new ApiKeyException(RESTCodes.ApiKeyErrorCode.KEY_NOT_FOUND_IN_DATABASE, Level.FINE);
     }
     //___MinLength can be set to 0 b/c no validation is needed if the key was in db
     Secret secret = new Secret(parts[0], parts[1], apiKey.getSalt());
-    if (!secret.getSha256HexDigest().equals(apiKey.getSecret())) {
+    if (!MessageDigest.isEqual(secret.getSha256HexDigest().getBytes(StandardCharsets.UTF_8),
+        apiKey.getSecret().getBytes(StandardCharsets.UTF_8))) {
       throw new ApiKeyException(RESTCodes.ApiKeyErrorCode.KEY_INVALID, Level.FINE);
     }
+    // Only keys that passed verification are cached
+    if (!cached) {
+      apiKeyCache.put(apiKey);
+    }
     return apiKey;
   }
 
+  /**
+   * The owner of a key is read on every request, cached keys must not delay a change of the user status or roles.
+   *
+   * @param apiKey verified api key
+   * @return the owner of the key
+   * @throws ApiKeyException if the user no longer exists
+   */
+  public Users getUser(ApiKey apiKey) throws ApiKeyException {
+    Users user = apiKeyFacade.findUserByUid(apiKey.getUser().getUid());
+    if (user == null) {
+      throw new ApiKeyException(RESTCodes.ApiKeyErrorCode.KEY_NOT_FOUND_IN_DATABASE, Level.FINE);
+    }
+    return user;
+  }
+
   public Set<ApiScope> getScopes(ApiKey apiKey) {
     Set<ApiScope> scopes = new HashSet<>();
     for (ApiKeyScope scope : apiKey.getApiKeyScopeCollection()) {
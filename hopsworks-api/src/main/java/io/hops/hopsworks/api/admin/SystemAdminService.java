@@ -52,6 +52,8 @@ import io.hops.hopsworks.common.dao.kafka.TopicDefaultValueDTO;
 import io.hops.hopsworks.common.kafka.KafkaController;
 import io.hops.hopsworks.common.security.CertificatesMgmService;
 import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.common.util.SharedCacheCoordinator;
+import io.hops.hopsworks.common.util.SharedCacheStatsDTO;
 import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.exceptions.OpenSearchException;
 import io.hops.hopsworks.exceptions.EncryptionMasterPasswordException;
@@ -80,6 +82,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.SecurityContext;
 import java.io.IOException;
 import java.util.List;
@@ -109,6 +112,8 @@ public class SystemAdminService {
   private KafkaController kafkaController;
   @EJB
   private SearchFSReindexer searchFSReindexer;
+  @EJB
+  private SharedCacheCoordinator sharedCacheCoordinator;
   
   /**
    * Admin endpoint that changes the master encryption password used to encrypt the certificates' password
@@ -190,6 +195,25 @@ public class SystemAdminService {
     return noCacheResponse.getNoCacheResponseBuilder(Response.Status.OK).entity(response).build();
   }
 
+  @ApiOperation(value = "Get the shared cache hit ratio of every cached entity on this instance")
+  @GET
+  @Path("/cache/entities")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getSharedCacheStats(@Context SecurityContext sc) {
+    GenericEntity<List<SharedCacheStatsDTO>> stats =
+      new GenericEntity<List<SharedCacheStatsDTO>>(sharedCacheCoordinator.getStats()) {};
+    return noCacheResponse.getNoCacheResponseBuilder(Response.Status.OK).entity(stats).build();
+  }
+  
+  @ApiOperation(value = "Empty the shared cache of this instance")
+  @POST
+  @Path("/cache/entities/evict")
+  public Response evictSharedCache(@Context SecurityContext sc) {
+    LOGGER.log(Level.INFO, "Requested emptying the shared cache");
+    sharedCacheCoordinator.evictAll();
+    return Response.noContent().build();
+  }
+
   @ApiOperation(value = "Get kafka system settings")
   @GET
   @Path("/kafka/settings")
@@ -16,6 +16,7 @@
 package io.hops.hopsworks.api.alert;
 
 import com.google.common.base.Strings;
+import io.hops.hopsworks.alert.ConfigChangeSet;
 import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
 import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
 import io.hops.hopsworks.alert.exception.AlertManagerUnreachableException;
@@ -99,6 +100,39 @@ public class FeatureStoreAlertController {
     }
   }
   
+  public void createRoute(Project project, FeatureGroupAlert featureGroupAlert, ConfigChangeSet changes)
+    throws FeaturestoreException {
+    try {
+      alertController.createRoute(project, featureGroupAlert, changes);
+    } catch (AlertManagerAccessControlException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE,
+        e.getMessage());
+    }
+  }
+  
+  public void createRoute(Project project, FeatureViewAlert featureViewAlert, ConfigChangeSet changes)
+    throws FeaturestoreException {
+    try {
+      alertController.createRoute(project, featureViewAlert, changes);
+    } catch (AlertManagerAccessControlException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE,
+        e.getMessage());
+    }
+  }
+  
+  /**
+   * Write the routes collected in changes with a single reload of the alert manager.
+   */
+  public void applyRouteChanges(ConfigChangeSet changes) throws FeaturestoreException {
+    try {
+      alertController.apply(changes);
+    } catch (AlertManagerConfigReadException | AlertManagerConfigCtrlCreateException |
+             AlertManagerConfigUpdateException | AlertManagerNoSuchElementException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE,
+        e.getMessage());
+    }
+  }
+  
   public void deleteRoute(FeatureGroupAlert featureGroupAlert, Project project) throws FeaturestoreException {
     try {
       alertController.deleteRoute(project, featureGroupAlert);
@@ -131,9 +165,11 @@ public class FeatureStoreAlertController {
       featureGroupAlert.setSeverity(dto.getSeverity());
     }
     if (!featureGroupAlert.getReceiver().getName().equals(dto.getReceiver())) {
-      deleteRoute(featureGroupAlert, project);
+      ConfigChangeSet changes = new ConfigChangeSet();
+      alertController.deleteRoute(featureGroupAlert, changes);
       featureGroupAlert.setReceiver(getReceiver(dto.getReceiver()));
-      createRoute(project, featureGroupAlert);
+      createRoute(project, featureGroupAlert, changes);
+      applyRouteChanges(changes);
     }
     featureGroupAlert.setAlertType(alertController.getAlertType(featureGroupAlert.getReceiver()));
     featureGroupAlert = featureGroupAlertFacade.update(featureGroupAlert);
@@ -149,9 +185,11 @@ public class FeatureStoreAlertController {
       featureViewAlert.setSeverity(dto.getSeverity());
     }
     if (!featureViewAlert.getReceiver().getName().equals(dto.getReceiver())) {
-      deleteRoute(featureViewAlert, project);
+      ConfigChangeSet changes = new ConfigChangeSet();
+      alertController.deleteRoute(featureViewAlert, changes);
       featureViewAlert.setReceiver(getReceiver(dto.getReceiver()));
-      createRoute(project, featureViewAlert);
+      createRoute(project, featureViewAlert, changes);
+      applyRouteChanges(changes);
     }
     featureViewAlert.setAlertType(alertController.getAlertType(featureViewAlert.getReceiver()));
     featureViewAlert = featureViewAlertFacade.update(featureViewAlert);
@@ -29,6 +29,7 @@ import io.hops.hopsworks.common.dao.hdfs.inode.InodeFacade;
 import io.hops.hopsworks.common.dao.user.UserFacade;
 import io.hops.hopsworks.common.dataset.DatasetController;
 import io.hops.hopsworks.common.dataset.FilePreviewMode;
+import io.hops.hopsworks.common.tags.TagsDTO;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.DatasetException;
 import io.hops.hopsworks.exceptions.MetadataException;
@@ -44,9 +45,14 @@ import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.ws.rs.core.UriInfo;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -104,22 +110,6 @@ public class InodeBuilder {
     return dto;
   }
   
-  public InodeDTO buildStat(UriInfo uriInfo, ResourceRequest resourceRequest, Users user, DatasetPath datasetPath,
-                            Inode inode, Users dirOwner)
-    throws DatasetException, FeatureStoreMetadataException, MetadataException {
-    InodeDTO dto = new InodeDTO();
-    uri(dto, uriInfo, inode);
-    expand(dto, resourceRequest);
-    if (dto.isExpand()) {
-      String parentPath = datasetPath.getFullPath().toString();
-      dto.setAttributes(inodeAttributeBuilder.build(new InodeAttributeDTO(), resourceRequest, inode, parentPath,
-        dirOwner));
-      dto.setTags(tagsBuilder.build(new InodeTagUri(uriInfo), resourceRequest, user, datasetPath));
-      setZipState(dto);
-    }
-    return dto;
-  }
-
   public InodeDTO buildResource(UriInfo uriInfo, Project project, DatasetPath datasetPath) {
     InodeDTO dto = new InodeDTO();
     uri(dto, uriInfo, project, datasetPath);
@@ -249,12 +239,31 @@ public class InodeBuilder {
     return dto;
   }
   
+  /**
+   * Build the items of a page of a directory listing. The owners, the command executions and the tags of the page
+   * are fetched once for the whole page instead of once per item.
+   */
   private InodeDTO items(UriInfo uriInfo, InodeDTO dto, ResourceRequest resourceRequest, Users user,
                          DatasetPath datasetPath, List<Inode> inodes, Users dirOwner)
     throws DatasetException, FeatureStoreMetadataException, MetadataException {
     if (inodes != null && !inodes.isEmpty()) {
+      String parentPath = datasetPath.getFullPath().toString();
+      Map<String, Users> owners = findOwners(inodes, dirOwner);
+      Map<String, HdfsCommandExecution> commands = hdfsCommandExecutionFacade.findBySrcPaths(
+        inodes.stream().map(inode -> parentPath + File.separator + inode.getInodePK().getName())
+          .collect(Collectors.toList()));
+      TagsDTO tags = tagsBuilder.build(new InodeTagUri(uriInfo), resourceRequest, user, datasetPath);
       for(Inode inode : inodes) {
-        dto.addItem(buildStat(uriInfo, resourceRequest, user, datasetPath, inode, dirOwner));
+        InodeDTO item = new InodeDTO();
+        uri(item, uriInfo, inode);
+        expand(item, resourceRequest);
+        if (item.isExpand()) {
+          item.setAttributes(inodeAttributeBuilder.buildItem(new InodeAttributeDTO(), resourceRequest, inode,
+            parentPath, owners));
+          item.setTags(tags);
+          setZipState(item, Optional.ofNullable(commands.get(item.getAttributes().getPath())));
+        }
+        dto.addItem(item);
       }
     } else if (inodes != null && inodes.isEmpty()) {
       dto.setItems(new ArrayList<>());
@@ -262,9 +271,25 @@ public class InodeBuilder {
     return dto;
   }
   
+  private Map<String, Users> findOwners(List<Inode> inodes, Users dirOwner) {
+    Set<String> usernames = inodes.stream()
+      .map(inode -> inode.getHdfsUser().getUsername())
+      .collect(Collectors.toCollection(HashSet::new));
+    if (dirOwner != null) {
+      usernames.remove(dirOwner.getUsername());
+    }
+    Map<String, Users> owners = usernames.isEmpty() ? new HashMap<>() : userFacade.findByUsernames(usernames);
+    if (dirOwner != null) {
+      owners.put(dirOwner.getUsername(), dirOwner);
+    }
+    return owners;
+  }
+  
   private void setZipState(InodeDTO dto) {
-    Optional<HdfsCommandExecution> hdfsCommandExecution =
-      hdfsCommandExecutionFacade.findBySrcPath(dto.getAttributes().getPath());
+    setZipState(dto, hdfsCommandExecutionFacade.findBySrcPath(dto.getAttributes().getPath()));
+  }
+  
+  private void setZipState(InodeDTO dto, Optional<HdfsCommandExecution> hdfsCommandExecution) {
     ZipState zipState = ZipState.NONE;
     if (hdfsCommandExecution.isPresent()) {
       dto.setHdfsCommand(new HdfsCommandDTO(hdfsCommandExecution.get(), dto.getAttributes().getPath()));
@@ -29,6 +29,7 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.File;
 import java.util.Date;
+import java.util.Map;
 import java.util.logging.Logger;
 
 @Stateless
@@ -73,22 +74,45 @@ public class InodeAttributeBuilder {
   public InodeAttributeDTO build(InodeAttributeDTO dto, ResourceRequest resourceRequest, Inode inode,
     String parentPath, Users dirOwner) {
     if (expand(resourceRequest)) {
-      dto.setId(inode.getId());
-      dto.setName(inode.getInodePK().getName());
-      dto.setAccessTime(new Date(inode.getAccessTime().longValue()));
-      dto.setModificationTime(new Date(inode.getModificationTime().longValue()));
-      dto.setDir(inode.isDir());
-      dto.setOwner(getUserName(inode.getHdfsUser(), dirOwner));
-      dto.setGroup(inode.getHdfsGroup().getName());
-      dto.setParentId(inode.getInodePK().getParentId());
-      String path = parentPath != null ? parentPath + File.separator + inode.getInodePK().getName() :
-        inodeController.getPath(inode);
-      dto.setPath(path);
-      dto.setUnderConstruction(inode.isUnderConstruction());
-      dto.setPermission(FsPermission.createImmutable(inode.getPermission()).toString());
-      dto.setSize(inode.getSize());
+      build(dto, inode, parentPath, getUserName(inode.getHdfsUser(), dirOwner));
     }
     return dto;
   }
   
+  /**
+   * Build the attributes of the items of a directory listing
+   * @param dto
+   * @param resourceRequest
+   * @param inode
+   * @param parentPath
+   * @param owners users owning the items of the listing, keyed by username. Owners that are not in the map are
+   *               treated as unknown users.
+   * @return
+   */
+  public InodeAttributeDTO buildItem(InodeAttributeDTO dto, ResourceRequest resourceRequest, Inode inode,
+    String parentPath, Map<String, Users> owners) {
+    if (expand(resourceRequest)) {
+      String hdfsUserName = inode.getHdfsUser().getUsername();
+      build(dto, inode, parentPath, getFullName(owners.get(hdfsUserName), hdfsUserName));
+    }
+    return dto;
+  }
+  
+  private void build(InodeAttributeDTO dto, Inode inode, String parentPath, String owner) {
+    dto.setId(inode.getId());
+    dto.setName(inode.getInodePK().getName());
+    dto.setAccessTime(new Date(inode.getAccessTime().longValue()));
+    dto.setModificationTime(new Date(inode.getModificationTime().longValue()));
+    dto.setDir(inode.isDir());
+    dto.setOwner(owner);
+    dto.setGroup(inode.getHdfsGroup().getName());
+    dto.setParentId(inode.getInodePK().getParentId());
+    String path = parentPath != null ? parentPath + File.separator + inode.getInodePK().getName() :
+      inodeController.getPath(inode);
+    dto.setPath(path);
+    dto.setUnderConstruction(inode.isUnderConstruction());
+    dto.setPermission(FsPermission.createImmutable(inode.getPermission()).toString());
+    dto.setSize(inode.getSize());
+  }
+  
 }
\ No newline at end of file
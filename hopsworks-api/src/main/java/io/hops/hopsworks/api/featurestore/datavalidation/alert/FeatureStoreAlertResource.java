@@ -15,6 +15,7 @@
  */
 package io.hops.hopsworks.api.featurestore.datavalidation.alert;
 
+import io.hops.hopsworks.alert.ConfigChangeSet;
 import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
 import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
 import io.hops.hopsworks.alert.exception.AlertManagerUnreachableException;
@@ -247,9 +248,12 @@ public abstract class FeatureStoreAlertResource {
     if (bulk) {
       featureStoreAlertValidation.validateBulk(featureGroupAlertDTO);
       dto = new FeatureGroupAlertDTO();
+      // collect the routes of all alerts to reload the alert manager once
+      ConfigChangeSet changes = new ConfigChangeSet();
       for (PostableFeatureStoreAlerts pa : featureGroupAlertDTO.getItems()) {
-        dto.addItem(createAlert(pa, uriInfo, resourceRequest));
+        dto.addItem(createAlert(pa, uriInfo, resourceRequest, changes));
       }
+      featureStoreAlertController.applyRouteChanges(changes);
       dto.setCount((long) featureGroupAlertDTO.getItems().size());
     } else {
       dto = createAlert(featureGroupAlertDTO, uriInfo, resourceRequest);
@@ -260,10 +264,18 @@ public abstract class FeatureStoreAlertResource {
   
   private FeatureGroupAlertDTO createAlert(PostableFeatureStoreAlerts dto, UriInfo uriInfo,
     ResourceRequest resourceRequest) throws FeaturestoreException {
+    ConfigChangeSet changes = new ConfigChangeSet();
+    FeatureGroupAlertDTO featureGroupAlertDTO = createAlert(dto, uriInfo, resourceRequest, changes);
+    featureStoreAlertController.applyRouteChanges(changes);
+    return featureGroupAlertDTO;
+  }
+  
+  private FeatureGroupAlertDTO createAlert(PostableFeatureStoreAlerts dto, UriInfo uriInfo,
+    ResourceRequest resourceRequest, ConfigChangeSet changes) throws FeaturestoreException {
     featureStoreAlertValidation.validate(dto, this.featuregroup, this.featureView);
     FeatureGroupAlert featureGroupAlert =
       featureStoreAlertController.persistFeatureGroupEntityValues(dto, this.featuregroup);
-    featureStoreAlertController.createRoute(project,featureGroupAlert);
+    featureStoreAlertController.createRoute(project, featureGroupAlert, changes);
     return featureGroupAlertBuilder.buildItems(uriInfo, resourceRequest, featureGroupAlert);
   }
   
@@ -356,9 +368,12 @@ public abstract class FeatureStoreAlertResource {
     if (bulk) {
       featureStoreAlertValidation.validateBulk(paDTO);
       dto = new FeatureViewAlertDTO();
+      // collect the routes of all alerts to reload the alert manager once
+      ConfigChangeSet changes = new ConfigChangeSet();
       for (PostableFeatureStoreAlerts pa : paDTO.getItems()) {
-        dto.addItem(createFeatureViewAlert(pa, uriInfo, resourceRequest));
+        dto.addItem(createFeatureViewAlert(pa, uriInfo, resourceRequest, changes));
       }
+      featureStoreAlertController.applyRouteChanges(changes);
       dto.setCount((long) paDTO.getItems().size());
     } else {
       dto = createFeatureViewAlert(paDTO, uriInfo, resourceRequest);
@@ -368,12 +383,20 @@ public abstract class FeatureStoreAlertResource {
   
   private FeatureViewAlertDTO createFeatureViewAlert(PostableFeatureStoreAlerts dto, UriInfo uriInfo,
     ResourceRequest resourceRequest) throws FeaturestoreException {
+    ConfigChangeSet changes = new ConfigChangeSet();
+    FeatureViewAlertDTO fvDTO = createFeatureViewAlert(dto, uriInfo, resourceRequest, changes);
+    featureStoreAlertController.applyRouteChanges(changes);
+    return fvDTO;
+  }
+  
+  private FeatureViewAlertDTO createFeatureViewAlert(PostableFeatureStoreAlerts dto, UriInfo uriInfo,
+    ResourceRequest resourceRequest, ConfigChangeSet changes) throws FeaturestoreException {
     featureStoreAlertValidation.validate(dto, this.featuregroup, this.featureView);
     FeatureViewAlert featureViewAlert;
     FeatureViewAlertDTO fvDTO;
     featureViewAlert = featureStoreAlertController.persistFeatureViewEntityValues(dto, this.featureView);
     fvDTO = featureViewAlertBuilder.buildFeatureViewAlertDto(uriInfo, resourceRequest, featureViewAlert);
-    featureStoreAlertController.createRoute(project,featureViewAlert);
+    featureStoreAlertController.createRoute(project, featureViewAlert, changes);
     return fvDTO;
   }
 }
\ No newline at end of file
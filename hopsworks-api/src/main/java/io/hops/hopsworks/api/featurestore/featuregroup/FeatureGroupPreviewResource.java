@@ -41,11 +41,13 @@ import javax.enterprise.context.RequestScoped;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.BeanParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 @RequestScoped
@@ -90,28 +92,54 @@ public class FeatureGroupPreviewResource {
                              @Context UriInfo uriInfo, @Context SecurityContext sc)
       throws FeaturestoreException, HopsSecurityException {
     Users user = jwtHelper.getUserPrincipal(sc);
+    validateLimit(featureGroupPreviewBeanParam);
 
-    // validate user input
+    PreviewDTO previewDTO = previewBuilder.build(uriInfo, user, project, featuregroup,
+        isOnline(featureGroupPreviewBeanParam), getLimit(featureGroupPreviewBeanParam));
+
+    return Response.ok().entity(previewDTO).build();
+  }
+
+  @ApiOperation(value = "Stream feature group preview, rows are written as they are read")
+  @GET
+  @Path("stream")
+  @Produces(MediaType.APPLICATION_JSON)
+  @AllowedProjectRoles({AllowedProjectRoles.DATA_OWNER, AllowedProjectRoles.DATA_SCIENTIST})
+  @JWTRequired(acceptedTokens = {Audience.API}, allowedUserRoles = {"HOPS_ADMIN", "HOPS_USER", "HOPS_SERVICE_USER"})
+  @ApiKeyRequired(acceptedScopes = {ApiScope.FEATURESTORE},
+    allowedUserRoles = {"HOPS_ADMIN", "HOPS_USER", "HOPS_SERVICE_USER"})
+  public Response streamPreview(@BeanParam FeatureGroupPreviewBeanParam featureGroupPreviewBeanParam,
+                                @Context HttpServletRequest req, @Context SecurityContext sc)
+      throws FeaturestoreException, HopsSecurityException {
+    Users user = jwtHelper.getUserPrincipal(sc);
+    validateLimit(featureGroupPreviewBeanParam);
+
+    StreamingOutput preview = previewBuilder.buildStream(user, project, featuregroup,
+        isOnline(featureGroupPreviewBeanParam), getLimit(featureGroupPreviewBeanParam));
+
+    return Response.ok(preview, MediaType.APPLICATION_JSON).build();
+  }
+
+  private void validateLimit(FeatureGroupPreviewBeanParam featureGroupPreviewBeanParam) {
     if (featureGroupPreviewBeanParam.getLimit() != null && (
         featureGroupPreviewBeanParam.getLimit() < 0  ||
         featureGroupPreviewBeanParam.getLimit() > settings.getFGPreviewLimit())) {
       throw new IllegalArgumentException(
           "Row limit should greater than 0 and lower than: " + settings.getFGPreviewLimit());
     }
+  }
 
-    // set online flag. if the user doesn't provide the storage flag and the feature group
-    // is available online, return the data from the online feature store as it's faster.
-    boolean online;
+  private int getLimit(FeatureGroupPreviewBeanParam featureGroupPreviewBeanParam) {
+    return featureGroupPreviewBeanParam.getLimit() == null ? 20 : featureGroupPreviewBeanParam.getLimit();
+  }
+
+  // set online flag. if the user doesn't provide the storage flag and the feature group
+  // is available online, return the data from the online feature store as it's faster.
+  private boolean isOnline(FeatureGroupPreviewBeanParam featureGroupPreviewBeanParam) {
     if (featureGroupPreviewBeanParam.getStorage() == null) {
-      online = featuregroup.isOnlineEnabled();
+      return featuregroup.isOnlineEnabled();
     } else {
-      online = featureGroupPreviewBeanParam.getStorage().equals(FeatureGroupStorage.ONLINE);
+      return featureGroupPreviewBeanParam.getStorage().equals(FeatureGroupStorage.ONLINE);
     }
-
-    PreviewDTO previewDTO = previewBuilder.build(uriInfo, user, project, featuregroup,
-        online,
-        featureGroupPreviewBeanParam.getLimit() == null ? 20 : featureGroupPreviewBeanParam.getLimit());
-
-    return Response.ok().entity(previewDTO).build();
   }
 }
@@ -16,10 +16,14 @@
 
 package io.hops.hopsworks.api.featurestore.featuregroup;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.hops.hopsworks.common.api.ResourceRequest;
+import io.hops.hopsworks.common.arrowflight.ArrowFlightQueryStream;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupController;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeatureGroupStorage;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeaturegroupPreview;
+import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.exceptions.HopsSecurityException;
 import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
@@ -27,14 +31,21 @@ import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregro
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.javatuples.Pair;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
 import java.net.URI;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -44,6 +55,10 @@ public class PreviewBuilder {
 
   @EJB
   private FeaturegroupController featuregroupController;
+  @EJB
+  private Settings settings;
+
+  private final JsonFactory jsonFactory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
   private URI uri(UriInfo uriInfo, Project project, Featuregroup featuregroup) {
     return uriInfo.getBaseUriBuilder().path(ResourceRequest.Name.PROJECT.toString().toLowerCase())
@@ -82,4 +97,73 @@ public class PreviewBuilder {
     return previewDTO;
   }
 
+  /**
+   * Build a preview written to the response as the rows arrive, as
+   * {"storage": ..., "columns": [names], "rows": [[values], ...]}. Offline previews served by Flying Duck are
+   * streamed with typed values, other previews are read first and written with string values. The Flying Duck stream
+   * is only opened once the response is written, so that it is closed even if the response is never written.
+   */
+  public StreamingOutput buildStream(Users user, Project project, Featuregroup featuregroup, boolean online,
+                                     int limit) throws FeaturestoreException, HopsSecurityException {
+    FeatureGroupStorage storage = online ? FeatureGroupStorage.ONLINE : FeatureGroupStorage.OFFLINE;
+    if (online || !settings.isFlyingduckEnabled()) {
+      FeaturegroupPreview preview;
+      try {
+        preview = featuregroupController.getFeaturegroupPreview(featuregroup, project, user, online, limit);
+      } catch (SQLException e) {
+        throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.COULD_NOT_PREVIEW_FEATUREGROUP,
+            Level.SEVERE, "Feature Group id: " + featuregroup.getId(), e.getMessage(), e);
+      }
+      return output -> {
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+          List<FeaturegroupPreview.Row> rows = preview.getPreview();
+          writeStart(generator, storage, rows.isEmpty() ? Collections.emptyList() :
+              rows.get(0).getValues().stream().map(Pair::getValue0).collect(Collectors.toList()));
+          for (FeaturegroupPreview.Row row : rows) {
+            generator.writeStartArray();
+            for (Pair<String, String> value : row.getValues()) {
+              generator.writeString(value.getValue1());
+            }
+            generator.writeEndArray();
+          }
+          writeEnd(generator);
+        }
+      };
+    }
+
+    return output -> {
+      try (ArrowFlightQueryStream rows = openOfflinePreview(user, project, featuregroup, limit);
+           JsonGenerator generator = jsonFactory.createGenerator(output)) {
+        writeStart(generator, storage, Arrays.asList(rows.getColumnNames()));
+        rows.writeRows(generator, limit);
+        writeEnd(generator);
+      }
+    };
+  }
+
+  private ArrowFlightQueryStream openOfflinePreview(Users user, Project project, Featuregroup featuregroup,
+                                                    int limit) {
+    try {
+      return featuregroupController.openOfflineFeaturegroupPreview(featuregroup, project, user, limit);
+    } catch (FeaturestoreException e) {
+      throw new WebApplicationException(e.getMessage(), e, e.getErrorCode().getRespStatus().getStatusCode());
+    }
+  }
+
+  private void writeStart(JsonGenerator generator, FeatureGroupStorage storage, List<String> columns)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("storage", storage.name());
+    generator.writeArrayFieldStart("columns");
+    for (String column : columns) {
+      generator.writeString(column);
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("rows");
+  }
+
+  private void writeEnd(JsonGenerator generator) throws IOException {
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
 }
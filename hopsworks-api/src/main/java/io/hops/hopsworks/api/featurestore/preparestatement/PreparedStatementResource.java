@@ -23,6 +23,7 @@ import io.hops.hopsworks.api.filter.Audience;
 import io.hops.hopsworks.api.auth.key.ApiKeyRequired;
 import io.hops.hopsworks.api.jwt.JWTHelper;
 import io.hops.hopsworks.common.api.ResourceRequest;
+import io.hops.hopsworks.common.featurestore.query.ServingPreparedStatementCache.ServingPreparedStatements;
 import io.hops.hopsworks.common.featurestore.query.ServingPreparedStatementDTO;
 import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.jwt.annotation.JWTRequired;
@@ -44,7 +45,9 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
@@ -92,6 +95,8 @@ public class PreparedStatementResource {
           UriInfo uriInfo,
       @Context
           HttpServletRequest req,
+      @Context
+          Request request,
       @ApiParam(value = "get batch serving vectors", example = "false")
       @QueryParam("batch")
       @DefaultValue("false")
@@ -102,9 +107,17 @@ public class PreparedStatementResource {
       boolean inference_helper_columns)
       throws FeaturestoreException {
     Users user = jWTHelper.getUserPrincipal(sc);
+    ServingPreparedStatements statements = preparedStatementBuilder.getServingStatements(featureView, project, user,
+      batch, inference_helper_columns);
+    // clients sending the tag of the statements they have skip the payload if the statements did not change
+    EntityTag entityTag = new EntityTag(statements.getEntityTag());
+    Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      return notModified.build();
+    }
     ServingPreparedStatementDTO servingPreparedStatementDTO = preparedStatementBuilder.build(uriInfo,
-       new ResourceRequest(ResourceRequest.Name.PREPAREDSTATEMENTS), project, user, featurestore, featureView, batch,
-      inference_helper_columns);
-    return Response.ok().entity(servingPreparedStatementDTO).build();
+       new ResourceRequest(ResourceRequest.Name.PREPAREDSTATEMENTS), project, featurestore, featureView,
+      statements.getStatements());
+    return Response.ok().entity(servingPreparedStatementDTO).tag(entityTag).build();
   }
 }
@@ -26,6 +26,8 @@ import io.hops.hopsworks.common.featurestore.query.ConstructorController;
 import io.hops.hopsworks.common.featurestore.query.Feature;
 import io.hops.hopsworks.common.featurestore.query.PreparedStatementParameterDTO;
 import io.hops.hopsworks.common.featurestore.query.Query;
+import io.hops.hopsworks.common.featurestore.query.ServingPreparedStatementCache;
+import io.hops.hopsworks.common.featurestore.query.ServingPreparedStatementCache.ServingPreparedStatements;
 import io.hops.hopsworks.common.featurestore.query.ServingPreparedStatementDTO;
 import io.hops.hopsworks.common.featurestore.query.filter.Filter;
 import io.hops.hopsworks.common.featurestore.query.filter.FilterController;
@@ -82,6 +84,8 @@ public class PreparedStatementBuilder {
   private FeaturegroupController featuregroupController;
   @EJB
   private FilterController filterController;
+  @EJB
+  private ServingPreparedStatementCache servingPreparedStatementCache;
 
   private URI uri(UriInfo uriInfo, Project project, Featurestore featurestore, TrainingDataset trainingDataset) {
     return uriInfo.getBaseUriBuilder().path(ResourceRequest.Name.PROJECT.toString().toLowerCase())
@@ -141,6 +145,8 @@ public class PreparedStatementBuilder {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.QUERY_FAILED_FG_DELETED, Level.FINE);
     }
 
+    verifyOnlineEnabled(joins);
+
     List<ServingPreparedStatementDTO> servingPreparedStatementDTOS =
         createServingPreparedStatementDTOS(joins, project, user, batch, false);
 
@@ -148,11 +154,8 @@ public class PreparedStatementBuilder {
   }
 
   public ServingPreparedStatementDTO build(UriInfo uriInfo, ResourceRequest resourceRequest, Project project,
-                                           Users user, Featurestore featurestore, FeatureView featureView,
-                                           boolean batch, boolean inferenceHelperColumns) throws FeaturestoreException {
-    List<ServingPreparedStatementDTO> servingPreparedStatementDTOs =
-        getServingStatements(featureView, project, user, batch, inferenceHelperColumns);
-
+                                           Featurestore featurestore, FeatureView featureView,
+                                           List<ServingPreparedStatementDTO> servingPreparedStatementDTOs) {
     ServingPreparedStatementDTO servingPreparedStatementDTO = new ServingPreparedStatementDTO();
     servingPreparedStatementDTO.setHref(uri(uriInfo, project, featurestore, featureView));
     servingPreparedStatementDTO.setExpand(expand(resourceRequest));
@@ -163,18 +166,36 @@ public class PreparedStatementBuilder {
     return servingPreparedStatementDTO;
   }
 
-  private List<ServingPreparedStatementDTO> getServingStatements(FeatureView featureView,
-          Project project, Users user, boolean batch, boolean inferenceHelperColumns) throws FeaturestoreException {
+  /**
+   * The statements only depend on the feature view and on the schema of its feature groups, they are cached until
+   * the schema of one of the feature groups changes.
+   */
+  public ServingPreparedStatements getServingStatements(FeatureView featureView, Project project, Users user,
+                                                        boolean batch, boolean inferenceHelperColumns)
+      throws FeaturestoreException {
     List<TrainingDatasetJoin> joins = trainingDatasetController.getJoinsSorted(featureView.getJoins());
     // Check that all the feature groups still exists, if not throw a reasonable error
     if (featureView.getFeatures().stream().anyMatch(j -> j.getFeatureGroup() == null)) {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.QUERY_FAILED_FG_DELETED, Level.FINE);
     }
+    verifyOnlineEnabled(joins);
 
-    List<ServingPreparedStatementDTO> servingPreparedStatementDTOS =
-        createServingPreparedStatementDTOS(joins, project, user, batch, inferenceHelperColumns);
+    List<Integer> featureGroupIds = joins.stream()
+        .map(join -> join.getFeatureGroup().getId())
+        .collect(Collectors.toList());
+    return servingPreparedStatementCache.get(featureView.getId(), batch, inferenceHelperColumns, featureGroupIds,
+        () -> createServingPreparedStatementDTOS(joins, project, user, batch, inferenceHelperColumns));
+  }
 
-    return servingPreparedStatementDTOS;
+  private void verifyOnlineEnabled(Collection<TrainingDatasetJoin> joins) throws FeaturestoreException {
+    for (TrainingDatasetJoin join : joins) {
+      Featuregroup featuregroup = join.getFeatureGroup();
+      if (!featuregroup.isOnlineEnabled()){
+        throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATURESTORE_ONLINE_NOT_ENABLED,
+          Level.FINE, "Inference vector is only available for training datasets generated by online enabled " +
+          "feature groups. Feature group `" + featuregroup.getName() + "` is not online enabled.");
+      }
+    }
   }
 
   private List<ServingPreparedStatementDTO> createServingPreparedStatementDTOS(
@@ -186,12 +207,6 @@ public class PreparedStatementBuilder {
     for (TrainingDatasetJoin join : joins) {
       Featuregroup featuregroup = join.getFeatureGroup();
 
-      if (!featuregroup.isOnlineEnabled()){
-        throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATURESTORE_ONLINE_NOT_ENABLED,
-          Level.FINE, "Inference vector is only available for training datasets generated by online enabled " +
-          "feature groups. Feature group `" + featuregroup.getName() + "` is not online enabled.");
-      }
-
       Map<String, Feature> featureGroupFeatures =
         featuregroupController.getFeatures(featuregroup, project, user).stream()
           .collect(Collectors.toMap(FeatureGroupFeatureDTO::getName,
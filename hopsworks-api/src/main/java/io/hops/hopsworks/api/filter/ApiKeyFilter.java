@@ -63,6 +63,10 @@ public class ApiKeyFilter extends io.hops.hopsworks.api.auth.key.ApiKeyFilter {
     return apiKeyUtilities.getApiKey(key);
   }
 
+  protected Users getUser(ApiKey key) throws ApiKeyException {
+    return apiKeyUtilities.getUser(key);
+  }
+
   protected Set<ApiScope> getApiScopes(ApiKey key) {
     return apiKeyUtilities.getScopes(key);
   }
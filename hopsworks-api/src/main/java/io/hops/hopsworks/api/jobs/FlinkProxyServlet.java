@@ -85,7 +85,7 @@ public class FlinkProxyServlet extends ProxyServlet {
           try {
             String key = authorizationHeader.substring(ApiKeyFilter.API_KEY.length()).trim();
             ApiKey apiKey = apiKeyUtilities.getApiKey(key);
-            user = apiKey.getUser();
+            user = apiKeyUtilities.getUser(apiKey);
           } catch (ApiKeyException e) {
             servletResponse.sendError(401, "Could not validate API key");
             return;
@@ -17,6 +17,7 @@
 package io.hops.hopsworks.api.jobs.alert;
 
 import com.google.common.base.Strings;
+import io.hops.hopsworks.alert.ConfigChangeSet;
 import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
 import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
 import io.hops.hopsworks.alert.exception.AlertManagerUnreachableException;
@@ -70,6 +71,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -182,9 +184,11 @@ public class JobAlertsResource {
       jobAlert.setSeverity(jobAlertsDTO.getSeverity());
     }
     if (!jobAlert.getReceiver().getName().equals(jobAlertsDTO.getReceiver())) {
-      deleteRoute(jobAlert);
+      ConfigChangeSet changes = new ConfigChangeSet();
+      alertController.deleteRoute(jobAlert, changes);
       jobAlert.setReceiver(getReceiver(jobAlertsDTO.getReceiver()));
-      createRoute(jobAlert);
+      createRoute(jobAlert, changes);
+      applyRouteChanges(changes);
     }
     jobAlert.setAlertType(alertController.getAlertType(jobAlert.getReceiver()));
     jobAlert = jobalertsFacade.update(jobAlert);
@@ -215,9 +219,18 @@ public class JobAlertsResource {
     JobAlertsDTO dto;
     if (bulk) {
       validateBulk(jobAlertsDTO);
-      dto = new JobAlertsDTO();
+      // collect the routes of all alerts to reload the alert manager once
+      ConfigChangeSet changes = new ConfigChangeSet();
+      List<JobAlert> jobAlerts = new ArrayList<>();
       for (PostableJobAlerts pa : jobAlertsDTO.getItems()) {
-        dto.addItem(createAlert(pa, uriInfo, resourceRequest));
+        JobAlert jobAlert = buildAlert(pa);
+        createRoute(jobAlert, changes);
+        jobAlerts.add(jobAlert);
+      }
+      applyRouteChanges(changes);
+      dto = new JobAlertsDTO();
+      for (JobAlert jobAlert : jobAlerts) {
+        dto.addItem(saveAlert(jobAlert, uriInfo, resourceRequest));
       }
       dto.setCount((long) jobAlertsDTO.getItems().size());
     } else {
@@ -241,6 +254,12 @@ public class JobAlertsResource {
 
   private JobAlertsDTO createAlert(PostableJobAlerts jobAlertsDTO, UriInfo uriInfo, ResourceRequest resourceRequest)
       throws JobException {
+    JobAlert jobAlert = buildAlert(jobAlertsDTO);
+    createRoute(jobAlert);
+    return saveAlert(jobAlert, uriInfo, resourceRequest);
+  }
+
+  private JobAlert buildAlert(PostableJobAlerts jobAlertsDTO) throws JobException {
     validate(jobAlertsDTO);
     JobAlert jobAlert = new JobAlert();
     jobAlert.setStatus(jobAlertsDTO.getStatus());
@@ -249,9 +268,12 @@ public class JobAlertsResource {
     jobAlert.setJobId(job);
     jobAlert.setReceiver(getReceiver(jobAlertsDTO.getReceiver()));
     jobAlert.setAlertType(alertController.getAlertType(jobAlert.getReceiver()));
-    createRoute(jobAlert);
+    return jobAlert;
+  }
+
+  private JobAlertsDTO saveAlert(JobAlert jobAlert, UriInfo uriInfo, ResourceRequest resourceRequest) {
     jobalertsFacade.save(jobAlert);
-    jobAlert = jobalertsFacade.findByJobAndStatus(job, jobAlertsDTO.getStatus());
+    jobAlert = jobalertsFacade.findByJobAndStatus(job, jobAlert.getStatus());
     return jobalertsBuilder.buildItems(uriInfo, resourceRequest, jobAlert);
   }
 
@@ -342,6 +364,23 @@ public class JobAlertsResource {
     }
   }
 
+  private void createRoute(JobAlert jobAlert, ConfigChangeSet changes) throws JobException {
+    try {
+      alertController.createRoute(jobAlert, changes);
+    } catch (AlertManagerAccessControlException e) {
+      throw new JobException(RESTCodes.JobErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE, e.getMessage());
+    }
+  }
+
+  private void applyRouteChanges(ConfigChangeSet changes) throws JobException {
+    try {
+      alertController.apply(changes);
+    } catch (AlertManagerConfigReadException | AlertManagerConfigCtrlCreateException |
+        AlertManagerConfigUpdateException | AlertManagerNoSuchElementException e) {
+      throw new JobException(RESTCodes.JobErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE, e.getMessage());
+    }
+  }
+
   private void deleteRoute(JobAlert jobAlert) throws JobException {
     try {
       alertController.deleteRoute(jobAlert);
@@ -25,6 +25,8 @@ import io.hops.hopsworks.api.util.Pagination;
 import io.hops.hopsworks.common.api.ResourceRequest;
 import io.hops.hopsworks.common.jobs.JobLogDTO;
 import io.hops.hopsworks.common.jobs.execution.ExecutionController;
+import io.hops.hopsworks.common.jobs.execution.JobLogRange;
+import io.hops.hopsworks.common.util.LongRunningHttpRequests;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.GenericException;
 import io.hops.hopsworks.exceptions.JobException;
@@ -35,6 +37,7 @@ import io.hops.hopsworks.persistence.entity.jobs.description.Jobs;
 import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiScope;
+import io.hops.hopsworks.restutils.RESTCodes;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 
@@ -47,29 +50,39 @@ import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RequestScoped
 @TransactionAttribute(TransactionAttributeType.NEVER)
 public class ExecutionsResource {
   
+  private static final Logger LOGGER = Logger.getLogger(ExecutionsResource.class.getName());
+  
   @Inject
   private ExecutionController executionController;
   @EJB
   private ExecutionsBuilder executionsBuilder;
   @EJB
   private Settings settings;
+  @EJB
+  private LongRunningHttpRequests longRunningHttpRequests;
   
   
   @EJB
@@ -200,7 +213,9 @@ public class ExecutionsResource {
     return Response.noContent().build();
   }
   
-  @ApiOperation(value = "Retrieve log of given execution and type", response = JobLogDTO.class)
+  @ApiOperation(value = "Retrieve log of given execution and type. A page of bytes from offset, a page of lines " +
+    "from fromLine, or the last tail lines. Without any of them, the last page of the log.",
+    response = JobLogDTO.class)
   @GET
   @Path("{id}/log/{type}")
   @Produces(MediaType.APPLICATION_JSON)
@@ -210,13 +225,63 @@ public class ExecutionsResource {
   public Response getLog(
     @PathParam("id") Integer id,
     @PathParam("type") JobLogDTO.LogType type,
+    @ApiParam(value = "Byte offset of the page") @QueryParam("offset") Long offset,
+    @ApiParam(value = "Bytes in the page, at most 1MB") @QueryParam("length") Long length,
+    @ApiParam(value = "Zero based first line of the page") @QueryParam("fromLine") Long fromLine,
+    @ApiParam(value = "Lines in the page") @QueryParam("lines") @DefaultValue("1000") Long lines,
+    @ApiParam(value = "Number of lines at the end of the log") @QueryParam("tail") Long tail,
     @Context HttpServletRequest req,
     @Context SecurityContext sc) throws JobException {
     Execution execution = executionController.authorize(job, id);
-    JobLogDTO dto = executionController.getLog(execution, type);
+    JobLogRange range;
+    if (tail != null) {
+      range = JobLogRange.tail(tail);
+    } else if (fromLine != null) {
+      range = JobLogRange.lines(fromLine, lines);
+    } else if (offset != null) {
+      range = JobLogRange.bytes(offset, length == null ? 0 : length);
+    } else {
+      range = JobLogRange.last();
+    }
+    JobLogDTO dto = executionController.getLog(execution, type, range);
     return Response.ok().entity(dto).build();
   }
   
+  @ApiOperation(value = "Follow the log of given execution and type from offset, streamed as it is written until " +
+    "the execution finishes, for at most 30 minutes or until the log has not grown for 5 minutes",
+    response = StreamingOutput.class)
+  @GET
+  @Path("{id}/log/{type}/follow")
+  @Produces(MediaType.TEXT_PLAIN)
+  @AllowedProjectRoles({AllowedProjectRoles.DATA_OWNER, AllowedProjectRoles.DATA_SCIENTIST})
+  @JWTRequired(acceptedTokens={Audience.API}, allowedUserRoles={"HOPS_ADMIN", "HOPS_USER", "HOPS_SERVICE_USER"})
+  @ApiKeyRequired( acceptedScopes = {ApiScope.JOB}, allowedUserRoles = {"HOPS_ADMIN", "HOPS_USER", "HOPS_SERVICE_USER"})
+  public Response followLog(
+    @PathParam("id") Integer id,
+    @PathParam("type") JobLogDTO.LogType type,
+    @ApiParam(value = "Byte offset to follow from") @QueryParam("offset") @DefaultValue("0") Long offset,
+    @Context HttpServletRequest req,
+    @Context SecurityContext sc) throws JobException {
+    Execution execution = executionController.authorize(job, id);
+    // A follower holds a request thread while it follows, it counts as a long-running request like a download
+    if (longRunningHttpRequests.get() >= settings.getMaxLongRunningHttpRequests()) {
+      LOGGER.log(Level.INFO, "The maximum number of allowed long-running requests exceeded. {0}",
+        longRunningHttpRequests.get());
+      throw new JobException(RESTCodes.JobErrorCode.JOB_LOG_FOLLOW_LIMIT_EXCEEDED, Level.FINE);
+    }
+    StreamingOutput stream = out -> {
+      longRunningHttpRequests.increment();
+      try {
+        executionController.followLog(execution, type, offset, out);
+      } catch (JobException ex) {
+        throw new WebApplicationException(ex.getMessage(), ex);
+      } finally {
+        longRunningHttpRequests.decrement();
+      }
+    };
+    return Response.ok(stream).build();
+  }
+  
   @ApiOperation(value = "Retry log aggregation of given execution and type", response = JobLogDTO.class)
   @POST
   @Path("{id}/log/{type}")
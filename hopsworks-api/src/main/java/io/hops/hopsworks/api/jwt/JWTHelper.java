@@ -503,6 +503,16 @@ public class JWTHelper {
     }
     return jwt;
   }
+
+  /**
+   * Invalidate a one time jwt issued for ranged requests unless a partial content is served
+   * @param jwt
+   * @param partialContent
+   * @throws InvalidationException
+   */
+  public void invalidateOneTimeToken(DecodedJWT jwt, boolean partialContent) throws InvalidationException {
+    jwtController.invalidateOneTimeToken(jwt, partialContent);
+  }
   
   /**
    * Create a new signing key for ELK
@@ -17,6 +17,7 @@
 package io.hops.hopsworks.api.project.alert;
 
 import com.google.common.base.Strings;
+import io.hops.hopsworks.alert.ConfigChangeSet;
 import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
 import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
 import io.hops.hopsworks.alert.exception.AlertManagerUnreachableException;
@@ -79,6 +80,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -245,10 +247,12 @@ public class ProjectAlertsResource {
       projectServiceAlert.setSeverity(projectAlertsDTO.getSeverity());
     }
     if (!projectServiceAlert.getReceiver().getName().equals(projectAlertsDTO.getReceiver())) {
-      deleteRoute(projectServiceAlert);
+      ConfigChangeSet changes = new ConfigChangeSet();
+      alertController.deleteRoute(projectServiceAlert, changes);
       projectServiceAlert.setReceiver(getReceiver(projectAlertsDTO.getReceiver()));
       projectServiceAlert.setAlertType(alertController.getAlertType(projectServiceAlert.getReceiver()));
-      createRoute(projectServiceAlert);
+      createRoute(projectServiceAlert, changes);
+      applyRouteChanges(changes);
     }
     projectServiceAlert = projectServiceAlertsFacade.update(projectServiceAlert);
     ResourceRequest resourceRequest = new ResourceRequest(ResourceRequest.Name.ALERTS);
@@ -280,9 +284,18 @@ public class ProjectAlertsResource {
     Project project = getProject();
     if (bulk) {
       validateBulk(projectAlertsDTO);
-      dto = new ProjectAlertsDTO();
+      // collect the routes of all alerts to reload the alert manager once
+      ConfigChangeSet changes = new ConfigChangeSet();
+      List<ProjectServiceAlert> projectServiceAlerts = new ArrayList<>();
       for (PostableProjectAlerts pa : projectAlertsDTO.getItems()) {
-        dto.addItem(createAlert(pa, uriInfo, project, resourceRequest));
+        ProjectServiceAlert projectServiceAlert = buildAlert(pa, project);
+        createRoute(projectServiceAlert, changes);
+        projectServiceAlerts.add(projectServiceAlert);
+      }
+      applyRouteChanges(changes);
+      dto = new ProjectAlertsDTO();
+      for (ProjectServiceAlert projectServiceAlert : projectServiceAlerts) {
+        dto.addItem(saveAlert(projectServiceAlert, uriInfo, resourceRequest));
       }
       dto.setCount((long) projectAlertsDTO.getItems().size());
     } else {
@@ -306,6 +319,13 @@ public class ProjectAlertsResource {
 
   private ProjectAlertsDTO createAlert(PostableProjectAlerts projectAlertsDTO, UriInfo uriInfo, Project project,
       ResourceRequest resourceRequest) throws ProjectException {
+    ProjectServiceAlert projectServiceAlert = buildAlert(projectAlertsDTO, project);
+    createRoute(projectServiceAlert);
+    return saveAlert(projectServiceAlert, uriInfo, resourceRequest);
+  }
+
+  private ProjectServiceAlert buildAlert(PostableProjectAlerts projectAlertsDTO, Project project)
+      throws ProjectException {
     validate(projectAlertsDTO);
     ProjectServiceAlert projectServiceAlert = new ProjectServiceAlert();
     projectServiceAlert.setStatus(projectAlertsDTO.getStatus());
@@ -315,9 +335,14 @@ public class ProjectAlertsResource {
     projectServiceAlert.setProject(project);
     projectServiceAlert.setReceiver(getReceiver(projectAlertsDTO.getReceiver()));
     projectServiceAlert.setAlertType(alertController.getAlertType(projectServiceAlert.getReceiver()));
-    createRoute(projectServiceAlert);
+    return projectServiceAlert;
+  }
+
+  private ProjectAlertsDTO saveAlert(ProjectServiceAlert projectServiceAlert, UriInfo uriInfo,
+      ResourceRequest resourceRequest) {
     projectServiceAlertsFacade.save(projectServiceAlert);
-    projectServiceAlert = projectServiceAlertsFacade.findByProjectAndStatus(project, projectAlertsDTO.getStatus());
+    projectServiceAlert = projectServiceAlertsFacade.findByProjectAndStatus(projectServiceAlert.getProject(),
+      projectServiceAlert.getStatus());
     return projectAlertsBuilder.buildItems(uriInfo, resourceRequest, projectServiceAlert);
   }
 
@@ -434,6 +459,23 @@ public class ProjectAlertsResource {
     return Response.noContent().build();
   }
 
+  private void createRoute(ProjectServiceAlert projectServiceAlert, ConfigChangeSet changes) throws ProjectException {
+    try {
+      alertController.createRoute(projectServiceAlert, changes);
+    } catch (AlertManagerAccessControlException e) {
+      throw new ProjectException(RESTCodes.ProjectErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE, e.getMessage());
+    }
+  }
+
+  private void applyRouteChanges(ConfigChangeSet changes) throws ProjectException {
+    try {
+      alertController.apply(changes);
+    } catch (AlertManagerConfigReadException | AlertManagerConfigCtrlCreateException |
+        AlertManagerConfigUpdateException | AlertManagerNoSuchElementException e) {
+      throw new ProjectException(RESTCodes.ProjectErrorCode.FAILED_TO_CREATE_ROUTE, Level.FINE, e.getMessage());
+    }
+  }
+
   private void deleteRoute(ProjectServiceAlert projectServiceAlert) throws ProjectException {
     try {
       alertController.deleteRoute(projectServiceAlert);
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.api.util;
+
+/**
+ * A single byte range of a file, as requested with a Range header (RFC 7233).
+ */
+public class ByteRange {
+
+  private static final String BYTES_UNIT = "bytes=";
+
+  private final long start;
+  private final long end;
+
+  ByteRange(long start, long end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * @return the whole file of the given length
+   */
+  public static ByteRange full(long length) {
+    return new ByteRange(0, length - 1);
+  }
+
+  /**
+   * Parse the value of a Range header against a file of the given length.
+   *
+   * @param header the Range header, e.g. bytes=0-1023, bytes=1024- or bytes=-1024
+   * @param length the length of the file
+   * @return the requested range, capped at the end of the file, or null if the header is missing, malformed or
+   * asks for more than one range, in which case the whole file is served
+   * @throws UnsatisfiableRangeException if the range starts after the end of the file
+   */
+  public static ByteRange parse(String header, long length) throws UnsatisfiableRangeException {
+    if (header == null || !header.startsWith(BYTES_UNIT) || header.indexOf(',') != -1) {
+      return null;
+    }
+    String spec = header.substring(BYTES_UNIT.length()).trim();
+    int dash = spec.indexOf('-');
+    if (dash == -1) {
+      return null;
+    }
+    try {
+      if (dash == 0) {
+        // Suffix range, the last N bytes
+        long suffix = Long.parseLong(spec.substring(1));
+        if (suffix <= 0 || length == 0) {
+          throw new UnsatisfiableRangeException(length);
+        }
+        return new ByteRange(Math.max(0, length - suffix), length - 1);
+      }
+      long start = Long.parseLong(spec.substring(0, dash));
+      long end = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+      if (end < start) {
+        return null;
+      }
+      if (start >= length) {
+        throw new UnsatisfiableRangeException(length);
+      }
+      return new ByteRange(start, Math.min(end, length - 1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  public long getStart() {
+    return start;
+  }
+
+  public long getEnd() {
+    return end;
+  }
+
+  public long getLength() {
+    return end - start + 1;
+  }
+
+  /**
+   * @return the value of the Content-Range header of a 206 response
+   */
+  public String toContentRange(long length) {
+    return "bytes " + start + "-" + end + "/" + length;
+  }
+
+  public static class UnsatisfiableRangeException extends Exception {
+    private final long length;
+
+    public UnsatisfiableRangeException(long length) {
+      super("Requested range not satisfiable for length " + length);
+      this.length = length;
+    }
+
+    /**
+     * @return the value of the Content-Range header of a 416 response
+     */
+    public String toContentRange() {
+      return "bytes */" + length;
+    }
+  }
+}
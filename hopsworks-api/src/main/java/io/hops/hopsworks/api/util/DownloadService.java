@@ -59,8 +59,10 @@ import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.DatasetException;
 import io.hops.hopsworks.exceptions.ProjectException;
 import io.hops.hopsworks.jwt.annotation.JWTRequired;
+import io.hops.hopsworks.jwt.exception.InvalidationException;
 import io.hops.hopsworks.jwt.exception.SigningKeyNotFoundException;
 import io.hops.hopsworks.jwt.exception.VerificationException;
+import io.hops.hopsworks.jwt.Constants;
 import io.hops.hopsworks.persistence.entity.dataset.Dataset;
 import io.hops.hopsworks.persistence.entity.dataset.DatasetPermissions;
 import io.hops.hopsworks.persistence.entity.dataset.DatasetType;
@@ -71,6 +73,7 @@ import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiScope;
 import io.hops.hopsworks.restutils.RESTCodes;
 import io.swagger.annotations.ApiOperation;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
 
 import javax.ejb.EJB;
@@ -78,27 +81,44 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.enterprise.context.RequestScoped;
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.StreamingOutput;
 import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.hadoop.fs.permission.FsPermission;
-import org.javatuples.Pair;
 
 @RequestScoped
 @TransactionAttribute(TransactionAttributeType.NEVER)
 public class DownloadService {
 
   private static final Logger LOGGER = Logger.getLogger(DownloadService.class.getName());
+  private static final String RANGE = "Range";
+  private static final String IF_RANGE = "If-Range";
+  private static final String ACCEPT_RANGES = "Accept-Ranges";
+  private static final String CONTENT_RANGE = "Content-Range";
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final int MAX_POOLED_BUFFERS = 32;
+  // Transfer buffers are reused across downloads, a download takes one from the pool or allocates one if it is empty
+  private static final BlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
 
   @EJB
   private DistributedFsService dfs;
@@ -149,6 +169,7 @@ public class DownloadService {
   @JWTRequired(acceptedTokens={Audience.API}, allowedUserRoles={"HOPS_ADMIN", "HOPS_USER", "HOPS_SERVICE_USER"})
   public Response getDownloadToken(@PathParam("path") String path,
                                    @QueryParam("type") DatasetType datasetType,
+                                   @QueryParam("ranged") @DefaultValue("false") Boolean ranged,
                                    @Context HttpServletRequest req,
                                    @Context SecurityContext sc) throws DatasetException, ProjectException {
     doCheck();
@@ -162,7 +183,13 @@ public class DownloadService {
     if (owningProject.equals(this.getProject()) &&
       datasetController.isDownloadAllowed(this.getProject(), user, datasetPath.getFullPath().toString())) {
       datasetController.checkFileExists(datasetPath.getFullPath(), username);
-      String token = jWTHelper.createOneTimeToken(user, datasetPath.getFullPath().toString(), null);
+      //A ranged token can be used by parallel ranged requests of the file until it expires
+      Map<String, Object> claims = null;
+      if (ranged) {
+        claims = new HashMap<>();
+        claims.put(Constants.ONE_TIME_JWT_RANGED, true);
+      }
+      String token = jWTHelper.createOneTimeToken(user, datasetPath.getFullPath().toString(), claims);
       if (token != null && !token.isEmpty()) {
         response.setData(token);
         return Response.status(Response.Status.OK).entity(response).build();
@@ -183,13 +210,16 @@ public class DownloadService {
                                    @QueryParam("type") DatasetType datasetType,
                                    @Context HttpServletRequest req,
                                    @Context SecurityContext sc) throws DatasetException,
-    SigningKeyNotFoundException, VerificationException, ProjectException {
+    SigningKeyNotFoundException, VerificationException, ProjectException, InvalidationException {
     Project project = this.getProject();
     DatasetPath datasetPath = datasetHelper.getDatasetPathIfFileExist(project, path, datasetType);
     String fullPath = datasetPath.getFullPath().toString();
     DecodedJWT djwt = jWTHelper.verifyOneTimeToken(token, fullPath);
     Users user = userFacade.findByUsername(djwt.getSubject());
-    return download(project, datasetPath, user);
+    Response response = download(project, datasetPath, user, req);
+    // Decided once the range was parsed: a ranged token stays valid only if a range of the file is served
+    jWTHelper.invalidateOneTimeToken(djwt, response.getStatus() == Response.Status.PARTIAL_CONTENT.getStatusCode());
+    return response;
   }
 
   @GET
@@ -208,15 +238,13 @@ public class DownloadService {
     Project project = this.getProject();
     DatasetPath datasetPath = datasetHelper.getDatasetPathIfFileExist(project, path, datasetType);
     Users user = jWTHelper.getUserPrincipal(sc);
-    return download(project, datasetPath, user);
+    return download(project, datasetPath, user, req);
   }
 
-  private Response download(Project project, DatasetPath datasetPath, Users user) throws DatasetException {
+  private Response download(Project project, DatasetPath datasetPath, Users user, HttpServletRequest req)
+    throws DatasetException {
     doCheck();
-    Pair<Path, StreamingOutput> pathStreamPair = downloadFromHDFS(project, datasetPath, user);
-    Response.ResponseBuilder response = Response.ok(pathStreamPair.getValue1());
-    response.header("Content-disposition", "attachment; filename=\"" + pathStreamPair.getValue0().getName() + "\"");
-    return response.build();
+    return downloadFromHDFS(project, datasetPath, user, req);
   }
 
   private void doCheck() throws DatasetException {
@@ -232,12 +260,16 @@ public class DownloadService {
   }
 
   /**
+   * Serve the file, or the byte range of it asked for with a Range header. If-Range is honoured against the ETag
+   * and the modification time of the file, if it does not match the whole file is served.
+   *
    * @param project
    * @param datasetPath
    * @param user
+   * @param req
    * @return
    */
-  private Pair<Path, StreamingOutput> downloadFromHDFS(Project project, DatasetPath datasetPath, Users user)
+  private Response downloadFromHDFS(Project project, DatasetPath datasetPath, Users user, HttpServletRequest req)
     throws DatasetException {
 
     String fullPath = datasetPath.getFullPath().toString();
@@ -252,21 +284,61 @@ public class DownloadService {
       throw new DatasetException(RESTCodes.DatasetErrorCode.DOWNLOAD_ERROR, Level.FINE,
         "You do not have the rights to download from this dataset");
     }
+    if (projectUsername == null) {
+      throw new DatasetException(RESTCodes.DatasetErrorCode.DOWNLOAD_ERROR, Level.WARNING, "Project user not found.");
+    }
 
-    FSDataInputStream stream;
-    DistributedFileSystemOps udfso;
+    DistributedFileSystemOps udfso = null;
+    FSDataInputStream stream = null;
     try {
-      if (projectUsername != null) {
-        udfso = dfs.getDfsOps(projectUsername);
-        Path p = new Path(fullPath);
-        stream = udfso.open(p);
-        return new Pair<>(p, buildOutputStream(stream, udfso));
+      udfso = dfs.getDfsOps(projectUsername);
+      Path p = new Path(fullPath);
+      FileStatus status = udfso.getFileStatus(p);
+      long length = status.getLen();
+      String etag = "\"" + Long.toHexString(status.getModificationTime()) + "-" + Long.toHexString(length) + "\"";
+      Date lastModified = new Date(status.getModificationTime());
 
-      } else {
-        throw new DatasetException(RESTCodes.DatasetErrorCode.DOWNLOAD_ERROR, Level.WARNING, "Project user not found.");
+      ByteRange range = null;
+      if (ifRangeMatches(req.getHeader(IF_RANGE), etag, status.getModificationTime())) {
+        try {
+          range = ByteRange.parse(req.getHeader(RANGE), length);
+        } catch (ByteRange.UnsatisfiableRangeException e) {
+          dfs.closeDfsClient(udfso);
+          return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(CONTENT_RANGE, e.toContentRange())
+            .header(ACCEPT_RANGES, "bytes")
+            .build();
+        }
       }
 
+      stream = udfso.open(p);
+      Response.ResponseBuilder response;
+      if (range == null) {
+        response = Response.ok(buildOutputStream(stream, udfso, ByteRange.full(length)))
+          .header(HttpHeaders.CONTENT_LENGTH, length);
+      } else {
+        response = Response.status(Response.Status.PARTIAL_CONTENT)
+          .entity(buildOutputStream(stream, udfso, range))
+          .header(HttpHeaders.CONTENT_LENGTH, range.getLength())
+          .header(CONTENT_RANGE, range.toContentRange(length));
+      }
+      return response
+        .header("Content-disposition", "attachment; filename=\"" + p.getName() + "\"")
+        .header(ACCEPT_RANGES, "bytes")
+        .header(HttpHeaders.ETAG, etag)
+        .lastModified(lastModified)
+        .build();
     } catch (IOException ex) {
+      if (stream != null) {
+        try {
+          stream.close();
+        } catch (IOException e) {
+          LOGGER.log(Level.FINE, "Failed to close stream of " + fullPath, e);
+        }
+      }
+      if (udfso != null) {
+        dfs.closeDfsClient(udfso);
+      }
       throw new DatasetException(RESTCodes.DatasetErrorCode.DOWNLOAD_ERROR, Level.SEVERE,
         "Failed to download path: " + fullPath,
         ex.getMessage(), ex);
@@ -274,23 +346,57 @@ public class DownloadService {
   }
 
   /**
+   * A missing If-Range matches, otherwise it has to be the current ETag or the HTTP date of the last modification.
+   */
+  private boolean ifRangeMatches(String ifRange, String etag, long modificationTime) {
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      return ifRange.equals(etag);
+    }
+    try {
+      long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+      return date / 1000 == modificationTime / 1000;
+    } catch (DateTimeParseException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Copy the range with positioned reads, so that parallel ranged requests of the same file do not depend on the
+   * position of the stream.
    *
    * @param stream
+   * @param udfso
+   * @param range
    * @return
    */
-  private StreamingOutput buildOutputStream(final FSDataInputStream stream, final DistributedFileSystemOps udfso) {
+  private StreamingOutput buildOutputStream(final FSDataInputStream stream, final DistributedFileSystemOps udfso,
+    final ByteRange range) {
     return out -> {
       longRunningHttpRequests.increment();
+      byte[] buffer = BUFFERS.poll();
+      if (buffer == null) {
+        buffer = new byte[BUFFER_SIZE];
+      }
       try {
-        int length;
-        byte[] buffer = new byte[1024];
-        while ((length = stream.read(buffer)) != -1) {
+        long position = range.getStart();
+        long remaining = range.getLength();
+        while (remaining > 0) {
+          int length = stream.read(position, buffer, 0, (int) Math.min(buffer.length, remaining));
+          if (length == -1) {
+            break;
+          }
           out.write(buffer, 0, length);
+          position += length;
+          remaining -= length;
         }
         out.flush();
-        stream.close();
       } finally {
+        BUFFERS.offer(buffer);
         longRunningHttpRequests.decrement();
+        stream.close();
         dfs.closeDfsClient(udfso);
       }
     };
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.api.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestByteRange {
+
+  @Test
+  public void testParseClosedRange() throws Exception {
+    ByteRange range = ByteRange.parse("bytes=100-199", 1000);
+    Assert.assertEquals(100, range.getStart());
+    Assert.assertEquals(199, range.getEnd());
+    Assert.assertEquals(100, range.getLength());
+    Assert.assertEquals("bytes 100-199/1000", range.toContentRange(1000));
+  }
+
+  @Test
+  public void testParseOpenAndSuffixRanges() throws Exception {
+    ByteRange open = ByteRange.parse("bytes=900-", 1000);
+    Assert.assertEquals(900, open.getStart());
+    Assert.assertEquals(999, open.getEnd());
+
+    ByteRange suffix = ByteRange.parse("bytes=-100", 1000);
+    Assert.assertEquals(900, suffix.getStart());
+    Assert.assertEquals(999, suffix.getEnd());
+
+    ByteRange longSuffix = ByteRange.parse("bytes=-5000", 1000);
+    Assert.assertEquals(0, longSuffix.getStart());
+  }
+
+  @Test
+  public void testEndIsCappedAtLength() throws Exception {
+    ByteRange range = ByteRange.parse("bytes=500-5000", 1000);
+    Assert.assertEquals(999, range.getEnd());
+  }
+
+  @Test
+  public void testIgnoredRanges() throws Exception {
+    Assert.assertNull(ByteRange.parse(null, 1000));
+    Assert.assertNull(ByteRange.parse("items=0-1", 1000));
+    Assert.assertNull(ByteRange.parse("bytes=0-1,5-6", 1000));
+    Assert.assertNull(ByteRange.parse("bytes=10-5", 1000));
+    Assert.assertNull(ByteRange.parse("bytes=a-b", 1000));
+  }
+
+  @Test(expected = ByteRange.UnsatisfiableRangeException.class)
+  public void testUnsatisfiableRange() throws Exception {
+    ByteRange.parse("bytes=1000-", 1000);
+  }
+}
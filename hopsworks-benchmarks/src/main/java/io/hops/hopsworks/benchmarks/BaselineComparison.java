@@ -0,0 +1,102 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare the JSON results of a JMH run with a stored baseline.
+ *
+ * Usage: BaselineComparison baseline.json results.json [max regression in percent, default 10]
+ *
+ * Exits with 1 if the score of a benchmark in both files is worse than the baseline by more than the maximum
+ * regression. Lower is better for time modes, higher is better for throughput.
+ */
+public class BaselineComparison {
+
+  private static final double DEFAULT_MAX_REGRESSION = 10.0;
+  private static final String THROUGHPUT = "thrpt";
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineComparison baseline.json results.json [max regression %]");
+      System.exit(2);
+    }
+    double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_MAX_REGRESSION;
+    ObjectMapper mapper = new ObjectMapper();
+    Map<String, JsonNode> baseline = index(mapper.readTree(new File(args[0])));
+    Map<String, JsonNode> results = index(mapper.readTree(new File(args[1])));
+
+    boolean regressed = false;
+    for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+      JsonNode base = baseline.get(result.getKey());
+      double score = score(result.getValue());
+      if (base == null) {
+        System.out.printf("NEW        %s: %.3f %s%n", result.getKey(), score, unit(result.getValue()));
+        continue;
+      }
+      double baseScore = score(base);
+      // Positive when worse than the baseline
+      double change = (score - baseScore) / baseScore * 100;
+      if (THROUGHPUT.equals(result.getValue().path("mode").asText())) {
+        change = -change;
+      }
+      boolean worse = change > maxRegression;
+      regressed |= worse;
+      System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n", worse ? "REGRESSED" : "OK", result.getKey(),
+        baseScore, score, unit(result.getValue()), change);
+    }
+    System.exit(regressed ? 1 : 0);
+  }
+
+  private static Map<String, JsonNode> index(JsonNode runs) {
+    Map<String, JsonNode> index = new LinkedHashMap<>();
+    for (JsonNode run : runs) {
+      index.put(key(run), run);
+    }
+    return index;
+  }
+
+  private static String key(JsonNode run) {
+    StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+    Map<String, String> params = new TreeMap<>();
+    Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields();
+    while (it.hasNext()) {
+      Map.Entry<String, JsonNode> param = it.next();
+      params.put(param.getKey(), param.getValue().asText());
+    }
+    if (!params.isEmpty()) {
+      key.append(params);
+    }
+    return key.toString();
+  }
+
+  private static double score(JsonNode run) {
+    return run.path("primaryMetric").path("score").asDouble();
+  }
+
+  private static String unit(JsonNode run) {
+    return run.path("primaryMetric").path("scoreUnit").asText();
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks;
+
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wiring of the beans under benchmark outside of the container.
+ */
+public final class Beans {
+
+  private Beans() {
+  }
+
+  /**
+   * Set a field the container would inject, e.g. an @EJB.
+   */
+  public static <T> T inject(T bean, String fieldName, Object value) {
+    Class<?> clazz = bean.getClass();
+    while (clazz != null) {
+      try {
+        Field field = clazz.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(bean, value);
+        return bean;
+      } catch (NoSuchFieldException e) {
+        clazz = clazz.getSuperclass();
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    throw new IllegalArgumentException("No field " + fieldName + " in " + bean.getClass().getName());
+  }
+
+  /**
+   * Mock that does not record its invocations, so that it can be called from the measured code without growing.
+   */
+  public static <T> T stub(Class<T> clazz) {
+    return Mockito.mock(clazz, Mockito.withSettings().stubOnly());
+  }
+
+  /**
+   * Answer of a stubbed facade method that waits for a simulated database round trip first.
+   *
+   * @param roundTripMicros latency of the round trip, 0 for none
+   */
+  public static <T> Answer<T> roundTrip(long roundTripMicros, Answer<T> answer) {
+    return invocation -> {
+      awaitRoundTrip(roundTripMicros);
+      return answer.answer(invocation);
+    };
+  }
+
+  public static void awaitRoundTrip(long roundTripMicros) {
+    if (roundTripMicros > 0) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+  }
+}
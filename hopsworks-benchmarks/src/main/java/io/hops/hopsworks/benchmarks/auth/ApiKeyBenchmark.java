@@ -0,0 +1,141 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.auth;
+
+import io.hops.hopsworks.api.auth.Secret;
+import io.hops.hopsworks.api.auth.key.ApiKeyCache;
+import io.hops.hopsworks.api.auth.key.ApiKeyFacade;
+import io.hops.hopsworks.api.auth.key.ApiKeyUtilities;
+import io.hops.hopsworks.benchmarks.Beans;
+import io.hops.hopsworks.exceptions.ApiKeyException;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiKey;
+import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiKeyScope;
+import io.hops.hopsworks.persistence.entity.user.security.apiKey.ApiScope;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The data path of the api key filter: look up the key by prefix, check the secret, read the owner and the scopes.
+ * The key is either served by the {@link ApiKeyCache} or read from the database on every request, the owner is always
+ * read from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ApiKeyBenchmark {
+
+  @Param({"0", "200"})
+  public long roundTripMicros;
+
+  private ApiKeyUtilities apiKeyUtilities;
+  private ApiKeyUtilities uncachedApiKeyUtilities;
+  private String key;
+
+  @Setup
+  public void setup() {
+    String prefix = RandomStringUtils.randomAlphanumeric(16);
+    String secret = RandomStringUtils.randomAlphanumeric(32);
+    String salt = RandomStringUtils.randomAlphanumeric(64);
+    key = prefix + "." + secret;
+
+    Users user = new Users(1);
+    user.setUsername("benchmark");
+    user.setBbcGroupCollection(new ArrayList<>());
+    Date now = new Date();
+    ApiKey apiKey = new ApiKey(user, prefix, new Secret(prefix, secret, salt).getSha256HexDigest(), salt, now, now,
+      "benchmark", false);
+    Collection<ApiKeyScope> scopes = new ArrayList<>();
+    for (ApiScope scope : ApiScope.values()) {
+      scopes.add(new ApiKeyScope(scope, apiKey));
+    }
+    apiKey.setApiKeyScopeCollection(scopes);
+
+    ApiKeyFacade apiKeyFacade = Beans.stub(ApiKeyFacade.class);
+    Mockito.when(apiKeyFacade.findByPrefix(prefix)).thenAnswer(Beans.roundTrip(roundTripMicros, invocation -> apiKey));
+    Mockito.when(apiKeyFacade.findUserByUid(user.getUid()))
+      .thenAnswer(Beans.roundTrip(roundTripMicros, invocation -> user));
+
+    MetricRegistry metricRegistry = Beans.stub(MetricRegistry.class);
+    Mockito.when(metricRegistry.counter(Mockito.anyString())).thenReturn(Beans.stub(Counter.class));
+    ApiKeyCache apiKeyCache = Beans.inject(new ApiKeyCache(), "metricRegistry", metricRegistry);
+    apiKeyCache.init();
+
+    apiKeyUtilities = apiKeyUtilities(apiKeyFacade, apiKeyCache);
+    uncachedApiKeyUtilities = apiKeyUtilities(apiKeyFacade, new NoApiKeyCache());
+  }
+
+  @Benchmark
+  public Set<ApiScope> verifyApiKey() throws ApiKeyException {
+    return verify(apiKeyUtilities);
+  }
+
+  @Benchmark
+  public Set<ApiScope> verifyApiKeyWithoutCache() throws ApiKeyException {
+    return verify(uncachedApiKeyUtilities);
+  }
+
+  private Set<ApiScope> verify(ApiKeyUtilities apiKeyUtilities) throws ApiKeyException {
+    ApiKey apiKey = apiKeyUtilities.getApiKey(key);
+    if (apiKeyUtilities.getUser(apiKey) == null) {
+      throw new IllegalStateException("Owner of the key not found");
+    }
+    return apiKeyUtilities.getScopes(apiKey);
+  }
+
+  private static ApiKeyUtilities apiKeyUtilities(ApiKeyFacade apiKeyFacade, ApiKeyCache apiKeyCache) {
+    ApiKeyUtilities apiKeyUtilities = new ApiKeyUtilities();
+    Beans.inject(apiKeyUtilities, "apiKeyFacade", apiKeyFacade);
+    Beans.inject(apiKeyUtilities, "apiKeyCache", apiKeyCache);
+    return apiKeyUtilities;
+  }
+
+  /**
+   * Cache that never holds a key, as before api keys were cached.
+   */
+  private static class NoApiKeyCache extends ApiKeyCache {
+    @Override
+    public ApiKey get(String prefix) {
+      return null;
+    }
+
+    @Override
+    public void put(ApiKey apiKey) {
+    }
+  }
+}
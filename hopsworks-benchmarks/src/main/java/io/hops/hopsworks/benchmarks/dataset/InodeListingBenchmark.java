@@ -0,0 +1,247 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.dataset;
+
+import io.hops.hopsworks.api.dataset.inode.HdfsCommandDTO;
+import io.hops.hopsworks.api.dataset.inode.InodeBuilder;
+import io.hops.hopsworks.api.dataset.inode.InodeDTO;
+import io.hops.hopsworks.api.dataset.inode.ZipState;
+import io.hops.hopsworks.api.dataset.inode.attribute.InodeAttributeBuilder;
+import io.hops.hopsworks.api.dataset.inode.attribute.InodeAttributeDTO;
+import io.hops.hopsworks.api.dataset.tags.InodeTagUri;
+import io.hops.hopsworks.api.tags.TagBuilder;
+import io.hops.hopsworks.api.tags.TagUri;
+import io.hops.hopsworks.benchmarks.Beans;
+import io.hops.hopsworks.common.api.ResourceRequest;
+import io.hops.hopsworks.common.dao.AbstractFacade;
+import io.hops.hopsworks.common.dao.hdfs.command.HdfsCommandExecutionFacade;
+import io.hops.hopsworks.common.dao.hdfs.inode.InodeFacade;
+import io.hops.hopsworks.common.dao.user.UserFacade;
+import io.hops.hopsworks.common.dataset.util.DatasetHelper;
+import io.hops.hopsworks.common.dataset.util.DatasetPath;
+import io.hops.hopsworks.common.hdfs.inode.InodeController;
+import io.hops.hopsworks.common.tags.TagsDTO;
+import io.hops.hopsworks.exceptions.DatasetException;
+import io.hops.hopsworks.exceptions.FeatureStoreMetadataException;
+import io.hops.hopsworks.exceptions.MetadataException;
+import io.hops.hopsworks.persistence.entity.hdfs.command.HdfsCommandExecution;
+import io.hops.hopsworks.persistence.entity.hdfs.inode.Inode;
+import io.hops.hopsworks.persistence.entity.hdfs.user.HdfsGroups;
+import io.hops.hopsworks.persistence.entity.hdfs.user.HdfsUsers;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import org.apache.hadoop.fs.Path;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of a directory listing, built with the lookups batched per page and, as before they were batched, with the
+ * owner, the command execution and the tags looked up per item. The facades answer from memory after a simulated
+ * database round trip, the batched lookups pay one round trip per IN list of 1000 entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class InodeListingBenchmark {
+
+  private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+  private static final int OWNERS = 10;
+  private static final String PARENT_PATH = "/Projects/benchmark/Resources";
+
+  @Param({"10", "1000", "100000"})
+  public int entries;
+  @Param({"0", "200"})
+  public long roundTripMicros;
+
+  private InodeBuilder inodeBuilder;
+  private InodeAttributeBuilder inodeAttributeBuilder;
+  private TagBuilder tagBuilder;
+  private HdfsCommandExecutionFacade hdfsCommandExecutionFacade;
+  private UserFacade userFacade;
+  private InodeFacade inodeFacade;
+  private UriInfo uriInfo;
+  private ResourceRequest resourceRequest;
+  private DatasetPath datasetPath;
+  private Users user;
+
+  @Setup
+  public void setup() throws DatasetException, FeatureStoreMetadataException, MetadataException {
+    Map<String, Users> users = new HashMap<>();
+    HdfsUsers[] hdfsUsers = new HdfsUsers[OWNERS];
+    for (int i = 0; i < OWNERS; i++) {
+      Users owner = new Users();
+      owner.setUsername("user" + i);
+      owner.setFname("First" + i);
+      owner.setLname("Last" + i);
+      users.put(owner.getUsername(), owner);
+      hdfsUsers[i] = new HdfsUsers(i, "benchmark__" + owner.getUsername());
+    }
+    user = users.get("user0");
+    HdfsGroups hdfsGroup = new HdfsGroups(1, "benchmark__Resources");
+
+    Inode parent = new Inode(0, "Resources", 0);
+    parent.setId(1L);
+    parent.setDir(true);
+    parent.setChildrenNum(entries);
+    parent.setHdfsUser(hdfsUsers[0]);
+    parent.setHdfsGroup(hdfsGroup);
+    BigInteger now = BigInteger.valueOf(System.currentTimeMillis());
+    List<Inode> inodes = new ArrayList<>(entries);
+    for (int i = 0; i < entries; i++) {
+      Inode inode = new Inode(parent.getId(), "file_" + i, 0);
+      inode.setId(i + 2L);
+      inode.setHdfsUser(hdfsUsers[i % OWNERS]);
+      inode.setHdfsGroup(hdfsGroup);
+      inode.setAccessTime(now);
+      inode.setModificationTime(now);
+      inode.setPermission((short) 0644);
+      inode.setSize(1024);
+      inodes.add(inode);
+    }
+
+    inodeFacade = Beans.stub(InodeFacade.class);
+    Mockito.when(inodeFacade.findByParent(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+      Mockito.any())).thenAnswer(Beans.roundTrip(roundTripMicros,
+        invocation -> new AbstractFacade.CollectionInfo<>((long) inodes.size(), inodes)));
+    userFacade = Beans.stub(UserFacade.class);
+    Mockito.when(userFacade.findByUsername(Mockito.anyString())).thenAnswer(Beans.roundTrip(roundTripMicros,
+      invocation -> users.get(invocation.<String>getArgument(0))));
+    Mockito.when(userFacade.findByUsernames(Mockito.any())).thenAnswer(invocation -> {
+      Collection<String> usernames = invocation.getArgument(0);
+      awaitBatches(usernames.size());
+      Map<String, Users> found = new HashMap<>();
+      for (String username : usernames) {
+        found.put(username, users.get(username));
+      }
+      return found;
+    });
+    hdfsCommandExecutionFacade = Beans.stub(HdfsCommandExecutionFacade.class);
+    Mockito.when(hdfsCommandExecutionFacade.findBySrcPath(Mockito.anyString()))
+      .thenAnswer(Beans.roundTrip(roundTripMicros, invocation -> Optional.empty()));
+    Mockito.when(hdfsCommandExecutionFacade.findBySrcPaths(Mockito.any())).thenAnswer(invocation -> {
+      awaitBatches(invocation.<Collection<String>>getArgument(0).size());
+      return new HashMap<>();
+    });
+    tagBuilder = Beans.stub(TagBuilder.class);
+    Mockito.when(tagBuilder.build(Mockito.any(TagUri.class), Mockito.any(), Mockito.any(), Mockito.any()))
+      .thenAnswer(Beans.roundTrip(roundTripMicros, invocation -> new TagsDTO()));
+
+    inodeAttributeBuilder = new InodeAttributeBuilder();
+    Beans.inject(inodeAttributeBuilder, "inodeController", Beans.stub(InodeController.class));
+    Beans.inject(inodeAttributeBuilder, "userFacade", userFacade);
+
+    inodeBuilder = new InodeBuilder();
+    Beans.inject(inodeBuilder, "inodeFacade", inodeFacade);
+    Beans.inject(inodeBuilder, "userFacade", userFacade);
+    Beans.inject(inodeBuilder, "inodeAttributeBuilder", inodeAttributeBuilder);
+    Beans.inject(inodeBuilder, "datasetHelper", Beans.stub(DatasetHelper.class));
+    Beans.inject(inodeBuilder, "tagsBuilder", tagBuilder);
+    Beans.inject(inodeBuilder, "hdfsCommandExecutionFacade", hdfsCommandExecutionFacade);
+
+    URI uri = URI.create("https://hopsworks.ai.local/hopsworks-api/api/project/1/dataset/Resources");
+    UriBuilder uriBuilder = Mockito.mock(UriBuilder.class, Mockito.withSettings().stubOnly()
+      .defaultAnswer(Answers.RETURNS_SELF));
+    Mockito.doReturn(uri).when(uriBuilder).build();
+    uriInfo = Beans.stub(UriInfo.class);
+    Mockito.when(uriInfo.getAbsolutePathBuilder()).thenReturn(uriBuilder);
+
+    resourceRequest = new ResourceRequest(ResourceRequest.Name.INODES);
+    resourceRequest.setOffset(0);
+    resourceRequest.setLimit(entries);
+
+    datasetPath = Beans.stub(DatasetPath.class);
+    Mockito.when(datasetPath.getInode()).thenReturn(parent);
+    Mockito.when(datasetPath.getFullPath()).thenReturn(new Path(PARENT_PATH));
+    Mockito.when(datasetPath.getAccessProject()).thenReturn(new Project("benchmark"));
+  }
+
+  @Benchmark
+  public InodeDTO buildItems() throws DatasetException, FeatureStoreMetadataException, MetadataException {
+    return inodeBuilder.buildItems(uriInfo, resourceRequest, user, datasetPath);
+  }
+
+  /**
+   * The listing as it was built before the lookups were batched, one owner, command execution and tags lookup per
+   * item.
+   */
+  @Benchmark
+  public InodeDTO buildItemsPerItemLookups()
+    throws DatasetException, FeatureStoreMetadataException, MetadataException {
+    Inode parent = datasetPath.getInode();
+    InodeDTO dto = new InodeDTO();
+    dto.setHref(uriInfo.getAbsolutePathBuilder().build());
+    dto.setExpand(true);
+    Users dirOwner = userFacade.findByUsername(parent.getHdfsUser().getUsername());
+    AbstractFacade.CollectionInfo collectionInfo = inodeFacade.findByParent(resourceRequest.getOffset(),
+      resourceRequest.getLimit(), resourceRequest.getFilter(), resourceRequest.getSort(), parent,
+      datasetPath.getAccessProject());
+    String parentPath = datasetPath.getFullPath().toString();
+    for (Object item : collectionInfo.getItems()) {
+      Inode inode = (Inode) item;
+      InodeDTO itemDTO = new InodeDTO();
+      itemDTO.setHref(uriInfo.getAbsolutePathBuilder().path(inode.getInodePK().getName()).build());
+      itemDTO.setExpand(true);
+      itemDTO.setAttributes(inodeAttributeBuilder.build(new InodeAttributeDTO(), resourceRequest, inode, parentPath,
+        dirOwner));
+      itemDTO.setTags(tagBuilder.build(new InodeTagUri(uriInfo), resourceRequest, user, datasetPath));
+      Optional<HdfsCommandExecution> command =
+        hdfsCommandExecutionFacade.findBySrcPath(itemDTO.getAttributes().getPath());
+      ZipState zipState = ZipState.NONE;
+      if (command.isPresent()) {
+        itemDTO.setHdfsCommand(new HdfsCommandDTO(command.get(), itemDTO.getAttributes().getPath()));
+        zipState = ZipState.fromCommandStatus(itemDTO.getHdfsCommand().getStatus(),
+          itemDTO.getHdfsCommand().getCommand());
+      }
+      itemDTO.setZipState(String.valueOf(zipState));
+      dto.addItem(itemDTO);
+    }
+    dto.setCount(collectionInfo.getCount());
+    return dto;
+  }
+
+  private void awaitBatches(int size) {
+    int batches = (size + IN_CLAUSE_BATCH_SIZE - 1) / IN_CLAUSE_BATCH_SIZE;
+    for (int i = 0; i < batches; i++) {
+      Beans.awaitRoundTrip(roundTripMicros);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.featurestore;
+
+import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
+import io.hops.hopsworks.common.featurestore.featuregroup.online.AvroSchemaConstructorController;
+import io.hops.hopsworks.exceptions.FeaturestoreException;
+import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avro schema of a feature group with primitive and nested feature types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AvroSchemaBenchmark {
+
+  private static final String[] TYPES = {"int", "bigint", "string", "double", "boolean", "timestamp", "date",
+    "array<float>", "map<string,bigint>", "struct<label:string,score:double,tags:array<string>>"};
+
+  @Param({"10", "100"})
+  public int features;
+
+  private AvroSchemaConstructorController avroSchemaConstructorController;
+  private Featuregroup featuregroup;
+  private List<FeatureGroupFeatureDTO> schema;
+
+  @Setup
+  public void setup() {
+    avroSchemaConstructorController = new AvroSchemaConstructorController();
+    Featurestore featurestore = new Featurestore();
+    featurestore.setProject(new Project("bench_proj"));
+    featuregroup = new Featuregroup(1);
+    featuregroup.setName("fg");
+    featuregroup.setVersion(1);
+    featuregroup.setFeaturestore(featurestore);
+    schema = new ArrayList<>(features);
+    for (int i = 0; i < features; i++) {
+      schema.add(new FeatureGroupFeatureDTO("ft" + i, TYPES[i % TYPES.length]));
+    }
+  }
+
+  @Benchmark
+  public String constructSchema() throws FeaturestoreException {
+    return avroSchemaConstructorController.constructSchema(featuregroup, schema);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.featurestore;
+
+import io.hops.hopsworks.benchmarks.Beans;
+import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupController;
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.CachedFeaturegroupController;
+import io.hops.hopsworks.common.featurestore.query.ConstructorController;
+import io.hops.hopsworks.common.featurestore.query.Feature;
+import io.hops.hopsworks.common.featurestore.query.Query;
+import io.hops.hopsworks.common.featurestore.query.filter.FilterController;
+import io.hops.hopsworks.common.featurestore.query.join.Join;
+import io.hops.hopsworks.common.featurestore.query.join.JoinController;
+import io.hops.hopsworks.common.featurestore.query.pit.PitJoinController;
+import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.cached.CachedFeaturegroup;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.cached.TimeTravelFormat;
+import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.SqlCondition;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.apache.calcite.sql.JoinType;
+import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.dialect.SparkSqlDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL generation of a feature group query joined with other feature groups, as plain joins and as point in time
+ * joins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QueryConstructionBenchmark {
+
+  @Param({"10", "100"})
+  public int features;
+  @Param({"1", "4"})
+  public int joins;
+
+  private ConstructorController constructorController;
+  private PitJoinController pitJoinController;
+  private SqlDialect dialect;
+  private Query query;
+
+  @Setup
+  public void setup() {
+    FilterController filterController = new FilterController(new ConstructorController());
+    JoinController joinController = new JoinController(new ConstructorController());
+    constructorController = new ConstructorController(Beans.stub(FeaturegroupController.class),
+      Beans.stub(CachedFeaturegroupController.class), filterController, joinController);
+    pitJoinController = new PitJoinController(constructorController, filterController, joinController);
+    dialect = new SparkSqlDialect(SqlDialect.EMPTY_CONTEXT);
+
+    Featurestore featurestore = new Featurestore();
+    featurestore.setProject(new Project("bench_proj"));
+    CachedFeaturegroup cachedFeaturegroup = new CachedFeaturegroup();
+    cachedFeaturegroup.setTimeTravelFormat(TimeTravelFormat.NONE);
+
+    Featuregroup left = featuregroup(0, featurestore, cachedFeaturegroup);
+    query = query(left);
+    List<Join> joinList = new ArrayList<>();
+    for (int i = 1; i <= joins; i++) {
+      Featuregroup right = featuregroup(i, featurestore, cachedFeaturegroup);
+      joinList.add(new Join(query, query(right),
+        Collections.singletonList(new Feature("pk", alias(left), left)),
+        Collections.singletonList(new Feature("pk", alias(right), right)),
+        JoinType.INNER, null, Collections.singletonList(SqlCondition.EQUALS)));
+    }
+    query.setJoins(joinList);
+  }
+
+  @Benchmark
+  public String generateSQL() {
+    return constructorController.generateSQL(query, false).toSqlString(dialect).getSql();
+  }
+
+  @Benchmark
+  public String generatePitSQL() {
+    return pitJoinController.generateSQL(query, false).toSqlString(dialect).getSql();
+  }
+
+  private Featuregroup featuregroup(int id, Featurestore featurestore, CachedFeaturegroup cachedFeaturegroup) {
+    Featuregroup featuregroup = new Featuregroup(id);
+    featuregroup.setName("fg" + id);
+    featuregroup.setVersion(1);
+    featuregroup.setEventTime("ts");
+    featuregroup.setCachedFeaturegroup(cachedFeaturegroup);
+    featuregroup.setFeaturestore(featurestore);
+    return featuregroup;
+  }
+
+  private Query query(Featuregroup featuregroup) {
+    String alias = alias(featuregroup);
+    List<Feature> featureList = new ArrayList<>(features);
+    featureList.add(new Feature("pk", alias, featuregroup, true));
+    featureList.add(new Feature("ts", alias, featuregroup));
+    for (int i = 2; i < features; i++) {
+      featureList.add(new Feature(featuregroup.getName() + "_ft" + i, alias, featuregroup));
+    }
+    return new Query("bench_fs", "bench_proj", featuregroup, alias, featureList, featureList);
+  }
+
+  private String alias(Featuregroup featuregroup) {
+    return "fg" + featuregroup.getId();
+  }
+}
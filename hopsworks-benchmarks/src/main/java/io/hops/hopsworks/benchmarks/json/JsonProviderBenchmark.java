@@ -0,0 +1,101 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.json;
+
+import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
+import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupDTO;
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.CachedFeaturegroupDTO;
+import io.hops.hopsworks.filters.CustomJsonProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marshalling and unmarshalling of a feature group DTO by the JSON provider registered in the REST application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonProviderBenchmark {
+
+  private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+  @SuppressWarnings("unchecked")
+  private static final Class<Object> DTO_CLASS = (Class<Object>) (Class<?>) FeaturegroupDTO.class;
+
+  @Param({"10", "1000"})
+  public int features;
+
+  private CustomJsonProvider provider;
+  private FeaturegroupDTO featuregroupDTO;
+  private byte[] json;
+
+  @Setup
+  public void setup() throws IOException {
+    provider = new CustomJsonProvider();
+    CachedFeaturegroupDTO dto = new CachedFeaturegroupDTO();
+    dto.setId(1);
+    dto.setName("benchmark_fg");
+    dto.setVersion(1);
+    dto.setDescription("Feature group used by the JSON benchmark");
+    dto.setFeaturestoreId(1);
+    dto.setFeaturestoreName("benchmark_featurestore");
+    dto.setEventTime("ts");
+    dto.setOnlineEnabled(true);
+    List<FeatureGroupFeatureDTO> featureList = new ArrayList<>(features);
+    for (int i = 0; i < features; i++) {
+      featureList.add(new FeatureGroupFeatureDTO("ft" + i, i % 2 == 0 ? "bigint" : "string", "Feature " + i,
+        i == 0, false, null, null, 1));
+    }
+    dto.setFeatures(featureList);
+    featuregroupDTO = dto;
+    json = marshall();
+  }
+
+  @Benchmark
+  public byte[] marshall() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    provider.writeTo(featuregroupDTO, DTO_CLASS, DTO_CLASS, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+      new MultivaluedHashMap<>(), out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public Object unmarshall() throws IOException {
+    return provider.readFrom(DTO_CLASS, DTO_CLASS, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+      new MultivaluedHashMap<>(), new ByteArrayInputStream(json));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.hops.hopsworks.benchmarks.Beans;
+import io.hops.hopsworks.jwt.AlgorithmFactory;
+import io.hops.hopsworks.jwt.Constants;
+import io.hops.hopsworks.jwt.InvalidJwtCache;
+import io.hops.hopsworks.jwt.JWTController;
+import io.hops.hopsworks.jwt.SignatureAlgorithm;
+import io.hops.hopsworks.jwt.dao.InvalidJwtFacade;
+import io.hops.hopsworks.jwt.dao.JwtSigningKeyFacade;
+import io.hops.hopsworks.jwt.exception.SigningKeyNotFoundException;
+import io.hops.hopsworks.jwt.exception.VerificationException;
+import io.hops.hopsworks.persistence.entity.jwt.InvalidJwt;
+import io.hops.hopsworks.persistence.entity.jwt.JwtSigningKey;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation and verification of HS256 tokens. The revocation check is answered either by a loaded
+ * {@link InvalidJwtCache} or, when the cache is not loaded, by a database lookup per verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JWTBenchmark {
+
+  private static final String ISSUER = "hopsworks@logicalclocks.com";
+  private static final String KEY_ID = "1";
+  private static final String[] AUDIENCE = {"api"};
+  private static final int INVALIDATED_TOKENS = 1000;
+
+  @Param({"0", "200"})
+  public long roundTripMicros;
+
+  private JWTController jwtController;
+  private JWTController uncachedJwtController;
+  private String token;
+
+  @Setup
+  public void setup() throws SigningKeyNotFoundException {
+    byte[] secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    JwtSigningKey signingKey = new JwtSigningKey(Base64.getEncoder().encodeToString(secret), "benchmark");
+    JwtSigningKeyFacade jwtSigningKeyFacade = Beans.stub(JwtSigningKeyFacade.class);
+    Mockito.when(jwtSigningKeyFacade.find(Mockito.anyInt()))
+      .thenAnswer(Beans.roundTrip(roundTripMicros, invocation -> signingKey));
+
+    List<InvalidJwt> invalidJwts = new ArrayList<>(INVALIDATED_TOKENS);
+    Date expiresAt = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1));
+    for (int i = 0; i < INVALIDATED_TOKENS; i++) {
+      invalidJwts.add(new InvalidJwt(UUID.randomUUID().toString(), expiresAt, 0));
+    }
+    InvalidJwtFacade invalidJwtFacade = Beans.stub(InvalidJwtFacade.class);
+    Mockito.when(invalidJwtFacade.findAll()).thenReturn(invalidJwts);
+    Mockito.when(invalidJwtFacade.find(Mockito.anyString()))
+      .thenAnswer(Beans.roundTrip(roundTripMicros, invocation -> null));
+
+    AlgorithmFactory algorithmFactory = Beans.inject(new AlgorithmFactory(), "jwtSigningKeyFacade",
+      jwtSigningKeyFacade);
+    InvalidJwtCache invalidJwtCache = Beans.inject(new InvalidJwtCache(), "invalidJwtFacade", invalidJwtFacade);
+    invalidJwtCache.reload();
+    // Never loaded, every revocation check goes to the database
+    InvalidJwtCache unloadedJwtCache = Beans.inject(new InvalidJwtCache(), "invalidJwtFacade", invalidJwtFacade);
+
+    jwtController = jwtController(invalidJwtCache, invalidJwtFacade, algorithmFactory, jwtSigningKeyFacade);
+    uncachedJwtController = jwtController(unloadedJwtCache, invalidJwtFacade, algorithmFactory, jwtSigningKeyFacade);
+    token = createToken();
+  }
+
+  @Benchmark
+  public String createToken() throws SigningKeyNotFoundException {
+    Date now = new Date();
+    Map<String, Object> claims = new HashMap<>();
+    claims.put(Constants.RENEWABLE, false);
+    claims.put(Constants.ROLES, new String[]{"HOPS_USER"});
+    return jwtController.createToken(KEY_ID, ISSUER, AUDIENCE, new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)),
+      now, "benchmark_user", claims, SignatureAlgorithm.HS256);
+  }
+
+  @Benchmark
+  public DecodedJWT verifyToken() throws SigningKeyNotFoundException, VerificationException {
+    return jwtController.verifyToken(token, ISSUER);
+  }
+
+  @Benchmark
+  public DecodedJWT verifyTokenWithoutCache() throws SigningKeyNotFoundException, VerificationException {
+    return uncachedJwtController.verifyToken(token, ISSUER);
+  }
+
+  private static JWTController jwtController(InvalidJwtCache invalidJwtCache, InvalidJwtFacade invalidJwtFacade,
+    AlgorithmFactory algorithmFactory, JwtSigningKeyFacade jwtSigningKeyFacade) {
+    JWTController jwtController = new JWTController();
+    Beans.inject(jwtController, "invalidJwtCache", invalidJwtCache);
+    Beans.inject(jwtController, "invalidJwtFacade", invalidJwtFacade);
+    Beans.inject(jwtController, "algorithmFactory", algorithmFactory);
+    Beans.inject(jwtController, "jwtSigningKeyFacade", jwtSigningKeyFacade);
+    return jwtController;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.benchmarks.settings;
+
+import io.hops.hopsworks.benchmarks.Beans;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.persistence.entity.util.Variables;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent reads of cached variables, as done on every REST request. The synchronized variant takes the Settings
+ * monitor around each read, which is what the getters did before they were made lock free, and is kept as the
+ * baseline the lock free reads are compared against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+public class SettingsBenchmark {
+
+  private Settings settings;
+
+  @Setup
+  public void setup() {
+    List<Variables> variables = Arrays.asList(
+      new Variables("spark_dir", "/srv/hops/spark"),
+      new Variables("hdfs_user", "hdfs"),
+      new Variables("file_preview_txt_size", "100"));
+    @SuppressWarnings("unchecked")
+    TypedQuery<Variables> query = Mockito.mock(TypedQuery.class, Mockito.withSettings().stubOnly()
+      .defaultAnswer(Answers.RETURNS_SELF));
+    Mockito.doReturn(variables).when(query).getResultList();
+    EntityManager em = Beans.stub(EntityManager.class);
+    Mockito.when(em.createNamedQuery("Variables.findAll", Variables.class)).thenReturn(query);
+
+    settings = Beans.inject(new Settings(), "em", em);
+    settings.refreshCache();
+  }
+
+  @Benchmark
+  public void read(Blackhole blackhole) {
+    blackhole.consume(settings.getSparkDir());
+    blackhole.consume(settings.getHdfsSuperUser());
+    blackhole.consume(settings.getFilePreviewTxtSize());
+  }
+
+  @Benchmark
+  public void synchronizedRead(Blackhole blackhole) {
+    synchronized (settings) {
+      blackhole.consume(settings.getSparkDir());
+    }
+    synchronized (settings) {
+      blackhole.consume(settings.getHdfsSuperUser());
+    }
+    synchronized (settings) {
+      blackhole.consume(settings.getFilePreviewTxtSize());
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.ca.controllers;
+
+import io.hops.hopsworks.benchmarks.Beans;
+import io.hops.hopsworks.ca.configuration.CAConf;
+import io.hops.hopsworks.ca.configuration.CAsConfiguration;
+import io.hops.hopsworks.ca.persistence.CRLFacade;
+import io.hops.hopsworks.ca.persistence.KeyFacade;
+import io.hops.hopsworks.ca.persistence.PKICertificateFacade;
+import io.hops.hopsworks.ca.persistence.SerialNumberFacade;
+import io.hops.hopsworks.persistence.entity.pki.PKICertificate;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringWriter;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signing of an application certificate request by the intermediate CA. The CAs are generated in memory, this
+ * benchmark is in the package of {@link PKI} to wire it without the container, the same way the tests do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PKIBenchmark {
+
+  private PKI pki;
+  private String csr;
+
+  @Setup
+  public void setup() throws Exception {
+    pki = new InMemoryPKI();
+
+    AtomicLong serialNumber = new AtomicLong();
+    SerialNumberFacade serialNumberFacade = Beans.stub(SerialNumberFacade.class);
+    Mockito.when(serialNumberFacade.nextSerialNumber(Mockito.any()))
+      .thenAnswer(invocation -> serialNumber.incrementAndGet());
+    Mockito.when(serialNumberFacade.isInitialized(Mockito.any())).thenReturn(true);
+    pki.setSerialNumberFacade(serialNumberFacade);
+    pki.setKeyFacade(Beans.stub(KeyFacade.class));
+    PKICertificateFacade pkiCertificateFacade = Beans.stub(PKICertificateFacade.class);
+    Mockito.when(pkiCertificateFacade.findBySubjectAndStatus(Mockito.any(), Mockito.eq(PKICertificate.Status.VALID)))
+      .thenReturn(Optional.empty());
+    pki.setPkiCertificateFacade(pkiCertificateFacade);
+    pki.setCRLFacade(Beans.stub(CRLFacade.class));
+    pki.setPKIUtils(new PKIUtils());
+    CAConf caConf = Beans.stub(CAConf.class);
+    Mockito.when(caConf.getBoolean(CAConf.CAConfKeys.KUBERNETES)).thenReturn(false);
+    pki.setCaConf(caConf);
+
+    pki.init();
+    pki.maybeInitializeCA();
+
+    PKIUtils pkiUtils = Beans.stub(PKIUtils.class);
+    Mockito.when(pkiUtils.getValidityPeriod(CertificateType.APP)).thenReturn(Duration.ofMinutes(10));
+    Mockito.when(pkiUtils.getResponsibleCA(Mockito.any())).thenCallRealMethod();
+    pki.setPKIUtils(pkiUtils);
+
+    KeyPair requesterKeyPair = pki.generateKeyPair();
+    PKCS10CertificationRequest request = new JcaPKCS10CertificationRequestBuilder(
+      new X500Name("CN=benchmark_user,L=hdfs"), requesterKeyPair.getPublic())
+      .build(new JcaContentSignerBuilder("SHA256withRSA").build(requesterKeyPair.getPrivate()));
+    try (StringWriter sw = new StringWriter(); JcaPEMWriter pw = new JcaPEMWriter(sw)) {
+      pw.writeObject(request);
+      pw.flush();
+      csr = sw.toString();
+    }
+  }
+
+  @Benchmark
+  public X509Certificate signCertificateSigningRequest() throws Exception {
+    return pki.signCertificateSigningRequest(csr, CertificateType.APP, null);
+  }
+
+  /**
+   * PKI that generates its CAs instead of loading them from files or from the configuration.
+   */
+  private static class InMemoryPKI extends PKI {
+    @Override
+    protected boolean loadFromFile() {
+      return false;
+    }
+
+    @Override
+    protected CAsConfiguration loadConfiguration() {
+      return EMPTY_CONFIGURATION;
+    }
+  }
+}
@@ -62,6 +62,10 @@ public class CaApiKeyFilter extends ApiKeyFilter {
     return apiKeyUtilities.getApiKey(key);
   }
 
+  protected Users getUser(ApiKey key) throws ApiKeyException {
+    return apiKeyUtilities.getUser(key);
+  }
+
   protected Set<ApiScope> getApiScopes(ApiKey key) {
     return apiKeyUtilities.getScopes(key);
   }
@@ -17,7 +17,9 @@ package io.hops.hopsworks.common.alert;
 
 import com.google.common.base.Strings;
 import io.hops.hopsworks.alert.AMClient;
+import io.hops.hopsworks.alert.AlertDispatcher;
 import io.hops.hopsworks.alert.AlertManagerConfiguration;
+import io.hops.hopsworks.alert.ConfigChangeSet;
 import io.hops.hopsworks.alert.dao.AlertReceiverFacade;
 import io.hops.hopsworks.alert.exception.AlertManagerAccessControlException;
 import io.hops.hopsworks.alert.exception.AlertManagerUnreachableException;
@@ -73,6 +75,8 @@ public class AlertController {
   @EJB
   private AMClient alertManager;
   @EJB
+  private AlertDispatcher alertDispatcher;
+  @EJB
   private AlertManagerConfiguration alertManagerConfiguration;
   @EJB
   private AlertReceiverFacade alertReceiverFacade;
@@ -165,9 +169,19 @@ public class AlertController {
     }
   }
 
+  /**
+   * Queue alerts to be posted to the Alertmanager in the background.
+   */
+  private void dispatchAlert(List<PostableAlert> postableAlerts, Project project)
+      throws AlertManagerAccessControlException {
+    if (!postableAlerts.isEmpty()) {
+      alertDispatcher.enqueue(postableAlerts, project);
+    }
+  }
+
   public void sendFgAlert(List<PostableAlert> postableAlerts, Project project, String name) {
     try {
-      sendAlert(postableAlerts, project);
+      dispatchAlert(postableAlerts, project);
     } catch (Exception e) {
       LOGGER.log(java.util.logging.Level.WARNING, "Failed to send alert. Featuregroup={0}. Exception: {1}",
         new Object[] {name, e.getMessage()});
@@ -176,9 +190,7 @@ public class AlertController {
   
   public void sendFeatureMonitorAlert(List<PostableAlert> postableAlerts, Project project, String name) {
     try {
-      if (!postableAlerts.isEmpty()) {
-        sendAlert(postableAlerts, project);
-      }
+      dispatchAlert(postableAlerts, project);
     } catch (Exception e) {
       LOGGER.log(java.util.logging.Level.WARNING, "Failed to send alert. Feature Monitoring Config={0}. Exception: {1}",
         new Object[]{name, e.getMessage()});
@@ -187,7 +199,7 @@ public class AlertController {
 
   private void sendJobAlert(List<PostableAlert> postableAlerts, Project project, String name, Integer id) {
     try {
-      sendAlert(postableAlerts, project);
+      dispatchAlert(postableAlerts, project);
     } catch (Exception e) {
       LOGGER.log(Level.WARNING,
           "Failed to send alert. Job={0} executionId={1}. Exception: {2}", new Object[] {name, id, e.getMessage()});
@@ -406,14 +418,30 @@ public class AlertController {
       throws AlertManagerUnreachableException, AlertManagerNoSuchElementException, AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException, AlertManagerClientCreateException,
       AlertManagerAccessControlException {
+    ConfigChangeSet changes = new ConfigChangeSet();
+    addRouteIfNotExist(type, route, project, changes);
+    apply(changes);
+  }
+
+  private void addRouteIfNotExist(AlertType type, Route route, Project project, ConfigChangeSet changes)
+      throws AlertManagerAccessControlException {
+    if (!type.isGlobal()) {
+      alertManagerConfiguration.fixRoute(route, project);
+    }
+    changes.addRoute(route, true);
+  }
+
+  /**
+   * Write all route changes collected with the ConfigChangeSet variants of createRoute and deleteRoute with a single
+   * reload of the Alertmanager.
+   */
+  public void apply(ConfigChangeSet changes) throws AlertManagerNoSuchElementException,
+      AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException {
     try {
-      if (type.isGlobal()) {
-        alertManagerConfiguration.addRoute(route);
-      } else {
-        alertManagerConfiguration.addRoute(route, project);
-      }
+      alertManagerConfiguration.apply(changes);
     } catch (AlertManagerDuplicateEntryException e) {
-      // route exists
+      // routes are only added if they do not exist
+      throw new AlertManagerConfigUpdateException(e.getMessage(), e);
     }
   }
 
@@ -425,6 +453,11 @@ public class AlertController {
     addRouteIfNotExist(alert.getAlertType(), route, project);
   }
   
+  public void createRoute(ProjectServiceAlert alert, ConfigChangeSet changes)
+      throws AlertManagerAccessControlException {
+    addRouteIfNotExist(alert.getAlertType(), ConfigUtil.getRoute(alert), alert.getProject(), changes);
+  }
+
   public void createRoute(Project project, FeatureGroupAlert alert) throws AlertManagerUnreachableException,
       AlertManagerAccessControlException, AlertManagerNoSuchElementException, AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException, AlertManagerClientCreateException {
@@ -432,6 +465,11 @@ public class AlertController {
     addRouteIfNotExist(alert.getAlertType(), route, project);
   }
 
+  public void createRoute(Project project, FeatureGroupAlert alert, ConfigChangeSet changes)
+      throws AlertManagerAccessControlException {
+    addRouteIfNotExist(alert.getAlertType(), ConfigUtil.getRoute(alert), project, changes);
+  }
+
   public void createRoute(JobAlert alert) throws AlertManagerUnreachableException, AlertManagerAccessControlException,
       AlertManagerNoSuchElementException, AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException,
       AlertManagerConfigReadException, AlertManagerClientCreateException {
@@ -440,6 +478,10 @@ public class AlertController {
     addRouteIfNotExist(alert.getAlertType(), route, project);
   }
 
+  public void createRoute(JobAlert alert, ConfigChangeSet changes) throws AlertManagerAccessControlException {
+    addRouteIfNotExist(alert.getAlertType(), ConfigUtil.getRoute(alert), alert.getJobId().getProject(), changes);
+  }
+
   public void createRoute(AlertType alertType)
       throws AlertManagerUnreachableException, AlertManagerAccessControlException, AlertManagerNoSuchElementException,
       AlertManagerConfigUpdateException, AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException,
@@ -459,6 +501,11 @@ public class AlertController {
     addRouteIfNotExist(alert.getAlertType(), route, project);
   }
   
+  public void createRoute(Project project, FeatureViewAlert alert, ConfigChangeSet changes)
+      throws AlertManagerAccessControlException {
+    addRouteIfNotExist(alert.getAlertType(), ConfigUtil.getRoute(alert), project, changes);
+  }
+
   public void deleteRoute(ProjectServiceAlert alert)
       throws AlertManagerUnreachableException, AlertManagerAccessControlException, AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException, AlertManagerClientCreateException {
@@ -469,6 +516,10 @@ public class AlertController {
     }
   }
   
+  public void deleteRoute(ProjectServiceAlert alert, ConfigChangeSet changes) {
+    deleteRouteIfNotUsed(ConfigUtil.getRoute(alert), alert.getId(), changes);
+  }
+
   public void deleteRoute(Project project, FeatureGroupAlert alert)
       throws AlertManagerUnreachableException, AlertManagerAccessControlException, AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException, AlertManagerClientCreateException {
@@ -478,6 +529,10 @@ public class AlertController {
     }
   }
 
+  public void deleteRoute(FeatureGroupAlert alert, ConfigChangeSet changes) {
+    deleteRouteIfNotUsed(ConfigUtil.getRoute(alert), alert.getId(), changes);
+  }
+
   public void deleteRoute(JobAlert alert)
       throws AlertManagerUnreachableException, AlertManagerAccessControlException, AlertManagerConfigUpdateException,
       AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException, AlertManagerClientCreateException {
@@ -488,6 +543,10 @@ public class AlertController {
     }
   }
   
+  public void deleteRoute(JobAlert alert, ConfigChangeSet changes) {
+    deleteRouteIfNotUsed(ConfigUtil.getRoute(alert), alert.getId(), changes);
+  }
+
   public void deleteRoute(Project project, FeatureViewAlert alert)
     throws AlertManagerUnreachableException, AlertManagerAccessControlException, AlertManagerConfigUpdateException,
     AlertManagerConfigCtrlCreateException, AlertManagerConfigReadException, AlertManagerClientCreateException {
@@ -497,6 +556,17 @@ public class AlertController {
     }
   }
   
+  public void deleteRoute(FeatureViewAlert alert, ConfigChangeSet changes) {
+    deleteRouteIfNotUsed(ConfigUtil.getRoute(alert), alert.getId(), changes);
+  }
+
+  private void deleteRouteIfNotUsed(Route route, int id, ConfigChangeSet changes) {
+    if (!isUsedByOtherAlerts(route, id)) {
+      // the route is built from an alert of the project, so it is either global or in the project
+      changes.removeRoute(route);
+    }
+  }
+
   private boolean isUsedByOtherAlerts(Route route, int id) {
     Optional<AlertReceiver> alertReceiver = alertReceiverFacade.findByName(route.getReceiver());
     if (!alertReceiver.isPresent()) {
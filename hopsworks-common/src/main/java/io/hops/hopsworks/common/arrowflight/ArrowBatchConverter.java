@@ -0,0 +1,136 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.arrowflight;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeaturegroupPreview;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Converts the record batches of an Arrow Flight stream with a given schema to preview rows or JSON. The column names
+ * are resolved once for the schema and the vectors once per batch, values are then read by position.
+ */
+public class ArrowBatchConverter {
+
+  private final String[] columnNames;
+
+  public ArrowBatchConverter(Schema schema) {
+    List<Field> fields = schema.getFields();
+    columnNames = new String[fields.size()];
+    for (int i = 0; i < columnNames.length; i++) {
+      columnNames[i] = fields.get(i).getName().toLowerCase(); // UI breaks if header is capitalized
+    }
+  }
+
+  public String[] getColumnNames() {
+    return columnNames;
+  }
+
+  /**
+   * Append the rows of a batch to the preview, with the values formatted as strings and nulls as empty strings.
+   *
+   * @param root the current batch of the stream
+   * @param preview the preview to append to
+   */
+  public void addRows(VectorSchemaRoot root, FeaturegroupPreview preview) {
+    int rowCount = root.getRowCount();
+    FeaturegroupPreview.Row[] rows = new FeaturegroupPreview.Row[rowCount];
+    for (int r = 0; r < rowCount; r++) {
+      rows[r] = new FeaturegroupPreview.Row(columnNames.length);
+    }
+    for (int c = 0; c < columnNames.length; c++) {
+      FieldVector vector = root.getVector(c);
+      String columnName = columnNames[c];
+      for (int r = 0; r < rowCount; r++) {
+        rows[r].addValue(columnName, vector.isNull(r) ? "" : vector.getObject(r).toString());
+      }
+    }
+    for (FeaturegroupPreview.Row row : rows) {
+      preview.addRow(row);
+    }
+  }
+
+  /**
+   * Write the rows of a batch as JSON arrays, keeping numbers and booleans typed.
+   *
+   * @param root the current batch of the stream
+   * @param generator the generator to write to, positioned inside an array
+   * @param limit the maximum number of rows to write
+   * @return the number of rows written
+   * @throws IOException if writing fails
+   */
+  public int writeRows(VectorSchemaRoot root, JsonGenerator generator, int limit) throws IOException {
+    int rowCount = Math.min(root.getRowCount(), limit);
+    ValueWriter[] writers = new ValueWriter[columnNames.length];
+    for (int c = 0; c < columnNames.length; c++) {
+      writers[c] = valueWriter(root.getVector(c));
+    }
+    for (int r = 0; r < rowCount; r++) {
+      generator.writeStartArray();
+      for (ValueWriter writer : writers) {
+        writer.write(generator, r);
+      }
+      generator.writeEndArray();
+    }
+    return rowCount;
+  }
+
+  private static ValueWriter valueWriter(FieldVector vector) {
+    ValueWriter writer;
+    if (vector instanceof BaseIntVector) {
+      BaseIntVector intVector = (BaseIntVector) vector;
+      writer = (generator, i) -> generator.writeNumber(intVector.getValueAsLong(i));
+    } else if (vector instanceof FloatingPointVector) {
+      FloatingPointVector floatVector = (FloatingPointVector) vector;
+      writer = (generator, i) -> generator.writeNumber(floatVector.getValueAsDouble(i));
+    } else if (vector instanceof BitVector) {
+      BitVector bitVector = (BitVector) vector;
+      writer = (generator, i) -> generator.writeBoolean(bitVector.get(i) == 1);
+    } else if (vector instanceof DecimalVector) {
+      DecimalVector decimalVector = (DecimalVector) vector;
+      writer = (generator, i) -> generator.writeNumber(decimalVector.getObject(i));
+    } else if (vector instanceof VarCharVector) {
+      VarCharVector varCharVector = (VarCharVector) vector;
+      writer = (generator, i) -> generator.writeString(new String(varCharVector.get(i), StandardCharsets.UTF_8));
+    } else {
+      writer = (generator, i) -> generator.writeString(vector.getObject(i).toString());
+    }
+    return (generator, i) -> {
+      if (vector.isNull(i)) {
+        generator.writeNull();
+      } else {
+        writer.write(generator, i);
+      }
+    };
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter {
+    void write(JsonGenerator generator, int index) throws IOException;
+  }
+}
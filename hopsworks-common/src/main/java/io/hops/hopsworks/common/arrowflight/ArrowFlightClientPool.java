@@ -0,0 +1,320 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.arrowflight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.logicalclocks.servicediscoverclient.service.Service;
+import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
+import io.hops.hopsworks.common.project.AccessCredentialsDTO;
+import io.hops.hopsworks.common.project.ProjectController;
+import io.hops.hopsworks.exceptions.FeaturestoreException;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import io.hops.hopsworks.restutils.RESTCodes;
+import io.hops.hopsworks.servicediscovery.HopsworksService;
+import io.hops.hopsworks.servicediscovery.tags.FlyingDuckTags;
+import org.apache.arrow.flight.Action;
+import org.apache.arrow.flight.FlightClient;
+import org.apache.arrow.flight.Location;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Timer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Authenticated Arrow Flight clients to Flying Duck, one per (project, user). A client is created with the project
+ * user certificates, which are registered with the server once, and reused until the certificates are about to
+ * expire or it has been idle for a while. Clients are leased, a client that is removed from the pool is closed once
+ * its last lease is released.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ArrowFlightClientPool {
+
+  private static final Logger LOGGER = Logger.getLogger(ArrowFlightClientPool.class.getName());
+
+  private static final long MAX_CLIENTS = 100;
+  private static final long CLIENT_IDLE_TIMEOUT_MINUTES = 10;
+  // Stop handing out a client this long before its certificate expires
+  private static final long CERTIFICATE_EXPIRY_MARGIN_MS = TimeUnit.MINUTES.toMillis(5);
+
+  @EJB
+  private ProjectController projectController;
+  @EJB
+  private ServiceDiscoveryController serviceDiscoveryController;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private Cache<String, PooledFlightClient> clients;
+
+  private Counter clientsCreated;
+  private Counter clientsReused;
+  private Timer handshakeTime;
+
+  @PostConstruct
+  public void init() {
+    clients = Caffeine.newBuilder()
+      .maximumSize(MAX_CLIENTS)
+      .expireAfterAccess(CLIENT_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+      .removalListener(this::onClientRemoval)
+      .build();
+    clientsCreated = metricRegistry.counter("arrow_flight_clients_created");
+    clientsReused = metricRegistry.counter("arrow_flight_clients_reused");
+    handshakeTime = metricRegistry.timer("arrow_flight_client_handshake");
+    metricRegistry.gauge("arrow_flight_clients_pooled", clients::estimatedSize);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    clients.invalidateAll();
+    clients.cleanUp();
+  }
+
+  /**
+   * Lease the client of a project user, creating and registering a new one if needed. The lease must be closed once
+   * the client is not used anymore.
+   *
+   * @param project the project that owns the Hive database
+   * @param user the user making the request
+   * @return a lease on an authenticated client
+   * @throws FeaturestoreException if a new client could not be created
+   */
+  public Lease lease(Project project, Users user) throws FeaturestoreException {
+    String key = project.getId() + ":" + user.getUid();
+    PooledFlightClient client = clients.getIfPresent(key);
+    if (client != null) {
+      Lease lease = client.tryLease(key, true);
+      if (lease != null) {
+        clientsReused.inc();
+        return lease;
+      }
+      clients.asMap().remove(key, client);
+    }
+    PooledFlightClient created = createClient(project, user);
+    Lease lease = created.tryLease(key, false);
+    if (lease == null) {
+      // The certificate is already within the expiry margin, serve this request without pooling the client
+      LOGGER.log(Level.FINE, "Certificate of {0} expires soon, the Arrow Flight client is not pooled", key);
+      return created.leaseOnce(key);
+    }
+    // Replacing a client created concurrently for the same user retires it
+    clients.put(key, created);
+    return lease;
+  }
+
+  /**
+   * Stop handing out the client of a project user, e.g. when its certificates are revoked.
+   */
+  public void invalidate(Project project, Users user) {
+    clients.invalidate(project.getId() + ":" + user.getUid());
+  }
+
+  private PooledFlightClient createClient(Project project, Users user) throws FeaturestoreException {
+    long start = System.nanoTime();
+    BufferAllocator allocator = new RootAllocator();
+    FlightClient flightClient = null;
+    try {
+      AccessCredentialsDTO accessCredentialsDTO = projectController.credentials(project, user);
+
+      InputStream caChainInputStream =
+          new ByteArrayInputStream(accessCredentialsDTO.getCaChain().getBytes(StandardCharsets.UTF_8));
+      InputStream clientCertInputStream =
+          new ByteArrayInputStream(accessCredentialsDTO.getClientCert().getBytes(StandardCharsets.UTF_8));
+      InputStream clientKeyInputStream =
+          new ByteArrayInputStream(accessCredentialsDTO.getClientKey().getBytes(StandardCharsets.UTF_8));
+
+      // Flyingduck port is exposed as server.flyingduck.service.consul, however flyingduck is quite picky
+      // when it comes to certificates and it requires the hostname to be flyingduck.service.consul
+      // so here we fetch the port from the service discovery and then we build the rest of the name
+      Service flyingduckService = serviceDiscoveryController
+          .getAnyAddressOfServiceWithDNS(HopsworksService.FLYING_DUCK.getNameWithTag(FlyingDuckTags.server));
+      String flyingduckEndpoing = serviceDiscoveryController
+          .constructServiceFQDN(HopsworksService.FLYING_DUCK.getName()) + ":" + flyingduckService.getPort();
+
+      flightClient = FlightClient.builder()
+          .useTls()
+          .allocator(allocator)
+          .location(new Location("grpc+tls://" + flyingduckEndpoing))
+          .trustedCertificates(caChainInputStream)
+          .clientCertificate(clientCertInputStream, clientKeyInputStream)
+          .build();
+
+      // register client certificates
+      ArrowFlightCredentialDTO arrowFlightCredentials = new ArrowFlightCredentialDTO(accessCredentialsDTO);
+      flightClient.doAction(new Action("register-client-certificates",
+              objectMapper.writeValueAsString(arrowFlightCredentials).getBytes(StandardCharsets.UTF_8)))
+          .hasNext();
+
+      long expiresAt = getNotAfter(accessCredentialsDTO.getClientCert()) - CERTIFICATE_EXPIRY_MARGIN_MS;
+      clientsCreated.inc();
+      handshakeTime.update(Duration.ofNanos(System.nanoTime() - start));
+      return new PooledFlightClient(flightClient, allocator, expiresAt);
+    } catch (Exception e) {
+      closeQuietly(flightClient, allocator);
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_ARROW_FLIGHT_CONNECTION,
+          Level.SEVERE, "project: " + project.getName(), e.getMessage(), e);
+    }
+  }
+
+  private long getNotAfter(String clientCert) throws Exception {
+    CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+    X509Certificate certificate = (X509Certificate) certificateFactory.generateCertificate(
+      new ByteArrayInputStream(clientCert.getBytes(StandardCharsets.UTF_8)));
+    return certificate.getNotAfter().getTime();
+  }
+
+  private void onClientRemoval(String key, PooledFlightClient client, RemovalCause cause) {
+    if (client != null) {
+      client.retire();
+    }
+  }
+
+  private static void closeQuietly(FlightClient flightClient, BufferAllocator allocator) {
+    try {
+      if (flightClient != null) {
+        flightClient.close();
+      }
+      allocator.close();
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Error closing Arrow Flight client", e);
+    }
+  }
+
+  /**
+   * A lease on a pooled client. Closing the lease gives the client back to the pool.
+   */
+  public class Lease implements AutoCloseable {
+    private final String key;
+    private final PooledFlightClient pooled;
+    private final boolean reused;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    private Lease(String key, PooledFlightClient pooled, boolean reused) {
+      this.key = key;
+      this.pooled = pooled;
+      this.reused = reused;
+    }
+
+    public FlightClient getClient() {
+      return pooled.flightClient;
+    }
+
+    /**
+     * @return true if the client was created for an earlier request
+     */
+    public boolean isReused() {
+      return reused;
+    }
+
+    /**
+     * Remove the client from the pool, e.g. when the server rejected it. It is closed once all its leases are
+     * released.
+     */
+    public void invalidate() {
+      clients.asMap().remove(key, pooled);
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        pooled.release();
+      }
+    }
+  }
+
+  private class PooledFlightClient {
+    private final FlightClient flightClient;
+    private final BufferAllocator allocator;
+    private final long expiresAt;
+    // Guarded by this
+    private int leases = 0;
+    private boolean retired = false;
+
+    private PooledFlightClient(FlightClient flightClient, BufferAllocator allocator, long expiresAt) {
+      this.flightClient = flightClient;
+      this.allocator = allocator;
+      this.expiresAt = expiresAt;
+    }
+
+    private synchronized Lease tryLease(String key, boolean reused) {
+      if (retired || System.currentTimeMillis() >= expiresAt) {
+        return null;
+      }
+      leases++;
+      return new Lease(key, this, reused);
+    }
+
+    /**
+     * Lease a client that is not in the pool, it is closed when the lease is released.
+     */
+    private synchronized Lease leaseOnce(String key) {
+      retired = true;
+      leases++;
+      return new Lease(key, this, false);
+    }
+
+    private void release() {
+      boolean lastLease;
+      synchronized (this) {
+        leases--;
+        lastLease = retired && leases == 0;
+      }
+      if (lastLease) {
+        closeQuietly(flightClient, allocator);
+      }
+    }
+
+    private void retire() {
+      boolean unused;
+      synchronized (this) {
+        if (retired) {
+          return;
+        }
+        retired = true;
+        unused = leases == 0;
+      }
+      if (unused) {
+        closeQuietly(flightClient, allocator);
+      }
+    }
+  }
+}
@@ -18,14 +18,10 @@ package io.hops.hopsworks.common.arrowflight;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.logicalclocks.servicediscoverclient.service.Service;
 import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeaturegroupPreview;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupController;
 import io.hops.hopsworks.common.featurestore.storageconnectors.StorageConnectorUtil;
-import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
-import io.hops.hopsworks.common.project.AccessCredentialsDTO;
-import io.hops.hopsworks.common.project.ProjectController;
 import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
 import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.FeaturegroupType;
@@ -36,28 +32,16 @@ import io.hops.hopsworks.persistence.entity.featurestore.storageconnector.snowfl
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.restutils.RESTCodes;
-import io.hops.hopsworks.servicediscovery.HopsworksService;
-import io.hops.hopsworks.servicediscovery.tags.FlyingDuckTags;
-import org.apache.arrow.flight.Action;
 import org.apache.arrow.flight.FlightClient;
 import org.apache.arrow.flight.FlightDescriptor;
 import org.apache.arrow.flight.FlightInfo;
 import org.apache.arrow.flight.FlightRuntimeException;
-import org.apache.arrow.flight.FlightStream;
-import org.apache.arrow.flight.Location;
-import org.apache.arrow.memory.RootAllocator;
-import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.arrow.vector.table.Row;
-import org.apache.arrow.vector.table.Table;
-import org.apache.arrow.vector.types.pojo.Field;
-import org.javatuples.Pair;
+import org.apache.arrow.flight.FlightStatusCode;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
@@ -76,112 +60,84 @@ public class ArrowFlightController {
   @EJB
   protected StorageConnectorUtil storageConnectorUtil;
   @EJB
-  private ProjectController projectController;
-  @EJB
-  protected ServiceDiscoveryController serviceDiscoveryController;
-  @EJB
   protected FeaturegroupController featuregroupController;
+  @EJB
+  private ArrowFlightClientPool arrowFlightClientPool;
+
+  // A pooled client rejected by the server is replaced and the query retried once
+  private static final int MAX_QUERY_ATTEMPTS = 2;
 
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Initializes an Arrow Flight connection to Flying Duck using TLS with the given access credentials
+   * Leases a pooled Arrow Flight client to Flying Duck for the given project-user and then executes a query
    *
+   * @param query        the read query (Proprietary to Flying Duck)
    * @param project      the project that owns the Hive database
    * @param user         the user making the request
-   * @return FlightClient
+   * @return FeaturegroupPreview
    * @throws FeaturestoreException
    */
-  private FlightClient initFlightClient(Project project, Users user)
-      throws FeaturestoreException, InterruptedException {
-    FlightClient flightClient = null;
-    try {
-      AccessCredentialsDTO accessCredentialsDTO = projectController.credentials(project, user);
-
-      InputStream caChainInputStream =
-          new ByteArrayInputStream(accessCredentialsDTO.getCaChain().getBytes(StandardCharsets.UTF_8));
-      InputStream clientCertInputStream =
-          new ByteArrayInputStream(accessCredentialsDTO.getClientCert().getBytes(StandardCharsets.UTF_8));
-      InputStream clientKeyInputStream =
-          new ByteArrayInputStream(accessCredentialsDTO.getClientKey().getBytes(StandardCharsets.UTF_8));
-
-      // Flyingduck port is exposed as server.flyingduck.service.consul, however flyingduck is quite picky
-      // when it comes to certificates and it requires the hostname to be flyingduck.service.consul
-      // so here we fetch the port from the service discovery and then we build the rest of the name
-      Service flyingduckService = serviceDiscoveryController
-          .getAnyAddressOfServiceWithDNS(HopsworksService.FLYING_DUCK.getNameWithTag(FlyingDuckTags.server));
-      String flyingduckEndpoing = serviceDiscoveryController
-          .constructServiceFQDN(HopsworksService.FLYING_DUCK.getName()) + ":" + flyingduckService.getPort();
-
-      flightClient = FlightClient.builder()
-          .useTls()
-          .allocator(new RootAllocator())
-          .location(new Location("grpc+tls://" + flyingduckEndpoing))
-          .trustedCertificates(caChainInputStream)
-          .clientCertificate(clientCertInputStream, clientKeyInputStream)
-          .build();
-
-      // register client certificates
-      ArrowFlightCredentialDTO arrowFlightCredentials = new ArrowFlightCredentialDTO(accessCredentialsDTO);
-      flightClient.doAction(new Action("register-client-certificates",
-              objectMapper.writeValueAsString(arrowFlightCredentials).getBytes(StandardCharsets.UTF_8)))
-          .hasNext();
-
-      return flightClient;
-    } catch (Exception e) {
-      if (flightClient != null) {
-        flightClient.close();
-      }
-      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_ARROW_FLIGHT_CONNECTION,
-          Level.SEVERE, "project: " + project.getName(), e.getMessage(), e);
+  public FeaturegroupPreview executeReadArrowFlightQuery(String query, Project project, Users user)
+      throws FeaturestoreException {
+    try (ArrowFlightQueryStream queryStream = openReadArrowFlightQuery(query, project, user)) {
+      FeaturegroupPreview featuregroupPreview = new FeaturegroupPreview();
+      queryStream.readRows(featuregroupPreview);
+      return featuregroupPreview;
+    } catch (FlightRuntimeException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ARROW_FLIGHT_READ_QUERY_ERROR, Level.FINE,
+          "project: " + project.getName() + ", Arrow Flight query: " + query, e.getMessage(), e);
     }
   }
 
   /**
-   * Starts Arrow Flight connection to Flying Duck using the given project-user and then executes a query
+   * Executes a query and returns its result as a stream of batches, so that rows can be consumed as they arrive.
+   * The stream must be closed to give the client back to the pool.
    *
    * @param query        the read query (Proprietary to Flying Duck)
    * @param project      the project that owns the Hive database
    * @param user         the user making the request
-   * @return FeaturegroupPreview
+   * @return ArrowFlightQueryStream
    * @throws FeaturestoreException
    */
-  public FeaturegroupPreview executeReadArrowFlightQuery(String query, Project project, Users user)
+  public ArrowFlightQueryStream openReadArrowFlightQuery(String query, Project project, Users user)
       throws FeaturestoreException {
-    try(FlightClient flightClient = initFlightClient(project, user)) {
-      // get flight info
-      FlightInfo flightInfo = flightClient.getInfo(FlightDescriptor.command(query.getBytes(StandardCharsets.US_ASCII)));
-
-      // read data
-      FeaturegroupPreview featuregroupPreview = new FeaturegroupPreview();
-      try(FlightStream flightStream = flightClient.getStream(flightInfo.getEndpoints().get(0).getTicket())) {
-        try (VectorSchemaRoot vectorSchemaRootReceived = flightStream.getRoot()) {
-          while (flightStream.next()) {
-            try (Table table = new Table(vectorSchemaRootReceived.getFieldVectors())) {
-              for (Row tableRow: table) {
-                FeaturegroupPreview.Row row = new FeaturegroupPreview.Row();
-                for (Field field: table.getSchema().getFields()) {
-                  row.addValue(new Pair<>(field.getName().toLowerCase(), // UI breaks if header is capitalized
-                    tableRow.isNull(field.getName()) ? "" : tableRow.getExtensionType(field.getName()).toString()));
-                }
-                featuregroupPreview.addRow(row);
-              }
-            }
-          }
+    try {
+      for (int attempt = 1; ; attempt++) {
+        ArrowFlightClientPool.Lease lease = arrowFlightClientPool.lease(project, user);
+        try {
+          FlightClient flightClient = lease.getClient();
+          FlightInfo flightInfo =
+              flightClient.getInfo(FlightDescriptor.command(query.getBytes(StandardCharsets.US_ASCII)));
+          return new ArrowFlightQueryStream(lease,
+              flightClient.getStream(flightInfo.getEndpoints().get(0).getTicket()));
         } catch (FlightRuntimeException e) {
-          if (e.getMessage().contains("No such file or directory")) {
-            return featuregroupPreview; // nothing was writtent to hudi
+          // Other errors, e.g. an invalid query, say nothing about the client, it stays in the pool
+          boolean clientRejected = isClientRejected(e);
+          if (clientRejected) {
+            lease.invalidate();
+          }
+          lease.close();
+          if (clientRejected && lease.isReused() && attempt < MAX_QUERY_ATTEMPTS) {
+            // Flying Duck might have been restarted and lost the certificates registered by the pooled client
+            continue;
           }
           throw e;
+        } catch (RuntimeException e) {
+          lease.close();
+          throw e;
         }
       }
-      return featuregroupPreview;
     } catch (Exception e) {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ARROW_FLIGHT_READ_QUERY_ERROR, Level.FINE,
           "project: " + project.getName() + ", Arrow Flight query: " + query, e.getMessage(), e);
     }
   }
 
+  private boolean isClientRejected(FlightRuntimeException e) {
+    FlightStatusCode code = e.status().code();
+    return code == FlightStatusCode.UNAUTHENTICATED || code == FlightStatusCode.UNAVAILABLE;
+  }
 
   /**
    * Gets Query string that can be used in Arrow Flight server
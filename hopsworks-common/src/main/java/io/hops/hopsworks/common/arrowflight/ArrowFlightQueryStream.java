@@ -0,0 +1,125 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.arrowflight;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeaturegroupPreview;
+import org.apache.arrow.flight.FlightRuntimeException;
+import org.apache.arrow.flight.FlightStream;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The result of an Arrow Flight query, read batch by batch as the server sends it. Holds a leased client until closed.
+ */
+public class ArrowFlightQueryStream implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(ArrowFlightQueryStream.class.getName());
+  private static final String[] NO_COLUMNS = new String[0];
+
+  private final ArrowFlightClientPool.Lease lease;
+  private final FlightStream flightStream;
+  // null if nothing was written to the table
+  private final ArrowBatchConverter converter;
+
+  ArrowFlightQueryStream(ArrowFlightClientPool.Lease lease, FlightStream flightStream) {
+    this.lease = lease;
+    this.flightStream = flightStream;
+    ArrowBatchConverter schemaConverter = null;
+    try {
+      schemaConverter = new ArrowBatchConverter(flightStream.getSchema());
+    } catch (FlightRuntimeException e) {
+      if (!isEmptyTable(e)) {
+        closeStream(e);
+        throw e;
+      }
+    } catch (RuntimeException e) {
+      closeStream(e);
+      throw e;
+    }
+    this.converter = schemaConverter;
+  }
+
+  /**
+   * The caller releases the lease when the constructor throws, but it never gets the stream to close.
+   */
+  private void closeStream(RuntimeException cause) {
+    try {
+      flightStream.close();
+    } catch (Exception e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  public String[] getColumnNames() {
+    return converter == null ? NO_COLUMNS : converter.getColumnNames();
+  }
+
+  /**
+   * Read all the remaining rows into the preview.
+   */
+  public void readRows(FeaturegroupPreview preview) {
+    while (nextBatch()) {
+      converter.addRows(flightStream.getRoot(), preview);
+    }
+  }
+
+  /**
+   * Write the remaining rows, up to limit, as JSON arrays.
+   *
+   * @return the number of rows written
+   */
+  public int writeRows(JsonGenerator generator, int limit) throws IOException {
+    int written = 0;
+    while (written < limit && nextBatch()) {
+      written += converter.writeRows(flightStream.getRoot(), generator, limit - written);
+      generator.flush();
+    }
+    return written;
+  }
+
+  private boolean nextBatch() {
+    if (converter == null) {
+      return false;
+    }
+    try {
+      return flightStream.next();
+    } catch (FlightRuntimeException e) {
+      if (isEmptyTable(e)) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  private static boolean isEmptyTable(FlightRuntimeException e) {
+    // nothing was written to hudi
+    return e.getMessage() != null && e.getMessage().contains("No such file or directory");
+  }
+
+  @Override
+  public void close() {
+    try {
+      flightStream.close();
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Error closing Arrow Flight stream", e);
+    } finally {
+      lease.close();
+    }
+  }
+}
@@ -52,6 +52,7 @@ import javax.naming.InitialContext;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -78,6 +79,8 @@ public class SearchFSCommandExecutor {
   private SearchFSCommandHistoryFacade commandHistoryFacade;
   @EJB
   private SearchFSOpenSearchController searchController;
+  @EJB
+  private SearchFSReindexer searchFSReindexer;
   
   private boolean init = false;
   
@@ -418,9 +421,19 @@ public class SearchFSCommandExecutor {
     try {
       if(c.getOp().equals(SearchFSCommandOp.DELETE_PROJECT)) {
         searchController.deleteProject(c.getProjectId());
+        Optional<String> shadowIndex = searchFSReindexer.getShadowIndex();
+        if (shadowIndex.isPresent()) {
+          searchFSReindexer.recordDeletedProject(c.getProjectId());
+          searchController.deleteProject(shadowIndex.get(), c.getProjectId());
+        }
         return Try.apply(() -> true);
       } else if (c.getOp().equals(SearchFSCommandOp.DELETE_ARTIFACT)) {
         searchController.delete(c.getInodeId());
+        Optional<String> shadowIndex = searchFSReindexer.getShadowIndex();
+        if (shadowIndex.isPresent()) {
+          searchFSReindexer.recordDeletedDoc(c.getInodeId());
+          searchController.delete(shadowIndex.get(), c.getInodeId());
+        }
         return Try.apply(() -> true);
       } else {
         if (c.getProject() == null) {
@@ -434,18 +447,22 @@ public class SearchFSCommandExecutor {
         switch(c.getOp()) {
           case CREATE: {
             searchController.create(c.getInodeId(), c);
+            indexShadow(c);
             return Try.apply(() -> true);
           }
           case UPDATE_TAGS: {
             searchController.updateTags(c.getInodeId(), c);
+            indexShadow(c);
             return Try.apply(() -> true);
           }
           case UPDATE_KEYWORDS: {
             searchController.updateKeywords(c.getInodeId(), c);
+            indexShadow(c);
             return Try.apply(() -> true);
           }
           case UPDATE_METADATA: {
             searchController.updateMetadata(c.getInodeId(), c);
+            indexShadow(c);
             return Try.apply(() -> true);
           }
           default :
@@ -463,4 +480,15 @@ public class SearchFSCommandExecutor {
       return new Try.Failure<>(e);
     }
   }
+  
+  /**
+   * While a reindex is ongoing, the index being built gets the complete document of the artifact, as the partial
+   * update of the command would be lost if the reindex did not write the document yet.
+   */
+  private void indexShadow(SearchFSCommand c) throws CommandException, OpenSearchException {
+    Optional<String> shadowIndex = searchFSReindexer.getShadowIndex();
+    if (shadowIndex.isPresent()) {
+      searchController.index(shadowIndex.get(), c);
+    }
+  }
 }
@@ -142,7 +142,7 @@ public class SearchFSCommandLogger {
     commandFacade.persistAndFlush(command);
   }
   
-  private SearchFSCommand getCommand(Featuregroup featureGroup, SearchFSCommandOp op) throws FeaturestoreException {
+  public SearchFSCommand getCommand(Featuregroup featureGroup, SearchFSCommandOp op) throws FeaturestoreException {
     SearchFSCommand command = new SearchFSCommand();
     String path = featureGroupCtrl.getFeatureGroupLocation(featureGroup);
     Inode inode = inodeCtrl.getInodeAtPath(path);
@@ -159,7 +159,7 @@ public class SearchFSCommandLogger {
     return command;
   }
   
-  private SearchFSCommand getCommand(FeatureView featureView, SearchFSCommandOp op) throws FeaturestoreException {
+  public SearchFSCommand getCommand(FeatureView featureView, SearchFSCommandOp op) throws FeaturestoreException {
     SearchFSCommand command = new SearchFSCommand();
     String path = featureViewCtrl.getLocation(featureView);
     Inode inode = inodeCtrl.getInodeAtPath(path);
@@ -176,7 +176,7 @@ public class SearchFSCommandLogger {
     return command;
   }
   
-  private SearchFSCommand getCommand(TrainingDataset trainingDataset, SearchFSCommandOp op)
+  public SearchFSCommand getCommand(TrainingDataset trainingDataset, SearchFSCommandOp op)
     throws FeaturestoreException {
     SearchFSCommand command = new SearchFSCommand();
     FeaturestoreHopsfsConnector fsConnector =
@@ -19,11 +19,19 @@ import io.hops.hopsworks.common.api.RestDTO;
 
 public class SearchFSCommandStatus extends RestDTO<SearchFSCommandStatus> {
   private long ongoingOperations;
+  private long reindexPendingProjects;
+  private String reindexIndex;
   
   public SearchFSCommandStatus(long ongoingOperations) {
     this.ongoingOperations = ongoingOperations;
   }
   
+  public SearchFSCommandStatus(long ongoingOperations, long reindexPendingProjects, String reindexIndex) {
+    this.ongoingOperations = ongoingOperations;
+    this.reindexPendingProjects = reindexPendingProjects;
+    this.reindexIndex = reindexIndex;
+  }
+  
   public SearchFSCommandStatus() {
   }
   
@@ -34,4 +42,20 @@ public class SearchFSCommandStatus extends RestDTO<SearchFSCommandStatus> {
   public void setOngoingOperations(long ongoingOperations) {
     this.ongoingOperations = ongoingOperations;
   }
+  
+  public long getReindexPendingProjects() {
+    return reindexPendingProjects;
+  }
+  
+  public void setReindexPendingProjects(long reindexPendingProjects) {
+    this.reindexPendingProjects = reindexPendingProjects;
+  }
+  
+  public String getReindexIndex() {
+    return reindexIndex;
+  }
+  
+  public void setReindexIndex(String reindexIndex) {
+    this.reindexIndex = reindexIndex;
+  }
 }
@@ -43,6 +43,7 @@ import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommand;
 import io.hops.hopsworks.persistence.entity.featurestore.featureview.FeatureView;
 import io.hops.hopsworks.persistence.entity.featurestore.metadata.FeatureStoreTag;
 import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDatasetFeature;
+import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.restutils.RESTCodes;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.index.IndexRequest;
@@ -86,23 +87,53 @@ public class SearchFSOpenSearchController {
   private Settings settings;
   
   public long deleteProject(Integer projectId) throws OpenSearchException {
-    DeleteByQueryRequest deleteRequest = new DeleteByQueryRequest(Settings.FEATURESTORE_INDEX);
+    return deleteProject(Settings.FEATURESTORE_INDEX, projectId);
+  }
+  
+  public long deleteProject(String index, Integer projectId) throws OpenSearchException {
+    DeleteByQueryRequest deleteRequest = new DeleteByQueryRequest(index);
     deleteRequest.setQuery(QueryBuilders.matchQuery(
       FeaturestoreXAttrsConstants.PROJECT_ID, projectId));
     return opensearchClient.deleteByQuery(deleteRequest);
   }
   
   public boolean delete(Long docId) throws OpenSearchException {
-    DeleteRequest request = new DeleteRequest().index(Settings.FEATURESTORE_INDEX).id(String.valueOf(docId));
+    return delete(Settings.FEATURESTORE_INDEX, docId);
+  }
+  
+  public boolean delete(String index, Long docId) throws OpenSearchException {
+    DeleteRequest request = new DeleteRequest().index(index).id(String.valueOf(docId));
     return opensearchClient.deleteDoc(request);
   }
   
   public void create(Long docId, SearchFSCommand c) throws CommandException, OpenSearchException {
     IndexRequest request = new IndexRequest().index(Settings.FEATURESTORE_INDEX).id(String.valueOf(docId));
-    request.source(docBuilder(create(c)));
+    request.source(docBuilder(create(c, getFeatureStoreInode(c.getProject()))));
     opensearchClient.indexDoc(request);
   }
   
+  /**
+   * Index the complete document of the artifact, the same document the create and update commands build.
+   */
+  public void index(String index, SearchFSCommand c) throws CommandException, OpenSearchException {
+    opensearchClient.indexDoc(indexRequest(index, c, getFeatureStoreInode(c.getProject())));
+  }
+  
+  public IndexRequest indexRequest(String index, SearchFSCommand c, Long featureStoreInode)
+    throws CommandException {
+    SearchDoc doc = create(c, featureStoreInode);
+    SearchDoc.XAttr xattr = updateMetadata(c).getXattr();
+    xattr.setTags(updateTags(c).getXattr().getTags());
+    xattr.setKeywords(updateKeywords(c).getXattr().getKeywords());
+    doc.setXattr(xattr);
+    return new IndexRequest().index(index).id(String.valueOf(c.getInodeId())).source(docBuilder(doc));
+  }
+  
+  public Long getFeatureStoreInode(Project project) {
+    String featureStorePath = Utils.getFeaturestorePath(project, settings);
+    return inodeCtrl.getInodeAtPath(featureStorePath).getId();
+  }
+  
   public void updateTags(Long docId, SearchFSCommand c) throws CommandException, OpenSearchException {
     UpdateRequest request = new UpdateRequest().index(Settings.FEATURESTORE_INDEX).id(String.valueOf(docId));
     request.doc(docBuilder(updateTags(c)));
@@ -150,13 +181,10 @@ public class SearchFSOpenSearchController {
     }
   }
   
-  private SearchDoc create(SearchFSCommand c) throws CommandException {
+  private SearchDoc create(SearchFSCommand c, Long featureStoreInode) throws CommandException {
     SearchDoc doc =  new SearchDoc();
-    doc.setProjectId(c.getProjectId());
+    doc.setProjectId(c.getProject().getId());
     doc.setProjectName(c.getProject().getName());
-  
-    String featureStorePath = Utils.getFeaturestorePath(c.getProject(), settings);
-    Long featureStoreInode = inodeCtrl.getInodeAtPath(featureStorePath).getId();
     doc.setDatasetIId(featureStoreInode);
     if(c.getFeatureGroup() != null) {
       doc.setDocType(OpenSearchDocType.FEATURE_GROUP);
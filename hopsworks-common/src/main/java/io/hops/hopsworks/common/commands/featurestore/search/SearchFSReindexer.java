@@ -15,40 +15,105 @@
  */
 package io.hops.hopsworks.common.commands.featurestore.search;
 
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
 import io.hops.hopsworks.common.commands.CommandException;
+import io.hops.hopsworks.common.dao.project.ProjectFacade;
 import io.hops.hopsworks.common.featurestore.FeaturestoreFacade;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupFacade;
 import io.hops.hopsworks.common.featurestore.featureview.FeatureViewFacade;
 import io.hops.hopsworks.common.featurestore.trainingdatasets.TrainingDatasetFacade;
 import io.hops.hopsworks.common.opensearch.OpenSearchClientController;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.exceptions.OpenSearchException;
+import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommand;
+import io.hops.hopsworks.persistence.entity.commands.search.SearchFSCommandOp;
 import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
 import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
 import io.hops.hopsworks.persistence.entity.featurestore.featureview.FeatureView;
 import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDataset;
+import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.opensearch.client.indices.GetIndexResponse;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.rest.RestStatus;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
 import javax.ejb.DependsOn;
 import javax.ejb.EJB;
 import javax.ejb.Singleton;
 import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+/**
+ * Rebuilds the feature store search index without stopping the command executor. The documents of every project are
+ * written in bulk into a shadow index and, once all projects are done, the {@link Settings#FEATURESTORE_INDEX} alias
+ * is swapped to it in a single alias update. Projects are claimed through Hazelcast maps, so that every instance of
+ * the cluster reindexes a share of them. While the reindex is ongoing the command executor applies the commands to
+ * both indices, see {@link #getShadowIndex()}. Deletes are also recorded and applied again after the swap, as the
+ * reindex of a project can read an artifact before it is deleted and write it after the delete. A single reindex runs
+ * at a time, the member starting it claims the reindex before preparing the new index.
+ */
 @Startup
 @Singleton
 @DependsOn("Settings")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
 @TransactionAttribute(TransactionAttributeType.NEVER)
 public class SearchFSReindexer {
   private static final Logger LOGGER = Logger.getLogger(SearchFSReindexer.class.getName());
-  
+  private static final String STATE_MAP = "search_fs_reindex_state";
+  private static final String PROJECTS_MAP = "search_fs_reindex_projects";
+  private static final String DELETED_DOCS_MAP = "search_fs_reindex_deleted_docs";
+  private static final String DELETED_PROJECTS_MAP = "search_fs_reindex_deleted_projects";
+  private static final String OWNER = "owner";
+  private static final String SHADOW_INDEX = "shadow_index";
+  private static final String PENDING = "pending";
+  private static final long TIMER_PERIOD = 10000L;
+  private static final int BULK_SIZE = 500;
+
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+  @EJB
+  private PayaraClusterManager payaraClusterManager;
+  @Resource
+  private TimerService timerService;
   @EJB
   private OpenSearchClientController searchClient;
   @EJB
+  private SearchFSOpenSearchController searchController;
+  @EJB
+  private ProjectFacade projectFacade;
+  @EJB
   private FeaturestoreFacade featurestoreFacade;
   @EJB
   private FeaturegroupFacade featureGroupFacade;
@@ -58,65 +123,385 @@ public class SearchFSReindexer {
   private TrainingDatasetFacade trainingDatasetFacade;
   @EJB
   private SearchFSCommandLogger searchFSCommandLogger;
-  
+
+  // OWNER -> member that started the reindex, present from the start of a reindex until its swap
+  // SHADOW_INDEX -> index being built, present once the index is created and the projects enqueued
+  private ConcurrentMap<String, String> state;
+  // project id -> PENDING or the member reindexing the project
+  private ConcurrentMap<Integer, String> projects;
+  private ConcurrentMap<Long, Boolean> deletedDocs;
+  private ConcurrentMap<Integer, Boolean> deletedProjects;
+  private String memberId;
+  private final AtomicBoolean processing = new AtomicBoolean(false);
+  private Timer timer;
+
+  @PostConstruct
+  public void init() {
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      state = hazelcastInstance.getMap(STATE_MAP);
+      projects = hazelcastInstance.getMap(PROJECTS_MAP);
+      deletedDocs = hazelcastInstance.getMap(DELETED_DOCS_MAP);
+      deletedProjects = hazelcastInstance.getMap(DELETED_PROJECTS_MAP);
+      memberId = hazelcastInstance.getCluster().getLocalMember().getUuid().toString();
+    } else {
+      state = new ConcurrentHashMap<>();
+      projects = new ConcurrentHashMap<>();
+      deletedDocs = new ConcurrentHashMap<>();
+      deletedProjects = new ConcurrentHashMap<>();
+      memberId = "local";
+    }
+    timer = timerService.createIntervalTimer(TIMER_PERIOD, TIMER_PERIOD,
+      new TimerConfig("feature store search reindexer", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (timer != null) {
+      timer.cancel();
+    }
+  }
+
   public SearchFSCommandStatus status() {
-    return new SearchFSCommandStatus(searchFSCommandLogger.count());
+    return new SearchFSCommandStatus(searchFSCommandLogger.count(), projects.size(), state.get(SHADOW_INDEX));
   }
+
   /**
-   * For this reindex mechanism to work properly, the cluster needs to be idle while this is ongoing
-   * This works the same as the epipe reindex
-   * @throws OpenSearchException
-   * @throws FeaturestoreException
+   * @return the index being built by an ongoing reindex
    */
-  public void reindex() throws OpenSearchException, FeaturestoreException, CommandException {
-    if(searchFSCommandLogger.count() != 0) {
-      String msg = "make sure command_search_fs is empty before trigerring a reindex";
-      throw new CommandException(RESTCodes.CommandErrorCode.INVALID_SQL_QUERY, Level.INFO, msg);
+  public Optional<String> getShadowIndex() {
+    return Optional.ofNullable(state.get(SHADOW_INDEX));
+  }
+
+  /**
+   * Record a document deleted while a reindex is ongoing, it is deleted again from the new index once it is in use.
+   */
+  public void recordDeletedDoc(Long docId) {
+    deletedDocs.put(docId, Boolean.TRUE);
+  }
+
+  /**
+   * Record a project deleted while a reindex is ongoing, its documents are deleted again from the new index once it
+   * is in use.
+   */
+  public void recordDeletedProject(Integer projectId) {
+    deletedProjects.put(projectId, Boolean.TRUE);
+  }
+
+  /**
+   * Start a reindex into a new index. The current index keeps serving searches and receiving the commands until the
+   * new one is complete.
+   */
+  public void reindex() throws OpenSearchException, CommandException {
+    // nothing is touched before the claim, the maps and indices of an ongoing reindex belong to it
+    if (state.putIfAbsent(OWNER, memberId) != null) {
+      throw new CommandException(RESTCodes.CommandErrorCode.REINDEX_ONGOING, Level.INFO);
+    }
+    String shadowIndex = null;
+    boolean started = false;
+    try {
+      deleteAbandonedIndices();
+      shadowIndex = Settings.FEATURESTORE_REINDEX_INDEX_PATTERN_PREFIX + System.currentTimeMillis();
+      searchClient.mngIndexCreate(createIndexRequest(shadowIndex));
+      deletedDocs.clear();
+      deletedProjects.clear();
+      projects.clear();
+      Set<Integer> projectIds = featurestoreFacade.findAll().stream()
+        .map(fs -> fs.getProject().getId())
+        .collect(Collectors.toSet());
+      projectIds.forEach(projectId -> projects.put(projectId, PENDING));
+      // from here on the commands are also applied to the new index and the projects are reindexed
+      state.put(SHADOW_INDEX, shadowIndex);
+      started = true;
+      LOGGER.log(Level.INFO, "reindexing featurestore search into:{0} projects:{1}",
+        new Object[]{shadowIndex, projectIds.size()});
+    } finally {
+      if (!started) {
+        release(shadowIndex);
+      }
+    }
+  }
+
+  /**
+   * Undo a reindex that failed to start, so that it can be started again.
+   */
+  private void release(String shadowIndex) {
+    projects.clear();
+    if (shadowIndex != null) {
+      try {
+        searchClient.mngIndexDelete(shadowIndex);
+      } catch (Exception e) {
+        // deleted as abandoned by the next reindex
+        LOGGER.log(Level.INFO, "could not delete featurestore reindex index:" + shadowIndex, e);
+      }
+    }
+    state.remove(OWNER, memberId);
+  }
+
+  /**
+   * The new index has the mappings of the current one, the documents written by the reindex are the same documents
+   * the commands write. It also has the analyzers, the number of shards and replicas and the mapping limits of the
+   * current one, the settings describing the current index itself, like its uuid or creation date, are not copied.
+   */
+  private CreateIndexRequest createIndexRequest(String index) throws OpenSearchException {
+    CreateIndexRequest request = new CreateIndexRequest(index);
+    if (searchClient.mngIndexExists(Settings.FEATURESTORE_INDEX)) {
+      GetIndexResponse current = searchClient.mngIndexGet(new GetIndexRequest(Settings.FEATURESTORE_INDEX));
+      Optional<MappingMetadata> mapping = current.getMappings().values().stream().findFirst();
+      if (mapping.isPresent()) {
+        request.mapping(mapping.get().sourceAsMap());
+      }
+      Optional<org.opensearch.common.settings.Settings> settings = current.getSettings().values().stream().findFirst();
+      if (settings.isPresent()) {
+        request.settings(settings.get().filter(SearchFSReindexer::isCopiedSetting));
+      }
+    }
+    return request;
+  }
+
+  private static boolean isCopiedSetting(String key) {
+    return key.startsWith("index.analysis.")
+      || key.startsWith("index.mapping.")
+      || key.equals("index.number_of_shards")
+      || key.equals("index.number_of_replicas")
+      || key.equals("index.auto_expand_replicas");
+  }
+
+  /**
+   * Indices of reindexes interrupted by a restart of the cluster.
+   */
+  private void deleteAbandonedIndices() throws OpenSearchException {
+    Set<String> inUse = currentIndices();
+    for (String index : searchClient.mngIndicesGetBySimplifiedRegex(Settings.FEATURESTORE_REINDEX_INDEX_REGEX)) {
+      if (!inUse.contains(index)) {
+        LOGGER.log(Level.INFO, "deleting abandoned featurestore reindex index:{0}", index);
+        searchClient.mngIndexDelete(index);
+      }
+    }
+  }
+
+  /**
+   * @return the indices behind {@link Settings#FEATURESTORE_INDEX}, either the index itself or the indices of the
+   * alias
+   */
+  private Set<String> currentIndices() throws OpenSearchException {
+    return new HashSet<>(Arrays.asList(searchClient.mngIndicesGetBySimplifiedRegex(Settings.FEATURESTORE_INDEX)));
+  }
+
+  @Timeout
+  @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+  public void process() {
+    //the interval timer fires again while a slow round is ongoing
+    if (!processing.compareAndSet(false, true)) {
+      return;
     }
-    LOGGER.info("reindexing featurestore search");
     try {
-      searchClient.mngIndexDelete(Settings.FEATURESTORE_INDEX);
-    } catch(OpenSearchException e) {
-      if(e.getErrorCode().equals(RESTCodes.OpenSearchErrorCode.OPENSEARCH_INDEX_NOT_FOUND)) {
-        //index doesn't exist, nothing to delete
+      Optional<String> shadowIndex = getShadowIndex();
+      if (shadowIndex.isPresent()) {
+        if (payaraClusterManager.amIThePrimary()) {
+          releaseAbandonedProjects();
+        }
+        reindexProjects(shadowIndex.get());
+        if (payaraClusterManager.amIThePrimary() && projects.isEmpty()) {
+          swap(shadowIndex.get());
+        }
+      } else if (payaraClusterManager.amIThePrimary()) {
+        releaseAbandonedClaim();
+      }
+    } catch (Exception e) {
+      LOGGER.log(Level.INFO, "featurestore search reindex failed with error", e);
+    } finally {
+      processing.set(false);
+    }
+  }
+
+  /**
+   * Projects claimed by members that left the cluster are reindexed by the remaining members.
+   */
+  private void releaseAbandonedProjects() {
+    if (hazelcastInstance == null) {
+      return;
+    }
+    Set<String> members = clusterMembers();
+    for (Integer projectId : new ArrayList<>(projects.keySet())) {
+      String owner = projects.get(projectId);
+      if (owner != null && !PENDING.equals(owner) && !members.contains(owner)) {
+        LOGGER.log(Level.INFO, "releasing project:{0} claimed by member:{1}", new Object[]{projectId, owner});
+        projects.replace(projectId, owner, PENDING);
+      }
+    }
+  }
+
+  /**
+   * A reindex claimed by a member that left the cluster before creating the new index can be started again.
+   */
+  private void releaseAbandonedClaim() {
+    if (hazelcastInstance == null) {
+      return;
+    }
+    String owner = state.get(OWNER);
+    if (owner != null && !clusterMembers().contains(owner)) {
+      LOGGER.log(Level.INFO, "releasing featurestore reindex claimed by member:{0}", owner);
+      state.remove(OWNER, owner);
+    }
+  }
+
+  private Set<String> clusterMembers() {
+    return hazelcastInstance.getCluster().getMembers().stream()
+      .map(Member::getUuid)
+      .map(Object::toString)
+      .collect(Collectors.toSet());
+  }
+
+  private void reindexProjects(String shadowIndex) {
+    for (Integer projectId : new ArrayList<>(projects.keySet())) {
+      if (!projects.replace(projectId, PENDING, memberId)) {
+        //claimed by another member
+        continue;
+      }
+      try {
+        reindexProject(shadowIndex, projectId);
+        projects.remove(projectId, memberId);
+      } catch (Exception e) {
+        LOGGER.log(Level.INFO, "reindex of project:" + projectId + " failed with error, retrying", e);
+        projects.replace(projectId, memberId, PENDING);
+        //opensearch is most likely unavailable, the next round retries
         return;
       }
     }
-    for (Featurestore featureStore : featurestoreFacade.findAll()) {
-      reindex(featureStore);
+  }
+
+  private void reindexProject(String shadowIndex, Integer projectId) throws OpenSearchException {
+    Project project = projectFacade.find(projectId);
+    if (project == null) {
+      //project deleted meanwhile
+      return;
+    }
+    Long featureStoreInode = searchController.getFeatureStoreInode(project);
+    BulkRequest bulkRequest = new BulkRequest();
+    int docs = 0;
+    for (Featurestore featureStore : featurestoreFacade.findByProject(project)) {
+      for (Featuregroup featureGroup : featureGroupFacade.findByFeaturestore(featureStore, null)) {
+        docs += add(bulkRequest, shadowIndex, featureStoreInode, getCommand(featureGroup));
+        bulkRequest = flushFull(bulkRequest);
+      }
+      for (FeatureView featureView : featureViewFacade.findByFeaturestore(featureStore, null)) {
+        docs += add(bulkRequest, shadowIndex, featureStoreInode, getCommand(featureView));
+        bulkRequest = flushFull(bulkRequest);
+      }
+      for (TrainingDataset trainingDataset : trainingDatasetFacade.findByFeaturestore(featureStore)) {
+        docs += add(bulkRequest, shadowIndex, featureStoreInode, getCommand(trainingDataset));
+        bulkRequest = flushFull(bulkRequest);
+      }
+    }
+    if (bulkRequest.numberOfActions() > 0) {
+      flush(bulkRequest);
+    }
+    LOGGER.log(Level.FINE, "reindexed project:{0} docs:{1}", new Object[]{projectId, docs});
+  }
+
+  private SearchFSCommand getCommand(Featuregroup featureGroup) {
+    try {
+      return searchFSCommandLogger.getCommand(featureGroup, SearchFSCommandOp.CREATE);
+    } catch (FeaturestoreException e) {
+      LOGGER.log(Level.WARNING, "skipping feature group:" + featureGroup.getId() + " in reindex", e);
+      return null;
+    }
+  }
+
+  private SearchFSCommand getCommand(FeatureView featureView) {
+    try {
+      return searchFSCommandLogger.getCommand(featureView, SearchFSCommandOp.CREATE);
+    } catch (FeaturestoreException e) {
+      LOGGER.log(Level.WARNING, "skipping feature view:" + featureView.getId() + " in reindex", e);
+      return null;
     }
   }
-  
-  private void reindex(Featurestore featureStore) throws FeaturestoreException {
-    for (Featuregroup featuregroup : featureGroupFacade.findByFeaturestore(featureStore, null)) {
-      reindex(featuregroup);
+
+  private SearchFSCommand getCommand(TrainingDataset trainingDataset) {
+    try {
+      return searchFSCommandLogger.getCommand(trainingDataset, SearchFSCommandOp.CREATE);
+    } catch (FeaturestoreException e) {
+      LOGGER.log(Level.WARNING, "skipping training dataset:" + trainingDataset.getId() + " in reindex", e);
+      return null;
     }
-    for (FeatureView featureView : featureViewFacade.findByFeaturestore(featureStore, null)) {
-      reindex(featureView);
+  }
+
+  /**
+   * Documents are only created, a document already written by the command executor is newer than the one read here.
+   * @return number of documents added to the request
+   */
+  private int add(BulkRequest bulkRequest, String shadowIndex, Long featureStoreInode, SearchFSCommand c) {
+    if (c == null) {
+      //artifact without an inode
+      return 0;
     }
-    for (TrainingDataset trainingDataset : trainingDatasetFacade.findByFeaturestore(featureStore)) {
-      reindex(trainingDataset);
+    try {
+      bulkRequest.add(searchController.indexRequest(shadowIndex, c, featureStoreInode)
+        .opType(DocWriteRequest.OpType.CREATE));
+      return 1;
+    } catch (CommandException e) {
+      LOGGER.log(Level.WARNING, "skipping doc:" + c.getInodeId() + " in reindex", e);
+      return 0;
     }
   }
-  
-  private void reindex(Featuregroup featuregroup) throws FeaturestoreException {
-    searchFSCommandLogger.create(featuregroup);
-    searchFSCommandLogger.updateMetadata(featuregroup);
-    searchFSCommandLogger.updateTags(featuregroup);
-    searchFSCommandLogger.updateKeywords(featuregroup);
+
+  private BulkRequest flushFull(BulkRequest bulkRequest) throws OpenSearchException {
+    if (bulkRequest.numberOfActions() < BULK_SIZE) {
+      return bulkRequest;
+    }
+    flush(bulkRequest);
+    return new BulkRequest();
   }
-  
-  private void reindex(FeatureView featureView) throws FeaturestoreException {
-    searchFSCommandLogger.create(featureView);
-    searchFSCommandLogger.updateMetadata(featureView);
-    searchFSCommandLogger.updateTags(featureView);
-    searchFSCommandLogger.updateKeywords(featureView);
+
+  private void flush(BulkRequest bulkRequest) throws OpenSearchException {
+    BulkResponse response = searchClient.bulkUpdateDoc(bulkRequest);
+    for (BulkItemResponse item : response.getItems()) {
+      if (item.isFailed() && !RestStatus.CONFLICT.equals(item.getFailure().getStatus())) {
+        throw new OpenSearchException(RESTCodes.OpenSearchErrorCode.OPENSEARCH_QUERY_ERROR, Level.INFO,
+          "failures during featurestore reindex bulk:" + item.getFailureMessage());
+      }
+    }
   }
-  
-  private void reindex(TrainingDataset trainingDataset) throws FeaturestoreException {
-    searchFSCommandLogger.create(trainingDataset);
-    searchFSCommandLogger.updateMetadata(trainingDataset);
-    searchFSCommandLogger.updateTags(trainingDataset);
-    searchFSCommandLogger.updateKeywords(trainingDataset);
+
+  /**
+   * Point {@link Settings#FEATURESTORE_INDEX} to the new index. The commands executed after the update already
+   * write into the new index, the deletes recorded before it are applied again.
+   */
+  private void swap(String shadowIndex) throws OpenSearchException {
+    Set<String> oldIndices = currentIndices();
+    //already swapped by a round that failed afterwards
+    oldIndices.remove(shadowIndex);
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    if (oldIndices.contains(Settings.FEATURESTORE_INDEX)) {
+      //index created before the first reindex, an alias cannot have its name so it is deleted by the alias update
+      request.addAliasAction(new IndicesAliasesRequest.AliasActions(
+        IndicesAliasesRequest.AliasActions.Type.REMOVE_INDEX).index(Settings.FEATURESTORE_INDEX));
+    } else if (!oldIndices.isEmpty()) {
+      request.addAliasAction(new IndicesAliasesRequest.AliasActions(
+        IndicesAliasesRequest.AliasActions.Type.REMOVE).indices(oldIndices.toArray(new String[0]))
+        .alias(Settings.FEATURESTORE_INDEX));
+    }
+    request.addAliasAction(new IndicesAliasesRequest.AliasActions(
+      IndicesAliasesRequest.AliasActions.Type.ADD).index(shadowIndex).alias(Settings.FEATURESTORE_INDEX));
+    searchClient.aliasUpdate(request);
+
+    for (Integer projectId : new ArrayList<>(deletedProjects.keySet())) {
+      searchController.deleteProject(shadowIndex, projectId);
+    }
+    for (Long docId : new ArrayList<>(deletedDocs.keySet())) {
+      searchController.delete(shadowIndex, docId);
+    }
+    state.remove(SHADOW_INDEX, shadowIndex);
+    deletedDocs.clear();
+    deletedProjects.clear();
+    // the next reindex can start
+    state.remove(OWNER);
+    for (String index : oldIndices) {
+      if (!Settings.FEATURESTORE_INDEX.equals(index)) {
+        searchClient.mngIndexDelete(index);
+      }
+    }
+    LOGGER.log(Level.INFO, "featurestore search reindexed into:{0}", shadowIndex);
   }
 }
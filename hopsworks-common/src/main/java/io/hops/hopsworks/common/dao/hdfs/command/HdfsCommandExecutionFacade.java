@@ -24,12 +24,18 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 @Stateless
 public class HdfsCommandExecutionFacade extends AbstractFacade<HdfsCommandExecution> {
   private static final Logger LOGGER = Logger.getLogger(HdfsCommandExecutionFacade.class.getName());
+  private static final int IN_CLAUSE_BATCH_SIZE = 1000;
 
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager entityManager;
@@ -54,6 +60,38 @@ public class HdfsCommandExecutionFacade extends AbstractFacade<HdfsCommandExecut
     }
   }
 
+  /**
+   * Find the command executions of a set of paths, with one query per thousand paths.
+   *
+   * @param srcPaths
+   * @return the command executions found, keyed by source path
+   */
+  public Map<String, HdfsCommandExecution> findBySrcPaths(Collection<String> srcPaths) {
+    Map<String, HdfsCommandExecution> executions = new HashMap<>();
+    List<String> batch = new ArrayList<>(Math.min(srcPaths.size(), IN_CLAUSE_BATCH_SIZE));
+    for (String srcPath : srcPaths) {
+      batch.add(srcPath);
+      if (batch.size() == IN_CLAUSE_BATCH_SIZE) {
+        findBySrcPaths(batch, executions);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      findBySrcPaths(batch, executions);
+    }
+    return executions;
+  }
+
+  private void findBySrcPaths(List<String> srcPaths, Map<String, HdfsCommandExecution> executions) {
+    List<HdfsCommandExecution> result =
+      entityManager.createNamedQuery("HdfsCommandExecution.findBySrcPaths", HdfsCommandExecution.class)
+        .setParameter("srcPaths", srcPaths)
+        .getResultList();
+    for (HdfsCommandExecution execution : result) {
+      executions.put(execution.getSrcPath(), execution);
+    }
+  }
+
   public Optional<HdfsCommandExecution> findByExecution(Execution execution) {
     TypedQuery<HdfsCommandExecution>
       query = entityManager.createNamedQuery("HdfsCommandExecution.findByExecution", HdfsCommandExecution.class)
@@ -56,6 +56,7 @@ import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -125,6 +126,19 @@ public class ExecutionFacade extends AbstractFacade<Execution> {
     return findByProjectAndStatesQuery(project, JobState.getRunningStates()).getResultList();
   }
 
+  public long countByProjectAndNotFinished(Project project) {
+    return em.createNamedQuery("Execution.countByProjectAndStates", Long.class)
+            .setParameter("project", project)
+            .setParameter("states", JobState.getRunningStates())
+            .getSingleResult();
+  }
+
+  public long countByJob(Jobs job) {
+    return em.createNamedQuery("Execution.countByJob", Long.class)
+            .setParameter("job", job)
+            .getSingleResult();
+  }
+
   private TypedQuery<Execution> findByProjectAndStatesQuery(Project project, Set<JobState> states) {
     return em.createNamedQuery("Execution.findByProjectAndStates", Execution.class)
             .setParameter("project", project)
@@ -440,6 +454,29 @@ public class ExecutionFacade extends AbstractFacade<Execution> {
     return exec;
   }
 
+  /**
+   * Apply the status of a batch of executions in a single transaction. Executions that were deleted in the meantime
+   * are skipped.
+   *
+   * @param updates new status of the executions
+   * @return the updated executions
+   */
+  public List<Execution> updateProgressAndStatus(List<ExecutionStatusUpdate> updates) {
+    List<Execution> updated = new ArrayList<>(updates.size());
+    for (ExecutionStatusUpdate update : updates) {
+      //The execution won't exist in the database, if the job has been deleted.
+      Execution exec = em.find(Execution.class, update.getExecution().getId());
+      if (exec == null) {
+        continue;
+      }
+      exec.setProgress(update.getProgress());
+      exec.setState(update.getState());
+      exec.setFinalStatus(update.getFinalStatus());
+      updated.add(exec);
+    }
+    return updated;
+  }
+
   public Execution updateFilesToRemove(Execution exec, List<String> filesToRemove) {
     exec = getExecution(exec);
     exec.setFilesToRemove(filesToRemove);
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.dao.jobhistory;
+
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalStatus;
+import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
+import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
+
+/**
+ * Progress, state and final status of an execution as reported by the resource manager.
+ */
+public class ExecutionStatusUpdate {
+  private final Execution execution;
+  private final float progress;
+  private final JobState state;
+  private final JobFinalStatus finalStatus;
+
+  public ExecutionStatusUpdate(Execution execution, float progress, JobState state, JobFinalStatus finalStatus) {
+    this.execution = execution;
+    this.progress = progress;
+    this.state = state;
+    this.finalStatus = finalStatus;
+  }
+
+  public Execution getExecution() {
+    return execution;
+  }
+
+  public float getProgress() {
+    return progress;
+  }
+
+  public JobState getState() {
+    return state;
+  }
+
+  public JobFinalStatus getFinalStatus() {
+    return finalStatus;
+  }
+
+  /**
+   * @return true if applying this update would not change the execution
+   */
+  public boolean isUnchanged() {
+    return execution.getProgress() == progress && state == execution.getState()
+      && finalStatus == execution.getFinalStatus();
+  }
+}
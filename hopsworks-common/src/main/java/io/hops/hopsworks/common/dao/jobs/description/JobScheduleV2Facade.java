@@ -25,6 +25,8 @@ import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -72,6 +74,19 @@ public class JobScheduleV2Facade extends AbstractFacade<JobScheduleV2> {
     }
   }
 
+  public List<JobScheduleV2> getByIds(Collection<Integer> ids) {
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    TypedQuery<JobScheduleV2> query = em.createNamedQuery("JobSchedule.getByIds", JobScheduleV2.class);
+    query.setParameter("ids", ids);
+    return query.getResultList();
+  }
+
+  public List<JobScheduleV2> getActive() {
+    return em.createNamedQuery("JobSchedule.getActive", JobScheduleV2.class).getResultList();
+  }
+
   public List<JobScheduleV2> getActiveWithCurrentExecutionTime(Instant currentDateTime) {
     TypedQuery<JobScheduleV2> query =
       em.createNamedQuery("JobSchedule.getActiveWithCurrentExecutionTime", JobScheduleV2.class);
@@ -71,6 +71,8 @@ public class HopsKafkaAdminClient {
   protected BaseHadoopClientsService baseHadoopService;
   @EJB
   protected DistributedFsService dfs;
+  @EJB
+  private KafkaAdminClientPool adminClientPool;
 
   //region Properties
   public Properties getHopsworksKafkaProperties() {
@@ -194,32 +196,35 @@ public class HopsKafkaAdminClient {
 
   //region AdminClient
   public CreateTopicsResult createTopics(Collection<NewTopic> newTopics) {
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
-      return adminClient.createTopics(newTopics);
-    }
+    CreateTopicsResult result = getAdminClient().createTopics(newTopics);
+    adminClientPool.invalidateTopicList();
+    return result;
   }
 
   public DeleteTopicsResult deleteTopics(Collection<String> topics)  {
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
-      return adminClient.deleteTopics(topics);
-    }
+    DeleteTopicsResult result = getAdminClient().deleteTopics(topics);
+    adminClientPool.invalidateTopicList();
+    return result;
   }
 
   public ListTopicsResult listTopics()  {
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
-      return adminClient.listTopics();
-    }
+    return adminClientPool.listTopics(this::getHopsworksKafkaProperties);
   }
 
   public DescribeTopicsResult describeTopics(FeatureStoreKafkaConnectorDTO connector, Collection<String> topics) {
-    try (AdminClient adminClient = AdminClient.create(getProjectKafkaProperties(connector))) {
-      return adminClient.describeTopics(topics);
+    AdminClient adminClient;
+    if (Boolean.FALSE.equals(connector.isExternalKafka())) {
+      adminClient = getAdminClient();
+    } else {
+      adminClient = adminClientPool.getConnectorAdminClient(connector, this::getProjectKafkaProperties);
     }
+    return adminClient.describeTopics(topics);
   }
 
   public Set<String> getBrokerEndpoints() {
     Set<String> kafkaBrokers = new HashSet<>();
-    try (AdminClient adminClient = AdminClient.create(getHopsworksKafkaProperties())) {
+    try {
+      AdminClient adminClient = getAdminClient();
       Collection<Node> clusterDetails = adminClient.describeCluster().nodes().get(5, TimeUnit.SECONDS);
       for (Node node : clusterDetails) {
         ConfigResource configResource = new ConfigResource(ConfigResource.Type.BROKER, node.idString());
@@ -235,5 +240,9 @@ public class HopsKafkaAdminClient {
     }
     return kafkaBrokers;
   }
+
+  private AdminClient getAdminClient() {
+    return adminClientPool.getHopsworksAdminClient(this::getHopsworksKafkaProperties);
+  }
   //endregion
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.dao.kafka;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.hops.hopsworks.common.featurestore.OptionDTO;
+import io.hops.hopsworks.common.featurestore.storageconnectors.kafka.FeatureStoreKafkaConnectorDTO;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Long-lived Kafka admin clients. There is one client for the Hopsworks Kafka cluster, authenticated with the
+ * super user certificates, and one client per external Kafka storage connector. Clients are periodically checked
+ * with a describeCluster call and recreated if the check fails or they reach their maximum lifetime, so that
+ * rotated certificates are picked up.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class KafkaAdminClientPool {
+
+  private static final Logger LOGGER = Logger.getLogger(KafkaAdminClientPool.class.getName());
+
+  private static final long MAX_CONNECTOR_CLIENTS = 100;
+  private static final long CONNECTOR_CLIENT_IDLE_TIMEOUT_MINUTES = 10;
+  private static final long CLIENT_MAX_LIFETIME_MS = TimeUnit.HOURS.toMillis(1);
+  private static final long HEALTH_CHECK_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+  private static final long HEALTH_CHECK_TIMEOUT_SECONDS = 5;
+  private static final long TOPIC_LIST_TTL_MS = TimeUnit.SECONDS.toMillis(5);
+  // Pending requests of a replaced client are given this long to complete
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+  @Resource
+  private TimerService timerService;
+  @Resource
+  private ManagedExecutorService executorService;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private volatile PooledAdminClient hopsworksClient;
+  private volatile CachedTopicList topicList;
+  private Cache<String, PooledAdminClient> connectorClients;
+  private Timer timer;
+
+  private Counter clientsCreated;
+  private Counter healthCheckFailures;
+
+  @PostConstruct
+  public void init() {
+    connectorClients = Caffeine.newBuilder()
+      .maximumSize(MAX_CONNECTOR_CLIENTS)
+      .expireAfterAccess(CONNECTOR_CLIENT_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+      .removalListener(this::onClientRemoval)
+      .build();
+    clientsCreated = metricRegistry.counter("kafka_admin_clients_created");
+    healthCheckFailures = metricRegistry.counter("kafka_admin_client_health_check_failures");
+    timer = timerService.createIntervalTimer(HEALTH_CHECK_INTERVAL_MS, HEALTH_CHECK_INTERVAL_MS,
+      new TimerConfig("Kafka admin client health check", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (timer != null) {
+      timer.cancel();
+    }
+    connectorClients.invalidateAll();
+    connectorClients.cleanUp();
+    synchronized (this) {
+      if (hopsworksClient != null) {
+        hopsworksClient.close();
+        hopsworksClient = null;
+      }
+    }
+  }
+
+  /**
+   * @param propertiesSupplier properties of the Hopsworks Kafka cluster, only requested if a client has to be created
+   * @return the shared admin client of the Hopsworks Kafka cluster
+   */
+  public AdminClient getHopsworksAdminClient(Supplier<Properties> propertiesSupplier) {
+    PooledAdminClient client = hopsworksClient;
+    if (client == null || client.isExpired()) {
+      synchronized (this) {
+        client = hopsworksClient;
+        if (client == null || client.isExpired()) {
+          if (client != null) {
+            closeAsync(client);
+          }
+          client = createClient(propertiesSupplier.get());
+          hopsworksClient = client;
+          topicList = null;
+        }
+      }
+    }
+    return client.adminClient;
+  }
+
+  /**
+   * @param connector external Kafka storage connector
+   * @param propertiesFunction builds the client properties of the connector, only called if a client has to be
+   *                           created
+   * @return the admin client of the connector
+   */
+  public AdminClient getConnectorAdminClient(FeatureStoreKafkaConnectorDTO connector,
+                                             Function<FeatureStoreKafkaConnectorDTO, Properties> propertiesFunction) {
+    String key = connector.getId() + ":" + fingerprint(connector);
+    PooledAdminClient client = connectorClients.asMap().compute(key, (k, existing) -> {
+      if (existing != null && !existing.isExpired()) {
+        return existing;
+      }
+      return createClient(propertiesFunction.apply(connector));
+    });
+    return client.adminClient;
+  }
+
+  /**
+   * List the topics of the Hopsworks Kafka cluster. Successful listings are reused for a few seconds, topic
+   * creations and deletions made through this node discard them.
+   */
+  public ListTopicsResult listTopics(Supplier<Properties> propertiesSupplier) {
+    CachedTopicList cached = topicList;
+    if (cached != null && cached.isValid()) {
+      return cached.result;
+    }
+    ListTopicsResult result = getHopsworksAdminClient(propertiesSupplier).listTopics();
+    topicList = new CachedTopicList(result);
+    return result;
+  }
+
+  public void invalidateTopicList() {
+    topicList = null;
+  }
+
+  @Timeout
+  public void healthCheck() {
+    PooledAdminClient client = hopsworksClient;
+    if (client != null && !isHealthy(client)) {
+      synchronized (this) {
+        if (hopsworksClient == client) {
+          hopsworksClient = null;
+          topicList = null;
+          closeAsync(client);
+        }
+      }
+    }
+    for (Map.Entry<String, PooledAdminClient> entry : connectorClients.asMap().entrySet()) {
+      if (!isHealthy(entry.getValue())) {
+        connectorClients.asMap().remove(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private boolean isHealthy(PooledAdminClient client) {
+    try {
+      client.adminClient.describeCluster().clusterId().get(HEALTH_CHECK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      return true;
+    } catch (Exception e) {
+      healthCheckFailures.inc();
+      LOGGER.log(Level.WARNING, "Kafka admin client health check failed, the client will be recreated", e);
+      return false;
+    }
+  }
+
+  private PooledAdminClient createClient(Properties properties) {
+    PooledAdminClient client = new PooledAdminClient(AdminClient.create(properties));
+    clientsCreated.inc();
+    return client;
+  }
+
+  private String fingerprint(FeatureStoreKafkaConnectorDTO connector) {
+    StringBuilder options = new StringBuilder();
+    if (connector.getOptions() != null) {
+      for (OptionDTO option : connector.getOptions()) {
+        options.append(option.getName()).append('=').append(option.getValue()).append(';');
+      }
+    }
+    return Integer.toHexString(Objects.hash(connector.getBootstrapServers(), connector.getSecurityProtocol(),
+      connector.getSslEndpointIdentificationAlgorithm(), connector.getSslTruststoreLocation(),
+      connector.getSslTruststorePassword(), connector.getSslKeystoreLocation(), connector.getSslKeystorePassword(),
+      connector.getSslKeyPassword(), options.toString()));
+  }
+
+  private void closeAsync(PooledAdminClient client) {
+    executorService.execute(client::close);
+  }
+
+  private void onClientRemoval(String key, PooledAdminClient client, RemovalCause cause) {
+    if (client != null) {
+      client.close();
+    }
+  }
+
+  private static class PooledAdminClient {
+    private final AdminClient adminClient;
+    private final long createdAt = System.currentTimeMillis();
+
+    private PooledAdminClient(AdminClient adminClient) {
+      this.adminClient = adminClient;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() - createdAt > CLIENT_MAX_LIFETIME_MS;
+    }
+
+    private void close() {
+      try {
+        adminClient.close(CLOSE_TIMEOUT);
+      } catch (Exception e) {
+        LOGGER.log(Level.FINE, "Error closing Kafka admin client", e);
+      }
+    }
+  }
+
+  private static class CachedTopicList {
+    private final ListTopicsResult result;
+    private final long createdAt = System.currentTimeMillis();
+
+    private CachedTopicList(ListTopicsResult result) {
+      this.result = result;
+    }
+
+    private boolean isValid() {
+      if (System.currentTimeMillis() - createdAt > TOPIC_LIST_TTL_MS) {
+        return false;
+      }
+      // Do not hand out a failed listing, and do not wait for one still in flight to fail
+      return !result.namesToListings().isCompletedExceptionally();
+    }
+  }
+}
@@ -55,13 +55,18 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Stateless
 public class UserFacade extends AbstractFacade<Users> {
 
+  private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
   @PersistenceContext(unitName = "kthfsPU")
   private EntityManager em;
   @EJB
@@ -335,6 +340,37 @@ public class UserFacade extends AbstractFacade<Users> {
     }
   }
 
+  /**
+   * Find the users with the given usernames, with one query per thousand usernames.
+   *
+   * @param usernames
+   * @return the users found, keyed by username
+   */
+  public Map<String, Users> findByUsernames(Collection<String> usernames) {
+    Map<String, Users> users = new HashMap<>();
+    List<String> batch = new ArrayList<>(Math.min(usernames.size(), IN_CLAUSE_BATCH_SIZE));
+    for (String username : usernames) {
+      batch.add(username);
+      if (batch.size() == IN_CLAUSE_BATCH_SIZE) {
+        findByUsernames(batch, users);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      findByUsernames(batch, users);
+    }
+    return users;
+  }
+
+  private void findByUsernames(List<String> usernames, Map<String, Users> users) {
+    List<Users> result = em.createNamedQuery("Users.findByUsernames", Users.class)
+      .setParameter("usernames", usernames)
+      .getResultList();
+    for (Users user : result) {
+      users.put(user.getUsername(), user);
+    }
+  }
+
   public void persist(Users user) {
     em.persist(user);
   }
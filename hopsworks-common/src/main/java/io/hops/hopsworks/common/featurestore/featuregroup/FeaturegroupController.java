@@ -19,6 +19,7 @@ package io.hops.hopsworks.common.featurestore.featuregroup;
 import com.google.common.base.Strings;
 import com.logicalclocks.servicediscoverclient.exceptions.ServiceDiscoveryException;
 import io.hops.hopsworks.common.arrowflight.ArrowFlightController;
+import io.hops.hopsworks.common.arrowflight.ArrowFlightQueryStream;
 import io.hops.hopsworks.common.commands.featurestore.search.SearchFSCommandLogger;
 import io.hops.hopsworks.common.dao.QueryParam;
 import io.hops.hopsworks.common.featurestore.FeaturestoreController;
@@ -32,6 +33,7 @@ import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.CachedFeaturegroupController;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.CachedFeaturegroupDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeatureGroupCommitController;
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeatureGroupSchemaCache;
 import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeaturegroupPreview;
 import io.hops.hopsworks.common.featurestore.featuregroup.ondemand.OnDemandFeaturegroupController;
 import io.hops.hopsworks.common.featurestore.featuregroup.ondemand.OnDemandFeaturegroupDTO;
@@ -113,6 +115,8 @@ public class FeaturegroupController {
   @EJB
   private OnDemandFeaturegroupController onDemandFeaturegroupController;
   @EJB
+  private FeatureGroupSchemaCache featureGroupSchemaCache;
+  @EJB
   private FeaturestoreController featurestoreController;
   @EJB
   private StatisticColumnController statisticColumnController;
@@ -497,6 +501,9 @@ public class FeaturegroupController {
     } else if (featuregroup.getFeaturegroupType() == FeaturegroupType.ON_DEMAND_FEATURE_GROUP) {
       onDemandFeaturegroupController.updateOnDemandFeaturegroupMetadata(project, user, featuregroup,
         (OnDemandFeaturegroupDTO) featuregroupDTO);
+      // the features of on-demand feature groups are not in the metastore, the cached and stream feature groups
+      // invalidate their schema when altering the table
+      featureGroupSchemaCache.invalidate(featuregroup.getId());
     }
 
     // get feature group object again after alter table
@@ -547,6 +554,7 @@ public class FeaturegroupController {
     } else {
       cachedFeaturegroupController.enableFeaturegroupOnline(featurestore, featuregroup, project, user);
     }
+    featureGroupSchemaCache.invalidate(featuregroup.getId());
 
     // Log activity
     fsActivityFacade.logMetadataActivity(user, featuregroup, FeaturestoreActivityMeta.ONLINE_ENABLED, null);
@@ -579,6 +587,7 @@ public class FeaturegroupController {
     featurestoreUtils.verifyUserProjectEqualsFsProjectAndDataOwner(user, project, featurestore,
         FeaturestoreUtils.ActionMessage.DISABLE_FEATURE_GROUP_ONLINE);
     cachedFeaturegroupController.disableFeaturegroupOnline(featuregroup, project, user);
+    featureGroupSchemaCache.invalidate(featuregroup.getId());
 
     // Log activity
     fsActivityFacade.logMetadataActivity(user, featuregroup, FeaturestoreActivityMeta.ONLINE_DISABLED, null);
@@ -984,14 +993,7 @@ public class FeaturegroupController {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATUREGROUP_NOT_ONLINE, Level.FINE);
     } else if (settings.isFlyingduckEnabled()) {
       // use flying duck for offline fs
-      arrowFlightController.checkFeatureGroupSupportedByArrowFlight(featuregroup);
-
-      String tbl = getTblName(featuregroup);
-      if (featuregroup.getFeaturegroupType() != FeaturegroupType.ON_DEMAND_FEATURE_GROUP) {
-        String db = featuregroup.getFeaturestore().getProject().getName().toLowerCase();
-        tbl = db + "." + tbl;
-      }
-      String query = arrowFlightController.getArrowFlightQuery(featuregroup, project, user, tbl, limit);
+      String query = getArrowFlightPreviewQuery(featuregroup, project, user, limit);
       return arrowFlightController.executeReadArrowFlightQuery(query, project, user);
     } else {
       // use hive for offline fs
@@ -1009,6 +1011,35 @@ public class FeaturegroupController {
     }
   }
 
+  /**
+   * Starts streaming the offline preview of a featuregroup from Flying Duck, the rows are read as the server sends
+   * them instead of being buffered. Only available if Flying Duck is enabled.
+   *
+   * @param featuregroup    of the featuregroup to preview
+   * @param project         the project the user is operating from, in case of shared feature store
+   * @param user            the user making the request
+   * @param limit           the number of rows to visualize
+   * @return the stream of rows, to be closed by the caller
+   * @throws FeaturestoreException
+   */
+  public ArrowFlightQueryStream openOfflineFeaturegroupPreview(Featuregroup featuregroup, Project project,
+    Users user, int limit) throws FeaturestoreException {
+    String query = getArrowFlightPreviewQuery(featuregroup, project, user, limit);
+    return arrowFlightController.openReadArrowFlightQuery(query, project, user);
+  }
+
+  private String getArrowFlightPreviewQuery(Featuregroup featuregroup, Project project, Users user, int limit)
+    throws FeaturestoreException {
+    arrowFlightController.checkFeatureGroupSupportedByArrowFlight(featuregroup);
+
+    String tbl = getTblName(featuregroup);
+    if (featuregroup.getFeaturegroupType() != FeaturegroupType.ON_DEMAND_FEATURE_GROUP) {
+      String db = featuregroup.getFeaturestore().getProject().getName().toLowerCase();
+      tbl = db + "." + tbl;
+    }
+    return arrowFlightController.getArrowFlightQuery(featuregroup, project, user, tbl, limit);
+  }
+
   /**
    * Previews the offline data of a given featuregroup by doing a SELECT LIMIT query on the Hive Table
    *
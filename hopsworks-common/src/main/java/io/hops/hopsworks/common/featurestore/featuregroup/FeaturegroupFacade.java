@@ -186,6 +186,17 @@ public class FeaturegroupFacade extends AbstractFacade<Featuregroup> {
         .getSingleResult();
   }
 
+  /**
+   * Count the online enabled feature groups of the feature store, or the online disabled ones. Online disabled
+   * on-demand feature groups are not counted.
+   */
+  public Long countByFeaturestore(Featurestore featurestore, boolean onlineEnabled) {
+    return em.createNamedQuery(onlineEnabled ? "Featuregroup.countOnlineEnabledByFeaturestore" :
+        "Featuregroup.countOnlineDisabledByFeaturestore", Long.class)
+        .setParameter("featurestore", featurestore)
+        .getSingleResult();
+  }
+
   public List<Featuregroup> findByStorageConnectors(List<FeaturestoreConnector> storageConnectors) {
     if (storageConnectors.size() > settings.getSQLMaxSelectIn()) {
       List<Featuregroup> result = new ArrayList<>();
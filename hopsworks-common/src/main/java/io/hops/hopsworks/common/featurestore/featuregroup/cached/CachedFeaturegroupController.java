@@ -17,7 +17,6 @@
 package io.hops.hopsworks.common.featurestore.featuregroup.cached;
 
 import com.logicalclocks.servicediscoverclient.exceptions.ServiceDiscoveryException;
-import io.hops.hopsworks.common.featurestore.FeaturestoreController;
 import io.hops.hopsworks.common.featurestore.activity.FeaturestoreActivityFacade;
 import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeatureGroupInputValidation;
@@ -90,8 +89,6 @@ public class CachedFeaturegroupController {
   @EJB
   private Settings settings;
   @EJB
-  private FeaturestoreController featurestoreController;
-  @EJB
   private OnlineFeaturegroupController onlineFeaturegroupController;
   @EJB
   private OfflineFeatureGroupController offlineFeatureGroupController;
@@ -220,10 +217,8 @@ public class CachedFeaturegroupController {
     Map<String, String> featureDescription = featuregroup.getCachedFeaturegroup().getCachedFeatures().stream()
         .collect(Collectors.toMap(CachedFeature::getName, CachedFeature::getDescription));
 
-    List<FeatureGroupFeatureDTO> featureGroupFeatures = offlineFeatureGroupController.getSchema(
-        featuregroup.getFeaturestore(),
-        featuregroupController.getTblName(featuregroup),
-        project, user);
+    List<FeatureGroupFeatureDTO> featureGroupFeatures =
+        offlineFeatureGroupController.getSchema(featuregroup, project, user);
 
     for (FeatureGroupFeatureDTO feature : featureGroupFeatures) {
       feature.setPrimary(primaryKeys.contains(feature.getName()));
@@ -269,9 +264,7 @@ public class CachedFeaturegroupController {
   public void deleteFeatureGroup(Featuregroup featuregroup, Project project, Users user)
       throws FeaturestoreException, IOException, ServiceException {
     // Drop the table from Hive
-    String db = featurestoreController.getOfflineFeaturestoreDbName(featuregroup.getFeaturestore().getProject());
-    String tableName = featuregroupController.getTblName(featuregroup.getName(), featuregroup.getVersion());
-    offlineFeatureGroupController.dropFeatureGroup(db, tableName, project, user);
+    offlineFeatureGroupController.dropFeatureGroup(featuregroup, project, user);
 
     // remove the metadata from the Hopsworks schema
     cachedFeatureGroupFacade.remove(featuregroup.getCachedFeaturegroup());
@@ -416,8 +409,6 @@ public class CachedFeaturegroupController {
 
     List<FeatureGroupFeatureDTO> previousSchema = getFeaturesDTO(featuregroup, project, user);
 
-    String tableName = featuregroupController.getTblName(featuregroup.getName(), featuregroup.getVersion());
-
     // verify user input specific for cached feature groups - if any
     List<FeatureGroupFeatureDTO> newFeatures = new ArrayList<>();
     if (featuregroupDTO.getFeatures() != null) {
@@ -430,8 +421,7 @@ public class CachedFeaturegroupController {
 
     // alter table for new additional features
     if (!newFeatures.isEmpty()) {
-      offlineFeatureGroupController.alterHiveTableFeatures(
-        featuregroup.getFeaturestore(), tableName, newFeatures, project, user);
+      offlineFeatureGroupController.alterHiveTableFeatures(featuregroup, newFeatures, project, user);
 
       // if online feature group
       if (settings.isOnlineFeaturestore() && featuregroup.isOnlineEnabled()) {
@@ -0,0 +1,185 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.featuregroup.cached;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
+import io.hops.hopsworks.exceptions.FeaturestoreException;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Hive metastore schema of the cached and stream feature groups, keyed by feature group id. Schemas are dropped when
+ * the table of the feature group is altered or dropped, on this instance and, through Hazelcast, on the other
+ * instances of the cluster. Every invalidation gives the feature group a new version, so that a schema read from the
+ * metastore before the invalidation is not cached after it. Entries also expire, as the table can be altered outside
+ * Hopsworks. Versions are kept in a bounded cache too, a feature group whose version was evicted gets a new one.
+ */
+@Startup
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class FeatureGroupSchemaCache {
+
+  private static final Logger LOGGER = Logger.getLogger(FeatureGroupSchemaCache.class.getName());
+  private static final String TOPIC_NAME = "feature_group_schema_invalidated";
+  private static final long MAX_ENTRIES = 10000;
+  private static final long EXPIRE_AFTER_WRITE_MINUTES = 5;
+  // more than the schemas, an evicted version makes the state derived from the feature group stale
+  private static final long MAX_VERSIONS = 4 * MAX_ENTRIES;
+
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private Cache<Integer, CachedSchema> schemas;
+  // feature group id -> version, a value of the sequence never given to another version on this instance
+  private Cache<Integer, Long> versions;
+  private final AtomicLong versionSequence = new AtomicLong();
+  private ITopic<Integer> invalidatedTopic;
+  private UUID listenerId;
+
+  private Counter hits;
+  private Counter misses;
+
+  @PostConstruct
+  public void init() {
+    schemas = Caffeine.newBuilder()
+      .maximumSize(MAX_ENTRIES)
+      .expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .build();
+    versions = Caffeine.newBuilder()
+      .maximumSize(MAX_VERSIONS)
+      .build();
+    hits = metricRegistry.counter("feature_group_schema_cache_hits");
+    misses = metricRegistry.counter("feature_group_schema_cache_misses");
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getTopic(TOPIC_NAME);
+      listenerId = invalidatedTopic.addMessageListener(new InvalidatedListener());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (invalidatedTopic != null) {
+      //needed for redeploy to remove the listener
+      invalidatedTopic.removeMessageListener(listenerId);
+    }
+  }
+
+  /**
+   * @param featureGroupId id of the feature group
+   * @param loader reads the schema from the metastore if it is not cached
+   * @return a copy of the schema, the caller can modify it
+   */
+  public List<FeatureGroupFeatureDTO> get(Integer featureGroupId, SchemaLoader loader) throws FeaturestoreException {
+    long version = getVersion(featureGroupId);
+    CachedSchema cached = schemas.getIfPresent(featureGroupId);
+    if (cached != null && cached.version == version) {
+      hits.inc();
+      return copy(cached.schema);
+    }
+    misses.inc();
+    List<FeatureGroupFeatureDTO> schema = loader.load();
+    CachedSchema loaded = new CachedSchema(version, copy(schema));
+    // invalidate changes the version before removing the entry, so a stale schema is either not put or removed
+    schemas.asMap().compute(featureGroupId, (id, existing) -> getVersion(id) == version ? loaded : existing);
+    return schema;
+  }
+
+  /**
+   * Drop the schema of the feature group on every instance of the cluster.
+   */
+  public void invalidate(Integer featureGroupId) {
+    invalidateLocal(featureGroupId);
+    if (invalidatedTopic != null) {
+      try {
+        invalidatedTopic.publish(featureGroupId);
+      } catch (Exception e) {
+        LOGGER.log(Level.WARNING, "Failed to notify the cluster of the altered feature group " + featureGroupId +
+          ", its schema will expire from the cache of the other instances", e);
+      }
+    }
+  }
+
+  /**
+   * @return the version of the feature group on this instance, state derived from the schema of the feature group is
+   * stale once it changes. It changes when the feature group is invalidated or its version is evicted.
+   */
+  public long getVersion(Integer featureGroupId) {
+    return versions.get(featureGroupId, id -> versionSequence.incrementAndGet());
+  }
+
+  private void invalidateLocal(Integer featureGroupId) {
+    versions.put(featureGroupId, versionSequence.incrementAndGet());
+    schemas.invalidate(featureGroupId);
+  }
+
+  private static List<FeatureGroupFeatureDTO> copy(List<FeatureGroupFeatureDTO> schema) {
+    return schema.stream()
+      .map(f -> new FeatureGroupFeatureDTO(f.getName(), f.getType(), f.getPartition(), f.getDefaultValue()))
+      .collect(Collectors.toList());
+  }
+
+  @FunctionalInterface
+  public interface SchemaLoader {
+    List<FeatureGroupFeatureDTO> load() throws FeaturestoreException;
+  }
+
+  private class InvalidatedListener implements MessageListener<Integer> {
+    @Override
+    public void onMessage(Message<Integer> message) {
+      if (message.getPublishingMember().localMember()) {
+        return;
+      }
+      invalidateLocal(message.getMessageObject());
+    }
+  }
+
+  private static class CachedSchema {
+    private final long version;
+    private final List<FeatureGroupFeatureDTO> schema;
+
+    private CachedSchema(long version, List<FeatureGroupFeatureDTO> schema) {
+      this.version = version;
+      this.schema = schema;
+    }
+  }
+}
@@ -29,6 +29,10 @@ public class FeaturegroupPreview {
     public Row() {
     }
 
+    public Row(int columns) {
+      values = new ArrayList<>(columns);
+    }
+
     public void addValue(Pair<String, String> value) {
       values.add(value);
     }
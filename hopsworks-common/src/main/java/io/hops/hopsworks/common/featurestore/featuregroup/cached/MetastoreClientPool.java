@@ -0,0 +1,307 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.featuregroup.cached;
+
+import com.logicalclocks.servicediscoverclient.exceptions.ServiceDiscoveryException;
+import com.logicalclocks.servicediscoverclient.service.Service;
+import io.hops.hopsworks.common.hdfs.HdfsUsersController;
+import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
+import io.hops.hopsworks.common.security.CertificateMaterializer;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.exceptions.CryptoPasswordNotFoundException;
+import io.hops.hopsworks.exceptions.ServiceException;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.persistence.entity.user.Users;
+import io.hops.hopsworks.restutils.RESTCodes;
+import io.hops.hopsworks.servicediscovery.HopsworksService;
+import io.hops.hopsworks.servicediscovery.tags.HiveTags;
+import org.apache.hadoop.hive.metastore.api.ThriftHiveMetastore;
+import org.apache.thrift.TConfiguration;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TSSLTransportFactory;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Authenticated Hive metastore clients kept open between operations. A client is bound to the project user that
+ * opened it, through set_ugi and set_crypto, and is only lent to the same project user. Idle clients are closed after
+ * a minute, and every client after its maximum lifetime so that renewed certificates are picked up. A pooled client
+ * holds a reference to the certificates of its project user, which is released when the client is closed.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class MetastoreClientPool {
+
+  private static final Logger LOGGER = Logger.getLogger(MetastoreClientPool.class.getName());
+
+  private static final int CONNECTION_TIMEOUT = 600000;
+  private static final int MAX_IDLE_PER_USER = 2;
+  private static final int MAX_IDLE = 64;
+  private static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(1);
+  private static final long CLIENT_MAX_LIFETIME_MS = TimeUnit.MINUTES.toMillis(10);
+  private static final long EVICTION_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+
+  @EJB
+  private HdfsUsersController hdfsUsersController;
+  @EJB
+  private Settings settings;
+  @EJB
+  private CertificateMaterializer certificateMaterializer;
+  @EJB
+  private ServiceDiscoveryController serviceDiscoveryController;
+  @Resource
+  private TimerService timerService;
+
+  // hdfs username -> idle clients, most recently used first. Guarded by this
+  private final Map<String, Deque<PooledClient>> idleClients = new HashMap<>();
+  private int idleCount = 0;
+  private Timer timer;
+
+  @PostConstruct
+  public void init() {
+    timer = timerService.createIntervalTimer(EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS,
+      new TimerConfig("Hive metastore client eviction", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (timer != null) {
+      timer.cancel();
+    }
+    List<PooledClient> clients = new ArrayList<>();
+    synchronized (this) {
+      idleClients.values().forEach(clients::addAll);
+      idleClients.clear();
+      idleCount = 0;
+    }
+    clients.forEach(this::close);
+  }
+
+  /**
+   * @param fresh open a new connection instead of reusing an idle one, for operations that can not be retried if the
+   *              reused connection turns out to be closed
+   * @return a client authenticated as the project user, to be given back with release or discard
+   */
+  public PooledClient borrow(Project project, Users user, boolean fresh) throws ServiceException, IOException {
+    String hdfsUsername = hdfsUsersController.getHdfsUserName(project, user);
+    if (!fresh) {
+      PooledClient client = pollIdle(hdfsUsername);
+      if (client != null) {
+        return client;
+      }
+    }
+    return open(project, user, hdfsUsername);
+  }
+
+  /**
+   * Give back a client after a completed operation, it stays open for the next operation of the same project user.
+   */
+  public void release(PooledClient client) {
+    long now = System.currentTimeMillis();
+    if (now - client.createdAt < CLIENT_MAX_LIFETIME_MS) {
+      synchronized (this) {
+        Deque<PooledClient> clients = idleClients.computeIfAbsent(client.hdfsUsername, k -> new ArrayDeque<>());
+        if (clients.size() < MAX_IDLE_PER_USER && idleCount < MAX_IDLE) {
+          client.lastUsed = now;
+          client.reused = true;
+          clients.addFirst(client);
+          idleCount++;
+          return;
+        }
+        if (clients.isEmpty()) {
+          idleClients.remove(client.hdfsUsername);
+        }
+      }
+    }
+    close(client);
+  }
+
+  /**
+   * Close a client whose connection may be broken.
+   */
+  public void discard(PooledClient client) {
+    close(client);
+  }
+
+  @Timeout
+  public void evictIdle() {
+    long now = System.currentTimeMillis();
+    List<PooledClient> evicted = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Deque<PooledClient>> users = idleClients.values().iterator();
+      while (users.hasNext()) {
+        Deque<PooledClient> clients = users.next();
+        clients.removeIf(client -> {
+          if (now - client.lastUsed > IDLE_TIMEOUT_MS || now - client.createdAt > CLIENT_MAX_LIFETIME_MS) {
+            evicted.add(client);
+            return true;
+          }
+          return false;
+        });
+        if (clients.isEmpty()) {
+          users.remove();
+        }
+      }
+      idleCount -= evicted.size();
+    }
+    evicted.forEach(this::close);
+  }
+
+  private synchronized PooledClient pollIdle(String hdfsUsername) {
+    Deque<PooledClient> clients = idleClients.get(hdfsUsername);
+    if (clients == null) {
+      return null;
+    }
+    PooledClient client = clients.pollFirst();
+    if (clients.isEmpty()) {
+      idleClients.remove(hdfsUsername);
+    }
+    if (client != null) {
+      idleCount--;
+    }
+    return client;
+  }
+
+  // Here we can't use the HiveMetaStoreClient.java wrapper as we would need to export environment variables and so on
+  // instead we assemble directly the thirft client, which is what the HiveMetaStoreClient does behind the scenes.
+  private PooledClient open(Project project, Users user, String hdfsUsername) throws ServiceException, IOException {
+    certificateMaterializer.materializeCertificatesLocal(user.getUsername(), project.getName());
+    TTransport transport = null;
+    try {
+      CertificateMaterializer.CryptoMaterial userMaterial =
+          certificateMaterializer.getUserMaterial(user.getUsername(), project.getName());
+
+      // read Password
+      String password = String.copyValueOf(userMaterial.getPassword());
+
+      // Get metastore service information from consul
+      Service metastoreService = serviceDiscoveryController
+          .getAnyAddressOfServiceWithDNS(HopsworksService.HIVE.getNameWithTag(HiveTags.metastore));
+
+      if (settings.getHopsRpcTls()) {
+        // Setup secure connection with the Hive metastore.
+        TSSLTransportFactory.TSSLTransportParameters params =
+            new TSSLTransportFactory.TSSLTransportParameters();
+        params.setTrustStore(certificateMaterializer.getUserTransientTruststorePath(project, user), password);
+        params.setKeyStore(certificateMaterializer.getUserTransientKeystorePath(project, user), password);
+
+        transport = TSSLTransportFactory.getClientSocket(metastoreService.getAddress(),
+            metastoreService.getPort(), CONNECTION_TIMEOUT, params);
+      } else {
+        transport = new TSocket(TConfiguration.DEFAULT, metastoreService.getAddress(), metastoreService.getPort(),
+          CONNECTION_TIMEOUT);
+      }
+
+      TProtocol protocol = new TBinaryProtocol(transport);
+      ThriftHiveMetastore.Client client = new ThriftHiveMetastore.Client(protocol);
+
+      // Open transport
+      if (!transport.isOpen()) {
+        transport.open();
+      }
+
+      // Set the UGI on the metastore side
+      client.set_ugi(hdfsUsername, new ArrayList<>());
+
+      if (settings.getHopsRpcTls()) {
+        // Send the certificate to the metastore so it can operate with the fs.
+        client.set_crypto(userMaterial.getKeyStore(), password, userMaterial.getTrustStore(), password, false);
+      }
+      return new PooledClient(client, transport, hdfsUsername, user.getUsername(), project.getName());
+    } catch (CryptoPasswordNotFoundException | ServiceDiscoveryException | TException | RuntimeException e) {
+      if (transport != null) {
+        transport.close();
+      }
+      certificateMaterializer.removeCertificatesLocal(user.getUsername(), project.getName());
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new ServiceException(RESTCodes.ServiceErrorCode.METASTORE_CONNECTION_ERROR, Level.SEVERE,
+          "Hive metastore connection error", e.getMessage(), e);
+    }
+  }
+
+  private void close(PooledClient client) {
+    try {
+      client.client.shutdown();
+    } catch (TException e) {
+      LOGGER.log(Level.FINE, "Error closing Metastore connection", e);
+    } finally {
+      client.transport.close();
+      certificateMaterializer.removeCertificatesLocal(client.username, client.projectName);
+    }
+  }
+
+  public static class PooledClient {
+    private final ThriftHiveMetastore.Client client;
+    private final TTransport transport;
+    private final String hdfsUsername;
+    private final String username;
+    private final String projectName;
+    private final long createdAt = System.currentTimeMillis();
+    private long lastUsed = createdAt;
+    private boolean reused = false;
+
+    private PooledClient(ThriftHiveMetastore.Client client, TTransport transport, String hdfsUsername,
+                         String username, String projectName) {
+      this.client = client;
+      this.transport = transport;
+      this.hdfsUsername = hdfsUsername;
+      this.username = username;
+      this.projectName = projectName;
+    }
+
+    public ThriftHiveMetastore.Client getClient() {
+      return client;
+    }
+
+    /**
+     * @return true if the client was used by a previous operation, so its connection may have been closed by the
+     * metastore in the meantime
+     */
+    public boolean isReused() {
+      return reused;
+    }
+  }
+}
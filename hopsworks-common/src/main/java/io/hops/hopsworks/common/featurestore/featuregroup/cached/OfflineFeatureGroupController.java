@@ -16,23 +16,18 @@
 
 package io.hops.hopsworks.common.featurestore.featuregroup.cached;
 
-import com.logicalclocks.servicediscoverclient.exceptions.ServiceDiscoveryException;
-import com.logicalclocks.servicediscoverclient.service.Service;
 import io.hops.hopsworks.common.featurestore.FeaturestoreController;
 import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
+import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupController;
 import io.hops.hopsworks.common.hdfs.HdfsUsersController;
-import io.hops.hopsworks.common.hosts.ServiceDiscoveryController;
-import io.hops.hopsworks.common.security.CertificateMaterializer;
 import io.hops.hopsworks.common.util.Settings;
-import io.hops.hopsworks.exceptions.CryptoPasswordNotFoundException;
 import io.hops.hopsworks.exceptions.FeaturestoreException;
 import io.hops.hopsworks.exceptions.ServiceException;
 import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
+import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.restutils.RESTCodes;
-import io.hops.hopsworks.servicediscovery.HopsworksService;
-import io.hops.hopsworks.servicediscovery.tags.HiveTags;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.metastore.TableType;
@@ -48,13 +43,8 @@ import org.apache.hadoop.hive.metastore.api.ThriftHiveMetastore;
 import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
 import org.apache.hadoop.hive.metastore.conf.MetastoreConf;
 import org.apache.hadoop.hive.serde.serdeConstants;
-import org.apache.thrift.TConfiguration;
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TBinaryProtocol;
-import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.TSSLTransportFactory;
-import org.apache.thrift.transport.TSocket;
-import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
 
 import javax.annotation.PostConstruct;
 import javax.ejb.EJB;
@@ -83,9 +73,11 @@ public class OfflineFeatureGroupController {
   @EJB
   private Settings settings;
   @EJB
-  private CertificateMaterializer certificateMaterializer;
+  private FeaturegroupController featuregroupController;
   @EJB
-  private ServiceDiscoveryController serviceDiscoveryController;
+  private MetastoreClientPool metastoreClientPool;
+  @EJB
+  private FeatureGroupSchemaCache featureGroupSchemaCache;
 
   private Configuration metastoreConf;
 
@@ -96,7 +88,6 @@ public class OfflineFeatureGroupController {
   }
 
   private static final String COMMENT = "comment";
-  private static final int CONNECTION_TIMEOUT = 600000;
 
   public enum Formats {
     ORC("org.apache.hadoop.hive.ql.io.orc.OrcInputFormat",
@@ -162,55 +153,64 @@ public class OfflineFeatureGroupController {
       }
     }
 
-    ThriftHiveMetastore.Client client = getMetaStoreClient(project, user);
-    try {
+    execute(project, user, false, client -> {
       createTable(client, table, defaultConstraints);
-    } finally {
-      finalizeMetastoreOperation(project, user, client);
-    }
+      return null;
+    });
   }
 
-  public void alterHiveTableFeatures(Featurestore featurestore, String tableName,
-    List<FeatureGroupFeatureDTO> featureDTOs, Project project, Users user) throws FeaturestoreException {
-    String dbName = featurestoreController.getOfflineFeaturestoreDbName(featurestore.getProject());
+  public void alterHiveTableFeatures(Featuregroup featuregroup, List<FeatureGroupFeatureDTO> featureDTOs,
+                                     Project project, Users user) throws FeaturestoreException {
+    String dbName = featurestoreController.getOfflineFeaturestoreDbName(featuregroup.getFeaturestore().getProject());
+    String tableName = featuregroupController.getTblName(featuregroup);
 
-    ThriftHiveMetastore.Client client = getMetaStoreClient(project, user);
     try {
-      Table table = getTable(client, dbName, tableName);
-
-      // modify columns here
-      List<SQLDefaultConstraint> defaultConstraints = getDefaultConstraints(client, "hive", dbName, tableName);
-      for (FeatureGroupFeatureDTO featureDTO : featureDTOs) {
-        table.getSd().addToCols(
-            new FieldSchema(featureDTO.getName(), featureDTO.getType().toLowerCase(), null));
-        if (featureDTO.getDefaultValue() != null) {
-          defaultConstraints.add(new SQLDefaultConstraint(table.getCatName(), table.getDbName(),
-              table.getTableName(), featureDTO.getName(), featureDTO.getDefaultValue(),
-              dbName + "_" + tableName + "_" + featureDTO.getName() + "_dc", true, false,
-              false));
-        }
-      }
-      alterTable(client, table);
-      addDefaultConstraints(client, defaultConstraints);
+      execute(project, user, false, client -> {
+        alterTableFeatures(client, dbName, tableName, featureDTOs);
+        return null;
+      });
     } finally {
-      finalizeMetastoreOperation(project, user, client);
+      featureGroupSchemaCache.invalidate(featuregroup.getId());
     }
   }
 
-  public List<FeatureGroupFeatureDTO> getSchema(Featurestore featurestore, String tableName,
-                                                Project project, Users user) throws FeaturestoreException {
-    String dbName = featurestoreController.getOfflineFeaturestoreDbName(featurestore.getProject());
-    ThriftHiveMetastore.Client client = getMetaStoreClient(project, user);
-    Table table;
-    List<FieldSchema> schema;
-    List<SQLDefaultConstraint> defaultConstraints;
-    try {
-      table = getTable(client, dbName, tableName);
-      schema = getFields(client, dbName, tableName);
-      defaultConstraints = getDefaultConstraints(client, "hive", dbName, tableName);
-    } finally {
-      finalizeMetastoreOperation(project, user, client);
+  private void alterTableFeatures(ThriftHiveMetastore.Client client, String dbName, String tableName,
+                                  List<FeatureGroupFeatureDTO> featureDTOs) throws FeaturestoreException {
+    Table table = getTable(client, dbName, tableName);
+
+    // modify columns here
+    List<SQLDefaultConstraint> defaultConstraints = getDefaultConstraints(client, "hive", dbName, tableName);
+    for (FeatureGroupFeatureDTO featureDTO : featureDTOs) {
+      table.getSd().addToCols(
+          new FieldSchema(featureDTO.getName(), featureDTO.getType().toLowerCase(), null));
+      if (featureDTO.getDefaultValue() != null) {
+        defaultConstraints.add(new SQLDefaultConstraint(table.getCatName(), table.getDbName(),
+            table.getTableName(), featureDTO.getName(), featureDTO.getDefaultValue(),
+            dbName + "_" + tableName + "_" + featureDTO.getName() + "_dc", true, false,
+            false));
+      }
     }
+    alterTable(client, table);
+    addDefaultConstraints(client, defaultConstraints);
+  }
+
+  /**
+   * @return the schema of the feature group table, served from the schema cache when possible. The list and the
+   * features are a copy the caller can modify
+   */
+  public List<FeatureGroupFeatureDTO> getSchema(Featuregroup featuregroup, Project project, Users user)
+      throws FeaturestoreException {
+    String dbName = featurestoreController.getOfflineFeaturestoreDbName(featuregroup.getFeaturestore().getProject());
+    String tableName = featuregroupController.getTblName(featuregroup);
+    return featureGroupSchemaCache.get(featuregroup.getId(),
+      () -> execute(project, user, true, client -> readSchema(client, dbName, tableName)));
+  }
+
+  private List<FeatureGroupFeatureDTO> readSchema(ThriftHiveMetastore.Client client, String dbName, String tableName)
+      throws FeaturestoreException {
+    Table table = getTable(client, dbName, tableName);
+    List<FieldSchema> schema = getFields(client, dbName, tableName);
+    List<SQLDefaultConstraint> defaultConstraints = getDefaultConstraints(client, "hive", dbName, tableName);
 
     // Setup a map of constraint values for easy access
     Map<String, String> defaultConstraintsMap = defaultConstraints.stream()
@@ -297,95 +297,80 @@ public class OfflineFeatureGroupController {
     }
   }
   
-  private ThriftHiveMetastore.Client getMetaStoreClient(Project project, Users user) throws FeaturestoreException {
+  /**
+   * Run the operation with a pooled metastore client of the project user. Clients are given back to the pool unless
+   * their connection failed. If retry is set and the operation fails on a reused connection that was closed in the
+   * meantime, it is run once more on a new connection. Operations that are not idempotent must not set retry, they
+   * always get a new connection instead.
+   */
+  private <T> T execute(Project project, Users user, boolean retry, MetastoreOperation<T> operation)
+      throws FeaturestoreException {
+    MetastoreClientPool.PooledClient pooledClient = getMetaStoreClient(project, user, !retry);
+    boolean healthy = false;
     try {
-      return openMetastoreClient(project, user);
-    } catch (ServiceException | IOException e) {
-      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ERROR_CREATING_HIVE_METASTORE_CLIENT,
-        Level.SEVERE, "Error opening the Hive Metastore client: " + e.getMessage(), e.getMessage(), e);
+      T result = operation.apply(pooledClient.getClient());
+      healthy = true;
+      return result;
+    } catch (FeaturestoreException e) {
+      if (!(e.getCause() instanceof TTransportException)) {
+        // the metastore answered, the connection can still be used
+        healthy = true;
+      } else if (retry && pooledClient.isReused()) {
+        metastoreClientPool.discard(pooledClient);
+        pooledClient = null;
+        return execute(project, user, false, operation);
+      }
+      throw e;
+    } finally {
+      if (pooledClient != null) {
+        if (healthy) {
+          metastoreClientPool.release(pooledClient);
+        } else {
+          metastoreClientPool.discard(pooledClient);
+        }
+      }
     }
   }
 
-  private void finalizeMetastoreOperation(Project project, Users user, ThriftHiveMetastore.Client client) {
-    certificateMaterializer.removeCertificatesLocal(user.getUsername(), project.getName());
-    if (client != null) {
-      try {
-        client.shutdown();
-      } catch (TException e) {
-        LOGGER.log(Level.SEVERE, "Error closing Metastore connection", e);
-      }
+  private MetastoreClientPool.PooledClient getMetaStoreClient(Project project, Users user, boolean fresh)
+      throws FeaturestoreException {
+    try {
+      return metastoreClientPool.borrow(project, user, fresh);
+    } catch (ServiceException | IOException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ERROR_CREATING_HIVE_METASTORE_CLIENT,
+        Level.SEVERE, "Error opening the Hive Metastore client: " + e.getMessage(), e.getMessage(), e);
     }
   }
 
-  public void dropFeatureGroup(String dbName, String tableName, Project project, Users user)
+  public void dropFeatureGroup(Featuregroup featuregroup, Project project, Users user)
       throws FeaturestoreException, ServiceException, IOException {
-    ThriftHiveMetastore.Client client = null;
+    String dbName = featurestoreController.getOfflineFeaturestoreDbName(featuregroup.getFeaturestore().getProject());
+    String tableName = featuregroupController.getTblName(featuregroup);
+    MetastoreClientPool.PooledClient pooledClient = metastoreClientPool.borrow(project, user, true);
+    boolean healthy = false;
     try {
-      client = openMetastoreClient(project, user);
-      client.drop_table(dbName, tableName, true);
+      pooledClient.getClient().drop_table(dbName, tableName, true);
+      healthy = true;
+    } catch (TTransportException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.COULD_NOT_DELETE_FEATUREGROUP, Level.SEVERE,
+          "Error dropping feature group in the Hive Metastore: " +  e.getMessage(), e.getMessage(), e);
     } catch (TException e) {
+      healthy = true;
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.COULD_NOT_DELETE_FEATUREGROUP, Level.SEVERE,
           "Error dropping feature group in the Hive Metastore: " +  e.getMessage(), e.getMessage(), e);
     } finally {
-      finalizeMetastoreOperation(project, user, client);
-    }
-  }
-
-  // Here we can't use the HiveMetaStoreClient.java wrapper as we would need to export environment variables and so on
-  // instead we assemble directly the thirft client, which is what the HiveMetaStoreClient does behind the scenes.
-  private ThriftHiveMetastore.Client openMetastoreClient(Project project, Users user)
-      throws ServiceException, IOException {
-    String hdfsUsername = hdfsUsersController.getHdfsUserName(project, user);
-    ThriftHiveMetastore.Client client = null;
-
-    try {
-      certificateMaterializer.materializeCertificatesLocal(user.getUsername(), project.getName());
-      CertificateMaterializer.CryptoMaterial userMaterial =
-          certificateMaterializer.getUserMaterial(user.getUsername(), project.getName());
-
-      // read Password
-      String password = String.copyValueOf(userMaterial.getPassword());
-
-      // Get metastore service information from consul
-      Service metastoreService = serviceDiscoveryController
-          .getAnyAddressOfServiceWithDNS(HopsworksService.HIVE.getNameWithTag(HiveTags.metastore));
-
-      TTransport transport;
-      if (settings.getHopsRpcTls()) {
-        // Setup secure connection with the Hive metastore.
-        TSSLTransportFactory.TSSLTransportParameters params =
-            new TSSLTransportFactory.TSSLTransportParameters();
-        params.setTrustStore(certificateMaterializer.getUserTransientTruststorePath(project, user), password);
-        params.setKeyStore(certificateMaterializer.getUserTransientKeystorePath(project, user), password);
-
-        transport = TSSLTransportFactory.getClientSocket(metastoreService.getAddress(),
-            metastoreService.getPort(), CONNECTION_TIMEOUT, params);
+      if (healthy) {
+        metastoreClientPool.release(pooledClient);
       } else {
-        transport = new TSocket(TConfiguration.DEFAULT, metastoreService.getAddress(), metastoreService.getPort(),
-          CONNECTION_TIMEOUT);
+        metastoreClientPool.discard(pooledClient);
       }
-
-      TProtocol protocol = new TBinaryProtocol(transport);
-      client = new ThriftHiveMetastore.Client(protocol);
-
-      // Open transport
-      if (!transport.isOpen()) {
-        transport.open();
-      }
-
-      // Set the UGI on the metastore side
-      client.set_ugi(hdfsUsername, new ArrayList<>());
-
-      if (settings.getHopsRpcTls()) {
-        // Send the certificate to the metastore so it can operate with the fs.
-        client.set_crypto(userMaterial.getKeyStore(), password, userMaterial.getTrustStore(), password, false);
-      }
-    } catch (CryptoPasswordNotFoundException | ServiceDiscoveryException | TException e) {
-      throw new ServiceException(RESTCodes.ServiceErrorCode.METASTORE_CONNECTION_ERROR, Level.SEVERE,
-          "Hive metastore connection error", e.getMessage(), e);
+      featureGroupSchemaCache.invalidate(featuregroup.getId());
     }
+  }
 
-    return client;
+  @FunctionalInterface
+  private interface MetastoreOperation<T> {
+    T apply(ThriftHiveMetastore.Client client) throws FeaturestoreException;
   }
 
   private Table getEmptyTable(String databaseName, String tableName, String username, Formats format) {
@@ -16,7 +16,6 @@
 
 package io.hops.hopsworks.common.featurestore.featuregroup.stream;
 
-import io.hops.hopsworks.common.featurestore.FeaturestoreController;
 import io.hops.hopsworks.common.featurestore.activity.FeaturestoreActivityFacade;
 import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeatureGroupInputValidation;
@@ -77,8 +76,6 @@ public class StreamFeatureGroupController {
   private FeaturestoreActivityFacade fsActivityFacade;
   @EJB
   private FeatureGroupInputValidation featureGroupInputValidation;
-  @EJB
-  private FeaturestoreController featurestoreController;
 
   /**
    * Converts a StreamFeatureGroup entity into a DTO representation
@@ -111,10 +108,8 @@ public class StreamFeatureGroupController {
     Map<String, String> featureDescription = featuregroup.getStreamFeatureGroup().getCachedFeatures().stream()
         .collect(Collectors.toMap(CachedFeature::getName, CachedFeature::getDescription));
 
-    List<FeatureGroupFeatureDTO> featureGroupFeatures = offlineFeatureGroupController.getSchema(
-        featuregroup.getFeaturestore(),
-        featuregroupController.getTblName(featuregroup),
-        project, user);
+    List<FeatureGroupFeatureDTO> featureGroupFeatures =
+        offlineFeatureGroupController.getSchema(featuregroup, project, user);
 
     for (FeatureGroupFeatureDTO feature : featureGroupFeatures) {
       feature.setPrimary(primaryKeys.contains(feature.getName()));
@@ -158,9 +153,7 @@ public class StreamFeatureGroupController {
   public void deleteFeatureGroup(Featuregroup featuregroup, Project project, Users user)
       throws FeaturestoreException, IOException, ServiceException {
     // Drop the table from Hive
-    String db = featurestoreController.getOfflineFeaturestoreDbName(featuregroup.getFeaturestore().getProject());
-    String tableName = featuregroupController.getTblName(featuregroup.getName(), featuregroup.getVersion());
-    offlineFeatureGroupController.dropFeatureGroup(db, tableName, project, user);
+    offlineFeatureGroupController.dropFeatureGroup(featuregroup, project, user);
 
     // remove the metadata from the Hopswroks schema
     streamFeatureGroupFacade.remove(featuregroup.getStreamFeatureGroup());
@@ -218,8 +211,6 @@ public class StreamFeatureGroupController {
 
     List<FeatureGroupFeatureDTO> previousSchema = getFeaturesDTO(featuregroup, project, user);
 
-    String tableName = featuregroupController.getTblName(featuregroup.getName(), featuregroup.getVersion());
-
     // verify user input specific for cached feature groups - if any
     List<FeatureGroupFeatureDTO> newFeatures = new ArrayList<>();
     if (featuregroupDTO.getFeatures() != null) {
@@ -232,8 +223,7 @@ public class StreamFeatureGroupController {
 
     // alter table for new additional features
     if (!newFeatures.isEmpty()) {
-      offlineFeatureGroupController.alterHiveTableFeatures(
-        featuregroup.getFeaturestore(), tableName, newFeatures, project, user);
+      offlineFeatureGroupController.alterHiveTableFeatures(featuregroup, newFeatures, project, user);
       if (featuregroup.isOnlineEnabled()) {
         onlineFeaturegroupController.alterOnlineFeatureGroupSchema(
           featuregroup, newFeatures, featuregroupDTO.getFeatures(), project, user);
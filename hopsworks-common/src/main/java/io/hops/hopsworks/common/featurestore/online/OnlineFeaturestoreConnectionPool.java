@@ -0,0 +1,326 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.online;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.hops.hopsworks.exceptions.FeaturestoreException;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Timer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pools of JDBC connections to the online feature store MySQL server. There is one shared pool for the feature store
+ * admin user, used for DDL and information schema lookups, and one pool per (database, db user) pair for queries
+ * issued on behalf of project members. Pools that have not been used for a while are closed.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class OnlineFeaturestoreConnectionPool {
+
+  private static final Logger LOGGER = Logger.getLogger(OnlineFeaturestoreConnectionPool.class.getName());
+
+  private static final String VALIDATION_QUERY = "SELECT 1";
+  private static final int ADMIN_POOL_MAX_SIZE = 10;
+  private static final int USER_POOL_MAX_SIZE = 4;
+  private static final long MAX_USER_POOLS = 200;
+  private static final long USER_POOL_IDLE_TIMEOUT_MINUTES = 10;
+  private static final long CONNECTION_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(2);
+  private static final long CONNECTION_MAX_LIFETIME_MS = TimeUnit.MINUTES.toMillis(30);
+  private static final long CONNECTION_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+  private static final long VALIDATION_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(3);
+  // Invalid authorization specification
+  private static final String SQL_STATE_AUTHORIZATION = "28";
+  private static final int MYSQL_ER_DBACCESS_DENIED_ERROR = 1044;
+  private static final int MYSQL_ER_ACCESS_DENIED_ERROR = 1045;
+
+  @Resource
+  private ManagedScheduledExecutorService scheduler;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private HikariDataSource adminPool;
+  private Cache<PoolKey, HikariDataSource> userPools;
+
+  private Timer connectionWaitTime;
+  private Counter connectionTimeouts;
+  private Counter poolsCreated;
+
+  @PostConstruct
+  public void init() {
+    userPools = Caffeine.newBuilder()
+      .maximumSize(MAX_USER_POOLS)
+      .expireAfterAccess(USER_POOL_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+      .removalListener(this::onPoolRemoval)
+      .build();
+
+    connectionWaitTime = metricRegistry.timer("online_featurestore_jdbc_connection_wait");
+    connectionTimeouts = metricRegistry.counter("online_featurestore_jdbc_connection_timeouts");
+    poolsCreated = metricRegistry.counter("online_featurestore_jdbc_pools_created");
+    metricRegistry.gauge("online_featurestore_jdbc_connections_active",
+      () -> sumOverPools(HikariPoolMXBean::getActiveConnections));
+    metricRegistry.gauge("online_featurestore_jdbc_connections_idle",
+      () -> sumOverPools(HikariPoolMXBean::getIdleConnections));
+    metricRegistry.gauge("online_featurestore_jdbc_threads_awaiting_connection",
+      () -> sumOverPools(HikariPoolMXBean::getThreadsAwaitingConnection));
+    metricRegistry.gauge("online_featurestore_jdbc_user_pools", userPools::estimatedSize);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    userPools.invalidateAll();
+    userPools.cleanUp();
+    synchronized (this) {
+      if (adminPool != null) {
+        adminPool.close();
+        adminPool = null;
+      }
+    }
+  }
+
+  /**
+   * Borrow a connection from the shared admin pool. The pool is (re)created if the JDBC url or the credentials
+   * changed since it was built.
+   *
+   * @param jdbcUrl url of the online feature store server
+   * @param username admin username
+   * @param password admin password
+   * @return a pooled connection, closing it returns it to the pool
+   * @throws SQLException
+   */
+  public Connection getAdminConnection(String jdbcUrl, String username, String password) throws SQLException {
+    HikariDataSource pool;
+    synchronized (this) {
+      if (adminPool == null || !isSameConfig(adminPool, jdbcUrl, username, password)) {
+        if (adminPool != null) {
+          adminPool.close();
+        }
+        adminPool = createPool("onlinefs-admin", jdbcUrl, username, password, ADMIN_POOL_MAX_SIZE);
+      }
+      pool = adminPool;
+    }
+    return pool.getConnection();
+  }
+
+  /**
+   * Borrow a connection from the pool of a (database, db user) pair. The password is only requested when the pool
+   * has to be created.
+   *
+   * @param jdbcUrl url of the online feature store database
+   * @param database name of the database
+   * @param dbUsername online feature store db user
+   * @param passwordSupplier supplier of the db user password
+   * @return a pooled connection, closing it returns it to the pool
+   * @throws SQLException
+   * @throws FeaturestoreException if the password could not be retrieved
+   */
+  public Connection getUserConnection(String jdbcUrl, String database, String dbUsername,
+                                      PasswordSupplier passwordSupplier) throws SQLException, FeaturestoreException {
+    PoolKey key = new PoolKey(database, dbUsername);
+    HikariDataSource pool = userPools.getIfPresent(key);
+    if (pool == null || !jdbcUrl.equals(pool.getJdbcUrl())) {
+      String password = passwordSupplier.get();
+      pool = userPools.asMap().compute(key, (k, existing) -> {
+        if (existing != null && jdbcUrl.equals(existing.getJdbcUrl()) && password.equals(existing.getPassword())) {
+          return existing;
+        }
+        return createPool("onlinefs-" + database + "-" + dbUsername, jdbcUrl, dbUsername, password,
+          USER_POOL_MAX_SIZE);
+      });
+    }
+    try {
+      return pool.getConnection();
+    } catch (SQLException e) {
+      // Only drop the pool if it cannot recover by itself, e.g. the password changed. Timeouts and transient
+      // connection errors are left to the pool, closing it would throw away the connections still being served.
+      if (pool.isClosed() || isAuthenticationFailure(e)) {
+        userPools.asMap().remove(key, pool);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Close all the pools of an online feature store db user, e.g. when the user is removed or its password changes.
+   *
+   * @param dbUsername online feature store db user
+   */
+  public void invalidateUser(String dbUsername) {
+    userPools.asMap().keySet().removeIf(key -> key.dbUsername.equals(dbUsername));
+  }
+
+  /**
+   * Close all the pools to a database, e.g. when the database is dropped.
+   *
+   * @param database name of the database
+   */
+  public void invalidateDatabase(String database) {
+    userPools.asMap().keySet().removeIf(key -> key.database.equals(database));
+  }
+
+  private HikariDataSource createPool(String poolName, String jdbcUrl, String username, String password,
+                                      int maxSize) {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName(poolName);
+    config.setJdbcUrl(jdbcUrl);
+    config.setDriverClassName(OnlineFeaturestoreFacade.MYSQL_DRIVER);
+    config.setUsername(username);
+    config.setPassword(password);
+    config.setMaximumPoolSize(maxSize);
+    // Let idle connections go so that rarely used pools do not hold server connections
+    config.setMinimumIdle(0);
+    config.setIdleTimeout(CONNECTION_IDLE_TIMEOUT_MS);
+    config.setMaxLifetime(CONNECTION_MAX_LIFETIME_MS);
+    config.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
+    config.setValidationTimeout(VALIDATION_TIMEOUT_MS);
+    config.setConnectionTestQuery(VALIDATION_QUERY);
+    // Do not fail the request that triggers the pool creation if the server is momentarily unreachable
+    config.setInitializationFailTimeout(-1);
+    config.setScheduledExecutor(scheduler);
+    config.setMetricsTrackerFactory(new WaitTimeTrackerFactory());
+    poolsCreated.inc();
+    return new HikariDataSource(config);
+  }
+
+  /**
+   * Hikari reports a failure to open new connections as a SQLTransientConnectionException once the connection timeout
+   * expires, the error returned by the server is its cause.
+   */
+  private boolean isAuthenticationFailure(SQLException e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof SQLInvalidAuthorizationSpecException) {
+        return true;
+      }
+      if (t instanceof SQLException) {
+        SQLException sqlException = (SQLException) t;
+        if ((sqlException.getSQLState() != null && sqlException.getSQLState().startsWith(SQL_STATE_AUTHORIZATION))
+          || sqlException.getErrorCode() == MYSQL_ER_ACCESS_DENIED_ERROR
+          || sqlException.getErrorCode() == MYSQL_ER_DBACCESS_DENIED_ERROR) {
+          return true;
+        }
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private boolean isSameConfig(HikariDataSource pool, String jdbcUrl, String username, String password) {
+    return Objects.equals(pool.getJdbcUrl(), jdbcUrl) && Objects.equals(pool.getUsername(), username)
+      && Objects.equals(pool.getPassword(), password);
+  }
+
+  private long sumOverPools(ToIntFunction<HikariPoolMXBean> stat) {
+    long sum = 0;
+    HikariDataSource admin = adminPool;
+    if (admin != null && admin.getHikariPoolMXBean() != null) {
+      sum += stat.applyAsInt(admin.getHikariPoolMXBean());
+    }
+    for (HikariDataSource pool : userPools.asMap().values()) {
+      if (pool.getHikariPoolMXBean() != null) {
+        sum += stat.applyAsInt(pool.getHikariPoolMXBean());
+      }
+    }
+    return sum;
+  }
+
+  private void onPoolRemoval(PoolKey key, HikariDataSource pool, RemovalCause cause) {
+    if (pool == null) {
+      return;
+    }
+    LOGGER.log(Level.FINE, "Closing online feature store connection pool " + pool.getPoolName() + ", cause: "
+      + cause);
+    pool.close();
+  }
+
+  @FunctionalInterface
+  public interface PasswordSupplier {
+    String get() throws FeaturestoreException;
+  }
+
+  private class WaitTimeTrackerFactory implements MetricsTrackerFactory {
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+      return new IMetricsTracker() {
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+          connectionWaitTime.update(Duration.ofNanos(elapsedAcquiredNanos));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+          connectionTimeouts.inc();
+        }
+      };
+    }
+  }
+
+  private static class PoolKey {
+    private final String database;
+    private final String dbUsername;
+
+    private PoolKey(String database, String dbUsername) {
+      this.database = database;
+      this.dbUsername = dbUsername;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PoolKey poolKey = (PoolKey) o;
+      return database.equals(poolKey.database) && dbUsername.equals(poolKey.dbUsername);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(database, dbUsername);
+    }
+  }
+}
@@ -38,7 +38,6 @@ import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -74,6 +73,8 @@ public class OnlineFeaturestoreFacade {
   private SecretsController secretsController;
   @EJB
   private FeaturestoreUtils featurestoreUtils;
+  @EJB
+  private OnlineFeaturestoreConnectionPool onlineFeaturestoreConnectionPool;
 
   @PostConstruct
   public void init() {
@@ -124,6 +125,7 @@ public class OnlineFeaturestoreFacade {
     //WHERE/HAVING Clauses, not names of tables or databases
     try {
       executeUpdate("DROP DATABASE IF EXISTS " + db + ";", connection);
+      onlineFeaturestoreConnectionPool.invalidateDatabase(db);
     } catch (SQLException se) {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ERROR_DELETING_ONLINE_FEATURESTORE_DB,
           Level.SEVERE, "Error running drop query", se.getMessage(), se);
@@ -165,6 +167,7 @@ public class OnlineFeaturestoreFacade {
         pStmt.setString(1, dbUser);
         pStmt.executeUpdate();
       }
+      onlineFeaturestoreConnectionPool.invalidateUser(dbUser);
     } catch (SQLException se) {
       throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.ERROR_DELETING_ONLINE_FEATURESTORE_USER,
           Level.SEVERE, "An error occurred when trying to delete the MySQL database user for an online feature store",
@@ -282,6 +285,7 @@ public class OnlineFeaturestoreFacade {
           //Prepared statements with parameters can only be done for
           //WHERE/HAVING Clauses, not names of tables or databases
           executeUpdate("REVOKE ALL PRIVILEGES ON " + dbName + ".* FROM " + dbUser + ";", connection);
+          onlineFeaturestoreConnectionPool.invalidateUser(dbUser);
         }
       } finally {
         if (resultSet != null) {
@@ -401,9 +405,16 @@ public class OnlineFeaturestoreFacade {
     }
   }
 
+  /**
+   * Borrows a connection to the MySQL Server from the shared online featurestore admin pool. Closing the connection
+   * returns it to the pool.
+   *
+   * @return conn the JDBC connection
+   * @throws FeaturestoreException
+   */
   public Connection establishAdminConnection() throws FeaturestoreException {
     try {
-      return DriverManager.getConnection(getJdbcURL(),
+      return onlineFeaturestoreConnectionPool.getAdminConnection(getJdbcURL(),
           settings.getVariableFeaturestoreDbAdminUser(),
           settings.getVariableFeaturestoreDbAdminPwd());
     } catch (SQLException | ServiceDiscoveryException e) {
@@ -414,7 +425,8 @@ public class OnlineFeaturestoreFacade {
   }
 
   /**
-   * Initializes a JDBC connection MySQL Server using an online featurestore user and password
+   * Borrows a JDBC connection to the MySQL Server using an online featurestore user and password. Connections are
+   * pooled per database and online featurestore user, closing the connection returns it to the pool.
    *
    * @param databaseName name of the MySQL database to open a connection to
    * @param project      the project of the user making the request
@@ -425,18 +437,18 @@ public class OnlineFeaturestoreFacade {
   private Connection establishUserConnection(String databaseName, Project project, Users user)
       throws FeaturestoreException {
     String dbUsername = onlineFeaturestoreController.onlineDbUsername(project, user);
-    String password;
-    try {
-      password = secretsController.get(user, dbUsername).getPlaintext();
-    } catch (UserException e) {
-      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATURESTORE_ONLINE_SECRETS_ERROR,
-          Level.SEVERE, "Problem getting secrets for the JDBC connection to the online FS");
-    }
 
     String jdbcString = "";
     try {
       jdbcString = getJdbcURL(databaseName);
-      return DriverManager.getConnection(jdbcString, dbUsername, password);
+      return onlineFeaturestoreConnectionPool.getUserConnection(jdbcString, databaseName, dbUsername, () -> {
+        try {
+          return secretsController.get(user, dbUsername).getPlaintext();
+        } catch (UserException e) {
+          throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.FEATURESTORE_ONLINE_SECRETS_ERROR,
+              Level.SEVERE, "Problem getting secrets for the JDBC connection to the online FS");
+        }
+      });
     } catch (SQLException | ServiceDiscoveryException e) {
       throw new FeaturestoreException(
           RESTCodes.FeaturestoreErrorCode.COULD_NOT_INITIATE_MYSQL_CONNECTION_TO_ONLINE_FEATURESTORE, Level.SEVERE,
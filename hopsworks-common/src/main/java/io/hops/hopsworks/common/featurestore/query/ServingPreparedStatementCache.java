@@ -0,0 +1,146 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeatureGroupSchemaCache;
+import io.hops.hopsworks.exceptions.FeaturestoreException;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving prepared statements of the feature views, keyed by feature view id, batch and inference helper columns.
+ * An entry records the schema version of the feature groups it was generated from and it is only used while none of
+ * them changed, see {@link FeatureGroupSchemaCache#getVersion(Integer)}. Entries also expire, as the feature view can
+ * be deleted and the schema of a feature group can be altered outside Hopsworks.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ServingPreparedStatementCache {
+
+  private static final long MAX_ENTRIES = 10000;
+  private static final long EXPIRE_AFTER_WRITE_MINUTES = 10;
+
+  @EJB
+  private FeatureGroupSchemaCache featureGroupSchemaCache;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private Cache<String, ServingPreparedStatements> statements;
+
+  private Counter hits;
+  private Counter misses;
+
+  @PostConstruct
+  public void init() {
+    statements = Caffeine.newBuilder()
+      .maximumSize(MAX_ENTRIES)
+      .expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+      .build();
+    hits = metricRegistry.counter("serving_prepared_statement_cache_hits");
+    misses = metricRegistry.counter("serving_prepared_statement_cache_misses");
+  }
+
+  /**
+   * @param featureViewId id of the feature view, it identifies the version of the feature view
+   * @param featureGroupIds feature groups joined by the feature view
+   * @param loader generates the prepared statements if they are not cached
+   * @return the prepared statements, shared between requests so they must not be modified
+   */
+  public ServingPreparedStatements get(Integer featureViewId, boolean batch, boolean inferenceHelperColumns,
+                                       Collection<Integer> featureGroupIds, StatementsLoader loader)
+      throws FeaturestoreException {
+    String key = featureViewId + ":" + batch + ":" + inferenceHelperColumns;
+    // read before generating the statements, so that statements generated from a stale schema are not used
+    Map<Integer, Long> versions = getVersions(featureGroupIds);
+    ServingPreparedStatements cached = statements.getIfPresent(key);
+    if (cached != null && cached.versions.equals(versions)) {
+      hits.inc();
+      return cached;
+    }
+    misses.inc();
+    ServingPreparedStatements loaded = new ServingPreparedStatements(versions, loader.load());
+    statements.asMap().compute(key, (k, existing) ->
+      getVersions(featureGroupIds).equals(versions) ? loaded : existing);
+    return loaded;
+  }
+
+  private Map<Integer, Long> getVersions(Collection<Integer> featureGroupIds) {
+    Map<Integer, Long> versions = new TreeMap<>();
+    featureGroupIds.forEach(id -> versions.put(id, featureGroupSchemaCache.getVersion(id)));
+    return versions;
+  }
+
+  @FunctionalInterface
+  public interface StatementsLoader {
+    List<ServingPreparedStatementDTO> load() throws FeaturestoreException;
+  }
+
+  public static class ServingPreparedStatements {
+    private final Map<Integer, Long> versions;
+    private final List<ServingPreparedStatementDTO> statements;
+    private final String entityTag;
+
+    private ServingPreparedStatements(Map<Integer, Long> versions, List<ServingPreparedStatementDTO> statements) {
+      this.versions = versions;
+      this.statements = Collections.unmodifiableList(statements);
+      this.entityTag = entityTag(statements);
+    }
+
+    public List<ServingPreparedStatementDTO> getStatements() {
+      return statements;
+    }
+
+    /**
+     * @return hash of the statements, the same on every instance of the cluster as long as the statements are equal
+     */
+    public String getEntityTag() {
+      return entityTag;
+    }
+
+    private static String entityTag(List<ServingPreparedStatementDTO> statements) {
+      StringBuilder content = new StringBuilder();
+      for (ServingPreparedStatementDTO statement : statements) {
+        content.append(statement.getFeatureGroupId()).append('\n')
+          .append(statement.getPreparedStatementIndex()).append('\n')
+          .append(statement.getPrefix()).append('\n')
+          .append(statement.getQueryOnline()).append('\n');
+        for (PreparedStatementParameterDTO parameter : statement.getPreparedStatementParameters()) {
+          content.append(parameter.getName()).append(':').append(parameter.getIndex()).append('\n');
+        }
+      }
+      return DigestUtils.sha256Hex(content.toString());
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.statistics;
+
+import org.apache.hadoop.fs.PositionedReadable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * File holding the extended statistics of all the features of one statistics commit, written with a single create.
+ * The header indexes the statistics of each feature. Reading a subset of the features takes one positioned read of
+ * the start of the file, which holds the header and, in small files, the features too, and one read of every other
+ * range of features stored close to each other.
+ *
+ * <pre>
+ * magic (int) | version (int) | header length (int) | header | data
+ * header: number of features (int), then per feature: name (modified UTF-8), offset in data (long), length (int)
+ * data: the UTF-8 JSON statistics of the features
+ * </pre>
+ *
+ * Files written before the statistics were packed hold the JSON statistics of a single feature and end with .json.
+ */
+final class ExtendedStatisticsFile {
+
+  static final String EXTENSION = ".stats";
+
+  private static final int MAGIC = 0x48535453;
+  private static final int VERSION = 1;
+  private static final int PREFIX_LENGTH = 12;
+  // features closer than this are read together, reading the gap is cheaper than another request to the datanode
+  private static final long MAX_GAP = 64 * 1024;
+  // read together with the prefix, large enough for the header of a few thousand features
+  private static final int READ_AHEAD = 64 * 1024;
+
+  private ExtendedStatisticsFile() {
+  }
+
+  static boolean isPacked(String path) {
+    return path.endsWith(EXTENSION);
+  }
+
+  /**
+   * @param statistics JSON extended statistics by feature name
+   * @return content of the file
+   */
+  static byte[] write(Map<String, String> statistics) throws IOException {
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    DataOutputStream headerOut = new DataOutputStream(header);
+    List<byte[]> data = new ArrayList<>(statistics.size());
+    long offset = 0;
+    headerOut.writeInt(statistics.size());
+    for (Map.Entry<String, String> feature : statistics.entrySet()) {
+      byte[] featureData = feature.getValue().getBytes(StandardCharsets.UTF_8);
+      headerOut.writeUTF(feature.getKey());
+      headerOut.writeLong(offset);
+      headerOut.writeInt(featureData.length);
+      data.add(featureData);
+      offset += featureData.length;
+    }
+    headerOut.flush();
+
+    ByteArrayOutputStream file = new ByteArrayOutputStream(Math.toIntExact(PREFIX_LENGTH + header.size() + offset));
+    DataOutputStream out = new DataOutputStream(file);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(header.size());
+    header.writeTo(out);
+    for (byte[] featureData : data) {
+      out.write(featureData);
+    }
+    out.flush();
+    return file.toByteArray();
+  }
+
+  /**
+   * @param featureNames features to read, null to read all of them
+   * @return JSON extended statistics by feature name, the features not in the file are left out
+   */
+  static Map<String, String> read(PositionedReadable in, Set<String> featureNames) throws IOException {
+    byte[] head = readAhead(in, PREFIX_LENGTH);
+    DataInputStream prefixIn = new DataInputStream(new ByteArrayInputStream(head));
+    if (prefixIn.readInt() != MAGIC) {
+      throw new IOException("Not an extended statistics file");
+    }
+    int version = prefixIn.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported extended statistics file version: " + version);
+    }
+    int headerLength = prefixIn.readInt();
+    long dataStart = PREFIX_LENGTH + (long) headerLength;
+    if (head.length < dataStart) {
+      // the header did not fit in the read ahead
+      head = readRest(in, head, Math.toIntExact(dataStart));
+    }
+
+    DataInputStream headerIn = new DataInputStream(new ByteArrayInputStream(head, PREFIX_LENGTH, headerLength));
+    int numFeatures = headerIn.readInt();
+    List<Entry> entries = new ArrayList<>();
+    for (int i = 0; i < numFeatures; i++) {
+      Entry entry = new Entry(headerIn.readUTF(), headerIn.readLong(), headerIn.readInt());
+      if (featureNames == null || featureNames.contains(entry.name)) {
+        entries.add(entry);
+      }
+    }
+    entries.sort(Comparator.comparingLong(e -> e.offset));
+
+    Map<String, String> statistics = new HashMap<>();
+    int first = 0;
+    while (first < entries.size()) {
+      int last = first;
+      long end = entries.get(first).end();
+      while (last + 1 < entries.size() && entries.get(last + 1).offset - end <= MAX_GAP) {
+        last++;
+        end = entries.get(last).end();
+      }
+      long start = entries.get(first).offset;
+      byte[] range;
+      long rangeStart;
+      if (dataStart + end <= head.length) {
+        // already read with the header
+        range = head;
+        rangeStart = dataStart + start;
+      } else {
+        range = new byte[Math.toIntExact(end - start)];
+        rangeStart = 0;
+        in.readFully(dataStart + start, range);
+      }
+      for (Entry entry : entries.subList(first, last + 1)) {
+        statistics.put(entry.name, new String(range, Math.toIntExact(rangeStart + entry.offset - start),
+          entry.length, StandardCharsets.UTF_8));
+      }
+      first = last + 1;
+    }
+    return statistics;
+  }
+
+  /**
+   * Reads the start of the file, up to READ_AHEAD bytes, with a single read as the length of the file is not known.
+   * @param minLength bytes that must be read, the file is read again if the first read returns less
+   */
+  private static byte[] readAhead(PositionedReadable in, int minLength) throws IOException {
+    byte[] buffer = new byte[READ_AHEAD];
+    int length = Math.max(in.read(0, buffer, 0, buffer.length), 0);
+    byte[] head = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    return head.length < minLength ? readRest(in, head, minLength) : head;
+  }
+
+  private static byte[] readRest(PositionedReadable in, byte[] head, int length) throws IOException {
+    byte[] full = Arrays.copyOf(head, length);
+    in.readFully(head.length, full, head.length, length - head.length);
+    return full;
+  }
+
+  private static class Entry {
+    private final String name;
+    private final long offset;
+    private final int length;
+
+    private Entry(String name, long offset, int length) {
+      this.name = name;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    private long end() {
+      return offset + length;
+    }
+  }
+}
@@ -97,4 +97,10 @@ public class FeatureDescriptiveStatisticsFacade extends AbstractFacade<FeatureDe
     query.setParameter("fdsIds", fdsIds);
     return query.executeUpdate();
   }
+  
+  public long countByExtendedStatisticsPath(String extendedStatisticsPath) {
+    return em.createNamedQuery("FeatureDescriptiveStatistics.countByExtendedStatisticsPath", Long.class)
+      .setParameter("extendedStatisticsPath", extendedStatisticsPath)
+      .getSingleResult();
+  }
 }
\ No newline at end of file
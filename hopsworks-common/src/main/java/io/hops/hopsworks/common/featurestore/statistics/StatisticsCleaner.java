@@ -41,6 +41,7 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -127,6 +128,8 @@ public class StatisticsCleaner {
         deleteExtendedStatsFiles(fds, udfso);
         // delete from database
         featureDescriptiveStatisticsFacade.batchDelete(fds);
+        // delete the packed extended stats files no longer referenced
+        deletePackedExtendedStatsFiles(fds, udfso);
         // get next batch
         fds = featureDescriptiveStatisticsFacade.findOrphaned(new Pair<>(0, batchSize));
       }
@@ -141,9 +144,24 @@ public class StatisticsCleaner {
   private void deleteExtendedStatsFiles(List<FeatureDescriptiveStatistics> fds, DistributedFileSystemOps udfso)
       throws IOException {
     for (FeatureDescriptiveStatistics stats : fds) {
-      if (stats.getExtendedStatisticsPath() != null) {
+      if (stats.getExtendedStatisticsPath() != null
+          && !ExtendedStatisticsFile.isPacked(stats.getExtendedStatisticsPath())) {
         udfso.rm(stats.getExtendedStatisticsPath(), true);
       }
     }
   }
+  
+  private void deletePackedExtendedStatsFiles(List<FeatureDescriptiveStatistics> fds, DistributedFileSystemOps udfso)
+      throws IOException {
+    // the extended stats of the features of a commit share one file, it can only be deleted with the last of them
+    Set<String> paths = fds.stream()
+      .map(FeatureDescriptiveStatistics::getExtendedStatisticsPath)
+      .filter(path -> path != null && ExtendedStatisticsFile.isPacked(path))
+      .collect(Collectors.toSet());
+    for (String path : paths) {
+      if (featureDescriptiveStatisticsFacade.countByExtendedStatisticsPath(path) == 0) {
+        udfso.rm(path, false);
+      }
+    }
+  }
 }
\ No newline at end of file
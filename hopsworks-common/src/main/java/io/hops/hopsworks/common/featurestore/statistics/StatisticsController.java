@@ -45,6 +45,7 @@ import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.split.S
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.restutils.RESTCodes;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.Path;
 import org.javatuples.Pair;
 import org.json.JSONException;
@@ -60,9 +61,12 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -467,12 +471,35 @@ public class StatisticsController {
   
   public void appendExtendedStatistics(Project project, Users user,
     Collection<FeatureDescriptiveStatistics> descriptiveStatistics) throws FeaturestoreException {
-    // read and append extended statistics (from hdfs files) to feature descriptive statistics
-    for (FeatureDescriptiveStatistics fds : descriptiveStatistics) {
-      if (fds.getExtendedStatisticsPath() != null) {
-        String stats = readExtendedStatistics(project, user, fds.getExtendedStatisticsPath());
-        fds.setExtendedStatistics(stats);
+    // read and append extended statistics (from hdfs files) to feature descriptive statistics. The statistics of the
+    // features computed together are packed in one file, which is opened once.
+    Map<String, List<FeatureDescriptiveStatistics>> fdsByPath = descriptiveStatistics.stream()
+      .filter(fds -> fds.getExtendedStatisticsPath() != null)
+      .collect(Collectors.groupingBy(FeatureDescriptiveStatistics::getExtendedStatisticsPath));
+    if (fdsByPath.isEmpty()) {
+      return;
+    }
+    DistributedFileSystemOps udfso = null;
+    try {
+      udfso = dfs.getDfsOps(hdfsUsersController.getHdfsUserName(project, user));
+      for (Map.Entry<String, List<FeatureDescriptiveStatistics>> file : fdsByPath.entrySet()) {
+        if (ExtendedStatisticsFile.isPacked(file.getKey())) {
+          Set<String> featureNames = file.getValue().stream()
+            .map(FeatureDescriptiveStatistics::getFeatureName)
+            .collect(Collectors.toSet());
+          Map<String, String> stats = readExtendedStatisticsFile(udfso, file.getKey(), featureNames);
+          file.getValue().forEach(fds -> fds.setExtendedStatistics(stats.get(fds.getFeatureName())));
+        } else {
+          // one json file per feature
+          String stats = udfso.cat(file.getKey());
+          file.getValue().forEach(fds -> fds.setExtendedStatistics(stats));
+        }
       }
+    } catch (IOException e) {
+      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.STATISTICS_READ_ERROR, Level.WARNING,
+        e.getMessage(), e.getMessage(), e);
+    } finally {
+      dfs.closeDfsClient(udfso);
     }
   }
   
@@ -480,16 +507,41 @@ public class StatisticsController {
     String entitySubDir, Long startCommitTime, Long endCommitTime, Boolean beforeTransformation, String splitName,
     Collection<FeatureDescriptiveStatistics> descriptiveStatistics)
     throws IOException, DatasetException, HopsSecurityException, FeaturestoreException {
+    // Persist histograms and correlations of all the features in a single file in hopsfs
+    Map<String, String> extendedStatistics = new LinkedHashMap<>();
+    for (FeatureDescriptiveStatistics fds : descriptiveStatistics) {
+      if (fds.getExtendedStatistics() != null) {
+        extendedStatistics.put(fds.getFeatureName(), sanitizeExtendedStatistics(fds.getExtendedStatistics()));
+      }
+    }
+    if (extendedStatistics.isEmpty()) {
+      return;
+    }
+    
     DistributedFileSystemOps udfso = null;
     try {
       udfso = dfs.getDfsOps(hdfsUsersController.getHdfsUserName(project, user));
       Path dirPath = getExtendedStatisticsDirPath(project, user, udfso, entityName, version, entitySubDir);
+      // Each registration writes its own file and only its features point at it. Features of the same commit
+      // window registered separately never rewrite a file, so a concurrent registration cannot lose features and
+      // readers never see a partially written file.
+      String registrationId = UUID.randomUUID().toString();
+      Path filePath;
+      if (beforeTransformation) {
+        filePath = new Path(dirPath,
+          transformationFnStatisticsFileName(startCommitTime, endCommitTime, registrationId));
+      } else {
+        if (splitName != null) {
+          filePath = new Path(dirPath, splitStatisticsFileName(splitName, endCommitTime, registrationId));
+        } else {
+          filePath = new Path(dirPath, statisticsFileName(startCommitTime, endCommitTime, registrationId));
+        }
+      }
+      udfso.create(filePath, ExtendedStatisticsFile.write(extendedStatistics));
       
       for (FeatureDescriptiveStatistics fds : descriptiveStatistics) {
         if (fds.getExtendedStatistics() != null) {
-          String path = createExtendedStatisticsFile(startCommitTime, endCommitTime, fds.getFeatureName(),
-            fds.getExtendedStatistics(), beforeTransformation, splitName, udfso, dirPath);
-          fds.setExtendedStatisticsPath(path);
+          fds.setExtendedStatisticsPath(filePath.toString());
         }
       }
     } finally {
@@ -497,23 +549,11 @@ public class StatisticsController {
     }
   }
   
-  private String createExtendedStatisticsFile(Long startTime, Long endTime, String featureName,
-    String extendedStatistics, Boolean beforeTransformation, String splitName, DistributedFileSystemOps udfso,
-    Path dirPath) throws IOException, FeaturestoreException {
-    // Persist histograms and correlations on a file in hopsfs
-    Path filePath;
-    if (beforeTransformation) {
-      filePath = new Path(dirPath, transformationFnStatisticsFileName(startTime, endTime, featureName));
-    } else {
-      if (splitName != null) {
-        filePath = new Path(dirPath, splitStatisticsFileName(splitName, endTime, featureName));
-      } else {
-        filePath = new Path(dirPath, statisticsFileName(startTime, endTime, featureName));
-      }
+  private Map<String, String> readExtendedStatisticsFile(DistributedFileSystemOps udfso, String path,
+    Set<String> featureNames) throws IOException {
+    try (FSDataInputStream in = udfso.open(path)) {
+      return ExtendedStatisticsFile.read(in, featureNames);
     }
-    extendedStatistics = sanitizeExtendedStatistics(extendedStatistics);
-    udfso.create(filePath, extendedStatistics);
-    return filePath.toString();
   }
   
   private Path getExtendedStatisticsDirPath(Project project, Users user, DistributedFileSystemOps udfso,
@@ -651,31 +691,19 @@ public class StatisticsController {
     return statisticsJson.toString();
   }
   
-  private String splitStatisticsFileName(String splitName, Long commitTime, String featureName) {
-    return commitTime + "_" + splitName + "_" + featureName + ".json";
+  private String splitStatisticsFileName(String splitName, Long commitTime, String registrationId) {
+    return commitTime + "_" + splitName + "_" + registrationId + ExtendedStatisticsFile.EXTENSION;
   }
   
-  private String statisticsFileName(Long startCommitTime, Long endCommitTime, String featureName) {
+  private String statisticsFileName(Long startCommitTime, Long endCommitTime, String registrationId) {
     String name = startCommitTime != null ? startCommitTime + "_" : "";
-    return name + endCommitTime + "_" + featureName + ".json";
+    return name + endCommitTime + "_" + registrationId + ExtendedStatisticsFile.EXTENSION;
   }
   
-  private String transformationFnStatisticsFileName(Long startCommitTime, Long endCommitTime, String featureName) {
+  private String transformationFnStatisticsFileName(Long startCommitTime, Long endCommitTime,
+    String registrationId) {
     String name = "transformation_fn" + "_";
     name += startCommitTime != null ? startCommitTime + "_" : "";
-    return name + endCommitTime + "_" + featureName + ".json";
-  }
-  
-  private String readExtendedStatistics(Project project, Users user, String path) throws FeaturestoreException {
-    DistributedFileSystemOps udfso = null;
-    try {
-      udfso = dfs.getDfsOps(hdfsUsersController.getHdfsUserName(project, user));
-      return udfso.cat(path);
-    } catch (IOException e) {
-      throw new FeaturestoreException(RESTCodes.FeaturestoreErrorCode.STATISTICS_READ_ERROR, Level.WARNING,
-        e.getMessage(), e.getMessage(), e);
-    } finally {
-      dfs.closeDfsClient(udfso);
-    }
+    return name + endCommitTime + "_" + registrationId + ExtendedStatisticsFile.EXTENSION;
   }
-}
\ No newline at end of file
+}
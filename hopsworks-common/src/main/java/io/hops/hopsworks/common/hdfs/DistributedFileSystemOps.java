@@ -49,11 +49,13 @@ import java.security.PrivilegedExceptionAction;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.hops.metadata.hdfs.entity.MetaStatus;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
@@ -76,6 +78,9 @@ public class DistributedFileSystemOps {
   private final DistributedFileSystem dfs;
   private Configuration conf;
   private final String effectiveUser;
+  // Set on the handles of a shared client, closing the handle only releases it
+  private final Runnable release;
+  private final AtomicBoolean released = new AtomicBoolean(false);
 
   public enum StoragePolicy {
     CLOUD("CLOUD"),
@@ -114,11 +119,25 @@ public class DistributedFileSystemOps {
     this.dfs = getDfs(ugi, conf, uri);
     this.conf = conf;
     effectiveUser = ugi.getUserName();
+    release = null;
   }
 
   public DistributedFileSystemOps(UserGroupInformation ugi, Configuration conf) {
     this(ugi, conf, null);
   }
+
+  /**
+   * Returns a handle on a shared file system client. Closing the handle runs release instead of closing the client.
+   *
+   * @param shared
+   * @param release
+   */
+  DistributedFileSystemOps(DistributedFileSystemOps shared, Runnable release) {
+    this.dfs = shared.dfs;
+    this.conf = shared.conf;
+    this.effectiveUser = shared.effectiveUser;
+    this.release = release;
+  }
   
   private DistributedFileSystem getDfs(UserGroupInformation ugi,
           final Configuration conf, final URI uri) {
@@ -434,6 +453,32 @@ public class DistributedFileSystemOps {
   public FSDataOutputStream create(Path path) throws IOException {
     return create(path.toString());
   }
+
+  /**
+   * Creates a file with the given block size. The parent directory must exist.
+   *
+   * @param path
+   * @param blockSize block size in bytes, must be a multiple of the checksum chunk size
+   * @return FSDataOutputStream
+   * @throws IOException
+   */
+  public FSDataOutputStream create(Path path, long blockSize) throws IOException {
+    return dfs.create(path, true, dfs.getConf().getInt(CommonConfigurationKeysPublic.IO_FILE_BUFFER_SIZE_KEY,
+        CommonConfigurationKeysPublic.IO_FILE_BUFFER_SIZE_DEFAULT), dfs.getDefaultReplication(path), blockSize);
+  }
+
+  /**
+   * Move the blocks of the source files to the end of the target file, without copying any data. All the files
+   * must be in the same directory and have the same block size, and all but the last source must end on a block
+   * boundary. The source files are removed.
+   *
+   * @param target
+   * @param sources
+   * @throws IOException
+   */
+  public void concat(Path target, Path[] sources) throws IOException {
+    dfs.concat(target, sources);
+  }
   
   /**
    * Creates a file and all parent dirs that does not exist and returns
@@ -620,9 +665,22 @@ public class DistributedFileSystemOps {
   }
 
   /**
-   * Closes the distributed file system.
+   * @return true if this is a handle on a client shared with other requests
+   */
+  public boolean isShared() {
+    return release != null;
+  }
+
+  /**
+   * Closes the distributed file system, or releases it if this is a handle on a shared client.
    */
   public void close() {
+    if (release != null) {
+      if (released.compareAndSet(false, true)) {
+        release.run();
+      }
+      return;
+    }
     try {
       dfs.close();
     } catch (IOException ex) {
@@ -0,0 +1,269 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.hdfs;
+
+import io.hops.hopsworks.common.security.BaseHadoopClientsService;
+import io.hops.hopsworks.common.util.Settings;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per user HopsFS clients shared between requests. Callers get their own handle on the shared client, closing the
+ * handle releases it. A client is closed, and the certificates of the user removed, once it has no handle left and
+ * has been idle for a while, or it reached its maximum lifetime.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class DistributedFsClientCache {
+
+  private static final Logger LOGGER = Logger.getLogger(DistributedFsClientCache.class.getName());
+
+  private static final int MAX_CLIENTS = 500;
+  private static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+  private static final long MAX_LIFETIME_MS = TimeUnit.HOURS.toMillis(1);
+  private static final long EVICTION_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+
+  @EJB
+  private BaseHadoopClientsService bhcs;
+  @EJB
+  private Settings settings;
+  @Resource
+  private TimerService timerService;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  // Guarded by this
+  private final Map<String, CachedClient> clients = new HashMap<>();
+  private Timer timer;
+
+  private Counter clientsCreated;
+  private Counter clientsClosed;
+
+  @PostConstruct
+  public void init() {
+    clientsCreated = metricRegistry.counter("hopsfs_user_clients_created");
+    clientsClosed = metricRegistry.counter("hopsfs_user_clients_closed");
+    metricRegistry.gauge("hopsfs_user_clients_cached", this::size);
+    timer = timerService.createIntervalTimer(EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS,
+      new TimerConfig("HopsFS user client eviction", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (timer != null) {
+      timer.cancel();
+    }
+    List<CachedClient> toClose;
+    synchronized (this) {
+      toClose = new ArrayList<>(clients.values());
+      clients.clear();
+    }
+    for (CachedClient client : toClose) {
+      close(client);
+    }
+  }
+
+  /**
+   * Get a handle on the client of a user, creating the client if needed. If the cache is full of clients in use,
+   * the returned client is not shared and closing it closes the client.
+   *
+   * @param username hdfs user
+   * @param factory creates a client for the user, may return null
+   * @return a client handle or null if the factory failed
+   */
+  public DistributedFileSystemOps lease(String username, Function<String, DistributedFileSystemOps> factory) {
+    synchronized (this) {
+      CachedClient cached = clients.get(username);
+      if (cached != null && !cached.isExpired()) {
+        return cached.lease();
+      }
+    }
+
+    DistributedFileSystemOps client = factory.apply(username);
+    if (client == null) {
+      return null;
+    }
+    clientsCreated.inc();
+
+    CachedClient created = new CachedClient(username, client);
+    List<CachedClient> toClose = new ArrayList<>();
+    DistributedFileSystemOps handle;
+    synchronized (this) {
+      CachedClient cached = clients.get(username);
+      if (cached != null && !cached.isExpired()) {
+        // Another request created one in the meantime
+        handle = cached.lease();
+        toClose.add(created);
+      } else {
+        if (cached != null) {
+          retire(cached, toClose);
+        }
+        if (clients.size() >= MAX_CLIENTS && !evictLeastRecentlyUsed(toClose)) {
+          // Every cached client is in use, do not share this one
+          handle = client;
+        } else {
+          clients.put(username, created);
+          handle = created.lease();
+        }
+      }
+    }
+    for (CachedClient retired : toClose) {
+      close(retired);
+    }
+    return handle;
+  }
+
+  /**
+   * Stop handing out the client of a user, e.g. when its certificates are revoked. The client is closed once all
+   * its handles are released.
+   *
+   * @param username hdfs user
+   */
+  public void invalidate(String username) {
+    List<CachedClient> toClose = new ArrayList<>();
+    synchronized (this) {
+      CachedClient cached = clients.get(username);
+      if (cached != null) {
+        retire(cached, toClose);
+      }
+    }
+    for (CachedClient client : toClose) {
+      close(client);
+    }
+  }
+
+  @Timeout
+  public void evictIdle() {
+    long now = System.currentTimeMillis();
+    List<CachedClient> toClose = new ArrayList<>();
+    synchronized (this) {
+      Iterator<CachedClient> it = clients.values().iterator();
+      while (it.hasNext()) {
+        CachedClient cached = it.next();
+        if (cached.isExpired() || (cached.leases == 0 && now - cached.lastUsed > IDLE_TIMEOUT_MS)) {
+          it.remove();
+          cached.retired = true;
+          if (cached.leases == 0) {
+            toClose.add(cached);
+          }
+        }
+      }
+    }
+    for (CachedClient client : toClose) {
+      close(client);
+    }
+  }
+
+  public synchronized int size() {
+    return clients.size();
+  }
+
+  private void release(CachedClient cached) {
+    boolean lastLease;
+    synchronized (this) {
+      cached.leases--;
+      cached.lastUsed = System.currentTimeMillis();
+      lastLease = cached.retired && cached.leases == 0;
+    }
+    if (lastLease) {
+      close(cached);
+    }
+  }
+
+  // Must hold the lock
+  private void retire(CachedClient cached, List<CachedClient> toClose) {
+    clients.remove(cached.username, cached);
+    cached.retired = true;
+    if (cached.leases == 0) {
+      toClose.add(cached);
+    }
+  }
+
+  // Must hold the lock
+  private boolean evictLeastRecentlyUsed(List<CachedClient> toClose) {
+    CachedClient lru = null;
+    for (CachedClient cached : clients.values()) {
+      if (cached.leases == 0 && (lru == null || cached.lastUsed < lru.lastUsed)) {
+        lru = cached;
+      }
+    }
+    if (lru == null) {
+      return false;
+    }
+    retire(lru, toClose);
+    return true;
+  }
+
+  private void close(CachedClient cached) {
+    LOGGER.log(Level.FINE, "Closing HopsFS client of {0}", cached.username);
+    if (settings.getHopsRpcTls()) {
+      bhcs.removeNonSuperUserCertificate(cached.username);
+    }
+    cached.client.close();
+    clientsClosed.inc();
+  }
+
+  private class CachedClient {
+    private final String username;
+    private final DistributedFileSystemOps client;
+    private final long createdAt = System.currentTimeMillis();
+    // All guarded by the cache lock
+    private int leases = 0;
+    private long lastUsed = createdAt;
+    private boolean retired = false;
+
+    private CachedClient(String username, DistributedFileSystemOps client) {
+      this.username = username;
+      this.client = client;
+    }
+
+    private boolean isExpired() {
+      return retired || System.currentTimeMillis() - createdAt > MAX_LIFETIME_MS;
+    }
+
+    // Must hold the lock
+    private DistributedFileSystemOps lease() {
+      leases++;
+      lastUsed = System.currentTimeMillis();
+      return new DistributedFileSystemOps(client, () -> release(this));
+    }
+  }
+}
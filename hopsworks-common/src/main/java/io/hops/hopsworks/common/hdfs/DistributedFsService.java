@@ -93,6 +93,8 @@ public class DistributedFsService {
   private Settings settings;
   @EJB
   private BaseHadoopClientsService bhcs;
+  @EJB
+  private DistributedFsClientCache dfsClientCache;
 
   private Configuration conf;
   private String hadoopConfDir;
@@ -194,7 +196,9 @@ public class DistributedFsService {
   }
   
   /**
-   * Returns the user specific distributed file system operations
+   * Returns the user specific distributed file system operations. The client is shared with the other requests of
+   * the same user, the returned handle must be closed with {@link #closeDfsClient(DistributedFileSystemOps)} or
+   * {@link DistributedFileSystemOps#close()} once done.
    * <p>
    * @param username
    * @return
@@ -203,6 +207,20 @@ public class DistributedFsService {
     if (username == null || username.isEmpty()) {
       throw new IllegalArgumentException("username not provided.");
     }
+    return dfsClientCache.lease(username, this::createDfsOps);
+  }
+
+  /**
+   * Stop sharing the client of a user, e.g. when the user is removed. The client is closed once its last handle
+   * is released.
+   * <p>
+   * @param username
+   */
+  public void invalidateDfsClient(String username) {
+    dfsClientCache.invalidate(username);
+  }
+
+  private DistributedFileSystemOps createDfsOps(String username) {
     UserGroupInformation ugi;
     try {
       ugi = UserGroupInformation.createProxyUser(username, UserGroupInformation.
@@ -233,6 +251,11 @@ public class DistributedFsService {
 
   public void closeDfsClient(DistributedFileSystemOps udfso) {
     if (null != udfso) {
+      if (udfso.isShared()) {
+        // The cache removes the certificates when it closes the client
+        udfso.close();
+        return;
+      }
       if (settings.getHopsRpcTls()
           && !udfso.getEffectiveUser().equals(loginUser.getUserName())) {
         bhcs.removeNonSuperUserCertificate(udfso.getEffectiveUser());
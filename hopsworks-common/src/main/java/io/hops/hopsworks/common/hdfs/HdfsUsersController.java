@@ -217,6 +217,7 @@ public class HdfsUsersController {
       dfso = dfsService.getDfsOps();
       for (HdfsUsers user : users) {
         dfso.removeUser(user.getName());
+        dfsService.invalidateDfsClient(user.getName());
       }
     } finally {
       dfsService.closeDfsClient(dfso);
@@ -553,6 +554,7 @@ public class HdfsUsersController {
   public void removeUserName(ProjectTeam teamMember, DistributedFileSystemOps dfso) throws IOException {
     String hdfsUserName = getHdfsUserName(teamMember.getProject(), teamMember.getUser());
     dfso.removeUser(hdfsUserName);
+    dfsService.invalidateDfsClient(hdfsUserName);
   }
 
   /**
@@ -68,10 +68,12 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,6 +83,12 @@ public abstract class AbstractExecutionController implements ExecutionController
 
   private static final Logger LOGGER = Logger.getLogger(AbstractExecutionController.class.getName());
   private static final String REMOTE_PROTOCOL = "hdfs://";
+  private static final long FOLLOW_POLL_INTERVAL_MS = 2000;
+  // How long to wait for the aggregated log of a finished execution before giving up following it
+  private static final long FOLLOW_AGGREGATION_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+  // A follow request holds a request thread, clients reconnect from the last offset to keep following
+  private static final long FOLLOW_MAX_DURATION_MS = TimeUnit.MINUTES.toMillis(30);
+  private static final long FOLLOW_MAX_IDLE_MS = TimeUnit.MINUTES.toMillis(5);
 
   //Controllers
   @EJB
@@ -248,7 +256,7 @@ public abstract class AbstractExecutionController implements ExecutionController
 
   public void checkExecutionLimit(Jobs job) throws JobException {
     // If the limit for the number of executions for this job has been reached, return an error
-    if (job.getExecutions().size() >= settings.getExecutionsPerJobLimit()) {
+    if (executionFacade.countByJob(job) >= settings.getExecutionsPerJobLimit()) {
       throw new JobException(RESTCodes.JobErrorCode.EXECUTIONS_LIMIT_REACHED, Level.INFO,
                              "Maximum number of executions per job: " + settings.getExecutionsPerJobLimit());
     }
@@ -268,15 +276,15 @@ public abstract class AbstractExecutionController implements ExecutionController
   //====================================================================================================================
   @Override
   public JobLogDTO getLog(Execution execution, JobLogDTO.LogType type) throws JobException {
-    if (!execution.getState().isFinalState()) {
-      throw new JobException(RESTCodes.JobErrorCode.JOB_EXECUTION_INVALID_STATE, Level.FINE, "Job still running.");
-    }
-    
+    return getLog(execution, type, JobLogRange.last());
+  }
+  
+  @Override
+  public JobLogDTO getLog(Execution execution, JobLogDTO.LogType type, JobLogRange range) throws JobException {
     JobLogDTO dto = new JobLogDTO(type);
     DistributedFileSystemOps dfso = null;
     try {
       dfso = dfs.getDfsOps();
-      String message;
       String stdPath;
       String path = (dto.getType() == JobLogDTO.LogType.OUT ? execution.getStdoutPath() : execution.getStderrPath());
       JobLogDTO.Retriable retriable = (dto.getType() == JobLogDTO.LogType.OUT ? JobLogDTO.Retriable.RETRIEABLE_OUT :
@@ -291,14 +299,14 @@ public abstract class AbstractExecutionController implements ExecutionController
         String stdDirPath = stdPath.substring(0, fileIndex);
         dto.setPath(Settings.DIR_ROOT + File.separator + project.getName() + stdDirPath + File.separator +  "std" +
           dto.getType().getName().toLowerCase() + ".log");
-        if (dfso.listStatus(new org.apache.hadoop.fs.Path(hdfsPath))[0].getLen() > Settings.JOB_LOGS_DISPLAY_SIZE) {
-          dto.setLog("Log is too big to display in browser. Click on the download button to get the log file.");
-        } else {
-          try (InputStream input = dfso.open(hdfsPath)) {
-            message = IOUtils.toString(input, "UTF-8");
-          }
-          dto.setLog(message.isEmpty() ? "No information." : message);
-          if (message.isEmpty() && execution.getState().isFinalState() && execution.getAppId() != null && status) {
+        org.apache.hadoop.fs.Path logPath = new org.apache.hadoop.fs.Path(hdfsPath);
+        long size = dfso.getFileStatus(logPath).getLen();
+        try (FSDataInputStream input = dfso.open(logPath)) {
+          JobLogReader.read(input, size, range, dto);
+        }
+        if (size == 0) {
+          dto.setLog("No information.");
+          if (execution.getState().isFinalState() && execution.getAppId() != null && status) {
             dto.setRetriable(retriable);
           }
         }
@@ -324,6 +332,102 @@ public abstract class AbstractExecutionController implements ExecutionController
     return dto;
   }
   
+  /**
+   * Stream the log from offset while the execution runs, from the AM container through its NodeManager, and once
+   * the execution has finished, from the aggregated log file if streaming started after the execution finished.
+   * Returns when the whole log has been streamed, when the client goes away, when the log has not grown for
+   * FOLLOW_MAX_IDLE_MS or after FOLLOW_MAX_DURATION_MS.
+   */
+  @Override
+  public void followLog(Execution execution, JobLogDTO.LogType type, long offset, OutputStream out)
+    throws JobException, IOException {
+    String logFile = type == JobLogDTO.LogType.OUT ? "stdout" : "stderr";
+    long position = Math.max(0, offset);
+    boolean live = false;
+    long finishedAt = -1;
+    long startedAt = System.currentTimeMillis();
+    long lastGrowthAt = startedAt;
+    YarnClientWrapper yarnClientWrapper = null;
+    try {
+      while (true) {
+        long now = System.currentTimeMillis();
+        if (now - startedAt > FOLLOW_MAX_DURATION_MS || now - lastGrowthAt > FOLLOW_MAX_IDLE_MS) {
+          out.write(("\n*** Stopped following the log at offset " + position + ", follow again from it to continue"
+            + " ***\n").getBytes(StandardCharsets.UTF_8));
+          out.flush();
+          return;
+        }
+        Execution current = executionFacade.findById(execution.getId()).orElseThrow(() ->
+          new JobException(RESTCodes.JobErrorCode.JOB_EXECUTION_NOT_FOUND, FINE, "Execution: " + execution.getId()));
+        if (!current.getState().isFinalState()) {
+          if (current.getAppId() != null) {
+            if (yarnClientWrapper == null) {
+              yarnClientWrapper = yarnClientService.getYarnClientSuper();
+            }
+            try {
+              long next = yarnMonitor.copyAMContainerLog(yarnClientWrapper.getYarnClient(),
+                ApplicationId.fromString(current.getAppId()), logFile, position, out);
+              if (next > position) {
+                lastGrowthAt = System.currentTimeMillis();
+              }
+              position = next;
+              live = true;
+            } catch (YarnException ex) {
+              LOGGER.log(Level.FINE, "Could not read the live log of " + current.getAppId(), ex);
+            }
+          }
+        } else if (live) {
+          // The aggregated log has the logs of all the containers, offsets in the live log do not apply to it
+          out.write(("\n*** Execution finished, the aggregated log is available once log aggregation completes ***\n")
+            .getBytes(StandardCharsets.UTF_8));
+          return;
+        } else {
+          String path = type == JobLogDTO.LogType.OUT ? current.getStdoutPath() : current.getStderrPath();
+          if (finishedAt == -1) {
+            finishedAt = System.currentTimeMillis();
+          }
+          if (copyLogFile(path, position, out)
+            || System.currentTimeMillis() - finishedAt > FOLLOW_AGGREGATION_TIMEOUT_MS) {
+            out.flush();
+            return;
+          }
+        }
+        out.flush();
+        TimeUnit.MILLISECONDS.sleep(FOLLOW_POLL_INTERVAL_MS);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      yarnClientService.closeYarnClient(yarnClientWrapper);
+    }
+  }
+  
+  /**
+   * @return true if the log file exists and was copied from offset to its end
+   */
+  private boolean copyLogFile(String path, long offset, OutputStream out) throws IOException {
+    if (Strings.isNullOrEmpty(path)) {
+      return false;
+    }
+    DistributedFileSystemOps dfso = null;
+    try {
+      dfso = dfs.getDfsOps();
+      org.apache.hadoop.fs.Path logPath = new org.apache.hadoop.fs.Path(REMOTE_PROTOCOL + path);
+      if (!dfso.exists(logPath)) {
+        return false;
+      }
+      long size = dfso.getFileStatus(logPath).getLen();
+      try (FSDataInputStream input = dfso.open(logPath)) {
+        JobLogReader.copy(input, offset, size, out);
+      }
+      return true;
+    } finally {
+      if (dfso != null) {
+        dfso.close();
+      }
+    }
+  }
+  
   @Override
   public JobLogDTO retryLogAggregation(Execution execution, JobLogDTO.LogType type) throws JobException {
     if (!execution.getState().isFinalState()) {
@@ -17,6 +17,7 @@ package io.hops.hopsworks.common.jobs.execution;
 
 import io.hops.hopsworks.common.alert.AlertController;
 import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionStatusUpdate;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalStatus;
 import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
 import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
@@ -25,6 +26,9 @@ import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 @Stateless
@@ -70,6 +74,27 @@ public class ExecutionUpdateController {
     return execution;
   }
 
+  /**
+   * Update the status of a batch of executions in a single transaction, and send an alert for those whose final
+   * status changed.
+   *
+   * @param updates new status of the executions
+   * @return the updated executions, executions deleted in the meantime are not included
+   */
+  public List<Execution> updateProgressAndStatusAndSendAlerts(List<ExecutionStatusUpdate> updates) {
+    Map<Integer, JobFinalStatus> previousFinalStatus = new HashMap<>();
+    for (ExecutionStatusUpdate update : updates) {
+      previousFinalStatus.put(update.getExecution().getId(), update.getExecution().getFinalStatus());
+    }
+    List<Execution> updated = executionFacade.updateProgressAndStatus(updates);
+    for (Execution execution : updated) {
+      if (execution.getFinalStatus() != previousFinalStatus.get(execution.getId())) {
+        alertController.sendAlert(execution.getFinalStatus(), execution);
+      }
+    }
+    return updated;
+  }
+
   public Execution updateFinalStatusAndSendAlert(JobFinalStatus finalStatus, Execution execution) {
     //The execution won't exist in the database, if the job has been deleted.
     if (executionFacade.findById(execution.getId()).isPresent()) {
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.jobs.execution;
+
+import io.hops.hopsworks.common.util.Settings;
+
+/**
+ * The part of an execution log to return, a page of bytes from an offset, a page of lines from a line or the last
+ * lines. A page is never larger than {@link Settings#JOB_LOGS_DISPLAY_SIZE} bytes.
+ */
+public class JobLogRange {
+
+  public enum Type {
+    BYTES,
+    LINES,
+    TAIL
+  }
+
+  private final Type type;
+  private final long from;
+  private final long count;
+
+  private JobLogRange(Type type, long from, long count) {
+    this.type = type;
+    this.from = from;
+    this.count = count;
+  }
+
+  /**
+   * @param offset byte offset of the first byte
+   * @param length number of bytes, capped at the display size
+   */
+  public static JobLogRange bytes(long offset, long length) {
+    return new JobLogRange(Type.BYTES, Math.max(0, offset), clamp(length));
+  }
+
+  /**
+   * @param fromLine zero based index of the first line
+   * @param lines number of lines
+   */
+  public static JobLogRange lines(long fromLine, long lines) {
+    return new JobLogRange(Type.LINES, Math.max(0, fromLine), Math.max(1, lines));
+  }
+
+  /**
+   * @param lines number of lines at the end of the log
+   */
+  public static JobLogRange tail(long lines) {
+    return new JobLogRange(Type.TAIL, 0, Math.max(1, lines));
+  }
+
+  /**
+   * The last page of the log, returned when no range is requested.
+   */
+  public static JobLogRange last() {
+    return new JobLogRange(Type.TAIL, 0, Long.MAX_VALUE);
+  }
+
+  private static long clamp(long length) {
+    return length <= 0 ? Settings.JOB_LOGS_DISPLAY_SIZE : Math.min(length, Settings.JOB_LOGS_DISPLAY_SIZE);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public long getFrom() {
+    return from;
+  }
+
+  public long getCount() {
+    return count;
+  }
+}
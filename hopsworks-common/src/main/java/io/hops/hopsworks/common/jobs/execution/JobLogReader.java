@@ -0,0 +1,201 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.jobs.execution;
+
+import io.hops.hopsworks.common.jobs.JobLogDTO;
+import io.hops.hopsworks.common.util.Settings;
+import org.apache.hadoop.fs.FSDataInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a page of a log file without loading the file in memory. Byte pages and the tail are read with positioned
+ * reads, line pages scan the file from the beginning in chunks. Pages never start or end in the middle of a UTF-8
+ * encoded character, the offsets of the page are moved to the closest character boundaries inside it.
+ */
+public class JobLogReader {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int MAX_CONTINUATION_BYTES = 3;
+
+  private JobLogReader() {
+  }
+
+  /**
+   * Fill the log, offsets and size of the dto with the requested range of the log file.
+   *
+   * @param in stream of the log file, at position 0
+   * @param size size of the log file
+   * @param range part of the log to read
+   * @param dto the dto to fill
+   */
+  public static void read(FSDataInputStream in, long size, JobLogRange range, JobLogDTO dto) throws IOException {
+    long start;
+    byte[] page;
+    switch (range.getType()) {
+      case BYTES:
+        start = Math.min(range.getFrom(), size);
+        page = new byte[(int) Math.min(range.getCount(), size - start)];
+        in.readFully(start, page);
+        break;
+      case LINES:
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        start = readLines(in, range.getFrom(), range.getCount(), lines);
+        page = lines.toByteArray();
+        break;
+      case TAIL:
+        start = tailOffset(in, size, range.getCount());
+        page = new byte[(int) (size - start)];
+        in.readFully(start, page);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown log range: " + range.getType());
+    }
+    int from = start == 0 ? 0 : continuationBytes(page);
+    int to = completeLength(page);
+    if (to <= from) {
+      // Less than a character was asked for, do not return an empty page the client would ask for again
+      from = 0;
+      to = page.length;
+    }
+    dto.setLog(new String(page, from, to - from, StandardCharsets.UTF_8));
+    dto.setOffset(start + from);
+    dto.setNextOffset(start + to);
+    dto.setSize(size);
+  }
+
+  /**
+   * @return the number of UTF-8 continuation bytes at the beginning of the page, which belong to a character that
+   * starts before it
+   */
+  static int continuationBytes(byte[] page) {
+    int i = 0;
+    while (i < page.length && i < MAX_CONTINUATION_BYTES && isContinuation(page[i])) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * @return the length of the page without the UTF-8 encoded character that is cut by its end, if any
+   */
+  static int completeLength(byte[] page) {
+    int lead = page.length - 1;
+    while (lead >= 0 && page.length - lead <= MAX_CONTINUATION_BYTES && isContinuation(page[lead])) {
+      lead--;
+    }
+    if (lead < 0) {
+      return page.length;
+    }
+    int b = page[lead] & 0xFF;
+    int encodedLength = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+    return page.length - lead < encodedLength ? lead : page.length;
+  }
+
+  private static boolean isContinuation(byte b) {
+    return (b & 0xC0) == 0x80;
+  }
+
+  /**
+   * Copy the bytes of the log file from offset to end to the output stream.
+   *
+   * @return the offset after the last copied byte
+   */
+  public static long copy(FSDataInputStream in, long offset, long end, OutputStream out) throws IOException {
+    byte[] chunk = new byte[CHUNK_SIZE];
+    while (offset < end) {
+      int read = in.read(offset, chunk, 0, (int) Math.min(chunk.length, end - offset));
+      if (read == -1) {
+        break;
+      }
+      out.write(chunk, 0, read);
+      offset += read;
+    }
+    return offset;
+  }
+
+  /**
+   * Scan from the beginning of the stream to the first requested line and copy up to count lines, or up to the
+   * display size, to page.
+   *
+   * @return the byte offset of the first requested line
+   */
+  static long readLines(FSDataInputStream in, long fromLine, long count, ByteArrayOutputStream page)
+    throws IOException {
+    byte[] chunk = new byte[CHUNK_SIZE];
+    long position = 0;
+    long line = 0;
+    long start = -1;
+    long taken = 0;
+    int read;
+    while ((read = in.read(chunk)) != -1) {
+      int i = 0;
+      while (line < fromLine && i < read) {
+        if (chunk[i++] == '\n') {
+          line++;
+        }
+      }
+      if (line == fromLine) {
+        if (start == -1) {
+          start = position + i;
+        }
+        int from = i;
+        while (i < read && taken < count && page.size() + (i - from) < Settings.JOB_LOGS_DISPLAY_SIZE) {
+          if (chunk[i++] == '\n') {
+            taken++;
+          }
+        }
+        page.write(chunk, from, i - from);
+      }
+      position += read;
+      if (taken == count || page.size() >= Settings.JOB_LOGS_DISPLAY_SIZE) {
+        break;
+      }
+    }
+    return start == -1 ? position : start;
+  }
+
+  /**
+   * Scan backwards from the end of the log for the start of the last count lines, at most the display size away
+   * from the end. A newline at the end of the log does not start an empty last line.
+   */
+  static long tailOffset(FSDataInputStream in, long size, long count) throws IOException {
+    byte[] chunk = new byte[CHUNK_SIZE];
+    long start = size;
+    long scanEnd = size;
+    long newlines = 0;
+    while (scanEnd > 0) {
+      int length = (int) Math.min(chunk.length, scanEnd);
+      long chunkStart = scanEnd - length;
+      in.readFully(chunkStart, chunk, 0, length);
+      for (int i = length - 1; i >= 0; i--) {
+        long position = chunkStart + i;
+        if (chunk[i] == '\n' && position < size - 1 && ++newlines == count) {
+          return start;
+        }
+        if (size - position > Settings.JOB_LOGS_DISPLAY_SIZE) {
+          return start;
+        }
+        start = position;
+      }
+      scanEnd = chunkStart;
+    }
+    return start;
+  }
+}
@@ -294,7 +294,7 @@ public class FlinkController {
       LOGGER.log(Level.SEVERE, "Could not create Flink sub resource directory", e);
     } finally {
       if (dfso != null) {
-        dfso.close();
+        dfs.closeDfsClient(dfso);
       }
     }
   }
@@ -16,10 +16,11 @@
 
 package io.hops.hopsworks.common.jobs.scheduler;
 
-import com.cronutils.model.Cron;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.model.time.ExecutionTime;
 import com.cronutils.parser.CronParser;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.base.Strings;
 import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
 import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
@@ -40,6 +41,9 @@ import javax.inject.Inject;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -56,6 +60,15 @@ public class JobScheduleV2Controller {
   private ExecutionController executionController;
   @Inject
   private ExecutionFacade executionFacade;
+  @EJB
+  private JobScheduleV2Wheel jobScheduleWheel;
+
+  private static final CronParser QUARTZ_CRON_PARSER =
+    new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
+  // Cron expression -> compiled execution time
+  private static final LoadingCache<String, ExecutionTime> EXECUTION_TIMES = Caffeine.newBuilder()
+    .maximumSize(1000)
+    .build(cronExpression -> ExecutionTime.forCron(QUARTZ_CRON_PARSER.parse(cronExpression)));
 
   private void executeSingle(Jobs job, Instant currentTime)
           throws JobException, ProjectException, ServiceException, GenericException {
@@ -68,13 +81,34 @@ public class JobScheduleV2Controller {
     executionController.start(job, jobConfig, job.getCreator());
   }
   
+  /**
+   * Executes the given schedules if they are still due, used by the scheduler timer with the schedules due in
+   * {@link JobScheduleV2Wheel}.
+   *
+   * @param scheduleIds
+   * @param currentTime
+   * @throws JobException
+   * @throws ProjectException
+   * @throws ServiceException
+   * @throws GenericException
+   */
   @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
-  public void executeWithCron() throws JobException, ProjectException, ServiceException, GenericException {
-    executeWithCron(Instant.now());
+  public void executeDue(Collection<Integer> scheduleIds, Instant currentTime)
+          throws JobException, ProjectException, ServiceException, GenericException {
+    List<JobScheduleV2> due = new ArrayList<>();
+    for (JobScheduleV2 jobSchedule : jobScheduleFacade.getByIds(scheduleIds)) {
+      // the schedule might have changed since it was indexed
+      if (jobSchedule.getEnabled() && jobSchedule.getNextExecutionDateTime() != null &&
+              !jobSchedule.getNextExecutionDateTime().isAfter(currentTime)) {
+        due.add(jobSchedule);
+      }
+    }
+    execute(due, currentTime);
   }
-  
+
   /**
-   * For test purpose, so that job start time can be verified in unit test.
+   * Executes all the schedules due according to the database. For test purpose, so that job start time can be
+   * verified in unit test.
    *
    * @param currentTime
    * @throws JobException
@@ -84,7 +118,12 @@ public class JobScheduleV2Controller {
    */
   public void executeWithCron(Instant currentTime)
           throws JobException, ProjectException, ServiceException, GenericException {
-    for (JobScheduleV2 jobSchedule : jobScheduleFacade.getActiveWithCurrentExecutionTime(currentTime)) {
+    execute(jobScheduleFacade.getActiveWithCurrentExecutionTime(currentTime), currentTime);
+  }
+
+  private void execute(List<JobScheduleV2> jobSchedules, Instant currentTime)
+          throws JobException, ProjectException, ServiceException, GenericException {
+    for (JobScheduleV2 jobSchedule : jobSchedules) {
       if (executionFacade.findByJobAndNotFinished(jobSchedule.getJob()).size() > 0) {
         // Should not do parallel executions to void issues with Hudi
         continue;
@@ -97,11 +136,15 @@ public class JobScheduleV2Controller {
   public JobScheduleV2 createSchedule(JobScheduleV2 jobSchedule) {
     jobSchedule.setStartDateTime(jobSchedule.getStartDateTime());
     setNextExecutionDateTime(Instant.now(), jobSchedule);
-    return jobScheduleFacade.update(jobSchedule);
+    JobScheduleV2 created = jobScheduleFacade.update(jobSchedule);
+    jobScheduleWheel.scheduleChanged(created.getId());
+    return created;
   }
 
   public void deleteSchedule(Integer jobId) {
+    Optional<JobScheduleV2> jobSchedule = jobScheduleFacade.getByJobId(jobId);
     jobScheduleFacade.removeByJobId(jobId);
+    jobSchedule.ifPresent(s -> jobScheduleWheel.scheduleChanged(s.getId()));
   }
 
   public JobScheduleV2 updateSchedule(JobScheduleV2 jobScheduleV2) throws JobException {
@@ -132,7 +175,9 @@ public class JobScheduleV2Controller {
       setNextExecutionDateTime(Instant.now(), jobSchedule);
     }
 
-    return jobScheduleFacade.update(jobSchedule);
+    JobScheduleV2 updated = jobScheduleFacade.update(jobSchedule);
+    jobScheduleWheel.scheduleChanged(updated.getId());
+    return updated;
   }
 
   public JobScheduleV2 getScheduleByJobId(Integer jobId) throws JobException {
@@ -164,9 +209,7 @@ public class JobScheduleV2Controller {
       computeFrom = currentTime;
     }
 
-    CronParser quartzCronParser = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
-    Cron parsedCronExpression = quartzCronParser.parse(cronExpression);
-    ExecutionTime executionTime = ExecutionTime.forCron(parsedCronExpression);
+    ExecutionTime executionTime = EXECUTION_TIMES.get(cronExpression);
     Optional<ZonedDateTime> nextExecutionTime = executionTime.nextExecution(
       computeFrom.atZone(ZoneId.of("UTC"))
     );
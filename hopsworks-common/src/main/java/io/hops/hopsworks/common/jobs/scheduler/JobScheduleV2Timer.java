@@ -33,6 +33,8 @@ import javax.ejb.Timeout;
 import javax.ejb.Timer;
 import javax.ejb.TimerConfig;
 import javax.ejb.TimerService;
+import java.time.Instant;
+import java.util.Set;
 import java.util.logging.Logger;
 
 @Singleton
@@ -43,6 +45,8 @@ public class JobScheduleV2Timer {
   @EJB
   private JobScheduleV2Controller jobScheduleController;
   @EJB
+  private JobScheduleV2Wheel jobScheduleWheel;
+  @EJB
   private PayaraClusterManager payaraClusterManager;
   @Resource
   private TimerService timerService;
@@ -66,9 +70,20 @@ public class JobScheduleV2Timer {
   @Timeout
   public void schedule() throws JobException, ProjectException, ServiceException, GenericException {
     if (!payaraClusterManager.amIThePrimary()) {
+      jobScheduleWheel.unload();
       return;
     }
     LOGGER.fine("JobScheduleV2Timer schedule just triggered");
-    jobScheduleController.executeWithCron();
+    Instant now = Instant.now();
+    Set<Integer> due = jobScheduleWheel.advance(now);
+    if (due.isEmpty()) {
+      return;
+    }
+    try {
+      jobScheduleController.executeDue(due, now);
+    } finally {
+      // index the next execution of the schedules executed, or put back the ones that were skipped
+      jobScheduleWheel.refresh(due);
+    }
   }
 }
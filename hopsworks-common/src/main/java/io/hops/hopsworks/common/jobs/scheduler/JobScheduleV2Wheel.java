@@ -0,0 +1,181 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
+import io.hops.hopsworks.persistence.entity.jobs.scheduler.JobScheduleV2;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Timer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In memory index of the next execution time of the active job schedules, so that the scheduler timer only loads the
+ * schedules that are due instead of scanning the table every minute. The index is only kept on the primary instance.
+ * It is loaded from the database when the instance becomes the primary, which also picks up the executions missed
+ * during a failover, and reloaded every hour. Schedules created, updated or deleted on any instance are
+ * refreshed through a Hazelcast topic.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class JobScheduleV2Wheel {
+
+  private static final Logger LOGGER = Logger.getLogger(JobScheduleV2Wheel.class.getName());
+  private static final String TOPIC_NAME = "job_schedule_v2_changed";
+  // The scheduler timer ticks every minute
+  private static final int SLOT_COUNT = 64;
+  private static final long TICK_MS = TimeUnit.MINUTES.toMillis(1);
+  private static final long RELOAD_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+  @EJB
+  private JobScheduleV2Facade jobScheduleFacade;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  // Guarded by this, null if not loaded
+  private TimingWheel<Integer> wheel;
+  private Instant loadedAt;
+  private ITopic<Integer> changedTopic;
+  private UUID listenerId;
+  private Timer schedulingLag;
+
+  @PostConstruct
+  public void init() {
+    schedulingLag = metricRegistry.timer("job_schedule_lag");
+    metricRegistry.gauge("job_schedules_pending", this::size);
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      changedTopic = hazelcastInstance.getTopic(TOPIC_NAME);
+      listenerId = changedTopic.addMessageListener(message ->
+        refresh(Collections.singletonList(message.getMessageObject())));
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (changedTopic != null) {
+      //needed for redeploy to remove the listener
+      changedTopic.removeMessageListener(listenerId);
+    }
+  }
+
+  /**
+   * Notify the primary instance that a schedule was created, updated or deleted. Must be called after the change is
+   * committed.
+   */
+  public void scheduleChanged(Integer scheduleId) {
+    if (changedTopic == null) {
+      refresh(Collections.singletonList(scheduleId));
+      return;
+    }
+    try {
+      changedTopic.publish(scheduleId);
+    } catch (Exception e) {
+      LOGGER.log(Level.WARNING, "Failed to notify the scheduler of the change of schedule " + scheduleId +
+        ", it will be picked up on the next reload", e);
+    }
+  }
+
+  /**
+   * Remove the schedules due at the given instant from the index, loading it if needed. The due schedules must be
+   * refreshed once executed.
+   *
+   * @return the ids of the schedules due
+   */
+  public synchronized Set<Integer> advance(Instant now) {
+    if (wheel == null || Duration.between(loadedAt, now).toMillis() >= RELOAD_INTERVAL_MS) {
+      load(now);
+    }
+    Map<Integer, Instant> due = wheel.advance(now);
+    for (Instant fireAt : due.values()) {
+      schedulingLag.update(Duration.between(fireAt, now));
+    }
+    return new HashSet<>(due.keySet());
+  }
+
+  /**
+   * Drop the index, e.g. when this instance is not the primary anymore.
+   */
+  public synchronized void unload() {
+    wheel = null;
+  }
+
+  /**
+   * Read the next execution time of the given schedules from the database.
+   */
+  public void refresh(Collection<Integer> scheduleIds) {
+    synchronized (this) {
+      if (wheel == null) {
+        return;
+      }
+    }
+    List<JobScheduleV2> schedules = jobScheduleFacade.getByIds(scheduleIds);
+    synchronized (this) {
+      if (wheel == null) {
+        return;
+      }
+      Set<Integer> removed = new HashSet<>(scheduleIds);
+      for (JobScheduleV2 schedule : schedules) {
+        if (Boolean.TRUE.equals(schedule.getEnabled()) && schedule.getNextExecutionDateTime() != null) {
+          wheel.schedule(schedule.getId(), schedule.getNextExecutionDateTime());
+          removed.remove(schedule.getId());
+        }
+      }
+      for (Integer scheduleId : removed) {
+        wheel.remove(scheduleId);
+      }
+    }
+  }
+
+  private void load(Instant now) {
+    TimingWheel<Integer> loaded = new TimingWheel<>(SLOT_COUNT, TICK_MS);
+    for (JobScheduleV2 schedule : jobScheduleFacade.getActive()) {
+      loaded.schedule(schedule.getId(), schedule.getNextExecutionDateTime());
+    }
+    wheel = loaded;
+    loadedAt = now;
+    LOGGER.log(Level.FINE, "Loaded {0} active job schedules", loaded.size());
+  }
+
+  private synchronized long size() {
+    return wheel == null ? 0 : wheel.size();
+  }
+}
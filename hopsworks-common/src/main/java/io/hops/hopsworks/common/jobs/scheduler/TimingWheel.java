@@ -0,0 +1,106 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of fire instants. Every slot covers one tick, entries further away than a full turn of the
+ * wheel stay in their slot until their turn comes. Advancing the wheel only visits the slots of the ticks that
+ * passed, and entries scheduled in a tick that was already visited are returned on the next advance.
+ * Not thread safe.
+ */
+class TimingWheel<K> {
+
+  private final long tickMillis;
+  private final Map<K, Instant>[] slots;
+  // key -> slot index, -1 for overdue entries
+  private final Map<K, Integer> index = new HashMap<>();
+  private final Map<K, Instant> overdue = new HashMap<>();
+  // Last tick visited, null until the first advance, which visits every slot
+  private Long lastTick = null;
+
+  @SuppressWarnings("unchecked")
+  TimingWheel(int slotCount, long tickMillis) {
+    this.tickMillis = tickMillis;
+    this.slots = new Map[slotCount];
+    for (int i = 0; i < slotCount; i++) {
+      slots[i] = new HashMap<>();
+    }
+  }
+
+  void schedule(K key, Instant fireAt) {
+    remove(key);
+    long tick = Math.floorDiv(fireAt.toEpochMilli(), tickMillis);
+    if (lastTick != null && tick < lastTick) {
+      overdue.put(key, fireAt);
+      index.put(key, -1);
+    } else {
+      int slot = (int) Math.floorMod(tick, (long) slots.length);
+      slots[slot].put(key, fireAt);
+      index.put(key, slot);
+    }
+  }
+
+  void remove(K key) {
+    Integer slot = index.remove(key);
+    if (slot == null) {
+      return;
+    }
+    if (slot < 0) {
+      overdue.remove(key);
+    } else {
+      slots[slot].remove(key);
+    }
+  }
+
+  /**
+   * Remove and return the entries due at the given instant.
+   *
+   * @return key -> the instant it was scheduled to fire at
+   */
+  Map<K, Instant> advance(Instant now) {
+    Map<K, Instant> due = new HashMap<>(overdue);
+    overdue.clear();
+    long nowTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+    // The last tick is visited again, it can hold entries that were not due yet
+    long fromTick = lastTick == null ? nowTick - slots.length + 1 : Math.max(lastTick, nowTick - slots.length + 1);
+    for (long tick = fromTick; tick <= nowTick; tick++) {
+      Iterator<Map.Entry<K, Instant>> it = slots[(int) Math.floorMod(tick, (long) slots.length)].entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<K, Instant> entry = it.next();
+        if (!entry.getValue().isAfter(now)) {
+          due.put(entry.getKey(), entry.getValue());
+          it.remove();
+        }
+      }
+    }
+    for (K key : due.keySet()) {
+      index.remove(key);
+    }
+    if (lastTick == null || nowTick > lastTick) {
+      lastTick = nowTick;
+    }
+    return due;
+  }
+
+  int size() {
+    return index.size();
+  }
+}
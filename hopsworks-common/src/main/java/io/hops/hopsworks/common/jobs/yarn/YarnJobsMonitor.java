@@ -40,6 +40,7 @@
 package io.hops.hopsworks.common.jobs.yarn;
 
 import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.jobhistory.ExecutionStatusUpdate;
 import io.hops.hopsworks.common.jobs.JobsMonitor;
 import io.hops.hopsworks.common.jobs.execution.ExecutionUpdateController;
 import io.hops.hopsworks.common.util.PayaraClusterManager;
@@ -50,10 +51,12 @@ import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobFinalS
 import io.hops.hopsworks.persistence.entity.jobs.configuration.history.JobState;
 import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
 import org.apache.hadoop.yarn.api.records.ApplicationId;
-import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
 import org.apache.hadoop.yarn.api.records.YarnApplicationState;
 import org.apache.hadoop.yarn.client.api.YarnClient;
 import org.apache.hadoop.yarn.exceptions.YarnException;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -68,7 +71,9 @@ import javax.ejb.TimerConfig;
 import javax.ejb.TimerService;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -101,7 +106,11 @@ public class YarnJobsMonitor implements JobsMonitor {
   private YarnClientService yarnClientService;
   @Resource
   private TimerService timerService;
+  @Inject
+  private MetricRegistry metricRegistry;
   private Timer timer;
+  private org.eclipse.microprofile.metrics.Timer tickDuration;
+  private Counter rmCalls;
 
   @PostConstruct
   public void init() {
@@ -109,6 +118,9 @@ public class YarnJobsMonitor implements JobsMonitor {
     long intervalDuration = 5000L; // 5 sec
     timer = timerService.createIntervalTimer(0, intervalDuration, new TimerConfig("Yarn job monitor timer",
       false));
+    tickDuration = metricRegistry.timer("yarn_jobs_monitor_tick_duration");
+    rmCalls = metricRegistry.counter("yarn_jobs_monitor_resourcemanager_calls");
+    metricRegistry.gauge("yarn_jobs_monitor_executions", () -> monitoredExecutions);
   }
 
   @PreDestroy
@@ -119,6 +131,7 @@ public class YarnJobsMonitor implements JobsMonitor {
   }
 
   private int maxStatusPollRetry;
+  private volatile int monitoredExecutions;
   
   Map<String, Integer> failures = new HashMap<>();
   private final Map<ApplicationId, Future<Execution>> copyLogsFutures = new HashMap<>();
@@ -128,6 +141,7 @@ public class YarnJobsMonitor implements JobsMonitor {
     if (!payaraClusterManager.amIThePrimary()) {
       return;
     }
+    long tickStart = System.nanoTime();
     YarnClientWrapper yarnClientWrapper = null;
     try {
       yarnClientWrapper = yarnClientService.getYarnClientSuper();
@@ -139,46 +153,101 @@ public class YarnJobsMonitor implements JobsMonitor {
             executions.put(exec.getAppId(), exec);
           }
         }
+        monitoredExecutions = executions.size();
         maxStatusPollRetry = settings.getMaxStatusPollRetry();
+        YarnClient yarnClient = yarnClientWrapper.getYarnClient();
+        Map<String, ApplicationReport> reports = getActiveApplicationReports(yarnClient);
+        List<ExecutionStatusUpdate> updates = new ArrayList<>();
+        List<ApplicationId> terminated = new ArrayList<>();
         List<String> toRemove = new ArrayList<>();
         for (Map.Entry<String, Execution> entry : executions.entrySet()) {
           ApplicationId appId = ApplicationId.fromString(entry.getKey());
-          Execution exec = internalMonitor(yarnClientWrapper.getYarnClient(), appId, executions.get(entry.getKey()));
+          Execution exec = internalMonitor(yarnClient, appId, entry.getValue(), reports.get(entry.getKey()), updates,
+            terminated);
           if (exec == null) {
             toRemove.add(entry.getKey());
           }
         }
+        Map<String, Execution> updated = applyUpdates(updates);
+        for (ApplicationId appId : terminated) {
+          Execution exec = updated.getOrDefault(appId.toString(), executions.get(appId.toString()));
+          exec = executionFacade.updateState(exec, JobState.AGGREGATING_LOGS);
+          // Async call
+          Future<Execution> futureResult = execFinalizer.copyLogs(exec);
+          copyLogsFutures.put(appId, futureResult);
+        }
         for (String appID : toRemove) {
           failures.remove(appID);
         }
         // This is here to do bookkeeping. Remove from the map all the executions which have finished copying the logs
         copyLogsFutures.entrySet().removeIf(futureResult -> futureResult.getValue().isDone());
+      } else {
+        monitoredExecutions = 0;
       }
     } catch (Exception ex) {
       LOGGER.log(Level.SEVERE, "Error while monitoring jobs", ex);
     } finally {
       yarnClientService.closeYarnClient(yarnClientWrapper);
+      tickDuration.update(Duration.ofNanos(System.nanoTime() - tickStart));
     }
   }
   
-  private Execution internalMonitor(YarnClient yarnClient, ApplicationId appId, Execution exec) {
+  /**
+   * Fetch the reports of all the running applications with a single call. If the call fails every execution falls
+   * back to a lookup of its own application.
+   */
+  private Map<String, ApplicationReport> getActiveApplicationReports(YarnClient yarnClient) {
+    Map<String, ApplicationReport> reports = new HashMap<>();
     try {
-      YarnApplicationState appState = yarnMonitor.getApplicationState(yarnClient, appId);
-      FinalApplicationStatus finalAppStatus = yarnMonitor.getFinalApplicationStatus(yarnClient, appId);
-      float progress = yarnMonitor.getProgress(yarnClient, appId);
-      exec = updateProgress(progress, exec);
-      exec = updateState(JobState.getJobState(appState), exec);
-      exec = updateFinalStatus(JobFinalStatus.getJobFinalStatus(finalAppStatus), exec);
+      rmCalls.inc();
+      for (ApplicationReport report : yarnMonitor.getActiveApplicationReports(yarnClient)) {
+        reports.put(report.getApplicationId().toString(), report);
+      }
+    } catch (IOException | YarnException ex) {
+      LOGGER.log(Level.WARNING, "Failed to list the running applications, polling them one by one", ex);
+    }
+    return reports;
+  }
+  
+  /**
+   * Write the status of all the executions that changed since the last tick in a single transaction.
+   *
+   * @return the updated executions by application id
+   */
+  private Map<String, Execution> applyUpdates(List<ExecutionStatusUpdate> updates) {
+    List<ExecutionStatusUpdate> changed = new ArrayList<>();
+    for (ExecutionStatusUpdate update : updates) {
+      if (!update.isUnchanged()) {
+        changed.add(update);
+      }
+    }
+    Map<String, Execution> updated = new HashMap<>();
+    if (!changed.isEmpty()) {
+      for (Execution exec : executionUpdateController.updateProgressAndStatusAndSendAlerts(changed)) {
+        updated.put(exec.getAppId(), exec);
+      }
+    }
+    return updated;
+  }
+  
+  private Execution internalMonitor(YarnClient yarnClient, ApplicationId appId, Execution exec,
+                                    ApplicationReport report, List<ExecutionStatusUpdate> updates,
+                                    List<ApplicationId> terminated) {
+    try {
+      if (report == null) {
+        // The application reached a final state since the last tick, or it is not known to the ResourceManager
+        rmCalls.inc();
+        report = yarnMonitor.getApplicationReport(yarnClient, appId);
+      }
+      YarnApplicationState appState = report.getYarnApplicationState();
+      updates.add(new ExecutionStatusUpdate(exec, report.getProgress(), JobState.getJobState(appState),
+        JobFinalStatus.getJobFinalStatus(report.getFinalApplicationStatus())));
       
       if ((appState == YarnApplicationState.FAILED
           || appState == YarnApplicationState.FINISHED
           || appState == YarnApplicationState.KILLED)
           && !copyLogsFutures.containsKey(appId)) {
-        
-        exec = executionFacade.updateState(exec, JobState.AGGREGATING_LOGS);
-        // Async call
-        Future<Execution> futureResult = execFinalizer.copyLogs(exec);
-        copyLogsFutures.put(appId, futureResult);
+        terminated.add(appId);
         return null;
       }
     } catch (IOException | YarnException ex) {
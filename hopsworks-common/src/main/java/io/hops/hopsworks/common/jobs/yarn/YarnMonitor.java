@@ -39,25 +39,43 @@
 
 package io.hops.hopsworks.common.jobs.yarn;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.hops.hopsworks.common.hdfs.DistributedFileSystemOps;
+import io.hops.hopsworks.common.proxies.client.HttpClient;
+import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.yarn.api.records.ApplicationAttemptId;
 import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationReport;
+import org.apache.hadoop.yarn.api.records.ContainerId;
 import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
 import org.apache.hadoop.yarn.api.records.LogAggregationStatus;
 import org.apache.hadoop.yarn.api.records.YarnApplicationState;
 import org.apache.hadoop.yarn.client.api.YarnClient;
+import org.apache.hadoop.yarn.conf.YarnConfiguration;
 import org.apache.hadoop.yarn.exceptions.YarnException;
 import org.apache.hadoop.yarn.logaggregation.AggregatedLogFormat;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
 
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -66,11 +84,34 @@ import java.util.logging.Logger;
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 public class YarnMonitor {
   private static final Logger LOGGER = Logger.getLogger(YarnMonitor.class.getName());
+  private static final EnumSet<YarnApplicationState> ACTIVE_STATES = EnumSet.complementOf(
+    EnumSet.of(YarnApplicationState.FINISHED, YarnApplicationState.FAILED, YarnApplicationState.KILLED));
+  private static final String CONTAINER_LOGS_PATH = "/ws/v1/node/containers/%s/logs";
+  // bytes read before the ones to copy, in case the log grew between listing its size and reading its last bytes
+  private static final int LOG_TAIL_MARGIN = 64 * 1024;
+  // bytes copied at most per call, a follower far behind catches up over several calls
+  private static final int LOG_MAX_COPY = 4 * 1024 * 1024;
 
+  @EJB
+  private HttpClient httpClient;
 
   //---------------------------------------------------------------------------        
   //--------------------------- STATUS QUERIES --------------------------------
   //---------------------------------------------------------------------------
+  public ApplicationReport getApplicationReport(YarnClient yarnClient, ApplicationId appId)
+      throws YarnException, IOException {
+    return yarnClient.getApplicationReport(appId);
+  }
+  
+  /**
+   * Reports of all the applications that have not reached a final state, fetched in a single call to the
+   * ResourceManager.
+   */
+  public List<ApplicationReport> getActiveApplicationReports(YarnClient yarnClient)
+      throws YarnException, IOException {
+    return yarnClient.getApplications(ACTIVE_STATES);
+  }
+  
   public YarnApplicationState getApplicationState(YarnClient yarnClient, ApplicationId appId)
       throws YarnException, IOException {
     return yarnClient.getApplicationReport(appId).getYarnApplicationState();
@@ -186,6 +227,101 @@ public class YarnMonitor {
     return logAggregationStatus;
   }
   
+  /**
+   * Copy a log file of the AM container of a running application, from offset towards its current end, from the web
+   * service of the NodeManager running the container. Only the last bytes of the log, from a little before offset,
+   * are read. If the log grows while they are read, some bytes before offset can be copied again, but none are
+   * skipped. Nothing is copied while the container is not running or its NodeManager does not serve the log.
+   *
+   * @param logFile the log file of the container, stdout or stderr
+   * @param offset the byte offset to copy from
+   * @param out the stream to copy to
+   * @return the offset after the last copied byte
+   */
+  public long copyAMContainerLog(YarnClient yarnClient, ApplicationId appId, String logFile, long offset,
+      OutputStream out) throws YarnException, IOException {
+    ApplicationAttemptId attemptId = yarnClient.getApplicationReport(appId).getCurrentApplicationAttemptId();
+    if (attemptId == null) {
+      return offset;
+    }
+    ContainerId amContainerId = yarnClient.getApplicationAttemptReport(attemptId).getAMContainerId();
+    if (amContainerId == null) {
+      return offset;
+    }
+    // The node http address is the https one when the YARN http policy is HTTPS_ONLY
+    String scheme = YarnConfiguration.useHttps(yarnClient.getConfig()) ? "https" : "http";
+    HttpHost node = HttpHost.create(scheme + "://" + yarnClient.getContainerReport(amContainerId)
+      .getNodeHttpAddress());
+    String logsPath = String.format(CONTAINER_LOGS_PATH, amContainerId);
+
+    long size = getLogFileSize(node, logsPath, logFile);
+    if (size <= offset) {
+      // Nothing new, or shorter than what was already copied, e.g. the container was restarted
+      return offset;
+    }
+    // The NodeManager serves the first or the last bytes of a log, read the last ones from a margin before offset
+    long tailLength = Math.min(size, size - offset + LOG_TAIL_MARGIN);
+    HttpGet getLog = new HttpGet(logsPath + "/" + logFile + "?size=-" + tailLength);
+    byte[] tail = httpClient.execute(node, getLog, response -> {
+      if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+        return null;
+      }
+      byte[] buffer = new byte[(int) Math.min(tailLength, LOG_MAX_COPY)];
+      try (InputStream in = response.getEntity().getContent()) {
+        int read = IOUtils.read(in, buffer);
+        if (read < tailLength) {
+          // do not transfer the rest of the log, the next call copies it
+          getLog.abort();
+        }
+        return read == buffer.length ? buffer : Arrays.copyOf(buffer, read);
+      }
+    });
+    if (tail == null) {
+      return offset;
+    }
+    // The tail ends where the log ended when it was read, between the size listed before and the one listed now.
+    // Where to start copying assumes the later size and the returned offset the earlier one, so that a log growing
+    // meanwhile is copied with a few bytes twice rather than with a gap.
+    long sizeAfter = Math.max(size, getLogFileSize(node, logsPath, logFile));
+    long skip = offset - (sizeAfter - tailLength);
+    if (skip < 0) {
+      // grew by more than the margin, some bytes are lost
+      skip = 0;
+    }
+    if (skip < tail.length) {
+      out.write(tail, (int) skip, (int) (tail.length - skip));
+    }
+    return Math.max(offset, size - tailLength + tail.length);
+  }
+
+  /**
+   * @return the size of the log file as listed by the NodeManager, -1 if it is not listed
+   */
+  private long getLogFileSize(HttpHost node, String logsPath, String logFile) throws IOException {
+    HttpGet listLogs = new HttpGet(logsPath);
+    listLogs.setHeader(HttpHeaders.ACCEPT, "application/json");
+    return httpClient.execute(node, listLogs, response -> {
+      if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+        return -1L;
+      }
+      try (InputStream in = response.getEntity().getContent()) {
+        return getLogFileSize(httpClient.getObjectMapper().readTree(in), logFile);
+      }
+    });
+  }
+
+  private long getLogFileSize(JsonNode containerLogs, String logFile) {
+    for (JsonNode logInfos : containerLogs.findValues("containerLogInfo")) {
+      Iterable<JsonNode> infos = logInfos.isArray() ? logInfos : Collections.singletonList(logInfos);
+      for (JsonNode logInfo : infos) {
+        if (logFile.equals(logInfo.path("fileName").asText())) {
+          return logInfo.path("fileSize").asLong(-1);
+        }
+      }
+    }
+    return -1;
+  }
+
   private boolean isFinal(LogAggregationStatus status) {
     if (status == null) {
       // ServiceStatus might be null if there were issues starting the application
@@ -98,6 +98,7 @@ import io.hops.hopsworks.common.security.CertificateMaterializer;
 import io.hops.hopsworks.common.security.CertificatesController;
 import io.hops.hopsworks.common.serving.ServingController;
 import io.hops.hopsworks.common.serving.inference.logger.KafkaInferenceLogger;
+import io.hops.hopsworks.common.serving.inference.logger.KafkaInferenceProducerPool;
 import io.hops.hopsworks.common.user.UsersController;
 import io.hops.hopsworks.common.util.DateUtils;
 import io.hops.hopsworks.common.util.ProjectUtils;
@@ -262,6 +263,8 @@ public class ProjectController {
   @EJB
   private CertificateMaterializer certificateMaterializer;
   @EJB
+  private KafkaInferenceProducerPool kafkaInferenceProducerPool;
+  @EJB
   private HiveController hiveController;
   @EJB
   private HdfsUsersController hdfsUsersController;
@@ -1538,6 +1541,7 @@ public class ProjectController {
    * @param project Project to be deleted
    */
   private void removeCertificatesFromMaterializer(Project project) {
+    kafkaInferenceProducerPool.invalidate(project);
     for (ProjectTeam team : projectUtils.getProjectTeamCollection(project)) {
       certificateMaterializer.forceRemoveLocalMaterial(team.getUser().getUsername(), project.getName(), null, true);
       String remoteCertsDirectory = settings.getHdfsTmpCertDir() + Path.SEPARATOR +
@@ -0,0 +1,241 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.serving.inference.logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.hops.hopsworks.common.dao.kafka.HopsKafkaAdminClient;
+import io.hops.hopsworks.common.security.CertificateMaterializer;
+import io.hops.hopsworks.common.util.HopsUtils;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.exceptions.CryptoPasswordNotFoundException;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.errors.AuthenticationException;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps one long-lived Kafka producer per project for inference logging. Producers are created lazily with the
+ * serving manager certificates, batch records with linger.ms/batch.size and never block the caller for longer than
+ * max.block.ms. A producer is closed, and its certificates de-materialized, when it has been idle for a while, when
+ * it reaches its maximum lifetime (so rotated certificates are picked up) or when the broker rejects its credentials.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class KafkaInferenceProducerPool {
+
+  private static final Logger LOGGER = Logger.getLogger(KafkaInferenceProducerPool.class.getName());
+
+  private static final String CLIENT_ID = "KafkaServing";
+  private static final long MAX_PRODUCERS = 500;
+  private static final long PRODUCER_IDLE_TIMEOUT_MINUTES = 10;
+  private static final long PRODUCER_MAX_LIFETIME_HOURS = 12;
+  private static final int LINGER_MS = 50;
+  private static final int BATCH_SIZE_BYTES = 64 * 1024;
+  // Bounds the in-memory queue of each producer. When it is full, records are dropped instead of blocking.
+  private static final long BUFFER_MEMORY_BYTES = 8 * 1024 * 1024;
+  private static final long MAX_BLOCK_MS = 100;
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+  @EJB
+  private Settings settings;
+  @EJB
+  private CertificateMaterializer certificateMaterializer;
+  @EJB
+  private HopsKafkaAdminClient hopsKafkaAdminClient;
+  @Inject
+  private MetricRegistry metricRegistry;
+
+  private Cache<String, KafkaProducer<String, byte[]>> producers;
+
+  private Counter recordsSent;
+  private Counter recordsFailed;
+  private Counter recordsDropped;
+  private Counter producersCreated;
+
+  @PostConstruct
+  public void init() {
+    producers = Caffeine.newBuilder()
+      .maximumSize(MAX_PRODUCERS)
+      .expireAfterAccess(PRODUCER_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+      .expireAfterWrite(PRODUCER_MAX_LIFETIME_HOURS, TimeUnit.HOURS)
+      .removalListener(this::onProducerRemoval)
+      .build();
+
+    recordsSent = metricRegistry.counter("inference_logger_kafka_records_sent");
+    recordsFailed = metricRegistry.counter("inference_logger_kafka_records_failed");
+    recordsDropped = metricRegistry.counter("inference_logger_kafka_records_dropped");
+    producersCreated = metricRegistry.counter("inference_logger_kafka_producers_created");
+    metricRegistry.gauge("inference_logger_kafka_producers_active", producers::estimatedSize);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    producers.invalidateAll();
+    producers.cleanUp();
+  }
+
+  /**
+   * Hand the record over to the project producer. This method does not wait for the broker acknowledgement and
+   * drops the record if the producer cannot be created or its buffer is full.
+   *
+   * @param project project owning the inference topic
+   * @param record record to send
+   */
+  public void send(Project project, ProducerRecord<String, byte[]> record) {
+    KafkaProducer<String, byte[]> producer;
+    try {
+      producer = getProducer(project);
+    } catch (IOException | CryptoPasswordNotFoundException e) {
+      recordsDropped.inc();
+      LOGGER.log(Level.FINE, "Failed to setup the producer for the project: " + project.getName(), e);
+      return;
+    }
+
+    try {
+      producer.send(record, (metadata, exception) -> {
+        if (exception == null) {
+          recordsSent.inc();
+          return;
+        }
+        recordsFailed.inc();
+        LOGGER.log(Level.FINE, "Cannot write to topic: " + record.topic(), exception);
+        if (exception instanceof AuthenticationException || exception instanceof AuthorizationException) {
+          // Most likely the certificates were rotated, next record will rebuild the producer
+          producers.asMap().remove(project.getName(), producer);
+        }
+      });
+    } catch (Exception e) {
+      // Buffer full (max.block.ms elapsed), topic metadata unavailable or producer already closed
+      recordsDropped.inc();
+      LOGGER.log(Level.FINE, "Dropped inference log record for topic: " + record.topic(), e);
+    }
+  }
+
+  /**
+   * Close the producer of a project, if any. The next record for the project will create a new one.
+   *
+   * @param project project
+   */
+  public void invalidate(Project project) {
+    producers.invalidate(project.getName());
+  }
+
+  private KafkaProducer<String, byte[]> getProducer(Project project)
+      throws IOException, CryptoPasswordNotFoundException {
+    try {
+      return producers.get(project.getName(), projectName -> {
+        try {
+          return createProducer(project);
+        } catch (IOException | CryptoPasswordNotFoundException e) {
+          throw new CompletionException(e);
+        }
+      });
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      } else if (e.getCause() instanceof CryptoPasswordNotFoundException) {
+        throw (CryptoPasswordNotFoundException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private KafkaProducer<String, byte[]> createProducer(Project project)
+      throws IOException, CryptoPasswordNotFoundException {
+    // Get default properties
+    Properties props = hopsKafkaAdminClient.getHopsworksKafkaProperties();
+
+    // Setup producer properties
+    props.put(ProducerConfig.CLIENT_ID_CONFIG, CLIENT_ID);
+    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+    props.put(ProducerConfig.LINGER_MS_CONFIG, LINGER_MS);
+    props.put(ProducerConfig.BATCH_SIZE_CONFIG, BATCH_SIZE_BYTES);
+    props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, BUFFER_MEMORY_BYTES);
+    props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, MAX_BLOCK_MS);
+
+    // Configure TLS for this producer. The material stays materialized for as long as the producer is pooled.
+    certificateMaterializer.materializeCertificatesLocal(KafkaInferenceLogger.SERVING_MANAGER_USERNAME,
+      project.getName());
+    try {
+      CertificateMaterializer.CryptoMaterial cryptoMaterial =
+        certificateMaterializer.getUserMaterial(KafkaInferenceLogger.SERVING_MANAGER_USERNAME, project.getName());
+
+      props.setProperty(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG,
+        settings.getHopsworksTmpCertDir() + File.separator + HopsUtils.getProjectTruststoreName(project.getName(),
+          KafkaInferenceLogger.SERVING_MANAGER_USERNAME));
+      props.setProperty(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, String.valueOf(cryptoMaterial.getPassword()));
+
+      props.setProperty(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG,
+        settings.getHopsworksTmpCertDir() + File.separator + HopsUtils.getProjectKeystoreName(project.getName(),
+          KafkaInferenceLogger.SERVING_MANAGER_USERNAME));
+      props.setProperty(SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG, String.valueOf(cryptoMaterial.getPassword()));
+
+      props.setProperty(SslConfigs.SSL_KEY_PASSWORD_CONFIG, String.valueOf(cryptoMaterial.getPassword()));
+
+      KafkaProducer<String, byte[]> producer = new KafkaProducer<>(props);
+      producersCreated.inc();
+      return producer;
+    } catch (CryptoPasswordNotFoundException | RuntimeException e) {
+      certificateMaterializer.removeCertificatesLocal(KafkaInferenceLogger.SERVING_MANAGER_USERNAME,
+        project.getName());
+      throw e;
+    }
+  }
+
+  private void onProducerRemoval(String projectName, KafkaProducer<String, byte[]> producer, RemovalCause cause) {
+    if (producer == null) {
+      return;
+    }
+    LOGGER.log(Level.FINE, "Closing inference logger producer of project " + projectName + ", cause: " + cause);
+    try {
+      // close() flushes the pending batches
+      producer.close(CLOSE_TIMEOUT);
+    } catch (Exception e) {
+      LOGGER.log(Level.FINE, "Error closing inference logger producer of project " + projectName, e);
+    } finally {
+      certificateMaterializer.removeCertificatesLocal(KafkaInferenceLogger.SERVING_MANAGER_USERNAME, projectName);
+    }
+  }
+}
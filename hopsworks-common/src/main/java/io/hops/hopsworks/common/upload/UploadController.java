@@ -23,15 +23,21 @@ import io.hops.hopsworks.restutils.RESTCodes;
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hdfs.DFSConfigKeys;
 import org.apache.hadoop.security.AccessControlException;
+import org.eclipse.microprofile.metrics.MetricRegistry;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,19 +45,23 @@ import java.util.logging.Logger;
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 public class UploadController {
   private static final Logger LOGGER = Logger.getLogger(UploadController.class.getName());
+  private static final int CONCAT_MIN_CHUNK_SIZE = 8 * 1024 * 1024;
 
   @EJB
   private DistributedFsService dfs;
   @EJB
   private ResumableInfoStorage storage;
+  @Inject
+  private MetricRegistry metricRegistry;
 
   public UploadController() {
   }
 
   @VisibleForTesting
-  public UploadController(DistributedFsService dfs, ResumableInfoStorage storage) {
+  public UploadController(DistributedFsService dfs, ResumableInfoStorage storage, MetricRegistry metricRegistry) {
     this.dfs = dfs;
     this.storage = storage;
+    this.metricRegistry = metricRegistry;
   }
 
   /**
@@ -114,7 +124,12 @@ public class UploadController {
     Path location = new Path(info.getFilePath(), String.valueOf(info.getChunkNumber()));
     FSDataOutputStream out = null;
     try {
-      out = dfsOps.create(location);
+      if (isConcatMergeable(dfsOps, info)) {
+        // One block per chunk, so that the chunks can be concatenated without copying them
+        out = dfsOps.create(location, info.getChunkSize());
+      } else {
+        out = dfsOps.create(location);
+      }
       // copy returns int: -1 if size > 2147483647L. Chunk should not be > 2147483647L
       IOUtils.copy(uploadedInputStream, out);
     } finally {
@@ -140,28 +155,105 @@ public class UploadController {
     if (dfsOps.exists(location) && dfsOps.getFileStatus(location).isDirectory()) {
       //Here we remove ".temp" to collect files in filename
       Path collected = fromTemp(location);
-      FSDataOutputStream out = null;
-      FSDataInputStream in = null;
+      long start = System.nanoTime();
+      boolean concatenated = isConcatMergeable(dfsOps, info) && concatChunks(info, dfsOps, location, collected);
+      long bytesCopied = concatenated ? 0 : copyChunks(info, dfsOps, location, collected);
+      recordMerge(info, concatenated, bytesCopied, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Chunks can be merged with a metadata only concat if each of them fills exactly one block. This is the case if
+   * they are written with the chunk size as block size, which must be a multiple of the checksum chunk size. Small
+   * chunks are copied instead, so that the merged file does not end up with too many blocks.
+   */
+  private boolean isConcatMergeable(DistributedFileSystemOps dfsOps, FlowInfo info) {
+    return info.getChunkSize() >= CONCAT_MIN_CHUNK_SIZE && info.getChunkSize() % dfsOps.getConf()
+      .getInt(DFSConfigKeys.DFS_BYTES_PER_CHECKSUM_KEY, DFSConfigKeys.DFS_BYTES_PER_CHECKSUM_DEFAULT) == 0;
+  }
+
+  /**
+   * Move the blocks of all the chunks to the first one and rename it to the collected file.
+   *
+   * @return false if the chunks can not be concatenated, the chunks are left untouched in that case
+   */
+  private boolean concatChunks(FlowInfo info, DistributedFileSystemOps dfsOps, Path location, Path collected)
+      throws IOException, DatasetException {
+    Path first = new Path(location, "1");
+    Path[] rest = new Path[info.getTotalChunks() - 1];
+    for (int i = 1; i <= info.getTotalChunks(); i++) {
+      Path chunk = new Path(location, String.valueOf(i));
+      FileStatus status = getChunkStatus(dfsOps, chunk, i);
+      //All but the last chunk must end on a block boundary
+      boolean lastChunk = i == info.getTotalChunks();
+      if (status.getBlockSize() != info.getChunkSize() || (!lastChunk && status.getLen() != info.getChunkSize())) {
+        return false;
+      }
+      if (i > 1) {
+        rest[i - 2] = chunk;
+      }
+    }
+    if (rest.length > 0) {
       try {
-        out = dfsOps.create(collected);
-        for (int i = 1; i <= info.getTotalChunks(); i++) {
-          try {
-            Path chunk = new Path(info.getFilePath(), String.valueOf(i));
-            if (!dfsOps.exists(chunk) || !dfsOps.getFileStatus(chunk).isFile()) {
-              throw new DatasetException(RESTCodes.DatasetErrorCode.UPLOAD_ERROR, Level.SEVERE,
-                "Could not find chunk: " + i);
-            }
-            in = dfsOps.open(chunk);
-            IOUtils.copy(in, out);
-          } finally {
-            IOUtils.closeQuietly(in);
-          }
+        dfsOps.concat(first, rest);
+      } catch (IOException | UnsupportedOperationException e) {
+        LOGGER.log(Level.INFO, "Failed to concat chunks of {0}, copying them instead. {1}",
+          new Object[]{collected, e.getMessage()});
+        return false;
+      }
+    }
+    //collected holds the placeholder created by chunk 1
+    dfsOps.moveWithinHdfs(first, collected, true);
+    dfsOps.rm(location, true);
+    return true;
+  }
+
+  /**
+   * Copy the content of all the chunks to the collected file.
+   *
+   * @return number of bytes copied
+   */
+  private long copyChunks(FlowInfo info, DistributedFileSystemOps dfsOps, Path location, Path collected)
+      throws IOException, DatasetException {
+    long bytesCopied = 0;
+    FSDataOutputStream out = null;
+    FSDataInputStream in = null;
+    try {
+      out = dfsOps.create(collected);
+      for (int i = 1; i <= info.getTotalChunks(); i++) {
+        try {
+          Path chunk = new Path(location, String.valueOf(i));
+          getChunkStatus(dfsOps, chunk, i);
+          in = dfsOps.open(chunk);
+          bytesCopied += IOUtils.copyLarge(in, out);
+        } finally {
+          IOUtils.closeQuietly(in);
         }
-        dfsOps.rm(location, true);
-      } finally {
-        IOUtils.closeQuietly(out);
       }
+      dfsOps.rm(location, true);
+    } finally {
+      IOUtils.closeQuietly(out);
+    }
+    return bytesCopied;
+  }
+
+  private FileStatus getChunkStatus(DistributedFileSystemOps dfsOps, Path chunk, int chunkNumber)
+      throws IOException, DatasetException {
+    FileStatus status = dfsOps.exists(chunk) ? dfsOps.getFileStatus(chunk) : null;
+    if (status == null || !status.isFile()) {
+      throw new DatasetException(RESTCodes.DatasetErrorCode.UPLOAD_ERROR, Level.SEVERE,
+        "Could not find chunk: " + chunkNumber);
     }
+    return status;
+  }
+
+  private void recordMerge(FlowInfo info, boolean concatenated, long bytesCopied, long durationNanos) {
+    LOGGER.log(Level.FINE, "Merged {0} chunks of {1} in {2} ms by {3}, {4} bytes copied",
+      new Object[]{info.getTotalChunks(), info.getFilename(), TimeUnit.NANOSECONDS.toMillis(durationNanos),
+        concatenated ? "concat" : "copy", bytesCopied});
+    metricRegistry.timer(concatenated ? "upload_merge_concat_duration" : "upload_merge_copy_duration")
+      .update(Duration.ofNanos(durationNanos));
+    metricRegistry.counter("upload_merge_bytes_copied").inc(bytesCopied);
   }
 
   private void copyToHdfs(DistributedFileSystemOps dfsOps, FlowInfo info, String hdfsPath) throws IOException {
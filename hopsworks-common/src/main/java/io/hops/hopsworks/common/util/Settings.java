@@ -59,6 +59,8 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.protocol.HdfsConstants;
 import org.apache.hadoop.yarn.conf.YarnConfiguration;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -467,7 +469,7 @@ public class Settings {
   }
 
   private String setStrVar(String varName, String defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       if (!Strings.isNullOrEmpty(value)) {
@@ -478,7 +480,7 @@ public class Settings {
   }
 
   private String setDirVar(String varName, String defaultValue) {
-    Optional<Variables> dirName = findById(varName);
+    Optional<Variables> dirName = findCachedById(varName);
     if (dirName.isPresent()) {
       String value = dirName.get().getValue();
       if (!Strings.isNullOrEmpty(value) && new File(value).isDirectory()) {
@@ -489,7 +491,7 @@ public class Settings {
   }
 
   private Boolean setBoolVar(String varName, Boolean defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       if (!Strings.isNullOrEmpty(value)) {
@@ -501,7 +503,7 @@ public class Settings {
   }
 
   private Integer setIntVar(String varName, Integer defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       try {
@@ -517,7 +519,7 @@ public class Settings {
   }
 
   private Double setDoubleVar(String varName, Double defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       try {
@@ -533,7 +535,7 @@ public class Settings {
   }
 
   private long setLongVar(String varName, Long defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       try {
@@ -549,7 +551,7 @@ public class Settings {
   }
 
   private RESTLogLevel setLogLevelVar(String varName, RESTLogLevel defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       if (!Strings.isNullOrEmpty(value)) {
@@ -560,7 +562,7 @@ public class Settings {
   }
 
   private long setMillisecondVar(String varName, Long defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       if (!Strings.isNullOrEmpty(value)) {
@@ -574,7 +576,7 @@ public class Settings {
   }
 
   private PaymentType setPaymentType(String varName, PaymentType defaultValue) {
-    Optional<Variables> variable = findById(varName);
+    Optional<Variables> variable = findCachedById(varName);
     if (variable.isPresent()) {
       String value = variable.get().getValue();
       if (!Strings.isNullOrEmpty(value)) {
@@ -584,11 +586,6 @@ public class Settings {
     return defaultValue;
   }
 
-  private Set<String> setStringHashSetLowerCase(String varName, String defaultValue, String separator) {
-    RESERVED_PROJECT_NAMES_STR = setStrVar(varName, defaultValue);
-    return setStringHashSetLowerCase(RESERVED_PROJECT_NAMES_STR, separator, true);
-  }
-  
   private Set<String> setStringHashSetLowerCase(String values, String separator, boolean toLowerCase) {
     StringTokenizer tokenizer = new StringTokenizer(values, separator);
     HashSet<String> tokens = new HashSet<>(tokenizer.countTokens());
@@ -598,7 +595,324 @@ public class Settings {
     return tokens;
   }
 
-  private boolean cached = false;
+  /**
+   * Values of the variables table, with the defaults of the missing variables. A new instance is built on every
+   * (re)population of the cache and it is never modified once published through {@link #cache}, so the getters
+   * read a consistent configuration without taking the monitor.
+   */
+  private static final class CachedVariables {
+    private String TWOFACTOR_AUTH = "false";
+    private String TWOFACTOR_EXCLUDE = "AGENT;CLUSTER_AGENT";
+    private String HOPS_RPC_TLS = "false";
+    private String SPARK_DIR = "/srv/hops/spark";
+    private String STAGING_DIR = "/srv/hops/domains/domain1/staging";
+    // Remember to change this in docker-images as well
+    private String FLINK_DIR = "/srv/hops/flink";
+    private String AIRFLOW_DIR = "/srv/hops/airflow";
+    private String AIRFLOW_USER = "airflow";
+    private String HADOOP_DIR = "/srv/hops/hadoop";
+    private String HIVE_SUPERUSER = "hive";
+    private String ANACONDA_DEFAULT_REPO = "defaults";
+    private String HIVE_WAREHOUSE = "/apps/hive/warehouse";
+    private String HIVE_SCRATCHDIR = "/tmp/hive";
+    private String HIVE_SCRATCHDIR_DELAY = "7d";
+    private String HIVE_SCRATCHDIR_CLEANER_INTERVAL = "24h";
+    private long HIVE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
+    private String CERTS_DIR = "/srv/hops/certs-dir";
+    private String HOPSWORKS_INSTALL_DIR = "/srv/hops/domains/domain1";
+    private String SUDOERS_DIR = "/srv/hops/sbin";
+    private String HOPSWORKS_USER = "glassfish";
+    private String HDFS_SUPERUSER = "hdfs";
+    private String SPARK_USER = "spark";
+    private Integer YARN_DEFAULT_QUOTA = 60000;
+    private PaymentType DEFAULT_PAYMENT_TYPE = PaymentType.NOLIMIT;
+    private long HDFS_DEFAULT_QUOTA_MBs = HdfsConstants.QUOTA_DONT_SET;
+    // To not fill the SSDs with Logs files that nobody access frequently
+    // We set the StoragePolicy for the LOGS dir to be DEFAULT
+    private DistributedFileSystemOps.StoragePolicy HDFS_LOG_STORAGE_POLICY
+        = DistributedFileSystemOps.StoragePolicy.DEFAULT;
+    private Integer MAX_NUM_PROJ_PER_USER = 5;
+    private String HADOOP_VERSION = "2.8.2";
+    // Spark executor min memory
+    private int SPARK_EXECUTOR_MIN_MEMORY = 1024;
+    private Set<String> RESERVED_PROJECT_NAMES;
+    private String RESERVED_PROJECT_NAMES_STR;
+    // OpenSearch
+    OpenSearchSettings OPENSEARCH_SETTINGS;
+    private long OpenSearch_LOGS_INDEX_EXPIRATION = 7 * 24 * 60 * 60 * 1000;
+    // CertificateMaterializer service. Delay for deleting crypto material from
+    // the local filesystem. The lower the value the more frequent we reach DB
+    // for materialization
+    // Suffix, defaults to minutes if omitted:
+    // ms: milliseconds
+    // s: seconds
+    // m: minutes (default)
+    // h: hours
+    // d: days
+    private String CERTIFICATE_MATERIALIZER_DELAY = "1m";
+    private String SERVICE_DISCOVERY_DOMAIN = "consul";
+    // Opensearch vector db
+    private String OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = null;
+    private Integer OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = 1;
+    /*
+     * Comma-separated list of user emails that should not be persisted in the
+     * userlogins table for auditing.
+     * kagent -> agent@hops.io
+     */
+    private String WHITELIST_USERS_LOGIN = "agent@hops.io";
+    // Jupyter
+    private String JUPYTER_DIR = "/srv/hops/jupyter";
+    private String JUPYTER_GROUP = "jupyter";
+    private String JUPYTER_ORIGIN_SCHEME = "https";
+    private long JUPYTER_WS_PING_INTERVAL_MS = 10000L;
+    private String JUPYTER_REMOTE_FS_DRIVER = "hdfscontentsmanager";
+    private boolean APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = true;
+    private String HOPSFSMOUNT_APPARMOR_PROFILE = "hopsworks-hopsfsmount-docker";
+    private Integer PROMETHEUS_PORT = 9089;
+    private Integer GIT_MAX_COMMAND_TIMEOUT_MINUTES = 60;
+    private Boolean ENABLE_GIT_READ_ONLY_REPOSITORIES = false;
+    private String GIT_IMAGE_VERSION = "0.3.0";
+    private boolean DOCKER_CGROUP_ENABLED = false;
+    private String DOCKER_CGROUP_MEMORY_LIMIT = "6GB";
+    private String DOCKER_CGROUP_MEMORY_SOFT_LIMIT = "2GB";
+    private Double DOCKER_CGROUP_CPU_QUOTA = 100.0;
+    private Integer DOCKER_CGROUP_CPU_PERIOD = 100000;
+    private String DOCKER_CGROUP_MONITOR_INTERVAL = "10m";
+    private String DOCKER_CGROUP_PARENT = "docker.slice";
+    private String jupyterShutdownTimerInterval = "30m";
+    private String KAFKA_USER = "kafka";
+    private String KAFKA_DIR = "/srv/kafka";
+    private String ANACONDA_DIR = "/srv/hops/anaconda";
+    private Boolean ANACONDA_ENABLED = true;
+    private Boolean DOWNLOAD_ALLOWED = true;
+    private RESTLogLevel HOPSWORKS_REST_LOG_LEVEL = RESTLogLevel.PROD;
+    private String FIRST_TIME_LOGIN = "0";
+    private String ADMIN_EMAIL = "admin@hopsworks.ai";
+    private String HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = "adminpw";
+    private Integer KAFKA_DEFAULT_NUM_PARTITIONS = 2;
+    private Integer KAFKA_DEFAULT_NUM_REPLICAS = 1;
+    // HOPSWORKS-3158
+    private String HOPSWORKS_PUBLIC_HOST = "";
+    private int FILE_PREVIEW_IMAGE_SIZE = 10000000;
+    private int FILE_PREVIEW_TXT_SIZE = 100;
+    private String RESOURCE_DIRS = ".sparkStaging;spark-warehouse;.flinkStaging;.flinkCheckpoints";
+    private int KAFKA_MAX_NUM_TOPICS = 10;
+    private int MAX_STATUS_POLL_RETRY = 5;
+    private String PYPI_REST_ENDPOINT = "https://pypi.org/pypi/{package}/json";
+    private String PYPI_INDEXER_TIMER_INTERVAL = "1d";
+    private String PYPI_SIMPLE_ENDPOINT = "https://pypi.org/simple/";
+    private boolean PYPI_INDEXER_TIMER_ENABLED = true;
+    private String PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = "1d";
+    private String KRB_AUTH = "false";
+    private String LDAP_AUTH = "false";
+    private boolean IS_KRB_ENABLED = false;
+    private boolean IS_LDAP_ENABLED = false;
+    private String LDAP_GROUP_MAPPING = "";
+    private String LDAP_USER_ID = "uid"; //login name
+    private String LDAP_USER_GIVEN_NAME = "givenName";
+    private String LDAP_USER_SURNAME = "sn";
+    private String LDAP_USER_EMAIL = "mail";
+    private String LDAP_USER_SEARCH_FILTER = "uid=%s";
+    private String LDAP_GROUP_SEARCH_FILTER = "member=%d";
+    private String LDAP_KRB_USER_SEARCH_FILTER = "krbPrincipalName=%s";
+    private String LDAP_ATTR_BINARY = "java.naming.ldap.attributes.binary";
+    private String LDAP_GROUP_TARGET = "cn";
+    private String LDAP_DYNAMIC_GROUP_TARGET = "memberOf";
+    private String LDAP_USER_DN_DEFAULT = "";
+    private String LDAP_GROUP_DN_DEFAULT = "";
+    private String LDAP_USER_DN = LDAP_USER_DN_DEFAULT;
+    private String LDAP_GROUP_DN = LDAP_GROUP_DN_DEFAULT;
+    private String LDAP_GROUPS_TARGET = "distinguishedName";
+    private String LDAP_GROUPS_SEARCH_FILTER = "(&(objectCategory=group)(cn=%c))";
+    private String LDAP_GROUP_MEMBERS_SEARCH_FILTER = "(&(objectCategory=user)(memberOf=%d))";
+    private int LDAP_ACCOUNT_STATUS = 1;
+    private String OAUTH_ENABLED = "false";
+    private boolean IS_OAUTH_ENABLED = false;
+    private String OAUTH_GROUP_MAPPING = "";
+    private String OAUTH_REDIRECT_URI_PATH = "hopsworks/callback";
+    private String OAUTH_LOGOUT_REDIRECT_URI_PATH = "hopsworks/";
+    private String OAUTH_REDIRECT_URI = OAUTH_REDIRECT_URI_PATH;
+    private String OAUTH_LOGOUT_REDIRECT_URI = OAUTH_LOGOUT_REDIRECT_URI_PATH;
+    private int OAUTH_ACCOUNT_STATUS = 1;
+    private long LDAP_GROUP_MAPPING_SYNC_INTERVAL = 0;
+    private boolean REMOTE_AUTH_NEED_CONSENT = true;
+    private boolean DISABLE_PASSWORD_LOGIN = false;
+    private boolean DISABLE_REGISTRATION = false;
+    private boolean VALIDATE_REMOTE_USER_EMAIL_VERIFIED = false;
+    private String MANAGED_CLOUD_REDIRECT_URI = "";
+    private String MANAGED_CLOUD_PROVIDER_NAME = "hopsworks.ai";
+    // Special flag to disable only registration UI but not the backend
+    // It is used in managed cloud when user management is MANAGED by hopsworks.ai
+    // Variable value is set during instance initialization by ec2-init
+    private boolean DISABLE_REGISTRATION_UI = false;
+    private boolean serviceKeyRotationEnabled = false;
+    private String serviceKeyRotationInterval = "3d";
+    private int tensorBoardMaxLastAccessed = 1140000;
+    private int sparkUILogsOffset = 512000;
+    // Libraries that should not be uninstallable
+    private Set<String> IMMUTABLE_PYTHON_LIBRARY_NAMES;
+    private String HOPSWORKS_VERSION;
+    private String KUBE_KSERVE_TENSORFLOW_VERSION;
+    private String TENSORFLOW_VERSION;
+    private String OPENSEARCH_VERSION;
+    private String KAFKA_VERSION;
+    private String EPIPE_VERSION;
+    private String FLINK_VERSION;
+    private String SPARK_VERSION;
+    private String TEZ_VERSION;
+    private String HIVE2_VERSION;
+    private String LIVY_VERSION;
+    private String NDB_VERSION;
+    private String FILEBEAT_VERSION;
+    private String KIBANA_VERSION;
+    private String LOGSTASH_VERSION;
+    private String GRAFANA_VERSION;
+    private String ZOOKEEPER_VERSION;
+    private String KUBE_USER = "kubernetes";
+    private String KUBE_HOPSWORKS_USER = "hopsworks";
+    private String KUBEMASTER_URL = "https://192.168.68.102:6443";
+    private String KUBE_CA_CERTFILE = "/srv/hops/certs-dir/certs/ca.cert.pem";
+    private String KUBE_CLIENT_KEYFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.key.pem";
+    private String KUBE_CLIENT_CERTFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.cert.pem";
+    private String KUBE_CLIENT_KEYPASS = "adminpw";
+    private String KUBE_TRUSTSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__tstore.jks";
+    private String KUBE_TRUSTSTORE_KEY = "adminpw";
+    private String KUBE_KEYSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__kstore.jks";
+    private String KUBE_KEYSTORE_KEY = "adminpw";
+    private String KUBE_PULL_POLICY = "Always";
+    private Integer KUBE_API_MAX_ATTEMPTS = 12;
+    private Boolean ONLINE_FEATURESTORE = false;
+    private String ONLINE_FEATURESTORE_TS = "";
+    private Integer ONLINEFS_THREAD_NUMBER = 10;
+    private Integer KUBE_DOCKER_MAX_MEMORY_ALLOCATION = 8192;
+    private Double KUBE_DOCKER_MAX_CORES_ALLOCATION = 4.0;
+    private Integer KUBE_DOCKER_MAX_GPUS_ALLOCATION = 1;
+    private Boolean KUBE_INSTALLED = false;
+    private Boolean KUBE_KSERVE_INSTALLED = false;
+    private String KUBE_SERVING_NODE_LABELS = "";
+    private String KUBE_SERVING_NODE_TOLERATIONS = "";
+    private Integer KUBE_SERVING_MAX_MEMORY_ALLOCATION = -1; // no upper limit
+    private Double KUBE_SERVING_MAX_CORES_ALLOCATION = -1.0;  // no upper limit
+    private Integer KUBE_SERVING_MAX_GPUS_ALLOCATION = -1; // no upper limit
+    // Maximum number of instances. Possible values >=-1 where -1 means no limit.
+    private Integer KUBE_SERVING_MAX_NUM_INSTANCES = -1;
+    // Minimum number of instances. Possible values: >=-1 where -1 means no limit and 0 enforces scale-to-zero
+    // capabilities when available
+    private Integer KUBE_SERVING_MIN_NUM_INSTANCES = -1;
+    private String KUBE_KNATIVE_DOMAIN_NAME = "";
+    //comma seperated list of tainted nodes
+    private String KUBE_TAINTED_NODES = "";
+    private String KUBE_TAINTED_NODES_MONITOR_INTERVAL = "30m";
+    private Boolean HOPSWORKS_ENTERPRISE = false;
+    private boolean ENABLE_DATA_SCIENCE_PROFILE = false;
+    private String SERVING_MONITOR_INT = "30s";
+    private int SERVING_CONNECTION_POOL_SIZE = 40;
+    private int SERVING_MAX_ROUTE_CONNECTIONS = 10;
+    private int TENSORBOARD_MAX_RELOAD_THREADS = 1;
+    private String JUPYTER_HOST = "localhost";
+    private boolean ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = false;
+    private boolean ENABLE_FLYINGDUCK = false;
+    private String JWT_SIGNATURE_ALGORITHM = "HS512";
+    private String JWT_SIGNING_KEY_NAME = "apiKey";
+    private String JWT_ISSUER = "hopsworks@logicalclocks.com";
+    private long JWT_LIFETIME_MS = 1800000l;
+    private int JWT_EXP_LEEWAY_SEC = 900;
+    private long SERVICE_JWT_LIFETIME_MS = 86400000l;
+    private int SERVICE_JWT_EXP_LEEWAY_SEC = 43200;
+    private String SERVICE_API_KEY = "";
+    private int CONNECTION_KEEPALIVE_TIMEOUT = 30;
+    private String HIVE_CONF_PATH = "/srv/hops/apache-hive/conf/hive-site.xml";
+    private String FS_PY_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs_util-2.1.0-SNAPSHOT.py";
+    private String FS_JAVA_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs-utils-2.1.0-SNAPSHOT.jar";
+    private String HDFS_FILE_OP_JOB_UTIL = "hdfs:///user/spark/hdfs_file_operations-0.1.0.py";
+    private int HDFS_FILE_OP_JOB_DRIVER_MEM = 2048;
+    private long FEATURESTORE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
+    private String FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT = "ORC";
+    private boolean ENABLE_REDSHIFT_STORAGE_CONNECTORS = true;
+    private boolean ENABLE_ADLS_STORAGE_CONNECTORS = false;
+    private boolean ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = true;
+    private boolean ENABLE_KAFKA_STORAGE_CONNECTORS = true;
+    private boolean ENABLE_GCS_STORAGE_CONNECTORS = false;
+    private boolean ENABLE_BIGQUERY_STORAGE_CONNECTORS = false;
+    private boolean ENABLE_BRING_YOUR_OWN_KAFKA = false;
+    // test connectors docker
+    private String TESTCONNECTOR_IMAGE_VERSION = "0.1";
+    private boolean ENABLE_FEATURE_MONITORING = false;
+    private Boolean LOCALHOST = false;
+    private String CLOUD = "";
+    private String FEATURESTORE_JDBC_URL = "jdbc:mysql://onlinefs.mysql.service.consul:3306/";
+    private String FEATURESTORE_DB_ADMIN_USER = "";
+    private String FEATURESTORE_DB_ADMIN_PWD = "";
+    private Boolean REQUESTS_VERIFY = false;
+    private  Boolean KIBANA_HTTPS_ENABELED = false;
+    private  Boolean KIBANA_MULTI_TENANCY_ENABELED = false;
+    private Provenance.Type PROVENANCE_TYPE = Provenance.Type.MIN;
+    private String PROVENANCE_TYPE_S = PROVENANCE_TYPE.name();
+    private Integer PROVENANCE_CLEANUP_SIZE = 5;
+    private Integer PROVENANCE_GRAPH_MAX_SIZE = 50;
+    private Long PROVENANCE_CLEANER_PERIOD = 3600L; //1h in s
+    private String CLIENT_PATH = "/srv/hops/client.tar.gz";
+    // CLOUD
+    private String CLOUD_EVENTS_ENDPOINT = "";
+    private String CLOUD_EVENTS_ENDPOINT_API_KEY = "";
+    private int FG_PREVIEW_LIMIT = 100;
+    private String YARN_RUNTIME = "docker";
+    private boolean checkNodemanagersStatus = false;
+    private String DOCKER_MOUNTS =
+        "/srv/hops/hadoop/etc/hadoop,/srv/hops/spark,/srv/hops/flink";
+    private String DOCKER_BASE_IMAGE_PYTHON_NAME = "python310";
+    private String DOCKER_BASE_IMAGE_PYTHON_VERSION = "3.10";
+    private long YARN_APP_UID = 1235L;
+    private KubeType KUBE_TYPE = KubeType.Local;
+    private String DOCKER_NAMESPACE = "";
+    private Boolean MANAGED_DOCKER_REGISTRY = false;
+    private String DOCKER_JOB_MOUNTS_LIST;
+    private Boolean DOCKER_JOB_MOUNT_ALLOWED = true;
+    private Boolean DOCKER_JOB_UID_STRICT = true;
+    private int EXECUTIONS_PER_JOB_LIMIT = 10000;
+    private int EXECUTIONS_CLEANER_BATCH_SIZE = 1000;
+    private int EXECUTIONS_CLEANER_INTERVAL_MS = 600000;
+    private int STATISTICS_CLEANER_BATCH_SIZE = 1000;
+    private int STATISTICS_CLEANER_INTERVAL_MS = 900000;
+    private int MAX_ENV_YML_BYTE_SIZE = 20000;
+    private int LIVY_STARTUP_TIMEOUT = 240;
+    private boolean USER_SEARCH_ENABLED = true;
+    /*
+     * When a user try to connect for the first time with OAuth or LDAP
+     * do not create the user if it does not bellong to any group.
+     * This is to avoid having users that belong to no group poluting the users table
+     */
+    private boolean REJECT_REMOTE_USER_NO_GROUP = false;
+    private boolean SKIP_NAMESPACE_CREATION = false;
+    private long QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = -1L;
+    private long QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = -1L;
+    private long QUOTAS_TRAINING_DATASETS = -1L;
+    private long QUOTAS_RUNNING_MODEL_DEPLOYMENTS = -1L;
+    private long QUOTAS_TOTAL_MODEL_DEPLOYMENTS = -1L;
+    private long QUOTAS_MAX_PARALLEL_EXECUTIONS = -1L;
+    private Integer SQL_MAX_SELECT_IN = 100;
+    // The maximum number of http threads in the thread pool is set to 200 by default
+    private int MAX_LONG_RUNNING_HTTP_REQUESTS = 50;
+    //1s
+    private Long COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = 1000l;
+    //enable command search fs history
+    private boolean COMMAND_SEARCH_FS_HISTORY_ENABLE = false;
+    private Long COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = 1000l*60;
+    private Long COMMAND_SEARCH_FS_HISTORY_WINDOW = 60*60L;
+    private int COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = 5;
+    private boolean ENABLE_CONDA_INSTALL = true;
+    private Integer DEFAULT_FEATURE_STORE_PROJECT_ID = null;
+  }
+
+  /**
+   * The getters read this reference once and never take the monitor. It is null until the cache is populated and
+   * after it is invalidated.
+   */
+  private volatile CachedVariables cache;
+  /**
+   * The variables table, only accessed by {@link #populateCache()} while holding the monitor.
+   */
+  private Map<String, Variables> variables = Collections.emptyMap();
   private UUID myUUID;
   private ITopic<String> settingUpdatedTopic;
   
@@ -627,48 +941,74 @@ public class Settings {
     @Override
     public void onMessage(Message<String> message) {
       if (!message.getPublishingMember().localMember()) {
-        cached = false;
+        cache = null;
       }
     }
   }
 
-  private void populateCache() {
-    if (!cached) {
-      ADMIN_EMAIL = setVar(VARIABLE_ADMIN_EMAIL, ADMIN_EMAIL);
-      LOCALHOST = setBoolVar(VARIABLE_LOCALHOST, LOCALHOST);
-      CLOUD = setStrVar(VARIABLE_CLOUD, CLOUD);
-      REQUESTS_VERIFY = setBoolVar(VARIABLE_REQUESTS_VERIFY, REQUESTS_VERIFY);
-      TWOFACTOR_AUTH = setVar(VARIABLE_TWOFACTOR_AUTH, TWOFACTOR_AUTH);
-      TWOFACTOR_EXCLUDE = setVar(VARIABLE_TWOFACTOR_EXCLUD, TWOFACTOR_EXCLUDE);
-      HOPSWORKS_USER = setVar(VARIABLE_HOPSWORKS_USER, HOPSWORKS_USER);
-      JUPYTER_GROUP = setVar(VARIABLE_JUPYTER_GROUP, JUPYTER_GROUP);
-      JUPYTER_ORIGIN_SCHEME = setVar(VARIABLE_JUPYTER_ORIGIN_SCHEME, JUPYTER_ORIGIN_SCHEME);
-      JUPYTER_REMOTE_FS_DRIVER = setVar(VARIABLE_JUPYTER_REMOTE_FS_DRIVER, JUPYTER_REMOTE_FS_DRIVER);
-      APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = setBoolVar(VARIABLE_APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE,
-          APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE);
-      HOPSFSMOUNT_APPARMOR_PROFILE = setVar(VARIABLE_HOPSFSMOUNT_APPARMOR_PROFILE, HOPSFSMOUNT_APPARMOR_PROFILE);
-      HDFS_SUPERUSER = setVar(VARIABLE_HDFS_SUPERUSER, HDFS_SUPERUSER);
-      SPARK_USER = setVar(VARIABLE_SPARK_USER, SPARK_USER);
-      SPARK_DIR = setDirVar(VARIABLE_SPARK_DIR, SPARK_DIR);
-      FLINK_DIR = setDirVar(VARIABLE_FLINK_DIR, FLINK_DIR);
-      STAGING_DIR = setVar(VARIABLE_STAGING_DIR, STAGING_DIR);
-      HIVE_SUPERUSER = setStrVar(VARIABLE_HIVE_SUPERUSER, HIVE_SUPERUSER);
-      HIVE_WAREHOUSE = setStrVar(VARIABLE_HIVE_WAREHOUSE, HIVE_WAREHOUSE);
-      HIVE_SCRATCHDIR = setStrVar(VARIABLE_HIVE_SCRATCHDIR, HIVE_SCRATCHDIR);
-      HIVE_SCRATCHDIR_DELAY = setStrVar(VARIABLE_HIVE_SCRATCHDIR_DELAY, HIVE_SCRATCHDIR_DELAY);
-      HIVE_SCRATCHDIR_CLEANER_INTERVAL = setStrVar(VARIABLE_HIVE_SCRATCHDIR_CLEANER_INTERVAL,
-          HIVE_SCRATCHDIR_CLEANER_INTERVAL);
-      HIVE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_HIVE_DEFAULT_QUOTA, HIVE_DB_DEFAULT_QUOTA);
-      HADOOP_VERSION = setVar(VARIABLE_HADOOP_VERSION, HADOOP_VERSION);
-      JUPYTER_DIR = setDirVar(VARIABLE_JUPYTER_DIR, JUPYTER_DIR);
-      JUPYTER_WS_PING_INTERVAL_MS = setMillisecondVar(VARIABLE_JUPYTER_WS_PING_INTERVAL, JUPYTER_WS_PING_INTERVAL_MS);
-      HADOOP_DIR = setDirVar(VARIABLE_HADOOP_DIR, HADOOP_DIR);
-      HOPSWORKS_INSTALL_DIR = setDirVar(VARIABLE_HOPSWORKS_DIR, HOPSWORKS_INSTALL_DIR);
-      CERTS_DIR = setDirVar(VARIABLE_CERTS_DIRS, CERTS_DIR);
-      SUDOERS_DIR = setDirVar(VARIABLE_SUDOERS_DIR, SUDOERS_DIR);
-      SERVICE_DISCOVERY_DOMAIN = setStrVar(VARIABLE_SERVICE_DISCOVERY_DOMAIN, SERVICE_DISCOVERY_DOMAIN);
-      AIRFLOW_DIR = setDirVar(VARIABLE_AIRFLOW_DIR, AIRFLOW_DIR);
-      AIRFLOW_USER = setStrVar(VARIABLE_AIRFLOW_USER, AIRFLOW_USER);
+  private Optional<Variables> findCachedById(String varName) {
+    return Optional.ofNullable(variables.get(varName));
+  }
+
+  private Map<String, Variables> loadVariablesSnapshot() {
+    // Variables might be changed directly in the database, do not serve them from the shared cache
+    List<Variables> variables = em.createNamedQuery("Variables.findAll", Variables.class)
+      .setHint(QueryHints.REFRESH, HintValues.TRUE)
+      .getResultList();
+    Map<String, Variables> snapshot = new HashMap<>(variables.size());
+    for (Variables variable : variables) {
+      snapshot.put(variable.getId(), variable);
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  private CachedVariables cache() {
+    CachedVariables current = cache;
+    return current != null ? current : populateCache();
+  }
+
+  private synchronized CachedVariables populateCache() {
+    CachedVariables current = cache;
+    if (current == null) {
+      variables = loadVariablesSnapshot();
+      CachedVariables next = new CachedVariables();
+      next.ADMIN_EMAIL = setVar(VARIABLE_ADMIN_EMAIL, next.ADMIN_EMAIL);
+      next.LOCALHOST = setBoolVar(VARIABLE_LOCALHOST, next.LOCALHOST);
+      next.CLOUD = setStrVar(VARIABLE_CLOUD, next.CLOUD);
+      next.REQUESTS_VERIFY = setBoolVar(VARIABLE_REQUESTS_VERIFY, next.REQUESTS_VERIFY);
+      next.TWOFACTOR_AUTH = setVar(VARIABLE_TWOFACTOR_AUTH, next.TWOFACTOR_AUTH);
+      next.TWOFACTOR_EXCLUDE = setVar(VARIABLE_TWOFACTOR_EXCLUD, next.TWOFACTOR_EXCLUDE);
+      next.HOPSWORKS_USER = setVar(VARIABLE_HOPSWORKS_USER, next.HOPSWORKS_USER);
+      next.JUPYTER_GROUP = setVar(VARIABLE_JUPYTER_GROUP, next.JUPYTER_GROUP);
+      next.JUPYTER_ORIGIN_SCHEME = setVar(VARIABLE_JUPYTER_ORIGIN_SCHEME, next.JUPYTER_ORIGIN_SCHEME);
+      next.JUPYTER_REMOTE_FS_DRIVER = setVar(VARIABLE_JUPYTER_REMOTE_FS_DRIVER, next.JUPYTER_REMOTE_FS_DRIVER);
+      next.APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = setBoolVar(VARIABLE_APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE,
+          next.APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE);
+      next.HOPSFSMOUNT_APPARMOR_PROFILE = setVar(VARIABLE_HOPSFSMOUNT_APPARMOR_PROFILE,
+          next.HOPSFSMOUNT_APPARMOR_PROFILE);
+      next.HDFS_SUPERUSER = setVar(VARIABLE_HDFS_SUPERUSER, next.HDFS_SUPERUSER);
+      next.SPARK_USER = setVar(VARIABLE_SPARK_USER, next.SPARK_USER);
+      next.SPARK_DIR = setDirVar(VARIABLE_SPARK_DIR, next.SPARK_DIR);
+      next.FLINK_DIR = setDirVar(VARIABLE_FLINK_DIR, next.FLINK_DIR);
+      next.STAGING_DIR = setVar(VARIABLE_STAGING_DIR, next.STAGING_DIR);
+      next.HIVE_SUPERUSER = setStrVar(VARIABLE_HIVE_SUPERUSER, next.HIVE_SUPERUSER);
+      next.HIVE_WAREHOUSE = setStrVar(VARIABLE_HIVE_WAREHOUSE, next.HIVE_WAREHOUSE);
+      next.HIVE_SCRATCHDIR = setStrVar(VARIABLE_HIVE_SCRATCHDIR, next.HIVE_SCRATCHDIR);
+      next.HIVE_SCRATCHDIR_DELAY = setStrVar(VARIABLE_HIVE_SCRATCHDIR_DELAY, next.HIVE_SCRATCHDIR_DELAY);
+      next.HIVE_SCRATCHDIR_CLEANER_INTERVAL = setStrVar(VARIABLE_HIVE_SCRATCHDIR_CLEANER_INTERVAL,
+          next.HIVE_SCRATCHDIR_CLEANER_INTERVAL);
+      next.HIVE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_HIVE_DEFAULT_QUOTA, next.HIVE_DB_DEFAULT_QUOTA);
+      next.HADOOP_VERSION = setVar(VARIABLE_HADOOP_VERSION, next.HADOOP_VERSION);
+      next.JUPYTER_DIR = setDirVar(VARIABLE_JUPYTER_DIR, next.JUPYTER_DIR);
+      next.JUPYTER_WS_PING_INTERVAL_MS = setMillisecondVar(VARIABLE_JUPYTER_WS_PING_INTERVAL,
+          next.JUPYTER_WS_PING_INTERVAL_MS);
+      next.HADOOP_DIR = setDirVar(VARIABLE_HADOOP_DIR, next.HADOOP_DIR);
+      next.HOPSWORKS_INSTALL_DIR = setDirVar(VARIABLE_HOPSWORKS_DIR, next.HOPSWORKS_INSTALL_DIR);
+      next.CERTS_DIR = setDirVar(VARIABLE_CERTS_DIRS, next.CERTS_DIR);
+      next.SUDOERS_DIR = setDirVar(VARIABLE_SUDOERS_DIR, next.SUDOERS_DIR);
+      next.SERVICE_DISCOVERY_DOMAIN = setStrVar(VARIABLE_SERVICE_DISCOVERY_DOMAIN, next.SERVICE_DISCOVERY_DOMAIN);
+      next.AIRFLOW_DIR = setDirVar(VARIABLE_AIRFLOW_DIR, next.AIRFLOW_DIR);
+      next.AIRFLOW_USER = setStrVar(VARIABLE_AIRFLOW_USER, next.AIRFLOW_USER);
       boolean openSearchSecurityEnabled =
           setBoolVar(VARIABLE_OPENSEARCH_SECURITY_ENABLED,
               OpenSearchSettings.OPENSEARCH_SECURTIY_ENABLED_DEFAULT);
@@ -687,314 +1027,327 @@ public class Settings {
       long openSearchJWTEXPMS = setLongVar(VARIABLE_OPENSEARCH_JWT_EXP_MS,
           OpenSearchSettings.OPENSEARCH_JWT_EXP_MS_DEFAULT);
 
-      OPENSEARCH_SETTINGS = new OpenSearchSettings(openSearchSecurityEnabled, openSearchHttpsEnabled,
+      next.OPENSEARCH_SETTINGS = new OpenSearchSettings(openSearchSecurityEnabled, openSearchHttpsEnabled,
           openSearchAdminUser, openSearchAdminPassword, openSearchJWTEnabled,
           openSearchJWTUrlParameter, openSearchJWTEXPMS, openSearchServiceLogUser);
-      OpenSearch_LOGS_INDEX_EXPIRATION = setLongVar(VARIABLE_OPENSEARCH_LOGS_INDEX_EXPIRATION,
-        OpenSearch_LOGS_INDEX_EXPIRATION);
-      KAFKA_MAX_NUM_TOPICS = setIntVar(VARIABLE_KAFKA_MAX_NUM_TOPICS, KAFKA_MAX_NUM_TOPICS);
-      HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = setVar(VARIABLE_HOPSWORKS_SSL_MASTER_PASSWORD,
-          HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD);
-      KAFKA_USER = setVar(VARIABLE_KAFKA_USER, KAFKA_USER);
-      KAFKA_DIR = setDirVar(VARIABLE_KAFKA_DIR, KAFKA_DIR);
-      KAFKA_DEFAULT_NUM_PARTITIONS = setIntVar(VARIABLE_KAFKA_NUM_PARTITIONS, KAFKA_DEFAULT_NUM_PARTITIONS);
-      KAFKA_DEFAULT_NUM_REPLICAS = setIntVar(VARIABLE_KAFKA_NUM_REPLICAS, KAFKA_DEFAULT_NUM_REPLICAS);
-      YARN_DEFAULT_QUOTA = setIntVar(VARIABLE_YARN_DEFAULT_QUOTA, YARN_DEFAULT_QUOTA);
-      DEFAULT_PAYMENT_TYPE = setPaymentType(VARIABLE_PROJECT_PAYMENT_TYPE, DEFAULT_PAYMENT_TYPE);
-      HDFS_DEFAULT_QUOTA_MBs = setLongVar(VARIABLE_HDFS_DEFAULT_QUOTA, HDFS_DEFAULT_QUOTA_MBs);
-      HDFS_LOG_STORAGE_POLICY = setHdfsStoragePolicy(VARIABLE_HDFS_LOG_STORAGE_POLICY, HDFS_LOG_STORAGE_POLICY);
-      MAX_NUM_PROJ_PER_USER = setIntVar(VARIABLE_MAX_NUM_PROJ_PER_USER, MAX_NUM_PROJ_PER_USER);
-      FILE_PREVIEW_IMAGE_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_IMAGE_SIZE, 10000000);
-      FILE_PREVIEW_TXT_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_TXT_SIZE, 100);
-      ANACONDA_DIR = setDirVar(VARIABLE_ANACONDA_DIR, ANACONDA_DIR);
-      ANACONDA_DEFAULT_REPO = setStrVar(VARIABLE_ANACONDA_DEFAULT_REPO, ANACONDA_DEFAULT_REPO);
-      ANACONDA_ENABLED = Boolean.parseBoolean(setStrVar(
-          VARIABLE_ANACONDA_ENABLED, ANACONDA_ENABLED.toString()));
-      DOWNLOAD_ALLOWED = Boolean.parseBoolean(setStrVar(VARIABLE_DOWNLOAD_ALLOWED, DOWNLOAD_ALLOWED.toString()));
-      RESOURCE_DIRS = setStrVar(VARIABLE_RESOURCE_DIRS, RESOURCE_DIRS);
-      MAX_STATUS_POLL_RETRY = setIntVar(VARIABLE_MAX_STATUS_POLL_RETRY, MAX_STATUS_POLL_RETRY);
-      HOPS_RPC_TLS = setStrVar(VARIABLE_HOPS_RPC_TLS, HOPS_RPC_TLS);
-      CERTIFICATE_MATERIALIZER_DELAY = setStrVar(VARIABLE_CERT_MATER_DELAY,
-          CERTIFICATE_MATERIALIZER_DELAY);
-      WHITELIST_USERS_LOGIN = setStrVar(VARIABLE_WHITELIST_USERS_LOGIN,
-          WHITELIST_USERS_LOGIN);
-      FIRST_TIME_LOGIN = setStrVar(VARIABLE_FIRST_TIME_LOGIN, FIRST_TIME_LOGIN);
-      serviceKeyRotationEnabled = setBoolVar(SERVICE_KEY_ROTATION_ENABLED_KEY, serviceKeyRotationEnabled);
-      serviceKeyRotationInterval = setStrVar(SERVICE_KEY_ROTATION_INTERVAL_KEY, serviceKeyRotationInterval);
-      tensorBoardMaxLastAccessed = setIntVar(TENSORBOARD_MAX_LAST_ACCESSED, tensorBoardMaxLastAccessed);
-      sparkUILogsOffset = setIntVar(SPARK_UI_LOGS_OFFSET, sparkUILogsOffset);
-      jupyterShutdownTimerInterval = setStrVar(JUPYTER_SHUTDOWN_TIMER_INTERVAL, jupyterShutdownTimerInterval);
-      checkNodemanagersStatus = setBoolVar(VARIABLE_CHECK_NODEMANAGERS_STATUS, checkNodemanagersStatus);
-
-      populateLDAPCache();
-
-      ZOOKEEPER_VERSION = setStrVar(VARIABLE_ZOOKEEPER_VERSION, ZOOKEEPER_VERSION);
-      GRAFANA_VERSION = setStrVar(VARIABLE_GRAFANA_VERSION, GRAFANA_VERSION);
-      LOGSTASH_VERSION = setStrVar(VARIABLE_LOGSTASH_VERSION, LOGSTASH_VERSION);
-      KIBANA_VERSION = setStrVar(VARIABLE_KIBANA_VERSION, KIBANA_VERSION);
-      FILEBEAT_VERSION = setStrVar(VARIABLE_FILEBEAT_VERSION, FILEBEAT_VERSION);
-      NDB_VERSION = setStrVar(VARIABLE_NDB_VERSION, NDB_VERSION);
-      LIVY_VERSION = setStrVar(VARIABLE_LIVY_VERSION, LIVY_VERSION);
-      HIVE2_VERSION = setStrVar(VARIABLE_HIVE2_VERSION, HIVE2_VERSION);
-      TEZ_VERSION = setStrVar(VARIABLE_TEZ_VERSION, TEZ_VERSION);
-      SPARK_VERSION = setStrVar(VARIABLE_SPARK_VERSION, SPARK_VERSION);
-      FLINK_VERSION = setStrVar(VARIABLE_FLINK_VERSION, FLINK_VERSION);
-      EPIPE_VERSION = setStrVar(VARIABLE_EPIPE_VERSION, EPIPE_VERSION);
-      KAFKA_VERSION = setStrVar(VARIABLE_KAFKA_VERSION, KAFKA_VERSION);
-      OPENSEARCH_VERSION = setStrVar(VARIABLE_OPENSEARCH_VERSION, OPENSEARCH_VERSION);
-      TENSORFLOW_VERSION = setStrVar(VARIABLE_TENSORFLOW_VERSION, TENSORFLOW_VERSION);
-      KUBE_KSERVE_TENSORFLOW_VERSION = setStrVar(VARIABLE_KUBE_KSERVE_TENSORFLOW_VERSION,
-          KUBE_KSERVE_TENSORFLOW_VERSION);
-      HOPSWORKS_VERSION = setStrVar(VARIABLE_HOPSWORKS_VERSION, HOPSWORKS_VERSION);
-      HOPSWORKS_REST_LOG_LEVEL = setLogLevelVar(VARIABLE_HOPSWORKS_REST_LOG_LEVEL, HOPSWORKS_REST_LOG_LEVEL);
-      HOPSWORKS_PUBLIC_HOST = setStrVar(VARIABLE_HOPSWORKS_PUBLIC_HOST, HOPSWORKS_PUBLIC_HOST);
-
-      PYPI_REST_ENDPOINT = setStrVar(VARIABLE_PYPI_REST_ENDPOINT, PYPI_REST_ENDPOINT);
-      PYPI_SIMPLE_ENDPOINT = setStrVar(VARIABLE_PYPI_SIMPLE_ENDPOINT, PYPI_SIMPLE_ENDPOINT);
-      PYPI_INDEXER_TIMER_INTERVAL = setStrVar(VARIABLE_PYPI_INDEXER_TIMER_INTERVAL, PYPI_INDEXER_TIMER_INTERVAL);
-      PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = setStrVar(VARIABLE_PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL,
-        PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL);
-      PYPI_INDEXER_TIMER_ENABLED = setBoolVar(VARIABLE_PYPI_INDEXER_TIMER_ENABLED, PYPI_INDEXER_TIMER_ENABLED);
-
-      IMMUTABLE_PYTHON_LIBRARY_NAMES = toSetFromCsv(
+      next.OpenSearch_LOGS_INDEX_EXPIRATION = setLongVar(VARIABLE_OPENSEARCH_LOGS_INDEX_EXPIRATION,
+        next.OpenSearch_LOGS_INDEX_EXPIRATION);
+      next.KAFKA_MAX_NUM_TOPICS = setIntVar(VARIABLE_KAFKA_MAX_NUM_TOPICS, next.KAFKA_MAX_NUM_TOPICS);
+      next.HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = setVar(VARIABLE_HOPSWORKS_SSL_MASTER_PASSWORD,
+          next.HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD);
+      next.KAFKA_USER = setVar(VARIABLE_KAFKA_USER, next.KAFKA_USER);
+      next.KAFKA_DIR = setDirVar(VARIABLE_KAFKA_DIR, next.KAFKA_DIR);
+      next.KAFKA_DEFAULT_NUM_PARTITIONS = setIntVar(VARIABLE_KAFKA_NUM_PARTITIONS, next.KAFKA_DEFAULT_NUM_PARTITIONS);
+      next.KAFKA_DEFAULT_NUM_REPLICAS = setIntVar(VARIABLE_KAFKA_NUM_REPLICAS, next.KAFKA_DEFAULT_NUM_REPLICAS);
+      next.YARN_DEFAULT_QUOTA = setIntVar(VARIABLE_YARN_DEFAULT_QUOTA, next.YARN_DEFAULT_QUOTA);
+      next.DEFAULT_PAYMENT_TYPE = setPaymentType(VARIABLE_PROJECT_PAYMENT_TYPE, next.DEFAULT_PAYMENT_TYPE);
+      next.HDFS_DEFAULT_QUOTA_MBs = setLongVar(VARIABLE_HDFS_DEFAULT_QUOTA, next.HDFS_DEFAULT_QUOTA_MBs);
+      next.HDFS_LOG_STORAGE_POLICY = setHdfsStoragePolicy(VARIABLE_HDFS_LOG_STORAGE_POLICY,
+          next.HDFS_LOG_STORAGE_POLICY);
+      next.MAX_NUM_PROJ_PER_USER = setIntVar(VARIABLE_MAX_NUM_PROJ_PER_USER, next.MAX_NUM_PROJ_PER_USER);
+      next.FILE_PREVIEW_IMAGE_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_IMAGE_SIZE, 10000000);
+      next.FILE_PREVIEW_TXT_SIZE = setIntVar(VARIABLE_FILE_PREVIEW_TXT_SIZE, 100);
+      next.ANACONDA_DIR = setDirVar(VARIABLE_ANACONDA_DIR, next.ANACONDA_DIR);
+      next.ANACONDA_DEFAULT_REPO = setStrVar(VARIABLE_ANACONDA_DEFAULT_REPO, next.ANACONDA_DEFAULT_REPO);
+      next.ANACONDA_ENABLED = Boolean.parseBoolean(setStrVar(
+          VARIABLE_ANACONDA_ENABLED, next.ANACONDA_ENABLED.toString()));
+      next.DOWNLOAD_ALLOWED = Boolean.parseBoolean(setStrVar(VARIABLE_DOWNLOAD_ALLOWED,
+          next.DOWNLOAD_ALLOWED.toString()));
+      next.RESOURCE_DIRS = setStrVar(VARIABLE_RESOURCE_DIRS, next.RESOURCE_DIRS);
+      next.MAX_STATUS_POLL_RETRY = setIntVar(VARIABLE_MAX_STATUS_POLL_RETRY, next.MAX_STATUS_POLL_RETRY);
+      next.HOPS_RPC_TLS = setStrVar(VARIABLE_HOPS_RPC_TLS, next.HOPS_RPC_TLS);
+      next.CERTIFICATE_MATERIALIZER_DELAY = setStrVar(VARIABLE_CERT_MATER_DELAY,
+          next.CERTIFICATE_MATERIALIZER_DELAY);
+      next.WHITELIST_USERS_LOGIN = setStrVar(VARIABLE_WHITELIST_USERS_LOGIN,
+          next.WHITELIST_USERS_LOGIN);
+      next.FIRST_TIME_LOGIN = setStrVar(VARIABLE_FIRST_TIME_LOGIN, next.FIRST_TIME_LOGIN);
+      next.serviceKeyRotationEnabled = setBoolVar(SERVICE_KEY_ROTATION_ENABLED_KEY, next.serviceKeyRotationEnabled);
+      next.serviceKeyRotationInterval = setStrVar(SERVICE_KEY_ROTATION_INTERVAL_KEY, next.serviceKeyRotationInterval);
+      next.tensorBoardMaxLastAccessed = setIntVar(TENSORBOARD_MAX_LAST_ACCESSED, next.tensorBoardMaxLastAccessed);
+      next.sparkUILogsOffset = setIntVar(SPARK_UI_LOGS_OFFSET, next.sparkUILogsOffset);
+      next.jupyterShutdownTimerInterval = setStrVar(JUPYTER_SHUTDOWN_TIMER_INTERVAL, next.jupyterShutdownTimerInterval);
+      next.checkNodemanagersStatus = setBoolVar(VARIABLE_CHECK_NODEMANAGERS_STATUS, next.checkNodemanagersStatus);
+
+      populateLDAPCache(next);
+
+      next.ZOOKEEPER_VERSION = setStrVar(VARIABLE_ZOOKEEPER_VERSION, next.ZOOKEEPER_VERSION);
+      next.GRAFANA_VERSION = setStrVar(VARIABLE_GRAFANA_VERSION, next.GRAFANA_VERSION);
+      next.LOGSTASH_VERSION = setStrVar(VARIABLE_LOGSTASH_VERSION, next.LOGSTASH_VERSION);
+      next.KIBANA_VERSION = setStrVar(VARIABLE_KIBANA_VERSION, next.KIBANA_VERSION);
+      next.FILEBEAT_VERSION = setStrVar(VARIABLE_FILEBEAT_VERSION, next.FILEBEAT_VERSION);
+      next.NDB_VERSION = setStrVar(VARIABLE_NDB_VERSION, next.NDB_VERSION);
+      next.LIVY_VERSION = setStrVar(VARIABLE_LIVY_VERSION, next.LIVY_VERSION);
+      next.HIVE2_VERSION = setStrVar(VARIABLE_HIVE2_VERSION, next.HIVE2_VERSION);
+      next.TEZ_VERSION = setStrVar(VARIABLE_TEZ_VERSION, next.TEZ_VERSION);
+      next.SPARK_VERSION = setStrVar(VARIABLE_SPARK_VERSION, next.SPARK_VERSION);
+      next.FLINK_VERSION = setStrVar(VARIABLE_FLINK_VERSION, next.FLINK_VERSION);
+      next.EPIPE_VERSION = setStrVar(VARIABLE_EPIPE_VERSION, next.EPIPE_VERSION);
+      next.KAFKA_VERSION = setStrVar(VARIABLE_KAFKA_VERSION, next.KAFKA_VERSION);
+      next.OPENSEARCH_VERSION = setStrVar(VARIABLE_OPENSEARCH_VERSION, next.OPENSEARCH_VERSION);
+      next.TENSORFLOW_VERSION = setStrVar(VARIABLE_TENSORFLOW_VERSION, next.TENSORFLOW_VERSION);
+      next.KUBE_KSERVE_TENSORFLOW_VERSION = setStrVar(VARIABLE_KUBE_KSERVE_TENSORFLOW_VERSION,
+          next.KUBE_KSERVE_TENSORFLOW_VERSION);
+      next.HOPSWORKS_VERSION = setStrVar(VARIABLE_HOPSWORKS_VERSION, next.HOPSWORKS_VERSION);
+      next.HOPSWORKS_REST_LOG_LEVEL = setLogLevelVar(VARIABLE_HOPSWORKS_REST_LOG_LEVEL, next.HOPSWORKS_REST_LOG_LEVEL);
+      next.HOPSWORKS_PUBLIC_HOST = setStrVar(VARIABLE_HOPSWORKS_PUBLIC_HOST, next.HOPSWORKS_PUBLIC_HOST);
+
+      next.PYPI_REST_ENDPOINT = setStrVar(VARIABLE_PYPI_REST_ENDPOINT, next.PYPI_REST_ENDPOINT);
+      next.PYPI_SIMPLE_ENDPOINT = setStrVar(VARIABLE_PYPI_SIMPLE_ENDPOINT, next.PYPI_SIMPLE_ENDPOINT);
+      next.PYPI_INDEXER_TIMER_INTERVAL = setStrVar(VARIABLE_PYPI_INDEXER_TIMER_INTERVAL,
+          next.PYPI_INDEXER_TIMER_INTERVAL);
+      next.PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = setStrVar(VARIABLE_PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL,
+        next.PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL);
+      next.PYPI_INDEXER_TIMER_ENABLED = setBoolVar(VARIABLE_PYPI_INDEXER_TIMER_ENABLED,
+          next.PYPI_INDEXER_TIMER_ENABLED);
+
+      next.IMMUTABLE_PYTHON_LIBRARY_NAMES = toImmutableSetFromCsv(
           setStrVar(VARIABLE_IMMUTABLE_PYTHON_LIBRARY_NAMES, DEFAULT_IMMUTABLE_PYTHON_LIBRARY_NAMES),
           ",");
 
-      ENABLE_DATA_SCIENCE_PROFILE = setBoolVar(VARIABLE_ENABLE_DATA_SCIENCE_PROFILE, ENABLE_DATA_SCIENCE_PROFILE);
-
-      SERVING_MONITOR_INT = setStrVar(VARIABLE_SERVING_MONITOR_INT, SERVING_MONITOR_INT);
-      SERVING_CONNECTION_POOL_SIZE = setIntVar(VARIABLE_SERVING_CONNECTION_POOL_SIZE,
-        SERVING_CONNECTION_POOL_SIZE);
-      SERVING_MAX_ROUTE_CONNECTIONS = setIntVar(VARIABLE_SERVING_MAX_ROUTE_CONNECTIONS,
-        SERVING_MAX_ROUTE_CONNECTIONS);
-
-      TENSORBOARD_MAX_RELOAD_THREADS = setIntVar(VARIABLE_TENSORBOARD_MAX_RELOAD_THREADS,
-          TENSORBOARD_MAX_RELOAD_THREADS);
-
-      KUBE_USER = setStrVar(VARIABLE_KUBE_USER, KUBE_USER);
-      KUBE_HOPSWORKS_USER = setStrVar(VARIABLE_KUBE_HOPSWORKS_USER, KUBE_HOPSWORKS_USER);
-      KUBEMASTER_URL = setStrVar(VARIABLE_KUBEMASTER_URL, KUBEMASTER_URL);
-      KUBE_CA_CERTFILE = setStrVar(VARIABLE_KUBE_CA_CERTFILE, KUBE_CA_CERTFILE);
-      KUBE_CLIENT_KEYFILE = setStrVar(VARIABLE_KUBE_CLIENT_KEYFILE, KUBE_CLIENT_KEYFILE);
-      KUBE_CLIENT_CERTFILE = setStrVar(VARIABLE_KUBE_CLIENT_CERTFILE, KUBE_CLIENT_CERTFILE);
-      KUBE_CLIENT_KEYPASS = setStrVar(VARIABLE_KUBE_CLIENT_KEYPASS, KUBE_CLIENT_KEYPASS);
-      KUBE_TRUSTSTORE_PATH = setStrVar(VARIABLE_KUBE_TRUSTSTORE_PATH, KUBE_TRUSTSTORE_PATH);
-      KUBE_TRUSTSTORE_KEY = setStrVar(VARIABLE_KUBE_TRUSTSTORE_KEY, KUBE_TRUSTSTORE_KEY);
-      KUBE_KEYSTORE_PATH = setStrVar(VARIABLE_KUBE_KEYSTORE_PATH, KUBE_KEYSTORE_PATH);
-      KUBE_KEYSTORE_KEY = setStrVar(VARIABLE_KUBE_KEYSTORE_KEY, KUBE_KEYSTORE_KEY);
-      KUBE_PULL_POLICY = setStrVar(VARIABLE_KUBE_PULL_POLICY, KUBE_PULL_POLICY);
-      KUBE_API_MAX_ATTEMPTS = setIntVar(VARIABLE_KUBE_API_MAX_ATTEMPTS, KUBE_API_MAX_ATTEMPTS);
-      KUBE_DOCKER_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_MEMORY_ALLOCATION,
-          KUBE_DOCKER_MAX_MEMORY_ALLOCATION);
-      KUBE_DOCKER_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_DOCKER_MAX_CORES_ALLOCATION,
-          KUBE_DOCKER_MAX_CORES_ALLOCATION);
-      KUBE_DOCKER_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_GPUS_ALLOCATION,
-          KUBE_DOCKER_MAX_GPUS_ALLOCATION);
-      KUBE_INSTALLED = setBoolVar(VARIABLE_KUBE_INSTALLED, KUBE_INSTALLED);
-      KUBE_KSERVE_INSTALLED = setBoolVar(VARIABLE_KUBE_KSERVE_INSTALLED, KUBE_KSERVE_INSTALLED);
-      KUBE_SERVING_NODE_LABELS = setStrVar(VARIABLE_KUBE_SERVING_NODE_LABELS, KUBE_SERVING_NODE_LABELS);
-      KUBE_SERVING_NODE_TOLERATIONS = setStrVar(VARIABLE_KUBE_SERVING_NODE_TOLERATIONS, KUBE_SERVING_NODE_TOLERATIONS);
-      KUBE_SERVING_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_MEMORY_ALLOCATION,
-        KUBE_SERVING_MAX_MEMORY_ALLOCATION);
-      KUBE_SERVING_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_SERVING_MAX_CORES_ALLOCATION,
-        KUBE_SERVING_MAX_CORES_ALLOCATION);
-      KUBE_SERVING_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_GPUS_ALLOCATION,
-        KUBE_SERVING_MAX_GPUS_ALLOCATION);
-      KUBE_SERVING_MAX_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MAX_NUM_INSTANCES,
-        KUBE_SERVING_MAX_NUM_INSTANCES);
-      KUBE_SERVING_MIN_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MIN_NUM_INSTANCES,
-        KUBE_SERVING_MIN_NUM_INSTANCES);
-      KUBE_KNATIVE_DOMAIN_NAME = setStrVar(VARIABLE_KUBE_KNATIVE_DOMAIN_NAME, KUBE_KNATIVE_DOMAIN_NAME);
-      KUBE_TAINTED_NODES = setStrVar(VARIABLE_KUBE_TAINTED_NODES, KUBE_TAINTED_NODES);
-      KUBE_TAINTED_NODES_MONITOR_INTERVAL = setStrVar(VARIABLE_KUBE_TAINTED_NODES_MONITOR_INTERVAL,
-          KUBE_TAINTED_NODES_MONITOR_INTERVAL);
-
-      HOPSWORKS_ENTERPRISE = setBoolVar(VARIABLE_HOPSWORKS_ENTERPRISE, HOPSWORKS_ENTERPRISE);
-
-      JUPYTER_HOST = setStrVar(VARIABLE_JUPYTER_HOST, JUPYTER_HOST);
-
-      JWT_SIGNATURE_ALGORITHM = setStrVar(VARIABLE_JWT_SIGNATURE_ALGORITHM, JWT_SIGNATURE_ALGORITHM);
-      JWT_LIFETIME_MS = setLongVar(VARIABLE_JWT_LIFETIME_MS, JWT_LIFETIME_MS);
-      JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_JWT_EXP_LEEWAY_SEC, JWT_EXP_LEEWAY_SEC);
-      JWT_SIGNING_KEY_NAME = setStrVar(VARIABLE_JWT_SIGNING_KEY_NAME, JWT_SIGNING_KEY_NAME);
-      JWT_ISSUER = setStrVar(VARIABLE_JWT_ISSUER_KEY, JWT_ISSUER);
-
-      SERVICE_JWT_LIFETIME_MS = setLongVar(VARIABLE_SERVICE_JWT_LIFETIME_MS, SERVICE_JWT_LIFETIME_MS);
-      SERVICE_JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_SERVICE_JWT_EXP_LEEWAY_SEC, SERVICE_JWT_EXP_LEEWAY_SEC);
-
-      CONNECTION_KEEPALIVE_TIMEOUT = setIntVar(VARIABLE_CONNECTION_KEEPALIVE_TIMEOUT, CONNECTION_KEEPALIVE_TIMEOUT);
-
-      FEATURESTORE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_FEATURESTORE_DEFAULT_QUOTA, FEATURESTORE_DB_DEFAULT_QUOTA);
-      FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT =
-          setStrVar(VARIABLE_FEATURESTORE_DEFAULT_STORAGE_FORMAT, FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT);
-      FEATURESTORE_JDBC_URL = setStrVar(VARIABLE_FEATURESTORE_JDBC_URL, FEATURESTORE_JDBC_URL);
-      FEATURESTORE_DB_ADMIN_USER = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_USER, FEATURESTORE_DB_ADMIN_USER);
-      FEATURESTORE_DB_ADMIN_PWD = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_PWD, FEATURESTORE_DB_ADMIN_PWD);
-      ONLINE_FEATURESTORE = setBoolVar(VARIABLE_ONLINE_FEATURESTORE, ONLINE_FEATURESTORE);
-      ONLINE_FEATURESTORE_TS = setStrVar(VARIABLE_ONLINE_FEATURESTORE_TS, ONLINE_FEATURESTORE_TS);
-      ONLINEFS_THREAD_NUMBER = setIntVar(VARIABLE_ONLINEFS_THREAD_NUMBER, ONLINEFS_THREAD_NUMBER);
-
-      KIBANA_HTTPS_ENABELED = setBoolVar(VARIABLE_KIBANA_HTTPS_ENABLED,
-          KIBANA_HTTPS_ENABELED);
-  
-      KIBANA_MULTI_TENANCY_ENABELED = setBoolVar(VARIABLE_KIBANA_MULTI_TENANCY_ENABLED,
-          KIBANA_MULTI_TENANCY_ENABELED);
-  
-      RESERVED_PROJECT_NAMES =
-        setStringHashSetLowerCase(VARIABLE_RESERVED_PROJECT_NAMES, DEFAULT_RESERVED_PROJECT_NAMES, ",");
-  
-      CLOUD_EVENTS_ENDPOINT = setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT,
-          CLOUD_EVENTS_ENDPOINT);
-  
-      CLOUD_EVENTS_ENDPOINT_API_KEY =
-          setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT_API_KEY, CLOUD_EVENTS_ENDPOINT_API_KEY);
-
-      FG_PREVIEW_LIMIT = setIntVar(VARIABLE_FG_PREVIEW_LIMIT, FG_PREVIEW_LIMIT);
-      HIVE_CONF_PATH = setStrVar(VARIABLE_HIVE_CONF_PATH, HIVE_CONF_PATH);
-      FS_PY_JOB_UTIL_PATH = setStrVar(VARIABLE_FS_PY_JOB_UTIL_PATH, FS_PY_JOB_UTIL_PATH);
-      FS_JAVA_JOB_UTIL_PATH  = setStrVar(VARIABLE_FS_JAVA_JOB_UTIL_PATH, FS_JAVA_JOB_UTIL_PATH);
-      HDFS_FILE_OP_JOB_UTIL  = setStrVar(VARIABLE_HDFS_FILE_OP_JOB_UTIL, HDFS_FILE_OP_JOB_UTIL);
-      HDFS_FILE_OP_JOB_DRIVER_MEM  = setIntVar(VARIABLE_HDFS_FILE_OP_JOB_DRIVER_MEM, HDFS_FILE_OP_JOB_DRIVER_MEM);
-
-      ENABLE_REDSHIFT_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_REDSHIFT_STORAGE_CONNECTORS,
-              ENABLE_REDSHIFT_STORAGE_CONNECTORS);
-      ENABLE_ADLS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_ADLS_STORAGE_CONNECTORS,
-              ENABLE_ADLS_STORAGE_CONNECTORS);
-      ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_SNOWFLAKE_STORAGE_CONNECTORS,
-              ENABLE_SNOWFLAKE_STORAGE_CONNECTORS);
-      ENABLE_KAFKA_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_KAFKA_STORAGE_CONNECTORS,
-              ENABLE_KAFKA_STORAGE_CONNECTORS);
-      ENABLE_GCS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_GCS_STORAGE_CONNECTORS,
-              ENABLE_GCS_STORAGE_CONNECTORS);
-      ENABLE_BIGQUERY_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_BIGQUERY_STORAGE_CONNECTORS,
-              ENABLE_BIGQUERY_STORAGE_CONNECTORS);
+      next.ENABLE_DATA_SCIENCE_PROFILE = setBoolVar(VARIABLE_ENABLE_DATA_SCIENCE_PROFILE,
+          next.ENABLE_DATA_SCIENCE_PROFILE);
+
+      next.SERVING_MONITOR_INT = setStrVar(VARIABLE_SERVING_MONITOR_INT, next.SERVING_MONITOR_INT);
+      next.SERVING_CONNECTION_POOL_SIZE = setIntVar(VARIABLE_SERVING_CONNECTION_POOL_SIZE,
+        next.SERVING_CONNECTION_POOL_SIZE);
+      next.SERVING_MAX_ROUTE_CONNECTIONS = setIntVar(VARIABLE_SERVING_MAX_ROUTE_CONNECTIONS,
+        next.SERVING_MAX_ROUTE_CONNECTIONS);
+
+      next.TENSORBOARD_MAX_RELOAD_THREADS = setIntVar(VARIABLE_TENSORBOARD_MAX_RELOAD_THREADS,
+          next.TENSORBOARD_MAX_RELOAD_THREADS);
+
+      next.KUBE_USER = setStrVar(VARIABLE_KUBE_USER, next.KUBE_USER);
+      next.KUBE_HOPSWORKS_USER = setStrVar(VARIABLE_KUBE_HOPSWORKS_USER, next.KUBE_HOPSWORKS_USER);
+      next.KUBEMASTER_URL = setStrVar(VARIABLE_KUBEMASTER_URL, next.KUBEMASTER_URL);
+      next.KUBE_CA_CERTFILE = setStrVar(VARIABLE_KUBE_CA_CERTFILE, next.KUBE_CA_CERTFILE);
+      next.KUBE_CLIENT_KEYFILE = setStrVar(VARIABLE_KUBE_CLIENT_KEYFILE, next.KUBE_CLIENT_KEYFILE);
+      next.KUBE_CLIENT_CERTFILE = setStrVar(VARIABLE_KUBE_CLIENT_CERTFILE, next.KUBE_CLIENT_CERTFILE);
+      next.KUBE_CLIENT_KEYPASS = setStrVar(VARIABLE_KUBE_CLIENT_KEYPASS, next.KUBE_CLIENT_KEYPASS);
+      next.KUBE_TRUSTSTORE_PATH = setStrVar(VARIABLE_KUBE_TRUSTSTORE_PATH, next.KUBE_TRUSTSTORE_PATH);
+      next.KUBE_TRUSTSTORE_KEY = setStrVar(VARIABLE_KUBE_TRUSTSTORE_KEY, next.KUBE_TRUSTSTORE_KEY);
+      next.KUBE_KEYSTORE_PATH = setStrVar(VARIABLE_KUBE_KEYSTORE_PATH, next.KUBE_KEYSTORE_PATH);
+      next.KUBE_KEYSTORE_KEY = setStrVar(VARIABLE_KUBE_KEYSTORE_KEY, next.KUBE_KEYSTORE_KEY);
+      next.KUBE_PULL_POLICY = setStrVar(VARIABLE_KUBE_PULL_POLICY, next.KUBE_PULL_POLICY);
+      next.KUBE_API_MAX_ATTEMPTS = setIntVar(VARIABLE_KUBE_API_MAX_ATTEMPTS, next.KUBE_API_MAX_ATTEMPTS);
+      next.KUBE_DOCKER_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_MEMORY_ALLOCATION,
+          next.KUBE_DOCKER_MAX_MEMORY_ALLOCATION);
+      next.KUBE_DOCKER_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_DOCKER_MAX_CORES_ALLOCATION,
+          next.KUBE_DOCKER_MAX_CORES_ALLOCATION);
+      next.KUBE_DOCKER_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_DOCKER_MAX_GPUS_ALLOCATION,
+          next.KUBE_DOCKER_MAX_GPUS_ALLOCATION);
+      next.KUBE_INSTALLED = setBoolVar(VARIABLE_KUBE_INSTALLED, next.KUBE_INSTALLED);
+      next.KUBE_KSERVE_INSTALLED = setBoolVar(VARIABLE_KUBE_KSERVE_INSTALLED, next.KUBE_KSERVE_INSTALLED);
+      next.KUBE_SERVING_NODE_LABELS = setStrVar(VARIABLE_KUBE_SERVING_NODE_LABELS, next.KUBE_SERVING_NODE_LABELS);
+      next.KUBE_SERVING_NODE_TOLERATIONS = setStrVar(VARIABLE_KUBE_SERVING_NODE_TOLERATIONS,
+          next.KUBE_SERVING_NODE_TOLERATIONS);
+      next.KUBE_SERVING_MAX_MEMORY_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_MEMORY_ALLOCATION,
+        next.KUBE_SERVING_MAX_MEMORY_ALLOCATION);
+      next.KUBE_SERVING_MAX_CORES_ALLOCATION = setDoubleVar(VARIABLE_KUBE_SERVING_MAX_CORES_ALLOCATION,
+        next.KUBE_SERVING_MAX_CORES_ALLOCATION);
+      next.KUBE_SERVING_MAX_GPUS_ALLOCATION = setIntVar(VARIABLE_KUBE_SERVING_MAX_GPUS_ALLOCATION,
+        next.KUBE_SERVING_MAX_GPUS_ALLOCATION);
+      next.KUBE_SERVING_MAX_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MAX_NUM_INSTANCES,
+        next.KUBE_SERVING_MAX_NUM_INSTANCES);
+      next.KUBE_SERVING_MIN_NUM_INSTANCES = setIntVar(VARIABLE_KUBE_SERVING_MIN_NUM_INSTANCES,
+        next.KUBE_SERVING_MIN_NUM_INSTANCES);
+      next.KUBE_KNATIVE_DOMAIN_NAME = setStrVar(VARIABLE_KUBE_KNATIVE_DOMAIN_NAME, next.KUBE_KNATIVE_DOMAIN_NAME);
+      next.KUBE_TAINTED_NODES = setStrVar(VARIABLE_KUBE_TAINTED_NODES, next.KUBE_TAINTED_NODES);
+      next.KUBE_TAINTED_NODES_MONITOR_INTERVAL = setStrVar(VARIABLE_KUBE_TAINTED_NODES_MONITOR_INTERVAL,
+          next.KUBE_TAINTED_NODES_MONITOR_INTERVAL);
+
+      next.HOPSWORKS_ENTERPRISE = setBoolVar(VARIABLE_HOPSWORKS_ENTERPRISE, next.HOPSWORKS_ENTERPRISE);
+
+      next.JUPYTER_HOST = setStrVar(VARIABLE_JUPYTER_HOST, next.JUPYTER_HOST);
+
+      next.JWT_SIGNATURE_ALGORITHM = setStrVar(VARIABLE_JWT_SIGNATURE_ALGORITHM, next.JWT_SIGNATURE_ALGORITHM);
+      next.JWT_LIFETIME_MS = setLongVar(VARIABLE_JWT_LIFETIME_MS, next.JWT_LIFETIME_MS);
+      next.JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_JWT_EXP_LEEWAY_SEC, next.JWT_EXP_LEEWAY_SEC);
+      next.JWT_SIGNING_KEY_NAME = setStrVar(VARIABLE_JWT_SIGNING_KEY_NAME, next.JWT_SIGNING_KEY_NAME);
+      next.JWT_ISSUER = setStrVar(VARIABLE_JWT_ISSUER_KEY, next.JWT_ISSUER);
+
+      next.SERVICE_JWT_LIFETIME_MS = setLongVar(VARIABLE_SERVICE_JWT_LIFETIME_MS, next.SERVICE_JWT_LIFETIME_MS);
+      next.SERVICE_JWT_EXP_LEEWAY_SEC = setIntVar(VARIABLE_SERVICE_JWT_EXP_LEEWAY_SEC, next.SERVICE_JWT_EXP_LEEWAY_SEC);
+
+      next.CONNECTION_KEEPALIVE_TIMEOUT = setIntVar(VARIABLE_CONNECTION_KEEPALIVE_TIMEOUT,
+          next.CONNECTION_KEEPALIVE_TIMEOUT);
+
+      next.FEATURESTORE_DB_DEFAULT_QUOTA = setLongVar(VARIABLE_FEATURESTORE_DEFAULT_QUOTA,
+          next.FEATURESTORE_DB_DEFAULT_QUOTA);
+      next.FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT =
+          setStrVar(VARIABLE_FEATURESTORE_DEFAULT_STORAGE_FORMAT, next.FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT);
+      next.FEATURESTORE_JDBC_URL = setStrVar(VARIABLE_FEATURESTORE_JDBC_URL, next.FEATURESTORE_JDBC_URL);
+      next.FEATURESTORE_DB_ADMIN_USER = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_USER, next.FEATURESTORE_DB_ADMIN_USER);
+      next.FEATURESTORE_DB_ADMIN_PWD = setStrVar(VARIABLE_FEATURESTORE_DB_ADMIN_PWD, next.FEATURESTORE_DB_ADMIN_PWD);
+      next.ONLINE_FEATURESTORE = setBoolVar(VARIABLE_ONLINE_FEATURESTORE, next.ONLINE_FEATURESTORE);
+      next.ONLINE_FEATURESTORE_TS = setStrVar(VARIABLE_ONLINE_FEATURESTORE_TS, next.ONLINE_FEATURESTORE_TS);
+      next.ONLINEFS_THREAD_NUMBER = setIntVar(VARIABLE_ONLINEFS_THREAD_NUMBER, next.ONLINEFS_THREAD_NUMBER);
+
+      next.KIBANA_HTTPS_ENABELED = setBoolVar(VARIABLE_KIBANA_HTTPS_ENABLED,
+          next.KIBANA_HTTPS_ENABELED);
+  
+      next.KIBANA_MULTI_TENANCY_ENABELED = setBoolVar(VARIABLE_KIBANA_MULTI_TENANCY_ENABLED,
+          next.KIBANA_MULTI_TENANCY_ENABELED);
+  
+      next.RESERVED_PROJECT_NAMES_STR = setStrVar(VARIABLE_RESERVED_PROJECT_NAMES, DEFAULT_RESERVED_PROJECT_NAMES);
+      Set<String> reservedProjectNames = setStringHashSetLowerCase(next.RESERVED_PROJECT_NAMES_STR, ",", true);
+      reservedProjectNames.addAll(getReservedHiveNames());
+      next.RESERVED_PROJECT_NAMES = Collections.unmodifiableSet(reservedProjectNames);
+  
+      next.CLOUD_EVENTS_ENDPOINT = setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT,
+          next.CLOUD_EVENTS_ENDPOINT);
+  
+      next.CLOUD_EVENTS_ENDPOINT_API_KEY =
+          setStrVar(VARIABLE_CLOUD_EVENTS_ENDPOINT_API_KEY, next.CLOUD_EVENTS_ENDPOINT_API_KEY);
+
+      next.FG_PREVIEW_LIMIT = setIntVar(VARIABLE_FG_PREVIEW_LIMIT, next.FG_PREVIEW_LIMIT);
+      next.HIVE_CONF_PATH = setStrVar(VARIABLE_HIVE_CONF_PATH, next.HIVE_CONF_PATH);
+      next.FS_PY_JOB_UTIL_PATH = setStrVar(VARIABLE_FS_PY_JOB_UTIL_PATH, next.FS_PY_JOB_UTIL_PATH);
+      next.FS_JAVA_JOB_UTIL_PATH  = setStrVar(VARIABLE_FS_JAVA_JOB_UTIL_PATH, next.FS_JAVA_JOB_UTIL_PATH);
+      next.HDFS_FILE_OP_JOB_UTIL  = setStrVar(VARIABLE_HDFS_FILE_OP_JOB_UTIL, next.HDFS_FILE_OP_JOB_UTIL);
+      next.HDFS_FILE_OP_JOB_DRIVER_MEM  = setIntVar(VARIABLE_HDFS_FILE_OP_JOB_DRIVER_MEM,
+          next.HDFS_FILE_OP_JOB_DRIVER_MEM);
+
+      next.ENABLE_REDSHIFT_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_REDSHIFT_STORAGE_CONNECTORS,
+              next.ENABLE_REDSHIFT_STORAGE_CONNECTORS);
+      next.ENABLE_ADLS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_ADLS_STORAGE_CONNECTORS,
+              next.ENABLE_ADLS_STORAGE_CONNECTORS);
+      next.ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_SNOWFLAKE_STORAGE_CONNECTORS,
+              next.ENABLE_SNOWFLAKE_STORAGE_CONNECTORS);
+      next.ENABLE_KAFKA_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_KAFKA_STORAGE_CONNECTORS,
+              next.ENABLE_KAFKA_STORAGE_CONNECTORS);
+      next.ENABLE_GCS_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_GCS_STORAGE_CONNECTORS,
+              next.ENABLE_GCS_STORAGE_CONNECTORS);
+      next.ENABLE_BIGQUERY_STORAGE_CONNECTORS = setBoolVar(VARIABLE_ENABLE_BIGQUERY_STORAGE_CONNECTORS,
+              next.ENABLE_BIGQUERY_STORAGE_CONNECTORS);
 
       // BYOK
-      ENABLE_BRING_YOUR_OWN_KAFKA = setBoolVar(VARIABLE_ENABLE_BRING_YOUR_OWN_KAFKA,
-          ENABLE_BRING_YOUR_OWN_KAFKA);
+      next.ENABLE_BRING_YOUR_OWN_KAFKA = setBoolVar(VARIABLE_ENABLE_BRING_YOUR_OWN_KAFKA,
+          next.ENABLE_BRING_YOUR_OWN_KAFKA);
   
       // Statistics
-      STATISTICS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_STATISTICS_CLEANER_BATCH_SIZE, STATISTICS_CLEANER_BATCH_SIZE);
-      STATISTICS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_STATISTICS_CLEANER_INTERVAL_MS,
-        STATISTICS_CLEANER_INTERVAL_MS);
+      next.STATISTICS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_STATISTICS_CLEANER_BATCH_SIZE,
+          next.STATISTICS_CLEANER_BATCH_SIZE);
+      next.STATISTICS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_STATISTICS_CLEANER_INTERVAL_MS,
+        next.STATISTICS_CLEANER_INTERVAL_MS);
       
       // Feature monitoring
-      ENABLE_FEATURE_MONITORING = setBoolVar(VARIABLE_ENABLE_FEATURE_MONITORING,
-        ENABLE_FEATURE_MONITORING);
+      next.ENABLE_FEATURE_MONITORING = setBoolVar(VARIABLE_ENABLE_FEATURE_MONITORING,
+        next.ENABLE_FEATURE_MONITORING);
       
-      TESTCONNECTOR_IMAGE_VERSION = setStrVar(VARIABLE_CONNECTOR_IMAGE_VERSION, "0.1");
-      YARN_RUNTIME = setStrVar(VARIABLE_YARN_RUNTIME, YARN_RUNTIME);
-      DOCKER_MOUNTS = setStrVar(VARIABLE_DOCKER_MOUNTS, DOCKER_MOUNTS);
-      DOCKER_JOB_MOUNTS_LIST = setStrVar(VARIABLE_DOCKER_JOB_MOUNTS_LIST, DOCKER_JOB_MOUNTS_LIST);
-      DOCKER_JOB_MOUNT_ALLOWED = setBoolVar(VARIABLE_DOCKER_JOB_MOUNT_ALLOWED, DOCKER_JOB_MOUNT_ALLOWED);
-      DOCKER_JOB_UID_STRICT = setBoolVar(VARIABLE_DOCKER_JOB_UID_STRICT, DOCKER_JOB_UID_STRICT);
-      DOCKER_BASE_IMAGE_PYTHON_NAME = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_NAME, DOCKER_BASE_IMAGE_PYTHON_NAME);
-      DOCKER_BASE_IMAGE_PYTHON_VERSION = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_VERSION,
-          DOCKER_BASE_IMAGE_PYTHON_VERSION);
+      next.TESTCONNECTOR_IMAGE_VERSION = setStrVar(VARIABLE_CONNECTOR_IMAGE_VERSION, "0.1");
+      next.YARN_RUNTIME = setStrVar(VARIABLE_YARN_RUNTIME, next.YARN_RUNTIME);
+      next.DOCKER_MOUNTS = setStrVar(VARIABLE_DOCKER_MOUNTS, next.DOCKER_MOUNTS);
+      next.DOCKER_JOB_MOUNTS_LIST = setStrVar(VARIABLE_DOCKER_JOB_MOUNTS_LIST, next.DOCKER_JOB_MOUNTS_LIST);
+      next.DOCKER_JOB_MOUNT_ALLOWED = setBoolVar(VARIABLE_DOCKER_JOB_MOUNT_ALLOWED, next.DOCKER_JOB_MOUNT_ALLOWED);
+      next.DOCKER_JOB_UID_STRICT = setBoolVar(VARIABLE_DOCKER_JOB_UID_STRICT, next.DOCKER_JOB_UID_STRICT);
+      next.DOCKER_BASE_IMAGE_PYTHON_NAME = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_NAME,
+          next.DOCKER_BASE_IMAGE_PYTHON_NAME);
+      next.DOCKER_BASE_IMAGE_PYTHON_VERSION = setStrVar(VARIABLE_DOCKER_BASE_IMAGE_PYTHON_VERSION,
+          next.DOCKER_BASE_IMAGE_PYTHON_VERSION);
 
       // Job executions cleaner variables
-      EXECUTIONS_PER_JOB_LIMIT =  setIntVar(VARIABLE_EXECUTIONS_PER_JOB_LIMIT, EXECUTIONS_PER_JOB_LIMIT);
-      EXECUTIONS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_EXECUTIONS_CLEANER_BATCH_SIZE, EXECUTIONS_CLEANER_BATCH_SIZE);
-      EXECUTIONS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_EXECUTIONS_CLEANER_INTERVAL_MS,
-                                                 EXECUTIONS_CLEANER_INTERVAL_MS);
-
-      YARN_APP_UID = setLongVar(VARIABLE_YARN_APP_UID, YARN_APP_UID);
-      populateProvenanceCache();
+      next.EXECUTIONS_PER_JOB_LIMIT =  setIntVar(VARIABLE_EXECUTIONS_PER_JOB_LIMIT, next.EXECUTIONS_PER_JOB_LIMIT);
+      next.EXECUTIONS_CLEANER_BATCH_SIZE =  setIntVar(VARIABLE_EXECUTIONS_CLEANER_BATCH_SIZE,
+          next.EXECUTIONS_CLEANER_BATCH_SIZE);
+      next.EXECUTIONS_CLEANER_INTERVAL_MS = setIntVar(VARIABLE_EXECUTIONS_CLEANER_INTERVAL_MS,
+                                                 next.EXECUTIONS_CLEANER_INTERVAL_MS);
+
+      next.YARN_APP_UID = setLongVar(VARIABLE_YARN_APP_UID, next.YARN_APP_UID);
+      populateProvenanceCache(next);
       
-      CLIENT_PATH = setStrVar(VARIABLE_CLIENT_PATH, CLIENT_PATH);
-      KUBE_TYPE = KubeType.fromString(setStrVar(VARIABLE_KUBE_TYPE, KUBE_TYPE.name));
-      DOCKER_NAMESPACE = setStrVar(VARIABLE_DOCKER_NAMESPACE, DOCKER_NAMESPACE);
-      MANAGED_DOCKER_REGISTRY = setBoolVar(VARIABLE_MANAGED_DOCKER_REGISTRY,
-          MANAGED_DOCKER_REGISTRY);
-
-      MAX_ENV_YML_BYTE_SIZE = setIntVar(VARIABLE_MAX_ENV_YML_BYTE_SIZE, MAX_ENV_YML_BYTE_SIZE);
-      SPARK_EXECUTOR_MIN_MEMORY = setIntVar(VARIABLE_SPARK_EXECUTOR_MIN_MEMORY, SPARK_EXECUTOR_MIN_MEMORY);
+      next.CLIENT_PATH = setStrVar(VARIABLE_CLIENT_PATH, next.CLIENT_PATH);
+      next.KUBE_TYPE = KubeType.fromString(setStrVar(VARIABLE_KUBE_TYPE, next.KUBE_TYPE.name));
+      next.DOCKER_NAMESPACE = setStrVar(VARIABLE_DOCKER_NAMESPACE, next.DOCKER_NAMESPACE);
+      next.MANAGED_DOCKER_REGISTRY = setBoolVar(VARIABLE_MANAGED_DOCKER_REGISTRY,
+          next.MANAGED_DOCKER_REGISTRY);
+
+      next.MAX_ENV_YML_BYTE_SIZE = setIntVar(VARIABLE_MAX_ENV_YML_BYTE_SIZE, next.MAX_ENV_YML_BYTE_SIZE);
+      next.SPARK_EXECUTOR_MIN_MEMORY = setIntVar(VARIABLE_SPARK_EXECUTOR_MIN_MEMORY, next.SPARK_EXECUTOR_MIN_MEMORY);
       
-      LIVY_STARTUP_TIMEOUT = setIntVar(VARIABLE_LIVY_STARTUP_TIMEOUT, LIVY_STARTUP_TIMEOUT);
+      next.LIVY_STARTUP_TIMEOUT = setIntVar(VARIABLE_LIVY_STARTUP_TIMEOUT, next.LIVY_STARTUP_TIMEOUT);
   
-      USER_SEARCH_ENABLED = setBoolVar(VARIABLE_USER_SEARCH, USER_SEARCH_ENABLED);
-      REJECT_REMOTE_USER_NO_GROUP = setBoolVar(VARIABLE_REJECT_REMOTE_USER_NO_GROUP, REJECT_REMOTE_USER_NO_GROUP);
+      next.USER_SEARCH_ENABLED = setBoolVar(VARIABLE_USER_SEARCH, next.USER_SEARCH_ENABLED);
+      next.REJECT_REMOTE_USER_NO_GROUP = setBoolVar(VARIABLE_REJECT_REMOTE_USER_NO_GROUP,
+          next.REJECT_REMOTE_USER_NO_GROUP);
 
       //Git
-      GIT_IMAGE_VERSION = setStrVar(VARIABLE_GIT_IMAGE_VERSION, GIT_IMAGE_VERSION);
-      GIT_MAX_COMMAND_TIMEOUT_MINUTES = setIntVar(VARIABLE_GIT_COMMAND_TIMEOUT_MINUTES_DEFAULT,
-          GIT_MAX_COMMAND_TIMEOUT_MINUTES);
-      ENABLE_GIT_READ_ONLY_REPOSITORIES = setBoolVar(VARIABLE_ENABLE_GIT_READ_ONLY_REPOSITORIES,
-              ENABLE_GIT_READ_ONLY_REPOSITORIES);
+      next.GIT_IMAGE_VERSION = setStrVar(VARIABLE_GIT_IMAGE_VERSION, next.GIT_IMAGE_VERSION);
+      next.GIT_MAX_COMMAND_TIMEOUT_MINUTES = setIntVar(VARIABLE_GIT_COMMAND_TIMEOUT_MINUTES_DEFAULT,
+          next.GIT_MAX_COMMAND_TIMEOUT_MINUTES);
+      next.ENABLE_GIT_READ_ONLY_REPOSITORIES = setBoolVar(VARIABLE_ENABLE_GIT_READ_ONLY_REPOSITORIES,
+              next.ENABLE_GIT_READ_ONLY_REPOSITORIES);
 
       //Docker cgroups
-      DOCKER_CGROUP_ENABLED = setBoolVar(VARIABLE_DOCKER_CGROUP_ENABLED, DOCKER_CGROUP_ENABLED);
-      DOCKER_CGROUP_MEMORY_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_HARD_LIMIT_MEMORY,
-          DOCKER_CGROUP_MEMORY_LIMIT);
-      DOCKER_CGROUP_MEMORY_SOFT_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_SOFT_LIMIT_MEMORY,
-          DOCKER_CGROUP_MEMORY_SOFT_LIMIT);
-      DOCKER_CGROUP_CPU_QUOTA = setDoubleVar(VARIABLE_DOCKER_CGROUP_CPU_QUOTA, DOCKER_CGROUP_CPU_QUOTA);
-      DOCKER_CGROUP_CPU_PERIOD = setIntVar(VARIABLE_DOCKER_CGROUP_CPU_PERIOD, DOCKER_CGROUP_CPU_PERIOD);
-      DOCKER_CGROUP_MONITOR_INTERVAL = setStrVar(VARIABLE_DOCKER_CGROUP_MONITOR_INTERVAL,
-          DOCKER_CGROUP_MONITOR_INTERVAL);
-      DOCKER_CGROUP_PARENT = setStrVar(VARIABLE_DOCKER_CGROUP_PARENT, DOCKER_CGROUP_PARENT);
-
-      PROMETHEUS_PORT = setIntVar(VARIABLE_PROMETHEUS_PORT, PROMETHEUS_PORT);
-
-      SKIP_NAMESPACE_CREATION = setBoolVar(VARIABLE_SKIP_NAMESPACE_CREATION,
-          SKIP_NAMESPACE_CREATION);
-
-      QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_ENABLED_FEATUREGROUPS,
-          QUOTAS_ONLINE_ENABLED_FEATUREGROUPS);
-      QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_DISABLED_FEATUREGROUPS,
-          QUOTAS_ONLINE_DISABLED_FEATUREGROUPS);
-      QUOTAS_TRAINING_DATASETS = setLongVar(VARIABLE_QUOTAS_TRAINING_DATASETS, QUOTAS_TRAINING_DATASETS);
-      QUOTAS_RUNNING_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_RUNNING_MODEL_DEPLOYMENTS,
-          QUOTAS_RUNNING_MODEL_DEPLOYMENTS);
-      QUOTAS_TOTAL_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_TOTAL_MODEL_DEPLOYMENTS,
-          QUOTAS_TOTAL_MODEL_DEPLOYMENTS);
-      QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
-          QUOTAS_MAX_PARALLEL_EXECUTIONS);
-      QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
-          QUOTAS_MAX_PARALLEL_EXECUTIONS);
-
-      SQL_MAX_SELECT_IN = setIntVar(VARIABLE_SQL_MAX_SELECT_IN, SQL_MAX_SELECT_IN);
-
-      ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = setBoolVar(VARIABLE_ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES,
-        ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES);
-
-      ENABLE_FLYINGDUCK = setBoolVar(VARIABLE_ENABLE_FLYINGDUCK,
-        ENABLE_FLYINGDUCK);
-
-      MAX_LONG_RUNNING_HTTP_REQUESTS =
-        setIntVar(VARIABLE_MAX_LONG_RUNNING_HTTP_REQUESTS, MAX_LONG_RUNNING_HTTP_REQUESTS);
-
-      COMMAND_SEARCH_FS_HISTORY_ENABLE = setBoolVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_ENABLE,
-        COMMAND_SEARCH_FS_HISTORY_ENABLE);
-      COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD,
-        COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD);
-      COMMAND_SEARCH_FS_HISTORY_WINDOW = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_WINDOW,
-        COMMAND_SEARCH_FS_HISTORY_WINDOW);
-      COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD,
-        COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD);
-      COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = setIntVar(VARIABLE_COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL,
-        COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL);
-      SERVICE_API_KEY = setVar(VARIABLE_SERVICE_API_KEY, SERVICE_API_KEY);
-
-      OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = setStrVar(
-          VARIABLE_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME);
-      OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = setIntVar(
-          VARIABLE_NUM_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX);
+      next.DOCKER_CGROUP_ENABLED = setBoolVar(VARIABLE_DOCKER_CGROUP_ENABLED, next.DOCKER_CGROUP_ENABLED);
+      next.DOCKER_CGROUP_MEMORY_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_HARD_LIMIT_MEMORY,
+          next.DOCKER_CGROUP_MEMORY_LIMIT);
+      next.DOCKER_CGROUP_MEMORY_SOFT_LIMIT = setStrVar(VARIABLE_DOCKER_CGROUP_SOFT_LIMIT_MEMORY,
+          next.DOCKER_CGROUP_MEMORY_SOFT_LIMIT);
+      next.DOCKER_CGROUP_CPU_QUOTA = setDoubleVar(VARIABLE_DOCKER_CGROUP_CPU_QUOTA, next.DOCKER_CGROUP_CPU_QUOTA);
+      next.DOCKER_CGROUP_CPU_PERIOD = setIntVar(VARIABLE_DOCKER_CGROUP_CPU_PERIOD, next.DOCKER_CGROUP_CPU_PERIOD);
+      next.DOCKER_CGROUP_MONITOR_INTERVAL = setStrVar(VARIABLE_DOCKER_CGROUP_MONITOR_INTERVAL,
+          next.DOCKER_CGROUP_MONITOR_INTERVAL);
+      next.DOCKER_CGROUP_PARENT = setStrVar(VARIABLE_DOCKER_CGROUP_PARENT, next.DOCKER_CGROUP_PARENT);
+
+      next.PROMETHEUS_PORT = setIntVar(VARIABLE_PROMETHEUS_PORT, next.PROMETHEUS_PORT);
+
+      next.SKIP_NAMESPACE_CREATION = setBoolVar(VARIABLE_SKIP_NAMESPACE_CREATION,
+          next.SKIP_NAMESPACE_CREATION);
+
+      next.QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_ENABLED_FEATUREGROUPS,
+          next.QUOTAS_ONLINE_ENABLED_FEATUREGROUPS);
+      next.QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = setLongVar(VARIABLE_QUOTAS_ONLINE_DISABLED_FEATUREGROUPS,
+          next.QUOTAS_ONLINE_DISABLED_FEATUREGROUPS);
+      next.QUOTAS_TRAINING_DATASETS = setLongVar(VARIABLE_QUOTAS_TRAINING_DATASETS, next.QUOTAS_TRAINING_DATASETS);
+      next.QUOTAS_RUNNING_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_RUNNING_MODEL_DEPLOYMENTS,
+          next.QUOTAS_RUNNING_MODEL_DEPLOYMENTS);
+      next.QUOTAS_TOTAL_MODEL_DEPLOYMENTS = setLongVar(VARIABLE_QUOTAS_TOTAL_MODEL_DEPLOYMENTS,
+          next.QUOTAS_TOTAL_MODEL_DEPLOYMENTS);
+      next.QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
+          next.QUOTAS_MAX_PARALLEL_EXECUTIONS);
+      next.QUOTAS_MAX_PARALLEL_EXECUTIONS = setLongVar(VARIABLE_QUOTAS_MAX_PARALLEL_EXECUTIONS,
+          next.QUOTAS_MAX_PARALLEL_EXECUTIONS);
+
+      next.SQL_MAX_SELECT_IN = setIntVar(VARIABLE_SQL_MAX_SELECT_IN, next.SQL_MAX_SELECT_IN);
+
+      next.ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = setBoolVar(
+          VARIABLE_ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES,
+        next.ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES);
+
+      next.ENABLE_FLYINGDUCK = setBoolVar(VARIABLE_ENABLE_FLYINGDUCK,
+        next.ENABLE_FLYINGDUCK);
+
+      next.MAX_LONG_RUNNING_HTTP_REQUESTS =
+        setIntVar(VARIABLE_MAX_LONG_RUNNING_HTTP_REQUESTS, next.MAX_LONG_RUNNING_HTTP_REQUESTS);
+
+      next.COMMAND_SEARCH_FS_HISTORY_ENABLE = setBoolVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_ENABLE,
+        next.COMMAND_SEARCH_FS_HISTORY_ENABLE);
+      next.COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD,
+        next.COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD);
+      next.COMMAND_SEARCH_FS_HISTORY_WINDOW = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_WINDOW,
+        next.COMMAND_SEARCH_FS_HISTORY_WINDOW);
+      next.COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = setLongVar(VARIABLE_COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD,
+        next.COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD);
+      next.COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = setIntVar(VARIABLE_COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL,
+        next.COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL);
+      next.SERVICE_API_KEY = setVar(VARIABLE_SERVICE_API_KEY, next.SERVICE_API_KEY);
+
+      next.OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = setStrVar(
+          VARIABLE_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, next.OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME);
+      next.OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = setIntVar(
+          VARIABLE_NUM_OPENSEARCH_DEFAULT_EMBEDDING_INDEX, next.OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX);
       
-      ENABLE_CONDA_INSTALL = setBoolVar(VARIABLE_ENABLE_CONDA_INSTALL, ENABLE_CONDA_INSTALL);
-      DEFAULT_FEATURE_STORE_PROJECT_ID = setIntVar(VARIABLE_FEATURE_STORE_PROJECT_ID, null);
-      cached = true;
-    }
-  }
-
-  private void checkCache() {
-    if (!cached) {
-      populateCache();
+      next.ENABLE_CONDA_INSTALL = setBoolVar(VARIABLE_ENABLE_CONDA_INSTALL, next.ENABLE_CONDA_INSTALL);
+      next.DEFAULT_FEATURE_STORE_PROJECT_ID = setIntVar(VARIABLE_FEATURE_STORE_PROJECT_ID, null);
+      // published once complete, readers never see a partially populated cache
+      cache = next;
+      current = next;
     }
+    return current;
   }
 
   public synchronized void refreshCache() {
-    cached = false;
+    cache = null;
     populateCache();
     //Notify other nodes if settingUpdatedTopic is created == Hazelcast is enabled
     if (settingUpdatedTopic != null) {
@@ -1017,21 +1370,17 @@ public class Settings {
    */
   private static final String GLASSFISH_DIR = "/srv/hops/glassfish";
 
-  public synchronized String getGlassfishDir() {
+  public String getGlassfishDir() {
     return GLASSFISH_DIR;
   }
 
-  private String TWOFACTOR_AUTH = "false";
-  private String TWOFACTOR_EXCLUDE = "AGENT;CLUSTER_AGENT";
 
-  public synchronized String getTwoFactorAuth() {
-    checkCache();
-    return TWOFACTOR_AUTH;
+  public String getTwoFactorAuth() {
+    return cache().TWOFACTOR_AUTH;
   }
 
-  public synchronized String getTwoFactorExclude() {
-    checkCache();
-    return TWOFACTOR_EXCLUDE;
+  public String getTwoFactorExclude() {
+    return cache().TWOFACTOR_EXCLUDE;
   }
 
   public enum TwoFactorMode {
@@ -1055,17 +1404,13 @@ public class Settings {
     }
   }
 
-  private String HOPS_RPC_TLS = "false";
-
-  public synchronized boolean getHopsRpcTls() {
-    checkCache();
-    return HOPS_RPC_TLS.toLowerCase().equals("true");
+  public boolean getHopsRpcTls() {
+    return cache().HOPS_RPC_TLS.toLowerCase().equals("true");
   }
 
   //Spark executor minimum memory
-  public synchronized int getSparkExecutorMinMemory() {
-    checkCache();
-    return SPARK_EXECUTOR_MIN_MEMORY;
+  public int getSparkExecutorMinMemory() {
+    return cache().SPARK_EXECUTOR_MIN_MEMORY;
   }
 
   public static final String VERIFICATION_PATH = "/validate";
@@ -1077,8 +1422,6 @@ public class Settings {
 
   public static final String TENSORBOARD_DIRS = "/tensorboard/";
 
-  private String SPARK_DIR = "/srv/hops/spark";
-
   public static final String CONVERSION_DIR = "/ipython_conversions/";
 
   public static final String SPARK_NUMBER_EXECUTORS_ENV
@@ -1199,33 +1542,26 @@ public class Settings {
   public static final String NCCL_SOCKET_NTHREADS = "NCCL_SOCKET_NTHREADS";
   public static final String NCCL_NSOCKS_PERTHREAD = "NCCL_NSOCKS_PERTHREAD";
 
-  public synchronized String getSparkDir() {
-    checkCache();
-    return SPARK_DIR;
+  public String getSparkDir() {
+    return cache().SPARK_DIR;
   }
 
-  public synchronized String getSparkConfDir() {
+  public String getSparkConfDir() {
     return getSparkDir() + "/conf";
   }
 
-  public synchronized String getSparkLog4j2FilePath() {
+  public String getSparkLog4j2FilePath() {
     return getSparkConfDir() + "/log4j2.properties";
   }
 
-  private String STAGING_DIR = "/srv/hops/domains/domain1/staging";
-
-  public synchronized String getStagingDir() {
-    checkCache();
-    return STAGING_DIR;
+  public String getStagingDir() {
+    return cache().STAGING_DIR;
   }
 
   private final String FLINK_CONF_DIR = "conf";
-  // Remember to change this in docker-images as well
-  private String FLINK_DIR = "/srv/hops/flink";
 
-  public synchronized String getFlinkDir() {
-    checkCache();
-    return FLINK_DIR;
+  public String getFlinkDir() {
+    return cache().FLINK_DIR;
   }
 
   public String getFlinkConfDir() {
@@ -1238,150 +1574,96 @@ public class Settings {
     return getFlinkDir() + File.separator + FLINK_LIB_DIR + File.separator;
   }
 
-  private String AIRFLOW_DIR = "/srv/hops/airflow";
-  public synchronized String getAirflowDir() {
-    checkCache();
-    return AIRFLOW_DIR;
+  public String getAirflowDir() {
+    return cache().AIRFLOW_DIR;
   }
 
-  private String AIRFLOW_USER = "airflow";
-  public synchronized String getAirflowUser() {
-    checkCache();
-    return AIRFLOW_USER;
+  public String getAirflowUser() {
+    return cache().AIRFLOW_USER;
   }
 
-  private String HADOOP_DIR = "/srv/hops/hadoop";
-
   // This returns the unversioned base installation directory for hops-hadoop
   // For example, "/srv/hops/hadoop" - it does not return "/srv/hops/hadoop-2.8.2"
-  public synchronized String getHadoopSymbolicLinkDir() {
-    checkCache();
-    return HADOOP_DIR;
+  public String getHadoopSymbolicLinkDir() {
+    return cache().HADOOP_DIR;
   }
 
-  private String HIVE_SUPERUSER = "hive";
-
-  public synchronized String getHiveSuperUser() {
-    checkCache();
-    return HIVE_SUPERUSER;
+  public String getHiveSuperUser() {
+    return cache().HIVE_SUPERUSER;
   }
 
-  private String ANACONDA_DEFAULT_REPO = "defaults";
-
-  public synchronized String getCondaDefaultRepo() {
-    checkCache();
-    return ANACONDA_DEFAULT_REPO;
+  public String getCondaDefaultRepo() {
+    return cache().ANACONDA_DEFAULT_REPO;
   }
 
-  private String HIVE_WAREHOUSE = "/apps/hive/warehouse";
-
-  public synchronized String getHiveWarehouse() {
-    checkCache();
-    return HIVE_WAREHOUSE;
+  public String getHiveWarehouse() {
+    return cache().HIVE_WAREHOUSE;
   }
 
-  private String HIVE_SCRATCHDIR = "/tmp/hive";
-
-  public synchronized String getHiveScratchdir() {
-    checkCache();
-    return HIVE_SCRATCHDIR;
+  public String getHiveScratchdir() {
+    return cache().HIVE_SCRATCHDIR;
   }
 
-  private String HIVE_SCRATCHDIR_DELAY = "7d";
-
-  public synchronized String getHiveScratchdirDelay() {
-    checkCache();
-    return HIVE_SCRATCHDIR_DELAY;
+  public String getHiveScratchdirDelay() {
+    return cache().HIVE_SCRATCHDIR_DELAY;
   }
 
-  private String HIVE_SCRATCHDIR_CLEANER_INTERVAL = "24h";
-
-  public synchronized String getHiveScratchdirCleanerInterval() {
-    checkCache();
-    return HIVE_SCRATCHDIR_CLEANER_INTERVAL;
+  public String getHiveScratchdirCleanerInterval() {
+    return cache().HIVE_SCRATCHDIR_CLEANER_INTERVAL;
   }
 
-  private long HIVE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
-  public synchronized long getHiveDbDefaultQuota() {
-    checkCache();
-    return HIVE_DB_DEFAULT_QUOTA;
+  public long getHiveDbDefaultQuota() {
+    return cache().HIVE_DB_DEFAULT_QUOTA;
   }
 
-  private String CERTS_DIR = "/srv/hops/certs-dir";
-
-  public synchronized String getCertsDir() {
-    checkCache();
-    return CERTS_DIR;
+  public String getCertsDir() {
+    return cache().CERTS_DIR;
   }
 
-  public synchronized String getHopsworksMasterEncPasswordFile() {
-    checkCache();
+  public String getHopsworksMasterEncPasswordFile() {
     return getCertsDir() + File.separator + "encryption_master_password";
   }
 
-  private String HOPSWORKS_INSTALL_DIR = "/srv/hops/domains/domain1";
-
-  public synchronized String getHopsworksDomainDir() {
-    checkCache();
-    return HOPSWORKS_INSTALL_DIR;
+  public String getHopsworksDomainDir() {
+    return cache().HOPSWORKS_INSTALL_DIR;
   }
 
-  private String SUDOERS_DIR = "/srv/hops/sbin";
-  public synchronized String getSudoersDir() {
-    checkCache();
-    return SUDOERS_DIR;
+  public String getSudoersDir() {
+    return cache().SUDOERS_DIR;
   }
 
-  private String HOPSWORKS_USER = "glassfish";
-
-  public synchronized String getHopsworksUser() {
-    checkCache();
-    return HOPSWORKS_USER;
+  public String getHopsworksUser() {
+    return cache().HOPSWORKS_USER;
   }
-  private String HDFS_SUPERUSER = "hdfs";
 
-  public synchronized String getHdfsSuperUser() {
-    checkCache();
-    return HDFS_SUPERUSER;
+  public String getHdfsSuperUser() {
+    return cache().HDFS_SUPERUSER;
   }
-  private String SPARK_USER = "spark";
 
-  public synchronized String getSparkUser() {
-    checkCache();
-    return SPARK_USER;
+  public String getSparkUser() {
+    return cache().SPARK_USER;
   }
 
   public String getSparkLog4JPath() {
     return "hdfs:///user/" + getSparkUser() + "/log4j2.properties";
   }
 
-  private Integer YARN_DEFAULT_QUOTA = 60000;
-  public synchronized Integer getYarnDefaultQuota() {
-    checkCache();
-    return YARN_DEFAULT_QUOTA;
+  public Integer getYarnDefaultQuota() {
+    return cache().YARN_DEFAULT_QUOTA;
   }
 
-  private PaymentType DEFAULT_PAYMENT_TYPE = PaymentType.NOLIMIT;
-  public synchronized PaymentType getDefaultPaymentType() {
-    checkCache();
-    return DEFAULT_PAYMENT_TYPE;
+  public PaymentType getDefaultPaymentType() {
+    return cache().DEFAULT_PAYMENT_TYPE;
   }
 
-  private long HDFS_DEFAULT_QUOTA_MBs = HdfsConstants.QUOTA_DONT_SET;
-  public synchronized long getHdfsDefaultQuotaInMBs() {
-    checkCache();
-    return HDFS_DEFAULT_QUOTA_MBs;
+  public long getHdfsDefaultQuotaInMBs() {
+    return cache().HDFS_DEFAULT_QUOTA_MBs;
   }
 
-  // To not fill the SSDs with Logs files that nobody access frequently
-  // We set the StoragePolicy for the LOGS dir to be DEFAULT
-  private DistributedFileSystemOps.StoragePolicy HDFS_LOG_STORAGE_POLICY
-      = DistributedFileSystemOps.StoragePolicy.DEFAULT;
-
   private DistributedFileSystemOps.StoragePolicy setHdfsStoragePolicy(String policyName,
     DistributedFileSystemOps.StoragePolicy defaultPolicy) {
 
-    Optional<Variables> policyOptional = findById(policyName);
+    Optional<Variables> policyOptional = findCachedById(policyName);
     if (!policyOptional.isPresent()) {
       return defaultPolicy;
     }
@@ -1399,26 +1681,20 @@ public class Settings {
     }
   }
 
-  public synchronized DistributedFileSystemOps.StoragePolicy getHdfsLogStoragePolicy() {
-    checkCache();
-    return HDFS_LOG_STORAGE_POLICY;
+  public DistributedFileSystemOps.StoragePolicy getHdfsLogStoragePolicy() {
+    return cache().HDFS_LOG_STORAGE_POLICY;
   }
 
-  private Integer MAX_NUM_PROJ_PER_USER = 5;
-  public synchronized Integer getMaxNumProjPerUser() {
-    checkCache();
-    return MAX_NUM_PROJ_PER_USER;
+  public Integer getMaxNumProjPerUser() {
+    return cache().MAX_NUM_PROJ_PER_USER;
   }
 
-  private String HADOOP_VERSION = "2.8.2";
-
-  public synchronized String getHadoopVersion() {
-    checkCache();
-    return HADOOP_VERSION;
+  public String getHadoopVersion() {
+    return cache().HADOOP_VERSION;
   }
 
   //Hadoop locations
-  public synchronized String getHadoopConfDir() {
+  public String getHadoopConfDir() {
     return hadoopConfDir(getHadoopSymbolicLinkDir());
   }
 
@@ -1472,8 +1748,6 @@ public class Settings {
   public static final String SPARK_BLACKLISTED_PROPS
       = "conf/spark-blacklisted-properties.txt";
   public static final String SPARK_HADOOP_FS_PERMISSIONS_UMASK_DEFAULT = "0007";
-  // Spark executor min memory
-  private int SPARK_EXECUTOR_MIN_MEMORY = 1024;
 
   //Flink constants
   public static final String FLINK_AM_MAIN = "org.apache.flink.yarn.ApplicationMaster";
@@ -1493,7 +1767,7 @@ public class Settings {
   public static final Set<String> KAFKA_SUBJECT_BLACKLIST =
     Collections.unmodifiableSet(new HashSet<>(Arrays.asList(INFERENCE_SCHEMANAME, PROJECT_COMPATIBILITY_SUBJECT)));
 
-  public synchronized String getLocalFlinkJarPath() {
+  public String getLocalFlinkJarPath() {
     return getFlinkDir() + "/flink.jar";
   }
 
@@ -1559,125 +1833,84 @@ public class Settings {
     "REGEXP, RLIKE, ROLLBACK, START, CACHE, CONSTRAINT, FOREIGN, PRIMARY, REFERENCES, DAYOFWEEK, EXTRACT, FLOOR, " +
     "INTEGER, PRECISION, VIEWS, TIME, NUMERIC, SYNC";
   
-  private Set<String> RESERVED_PROJECT_NAMES;
-  private String RESERVED_PROJECT_NAMES_STR;
   
-  public synchronized Set<String> getReservedProjectNames() {
-    checkCache();
-    RESERVED_PROJECT_NAMES = RESERVED_PROJECT_NAMES != null ? RESERVED_PROJECT_NAMES : new HashSet<>();
-    RESERVED_PROJECT_NAMES.addAll(getReservedHiveNames());
-    return RESERVED_PROJECT_NAMES;
+  public Set<String> getReservedProjectNames() {
+    return cache().RESERVED_PROJECT_NAMES;
   }
   
-  public synchronized Set<String> getReservedHiveNames() {
+  public Set<String> getReservedHiveNames() {
     return setStringHashSetLowerCase(DEFAULT_RESERVED_HIVE_NAMES, ",", true);
   }
   
-  public synchronized String getProjectNameReservedWords() {
-    checkCache();
-    return (RESERVED_PROJECT_NAMES_STR + ", " + DEFAULT_RESERVED_HIVE_NAMES).toLowerCase();
+  public String getProjectNameReservedWords() {
+    return (cache().RESERVED_PROJECT_NAMES_STR + ", " + DEFAULT_RESERVED_HIVE_NAMES).toLowerCase();
   }
   
   //Only for unit test
-  public synchronized String getProjectNameReservedWordsTest() {
+  public String getProjectNameReservedWordsTest() {
     return (DEFAULT_RESERVED_PROJECT_NAMES + ", " + DEFAULT_RESERVED_HIVE_NAMES).toLowerCase();
   }
   
-  // OpenSearch
-  OpenSearchSettings OPENSEARCH_SETTINGS;
-
-  public synchronized boolean isOpenSearchSecurityEnabled() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.isOpenSearchSecurityEnabled();
+  public boolean isOpenSearchSecurityEnabled() {
+    return cache().OPENSEARCH_SETTINGS.isOpenSearchSecurityEnabled();
   }
   
-  public synchronized boolean isOpenSearchHTTPSEnabled() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.isHttpsEnabled();
+  public boolean isOpenSearchHTTPSEnabled() {
+    return cache().OPENSEARCH_SETTINGS.isHttpsEnabled();
   }
   
-  public synchronized String getOpenSearchAdminUser() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getAdminUser();
+  public String getOpenSearchAdminUser() {
+    return cache().OPENSEARCH_SETTINGS.getAdminUser();
   }
 
-  public synchronized String getOpenSearchServiceLogUser() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getServiceLogUser();
+  public String getOpenSearchServiceLogUser() {
+    return cache().OPENSEARCH_SETTINGS.getServiceLogUser();
   }
   
-  public synchronized String getOpenSearchAdminPassword() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getAdminPassword();
+  public String getOpenSearchAdminPassword() {
+    return cache().OPENSEARCH_SETTINGS.getAdminPassword();
   }
   
-  public synchronized boolean isOpenSearchJWTEnabled() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.isOpenSearchJWTEnabled();
+  public boolean isOpenSearchJWTEnabled() {
+    return cache().OPENSEARCH_SETTINGS.isOpenSearchJWTEnabled();
   }
   
-  public synchronized String getOpenSearchJwtUrlParameter() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter();
+  public String getOpenSearchJwtUrlParameter() {
+    return cache().OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter();
   }
   
-  public synchronized long getOpenSearchJwtExpMs() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getOpenSearchJWTExpMs();
+  public long getOpenSearchJwtExpMs() {
+    return cache().OPENSEARCH_SETTINGS.getOpenSearchJWTExpMs();
   }
   
-  public synchronized Integer getOpenSearchDefaultScrollPageSize() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getDefaultScrollPageSize();
+  public Integer getOpenSearchDefaultScrollPageSize() {
+    return cache().OPENSEARCH_SETTINGS.getDefaultScrollPageSize();
   }
   
-  public synchronized Integer getOpenSearchMaxScrollPageSize() {
-    checkCache();
-    return OPENSEARCH_SETTINGS.getMaxScrollPageSize();
+  public Integer getOpenSearchMaxScrollPageSize() {
+    return cache().OPENSEARCH_SETTINGS.getMaxScrollPageSize();
   }
 
-  private long OpenSearch_LOGS_INDEX_EXPIRATION = 7 * 24 * 60 * 60 * 1000;
-
-  public synchronized long getOpenSearchLogsIndexExpiration() {
-    checkCache();
-    return OpenSearch_LOGS_INDEX_EXPIRATION;
+  public long getOpenSearchLogsIndexExpiration() {
+    return cache().OpenSearch_LOGS_INDEX_EXPIRATION;
   }
 
   public static final long JOB_LOGS_DISPLAY_SIZE = 1000000;
 
-  // CertificateMaterializer service. Delay for deleting crypto material from
-  // the local filesystem. The lower the value the more frequent we reach DB
-  // for materialization
-  // Suffix, defaults to minutes if omitted:
-  // ms: milliseconds
-  // s: seconds
-  // m: minutes (default)
-  // h: hours
-  // d: days
-  private String CERTIFICATE_MATERIALIZER_DELAY = "1m";
-
-  public synchronized String getCertificateMaterializerDelay() {
-    checkCache();
-    return CERTIFICATE_MATERIALIZER_DELAY;
+  public String getCertificateMaterializerDelay() {
+    return cache().CERTIFICATE_MATERIALIZER_DELAY;
   }
 
-  private String SERVICE_DISCOVERY_DOMAIN = "consul";
-  public synchronized String getServiceDiscoveryDomain() {
-    checkCache();
-    return SERVICE_DISCOVERY_DOMAIN;
+  public String getServiceDiscoveryDomain() {
+    return cache().SERVICE_DISCOVERY_DOMAIN;
   }
 
-  // Opensearch vector db
-  private String OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME = null;
-  public synchronized String getOpensearchDefaultEmbeddingIndexName() {
-    checkCache();
-    return OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME;
+  public String getOpensearchDefaultEmbeddingIndexName() {
+    return cache().OPENSEARCH_DEFAULT_EMBEDDING_INDEX_NAME;
   }
 
-  private Integer OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX = 1;
-  public synchronized Integer getOpensearchNumDefaultEmbeddingIndex() {
-    checkCache();
-    return OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX;
+  public Integer getOpensearchNumDefaultEmbeddingIndex() {
+    return cache().OPENSEARCH_NUM_DEFAULT_EMBEDDING_INDEX;
   }
 
   // Kibana
@@ -1688,170 +1921,109 @@ public class Settings {
   }
   
   public String getKibanaAppUri(String jwtToken) {
-    return  getKibanaAppUri() + OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter() + "=" + jwtToken + "&";
+    return  getKibanaAppUri() + cache().OPENSEARCH_SETTINGS.getOpenSearchJWTURLParameter() + "=" + jwtToken + "&";
   }
 
-  /*
-   * Comma-separated list of user emails that should not be persisted in the
-   * userlogins table for auditing.
-   * kagent -> agent@hops.io
-   */
-  private String WHITELIST_USERS_LOGIN = "agent@hops.io";
-
-  public synchronized String getWhitelistUsersLogin() {
-    checkCache();
-    return WHITELIST_USERS_LOGIN;
+  public String getWhitelistUsersLogin() {
+    return cache().WHITELIST_USERS_LOGIN;
   }
 
-  // Jupyter
-  private String JUPYTER_DIR = "/srv/hops/jupyter";
-
-  public synchronized String getJupyterDir() {
-    checkCache();
-    return JUPYTER_DIR;
+  public String getJupyterDir() {
+    return cache().JUPYTER_DIR;
   }
 
-  private String JUPYTER_GROUP = "jupyter";
-
-  public synchronized String getJupyterGroup() {
-    checkCache();
-    return JUPYTER_GROUP;
+  public String getJupyterGroup() {
+    return cache().JUPYTER_GROUP;
   }
 
-  private String JUPYTER_ORIGIN_SCHEME = "https";
-
-  public synchronized String getJupyterOriginScheme() {
-    checkCache();
-    return JUPYTER_ORIGIN_SCHEME;
+  public String getJupyterOriginScheme() {
+    return cache().JUPYTER_ORIGIN_SCHEME;
   }
 
-  private long JUPYTER_WS_PING_INTERVAL_MS = 10000L;
-
-  public synchronized long getJupyterWSPingInterval() {
-    checkCache();
-    return JUPYTER_WS_PING_INTERVAL_MS;
+  public long getJupyterWSPingInterval() {
+    return cache().JUPYTER_WS_PING_INTERVAL_MS;
   }
 
-  private String JUPYTER_REMOTE_FS_DRIVER = "hdfscontentsmanager";
-  public synchronized RemoteFSDriverType getJupyterRemoteFsManager() {
-    checkCache();
-    return RemoteFSDriverType.fromString(JUPYTER_REMOTE_FS_DRIVER);
+  public RemoteFSDriverType getJupyterRemoteFsManager() {
+    return RemoteFSDriverType.fromString(cache().JUPYTER_REMOTE_FS_DRIVER);
   }
 
-  private boolean APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE = true;
-  public synchronized boolean getApplyHopsfsMountApparmor() {
-    checkCache();
-    return APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE;
+  public boolean getApplyHopsfsMountApparmor() {
+    return cache().APPLY_HOPSFSMOUNT_APPARMOR_PROFILE_KUBE;
   }
 
-  private String HOPSFSMOUNT_APPARMOR_PROFILE = "hopsworks-hopsfsmount-docker";
-  public synchronized String getHopsfsMountApparmorProfile() {
-    checkCache();
-    return HOPSFSMOUNT_APPARMOR_PROFILE;
+  public String getHopsfsMountApparmorProfile() {
+    return cache().HOPSFSMOUNT_APPARMOR_PROFILE;
   }
 
-  private Integer PROMETHEUS_PORT = 9089;
-  public synchronized Integer getPrometheusPort() {
-    checkCache();
-    return PROMETHEUS_PORT;
+  public Integer getPrometheusPort() {
+    return cache().PROMETHEUS_PORT;
   }
 
   //Git
   private String GIT_DIR = "/srv/hops/git";
 
-  public synchronized String getGitDir() {
-    checkCache();
+  public String getGitDir() {
     return GIT_DIR;
   }
 
-  private Integer GIT_MAX_COMMAND_TIMEOUT_MINUTES = 60;
-  public synchronized long getGitJwtExpMs() {
-    checkCache();
-    return GIT_MAX_COMMAND_TIMEOUT_MINUTES * 60 * 1000;
+  public long getGitJwtExpMs() {
+    return cache().GIT_MAX_COMMAND_TIMEOUT_MINUTES * 60 * 1000;
   }
 
-  private Boolean ENABLE_GIT_READ_ONLY_REPOSITORIES = false;
-  public synchronized Boolean getEnableGitReadOnlyRepositories() {
-    checkCache();
-    return ENABLE_GIT_READ_ONLY_REPOSITORIES;
+  public Boolean getEnableGitReadOnlyRepositories() {
+    return cache().ENABLE_GIT_READ_ONLY_REPOSITORIES;
   }
 
-  private String GIT_IMAGE_VERSION = "0.3.0";
-  public synchronized String getGitImageName() {
-    checkCache();
-    return "git:" + GIT_IMAGE_VERSION;
+  public String getGitImageName() {
+    return "git:" + cache().GIT_IMAGE_VERSION;
   }
 
-  private boolean DOCKER_CGROUP_ENABLED = false;
-  public synchronized boolean isDockerCgroupEnabled() {
-    checkCache();
-    return DOCKER_CGROUP_ENABLED;
+  public boolean isDockerCgroupEnabled() {
+    return cache().DOCKER_CGROUP_ENABLED;
   }
 
-  private String DOCKER_CGROUP_MEMORY_LIMIT = "6GB";
-  public synchronized String getDockerCgroupMemoryLimit() {
-    checkCache();
-    return DOCKER_CGROUP_MEMORY_LIMIT;
+  public String getDockerCgroupMemoryLimit() {
+    return cache().DOCKER_CGROUP_MEMORY_LIMIT;
   }
 
-  private String DOCKER_CGROUP_MEMORY_SOFT_LIMIT = "2GB";
-  public synchronized String getDockerCgroupSoftLimit() {
-    checkCache();
-    return DOCKER_CGROUP_MEMORY_SOFT_LIMIT;
+  public String getDockerCgroupSoftLimit() {
+    return cache().DOCKER_CGROUP_MEMORY_SOFT_LIMIT;
   }
 
-  private Double DOCKER_CGROUP_CPU_QUOTA = 100.0;
-  public synchronized Double getDockerCgroupCpuQuota() {
-    checkCache();
-    return DOCKER_CGROUP_CPU_QUOTA;
+  public Double getDockerCgroupCpuQuota() {
+    return cache().DOCKER_CGROUP_CPU_QUOTA;
   }
 
-  private Integer DOCKER_CGROUP_CPU_PERIOD = 100000;
-  public synchronized Integer getDockerCgroupCpuPeriod() {
-    checkCache();
-    return DOCKER_CGROUP_CPU_PERIOD;
+  public Integer getDockerCgroupCpuPeriod() {
+    return cache().DOCKER_CGROUP_CPU_PERIOD;
   }
 
-  private String DOCKER_CGROUP_MONITOR_INTERVAL = "10m";
-  public synchronized String getDockerCgroupIntervalMonitor() {
-    checkCache();
-    return DOCKER_CGROUP_MONITOR_INTERVAL;
+  public String getDockerCgroupIntervalMonitor() {
+    return cache().DOCKER_CGROUP_MONITOR_INTERVAL;
   }
 
-  private String DOCKER_CGROUP_PARENT = "docker.slice";
-  public synchronized String getDockerCgroupParent() {
-    checkCache();
-    return DOCKER_CGROUP_PARENT;
+  public String getDockerCgroupParent() {
+    return cache().DOCKER_CGROUP_PARENT;
   }
 
   // Service key rotation interval
   private static final String JUPYTER_SHUTDOWN_TIMER_INTERVAL = "jupyter_shutdown_timer_interval";
-  private String jupyterShutdownTimerInterval = "30m";
 
-  public synchronized String getJupyterShutdownTimerInterval() {
-    checkCache();
-    return jupyterShutdownTimerInterval;
+  public String getJupyterShutdownTimerInterval() {
+    return cache().jupyterShutdownTimerInterval;
   }
 
-  private String KAFKA_USER = "kafka";
-
-  public synchronized String getKafkaUser() {
-    checkCache();
-    return KAFKA_USER;
+  public String getKafkaUser() {
+    return cache().KAFKA_USER;
   }
 
-  private String KAFKA_DIR = "/srv/kafka";
-
-  public synchronized String getKafkaDir() {
-    checkCache();
-    return KAFKA_DIR;
+  public String getKafkaDir() {
+    return cache().KAFKA_DIR;
   }
 
-  private String ANACONDA_DIR = "/srv/hops/anaconda";
-
-  public synchronized String getAnacondaDir() {
-    checkCache();
-    return ANACONDA_DIR;
+  public String getAnacondaDir() {
+    return cache().ANACONDA_DIR;
   }
 
   public static final String DOCKER_CUSTOM_COMMANDS_POST_BUILD_ARTIFACT_DIR_SUFFIX = "_custom_command_artifacts";
@@ -1875,44 +2047,30 @@ public class Settings {
     return condaEnvName;
   }
   
-  private Boolean ANACONDA_ENABLED = true;
-
-  public synchronized Boolean isAnacondaEnabled() {
-    checkCache();
-    return ANACONDA_ENABLED;
+  public Boolean isAnacondaEnabled() {
+    return cache().ANACONDA_ENABLED;
   }
 
-  private Boolean DOWNLOAD_ALLOWED = true;
-  public synchronized Boolean isDownloadAllowed() {
-    checkCache();
-    return DOWNLOAD_ALLOWED;
+  public Boolean isDownloadAllowed() {
+    return cache().DOWNLOAD_ALLOWED;
   }
 
 
-  private RESTLogLevel HOPSWORKS_REST_LOG_LEVEL = RESTLogLevel.PROD;
-
-  public synchronized RESTLogLevel getHopsworksRESTLogLevel() {
-    checkCache();
-    return HOPSWORKS_REST_LOG_LEVEL;
+  public RESTLogLevel getHopsworksRESTLogLevel() {
+    return cache().HOPSWORKS_REST_LOG_LEVEL;
   }
 
-  private String FIRST_TIME_LOGIN = "0";
-
-  public synchronized String getFirstTimeLogin() {
-    checkCache();
-    return FIRST_TIME_LOGIN;
+  public String getFirstTimeLogin() {
+    return cache().FIRST_TIME_LOGIN;
   }
 
 
-  private String ADMIN_EMAIL = "admin@hopsworks.ai";
-
-  public synchronized String getAdminEmail() {
-    checkCache();
-    return ADMIN_EMAIL;
+  public String getAdminEmail() {
+    return cache().ADMIN_EMAIL;
   }
   
-  public synchronized boolean isDefaultAdminPasswordChanged() {
-    Users user = userFacade.findByEmail(ADMIN_EMAIL);
+  public boolean isDefaultAdminPasswordChanged() {
+    Users user = userFacade.findByEmail(cache().ADMIN_EMAIL);
     if (user != null) {
       String DEFAULT_ADMIN_PWD = "12fa520ec8f65d3a6feacfa97a705e622e1fea95b80b521ec016e43874dfed5a";
       return !DEFAULT_ADMIN_PWD.equals(user.getPassword());
@@ -1920,32 +2078,21 @@ public class Settings {
     return false;
   }
 
-  private String HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD = "adminpw";
-
-  public synchronized String getHopsworksMasterPasswordSsl() {
-    checkCache();
-    return HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD;
+  public String getHopsworksMasterPasswordSsl() {
+    return cache().HOPSWORKS_DEFAULT_SSL_MASTER_PASSWORD;
   }
 
-  private Integer KAFKA_DEFAULT_NUM_PARTITIONS = 2;
-  private Integer KAFKA_DEFAULT_NUM_REPLICAS = 1;
 
-  public synchronized Integer getKafkaDefaultNumPartitions() {
-    checkCache();
-    return KAFKA_DEFAULT_NUM_PARTITIONS;
+  public Integer getKafkaDefaultNumPartitions() {
+    return cache().KAFKA_DEFAULT_NUM_PARTITIONS;
   }
 
-  public synchronized Integer getKafkaDefaultNumReplicas() {
-    checkCache();
-    return KAFKA_DEFAULT_NUM_REPLICAS;
+  public Integer getKafkaDefaultNumReplicas() {
+    return cache().KAFKA_DEFAULT_NUM_REPLICAS;
   }
 
-  // HOPSWORKS-3158
-  private String HOPSWORKS_PUBLIC_HOST = "";
-  
   public String getHopsworksPublicHost() {
-    checkCache();
-    return HOPSWORKS_PUBLIC_HOST;
+    return cache().HOPSWORKS_PUBLIC_HOST;
   }
 
   // Hopsworks
@@ -2022,8 +2169,6 @@ public class Settings {
   public static final String HOPSWORKS_OPENSEARCH_ENDPOINT_PROPERTY = "hopsworks.opensearch.endpoint";
   public static final String HOPSWORKS_DOMAIN_CA_TRUSTSTORE_PROPERTY = "hopsworks.domain.truststore";
 
-  private int FILE_PREVIEW_IMAGE_SIZE = 10000000;
-  private int FILE_PREVIEW_TXT_SIZE = 100;
   public static final int FILE_PREVIEW_TXT_SIZE_BYTES = 1024 * 384;
   public static final String README_TEMPLATE = "*This is an auto-generated README.md"
       + " file for your Dataset!*\n"
@@ -2082,9 +2227,8 @@ public class Settings {
    *
    * @return file size
    */
-  public synchronized int getFilePreviewImageSize() {
-    checkCache();
-    return FILE_PREVIEW_IMAGE_SIZE;
+  public int getFilePreviewImageSize() {
+    return cache().FILE_PREVIEW_IMAGE_SIZE;
   }
 
   /**
@@ -2092,9 +2236,8 @@ public class Settings {
    *
    * @return file size
    */
-  public synchronized int getFilePreviewTxtSize() {
-    checkCache();
-    return FILE_PREVIEW_TXT_SIZE;
+  public int getFilePreviewTxtSize() {
+    return cache().FILE_PREVIEW_TXT_SIZE;
   }
 
   //Project creation: default datasets
@@ -2149,11 +2292,9 @@ public class Settings {
   }
 
   public static final String JUPYTER_PIDS = "/tmp/jupyterNotebookServer.pids";
-  private String RESOURCE_DIRS = ".sparkStaging;spark-warehouse;.flinkStaging;.flinkCheckpoints";
 
-  public synchronized String getResourceDirs() {
-    checkCache();
-    return RESOURCE_DIRS;
+  public String getResourceDirs() {
+    return cache().RESOURCE_DIRS;
   }
 
   public Settings() {
@@ -2169,6 +2310,7 @@ public class Settings {
     try {
       return Optional.of(em.createNamedQuery("Variables.findById", Variables.class)
           .setParameter("id", id)
+          .setHint(QueryHints.REFRESH, HintValues.TRUE)
           .getSingleResult());
     } catch (NoResultException e) {
       return Optional.empty();
@@ -2268,18 +2410,12 @@ public class Settings {
     }
   }
 
-  private int KAFKA_MAX_NUM_TOPICS = 10;
-
-  public synchronized int getKafkaMaxNumTopics() {
-    checkCache();
-    return KAFKA_MAX_NUM_TOPICS;
+  public int getKafkaMaxNumTopics() {
+    return cache().KAFKA_MAX_NUM_TOPICS;
   }
 
-  private int MAX_STATUS_POLL_RETRY = 5;
-
-  public synchronized int getMaxStatusPollRetry() {
-    checkCache();
-    return MAX_STATUS_POLL_RETRY;
+  public int getMaxStatusPollRetry() {
+    return cache().MAX_STATUS_POLL_RETRY;
   }
 
   /**
@@ -2309,39 +2445,24 @@ public class Settings {
     return aggregatedLogPath;
   }
 
-  private String PYPI_REST_ENDPOINT = "https://pypi.org/pypi/{package}/json";
-
-  public synchronized String getPyPiRESTEndpoint() {
-    checkCache();
-    return PYPI_REST_ENDPOINT;
+  public String getPyPiRESTEndpoint() {
+    return cache().PYPI_REST_ENDPOINT;
   }
 
-  private String PYPI_INDEXER_TIMER_INTERVAL = "1d";
-
-  public synchronized String getPyPiIndexerTimerInterval() {
-    checkCache();
-    return PYPI_INDEXER_TIMER_INTERVAL;
+  public String getPyPiIndexerTimerInterval() {
+    return cache().PYPI_INDEXER_TIMER_INTERVAL;
   }
 
-  private String PYPI_SIMPLE_ENDPOINT = "https://pypi.org/simple/";
-
-  public synchronized String getPyPiSimpleEndpoint() {
-    checkCache();
-    return PYPI_SIMPLE_ENDPOINT;
+  public String getPyPiSimpleEndpoint() {
+    return cache().PYPI_SIMPLE_ENDPOINT;
   }
 
-  private boolean PYPI_INDEXER_TIMER_ENABLED = true;
-
-  public synchronized boolean isPyPiIndexerTimerEnabled() {
-    checkCache();
-    return PYPI_INDEXER_TIMER_ENABLED;
+  public boolean isPyPiIndexerTimerEnabled() {
+    return cache().PYPI_INDEXER_TIMER_ENABLED;
   }
 
-  private String PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL = "1d";
-
-  public synchronized String getPythonLibraryUpdatesMonitorInterval() {
-    checkCache();
-    return PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL;
+  public String getPythonLibraryUpdatesMonitorInterval() {
+    return cache().PYTHON_LIBRARY_UPDATES_MONITOR_INTERVAL;
   }
 
   private static final String VARIABLE_HOPSWORKS_PUBLIC_HOST = "hopsworks_public_host";
@@ -2350,8 +2471,7 @@ public class Settings {
 
   public static final String README_FILE = "README.md";
   
-  public synchronized Boolean isDelaEnabled() {
-    checkCache();
+  public Boolean isDelaEnabled() {
     return DELA_ENABLED;
   }
 
@@ -2401,214 +2521,153 @@ public class Settings {
   private static final String VARIABLE_MANAGED_CLOUD_REDIRECT_URI = "managed_cloud_redirect_uri";
   private static final String VARIABLE_MANAGED_CLOUD_PROVIDER_NAME = "managed_cloud_provider_name";
   
-  private String KRB_AUTH = "false";
-  private String LDAP_AUTH = "false";
-  private boolean IS_KRB_ENABLED = false;
-  private boolean IS_LDAP_ENABLED = false;
-  private String LDAP_GROUP_MAPPING = "";
-  private String LDAP_USER_ID = "uid"; //login name
-  private String LDAP_USER_GIVEN_NAME = "givenName";
-  private String LDAP_USER_SURNAME = "sn";
-  private String LDAP_USER_EMAIL = "mail";
-  private String LDAP_USER_SEARCH_FILTER = "uid=%s";
-  private String LDAP_GROUP_SEARCH_FILTER = "member=%d";
-  private String LDAP_KRB_USER_SEARCH_FILTER = "krbPrincipalName=%s";
-  private String LDAP_ATTR_BINARY = "java.naming.ldap.attributes.binary";
-  private String LDAP_GROUP_TARGET = "cn";
-  private String LDAP_DYNAMIC_GROUP_TARGET = "memberOf";
-  private String LDAP_USER_DN_DEFAULT = "";
-  private String LDAP_GROUP_DN_DEFAULT = "";
-  private String LDAP_USER_DN = LDAP_USER_DN_DEFAULT;
-  private String LDAP_GROUP_DN = LDAP_GROUP_DN_DEFAULT;
-  private String LDAP_GROUPS_TARGET = "distinguishedName";
-  private String LDAP_GROUPS_SEARCH_FILTER = "(&(objectCategory=group)(cn=%c))";
-  private String LDAP_GROUP_MEMBERS_SEARCH_FILTER = "(&(objectCategory=user)(memberOf=%d))";
-  private int LDAP_ACCOUNT_STATUS = 1;
-  private String OAUTH_ENABLED = "false";
-  private boolean IS_OAUTH_ENABLED = false;
-  private String OAUTH_GROUP_MAPPING = "";
-  private String OAUTH_REDIRECT_URI_PATH = "hopsworks/callback";
-  private String OAUTH_LOGOUT_REDIRECT_URI_PATH = "hopsworks/";
-  private String OAUTH_REDIRECT_URI = OAUTH_REDIRECT_URI_PATH;
-  private String OAUTH_LOGOUT_REDIRECT_URI = OAUTH_LOGOUT_REDIRECT_URI_PATH;
-  private int OAUTH_ACCOUNT_STATUS = 1;
-  private long LDAP_GROUP_MAPPING_SYNC_INTERVAL = 0;
-  
-  private boolean REMOTE_AUTH_NEED_CONSENT = true;
-  
-  private boolean DISABLE_PASSWORD_LOGIN = false;
-  private boolean DISABLE_REGISTRATION = false;
-  private boolean VALIDATE_REMOTE_USER_EMAIL_VERIFIED = false;
-
-  private String MANAGED_CLOUD_REDIRECT_URI = "";
-  private String MANAGED_CLOUD_PROVIDER_NAME = "hopsworks.ai";
-  
-  private void populateLDAPCache() {
-    KRB_AUTH = setVar(VARIABLE_KRB_AUTH, KRB_AUTH);
-    LDAP_AUTH = setVar(VARIABLE_LDAP_AUTH, LDAP_AUTH);
-    LDAP_GROUP_MAPPING = setVar(VARIABLE_LDAP_GROUP_MAPPING, LDAP_GROUP_MAPPING);
-    LDAP_USER_ID = setVar(VARIABLE_LDAP_USER_ID, LDAP_USER_ID);
-    LDAP_USER_GIVEN_NAME = setVar(VARIABLE_LDAP_USER_GIVEN_NAME, LDAP_USER_GIVEN_NAME);
-    LDAP_USER_SURNAME = setVar(VARIABLE_LDAP_USER_SURNAME, LDAP_USER_SURNAME);
-    LDAP_USER_EMAIL = setVar(VARIABLE_LDAP_USER_EMAIL, LDAP_USER_EMAIL);
-    LDAP_ACCOUNT_STATUS = setIntVar(VARIABLE_LDAP_ACCOUNT_STATUS, LDAP_ACCOUNT_STATUS);
-    LDAP_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_USER_SEARCH_FILTER, LDAP_USER_SEARCH_FILTER);
-    LDAP_GROUP_SEARCH_FILTER = setVar(VARIABLE_LDAP_GROUP_SEARCH_FILTER, LDAP_GROUP_SEARCH_FILTER);
-    LDAP_KRB_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_KRB_USER_SEARCH_FILTER, LDAP_KRB_USER_SEARCH_FILTER);
-    LDAP_ATTR_BINARY = setVar(VARIABLE_LDAP_ATTR_BINARY, LDAP_ATTR_BINARY);
-    LDAP_GROUP_TARGET = setVar(VARIABLE_LDAP_GROUP_TARGET, LDAP_GROUP_TARGET);
-    LDAP_DYNAMIC_GROUP_TARGET = setVar(VARIABLE_LDAP_DYNAMIC_GROUP_TARGET, LDAP_DYNAMIC_GROUP_TARGET);
-    LDAP_USER_DN = setStrVar(VARIABLE_LDAP_USERDN, LDAP_USER_DN_DEFAULT);
-    LDAP_GROUP_DN = setStrVar(VARIABLE_LDAP_GROUPDN, LDAP_GROUP_DN_DEFAULT);
-    LDAP_GROUPS_TARGET = setVar(VARIABLE_LDAP_GROUPS_TARGET, LDAP_GROUPS_TARGET);
-    LDAP_GROUPS_SEARCH_FILTER = setStrVar(VARIABLE_LDAP_GROUPS_SEARCH_FILTER, LDAP_GROUPS_SEARCH_FILTER);
-    LDAP_GROUP_MEMBERS_SEARCH_FILTER =
-      setStrVar(VARIABLE_LDAP_GROUP_MEMBERS_SEARCH_FILTER, LDAP_GROUP_MEMBERS_SEARCH_FILTER);
-    IS_KRB_ENABLED = setBoolVar(VARIABLE_KRB_AUTH, IS_KRB_ENABLED);
-    IS_LDAP_ENABLED = setBoolVar(VARIABLE_LDAP_AUTH, IS_LDAP_ENABLED);
-    OAUTH_ENABLED = setStrVar(VARIABLE_OAUTH_ENABLED, OAUTH_ENABLED);
-    IS_OAUTH_ENABLED = setBoolVar(VARIABLE_OAUTH_ENABLED, IS_OAUTH_ENABLED);
-    OAUTH_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_REDIRECT_URI, OAUTH_REDIRECT_URI);
-    OAUTH_LOGOUT_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_LOGOUT_REDIRECT_URI, OAUTH_LOGOUT_REDIRECT_URI);
-    OAUTH_ACCOUNT_STATUS = setIntVar(VARIABLE_OAUTH_ACCOUNT_STATUS, OAUTH_ACCOUNT_STATUS);
-    OAUTH_GROUP_MAPPING = setStrVar(VARIABLE_OAUTH_GROUP_MAPPING, OAUTH_GROUP_MAPPING);
-
-    REMOTE_AUTH_NEED_CONSENT = setBoolVar(VARIABLE_REMOTE_AUTH_NEED_CONSENT, REMOTE_AUTH_NEED_CONSENT);
+  
+
+  
+  private void populateLDAPCache(CachedVariables next) {
+    next.KRB_AUTH = setVar(VARIABLE_KRB_AUTH, next.KRB_AUTH);
+    next.LDAP_AUTH = setVar(VARIABLE_LDAP_AUTH, next.LDAP_AUTH);
+    next.LDAP_GROUP_MAPPING = setVar(VARIABLE_LDAP_GROUP_MAPPING, next.LDAP_GROUP_MAPPING);
+    next.LDAP_USER_ID = setVar(VARIABLE_LDAP_USER_ID, next.LDAP_USER_ID);
+    next.LDAP_USER_GIVEN_NAME = setVar(VARIABLE_LDAP_USER_GIVEN_NAME, next.LDAP_USER_GIVEN_NAME);
+    next.LDAP_USER_SURNAME = setVar(VARIABLE_LDAP_USER_SURNAME, next.LDAP_USER_SURNAME);
+    next.LDAP_USER_EMAIL = setVar(VARIABLE_LDAP_USER_EMAIL, next.LDAP_USER_EMAIL);
+    next.LDAP_ACCOUNT_STATUS = setIntVar(VARIABLE_LDAP_ACCOUNT_STATUS, next.LDAP_ACCOUNT_STATUS);
+    next.LDAP_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_USER_SEARCH_FILTER, next.LDAP_USER_SEARCH_FILTER);
+    next.LDAP_GROUP_SEARCH_FILTER = setVar(VARIABLE_LDAP_GROUP_SEARCH_FILTER, next.LDAP_GROUP_SEARCH_FILTER);
+    next.LDAP_KRB_USER_SEARCH_FILTER = setVar(VARIABLE_LDAP_KRB_USER_SEARCH_FILTER, next.LDAP_KRB_USER_SEARCH_FILTER);
+    next.LDAP_ATTR_BINARY = setVar(VARIABLE_LDAP_ATTR_BINARY, next.LDAP_ATTR_BINARY);
+    next.LDAP_GROUP_TARGET = setVar(VARIABLE_LDAP_GROUP_TARGET, next.LDAP_GROUP_TARGET);
+    next.LDAP_DYNAMIC_GROUP_TARGET = setVar(VARIABLE_LDAP_DYNAMIC_GROUP_TARGET, next.LDAP_DYNAMIC_GROUP_TARGET);
+    next.LDAP_USER_DN = setStrVar(VARIABLE_LDAP_USERDN, next.LDAP_USER_DN_DEFAULT);
+    next.LDAP_GROUP_DN = setStrVar(VARIABLE_LDAP_GROUPDN, next.LDAP_GROUP_DN_DEFAULT);
+    next.LDAP_GROUPS_TARGET = setVar(VARIABLE_LDAP_GROUPS_TARGET, next.LDAP_GROUPS_TARGET);
+    next.LDAP_GROUPS_SEARCH_FILTER = setStrVar(VARIABLE_LDAP_GROUPS_SEARCH_FILTER, next.LDAP_GROUPS_SEARCH_FILTER);
+    next.LDAP_GROUP_MEMBERS_SEARCH_FILTER =
+      setStrVar(VARIABLE_LDAP_GROUP_MEMBERS_SEARCH_FILTER, next.LDAP_GROUP_MEMBERS_SEARCH_FILTER);
+    next.IS_KRB_ENABLED = setBoolVar(VARIABLE_KRB_AUTH, next.IS_KRB_ENABLED);
+    next.IS_LDAP_ENABLED = setBoolVar(VARIABLE_LDAP_AUTH, next.IS_LDAP_ENABLED);
+    next.OAUTH_ENABLED = setStrVar(VARIABLE_OAUTH_ENABLED, next.OAUTH_ENABLED);
+    next.IS_OAUTH_ENABLED = setBoolVar(VARIABLE_OAUTH_ENABLED, next.IS_OAUTH_ENABLED);
+    next.OAUTH_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_REDIRECT_URI, next.OAUTH_REDIRECT_URI);
+    next.OAUTH_LOGOUT_REDIRECT_URI = setStrVar(VARIABLE_OAUTH_LOGOUT_REDIRECT_URI, next.OAUTH_LOGOUT_REDIRECT_URI);
+    next.OAUTH_ACCOUNT_STATUS = setIntVar(VARIABLE_OAUTH_ACCOUNT_STATUS, next.OAUTH_ACCOUNT_STATUS);
+    next.OAUTH_GROUP_MAPPING = setStrVar(VARIABLE_OAUTH_GROUP_MAPPING, next.OAUTH_GROUP_MAPPING);
+
+    next.REMOTE_AUTH_NEED_CONSENT = setBoolVar(VARIABLE_REMOTE_AUTH_NEED_CONSENT, next.REMOTE_AUTH_NEED_CONSENT);
     
-    DISABLE_PASSWORD_LOGIN = setBoolVar(VARIABLE_DISABLE_PASSWORD_LOGIN, DISABLE_PASSWORD_LOGIN);
-    DISABLE_REGISTRATION = setBoolVar(VARIABLE_DISABLE_REGISTRATION, DISABLE_REGISTRATION);
-    DISABLE_REGISTRATION_UI = setBoolVar(VARIABLE_DISABLE_REGISTRATION_UI, DISABLE_REGISTRATION_UI);
+    next.DISABLE_PASSWORD_LOGIN = setBoolVar(VARIABLE_DISABLE_PASSWORD_LOGIN, next.DISABLE_PASSWORD_LOGIN);
+    next.DISABLE_REGISTRATION = setBoolVar(VARIABLE_DISABLE_REGISTRATION, next.DISABLE_REGISTRATION);
+    next.DISABLE_REGISTRATION_UI = setBoolVar(VARIABLE_DISABLE_REGISTRATION_UI, next.DISABLE_REGISTRATION_UI);
   
-    LDAP_GROUP_MAPPING_SYNC_INTERVAL = setLongVar(VARIABLE_LDAP_GROUP_MAPPING_SYNC_INTERVAL,
-      LDAP_GROUP_MAPPING_SYNC_INTERVAL);
+    next.LDAP_GROUP_MAPPING_SYNC_INTERVAL = setLongVar(VARIABLE_LDAP_GROUP_MAPPING_SYNC_INTERVAL,
+      next.LDAP_GROUP_MAPPING_SYNC_INTERVAL);
 
-    VALIDATE_REMOTE_USER_EMAIL_VERIFIED =
-      setBoolVar(VARIABLE_VALIDATE_REMOTE_USER_EMAIL_VERIFIED, VALIDATE_REMOTE_USER_EMAIL_VERIFIED);
+    next.VALIDATE_REMOTE_USER_EMAIL_VERIFIED =
+      setBoolVar(VARIABLE_VALIDATE_REMOTE_USER_EMAIL_VERIFIED, next.VALIDATE_REMOTE_USER_EMAIL_VERIFIED);
     
-    MANAGED_CLOUD_REDIRECT_URI = setStrVar(VARIABLE_MANAGED_CLOUD_REDIRECT_URI, MANAGED_CLOUD_REDIRECT_URI);
-    MANAGED_CLOUD_PROVIDER_NAME = setStrVar(VARIABLE_MANAGED_CLOUD_PROVIDER_NAME, MANAGED_CLOUD_PROVIDER_NAME);
+    next.MANAGED_CLOUD_REDIRECT_URI = setStrVar(VARIABLE_MANAGED_CLOUD_REDIRECT_URI, next.MANAGED_CLOUD_REDIRECT_URI);
+    next.MANAGED_CLOUD_PROVIDER_NAME = setStrVar(VARIABLE_MANAGED_CLOUD_PROVIDER_NAME,
+        next.MANAGED_CLOUD_PROVIDER_NAME);
   }
 
-  public synchronized String getKRBAuthStatus() {
-    checkCache();
-    return KRB_AUTH;
+  public String getKRBAuthStatus() {
+    return cache().KRB_AUTH;
   }
 
-  public synchronized String getLDAPAuthStatus() {
-    checkCache();
-    return LDAP_AUTH;
+  public String getLDAPAuthStatus() {
+    return cache().LDAP_AUTH;
   }
 
-  public synchronized  boolean isKrbEnabled() {
-    checkCache();
-    return IS_KRB_ENABLED;
+  public boolean isKrbEnabled() {
+    return cache().IS_KRB_ENABLED;
   }
 
-  public synchronized  boolean isLdapEnabled() {
-    checkCache();
-    return IS_LDAP_ENABLED;
+  public boolean isLdapEnabled() {
+    return cache().IS_LDAP_ENABLED;
   }
 
-  public synchronized String getLdapGroupMapping() {
-    checkCache();
-    return LDAP_GROUP_MAPPING;
+  public String getLdapGroupMapping() {
+    return cache().LDAP_GROUP_MAPPING;
   }
 
-  public synchronized String getLdapUserId() {
-    checkCache();
-    return LDAP_USER_ID;
+  public String getLdapUserId() {
+    return cache().LDAP_USER_ID;
   }
 
-  public synchronized String getLdapUserGivenName() {
-    checkCache();
-    return LDAP_USER_GIVEN_NAME;
+  public String getLdapUserGivenName() {
+    return cache().LDAP_USER_GIVEN_NAME;
   }
 
-  public synchronized String getLdapUserSurname() {
-    checkCache();
-    return LDAP_USER_SURNAME;
+  public String getLdapUserSurname() {
+    return cache().LDAP_USER_SURNAME;
   }
 
-  public synchronized String getLdapUserMail() {
-    checkCache();
-    return LDAP_USER_EMAIL;
+  public String getLdapUserMail() {
+    return cache().LDAP_USER_EMAIL;
   }
 
-  public synchronized String getLdapUserSearchFilter() {
-    checkCache();
-    return LDAP_USER_SEARCH_FILTER;
+  public String getLdapUserSearchFilter() {
+    return cache().LDAP_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getLdapGroupSearchFilter() {
-    checkCache();
-    return LDAP_GROUP_SEARCH_FILTER;
+  public String getLdapGroupSearchFilter() {
+    return cache().LDAP_GROUP_SEARCH_FILTER;
   }
 
-  public synchronized String getKrbUserSearchFilter() {
-    checkCache();
-    return LDAP_KRB_USER_SEARCH_FILTER;
+  public String getKrbUserSearchFilter() {
+    return cache().LDAP_KRB_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getLdapAttrBinary() {
-    checkCache();
-    return LDAP_ATTR_BINARY;
+  public String getLdapAttrBinary() {
+    return cache().LDAP_ATTR_BINARY;
   }
 
-  public synchronized String getLdapGroupTarget() {
-    checkCache();
-    return LDAP_GROUP_TARGET;
+  public String getLdapGroupTarget() {
+    return cache().LDAP_GROUP_TARGET;
   }
 
-  public synchronized String getLdapDynGroupTarget() {
-    checkCache();
-    return LDAP_DYNAMIC_GROUP_TARGET;
+  public String getLdapDynGroupTarget() {
+    return cache().LDAP_DYNAMIC_GROUP_TARGET;
   }
 
-  public synchronized String getLdapUserDN() {
-    checkCache();
-    return LDAP_USER_DN;
+  public String getLdapUserDN() {
+    return cache().LDAP_USER_DN;
   }
 
-  public synchronized String getLdapGroupDN() {
-    checkCache();
-    return LDAP_GROUP_DN;
+  public String getLdapGroupDN() {
+    return cache().LDAP_GROUP_DN;
   }
 
-  public synchronized int getLdapAccountStatus() {
-    checkCache();
-    return LDAP_ACCOUNT_STATUS;
+  public int getLdapAccountStatus() {
+    return cache().LDAP_ACCOUNT_STATUS;
   }
   
-  public synchronized String getLdapGroupsTarget() {
-    checkCache();
-    return LDAP_GROUPS_TARGET;
+  public String getLdapGroupsTarget() {
+    return cache().LDAP_GROUPS_TARGET;
   }
   
-  public synchronized String getLdapGroupsSearchFilter() {
-    checkCache();
-    return LDAP_GROUPS_SEARCH_FILTER;
+  public String getLdapGroupsSearchFilter() {
+    return cache().LDAP_GROUPS_SEARCH_FILTER;
   }
   
-  public synchronized String getLdapGroupMembersFilter() {
-    checkCache();
-    return LDAP_GROUP_MEMBERS_SEARCH_FILTER;
+  public String getLdapGroupMembersFilter() {
+    return cache().LDAP_GROUP_MEMBERS_SEARCH_FILTER;
   }
 
-  public synchronized  boolean isOAuthEnabled() {
-    checkCache();
-    return IS_OAUTH_ENABLED;
+  public boolean isOAuthEnabled() {
+    return cache().IS_OAUTH_ENABLED;
   }
 
-  public synchronized String getOAuthGroupMapping() {
-    checkCache();
-    return OAUTH_GROUP_MAPPING;
+  public String getOAuthGroupMapping() {
+    return cache().OAUTH_GROUP_MAPPING;
   }
 
   public void updateOAuthGroupMapping(String mapping) {
     updateVariableInternal(VARIABLE_OAUTH_GROUP_MAPPING, mapping, VariablesVisibility.ADMIN);
   }
   
-  public synchronized String getOauthRedirectUri(String providerName) {
+  public String getOauthRedirectUri(String providerName) {
     return getOauthRedirectUri(providerName, false);
   }
   
@@ -2616,37 +2675,34 @@ public class Settings {
    * when using oauth for hopsworks.ai we need to first redirect to hopsworks.ai
    * which then redirect to hopsworks.
    */
-  public synchronized String getOauthRedirectUri(String providerName, boolean skipManagedCloud) {
-    checkCache();
-    if (MANAGED_CLOUD_REDIRECT_URI.isEmpty() || skipManagedCloud || !Objects.equals(MANAGED_CLOUD_PROVIDER_NAME,
-      providerName)) {
-      return OAUTH_REDIRECT_URI;
+  public String getOauthRedirectUri(String providerName, boolean skipManagedCloud) {
+    CachedVariables cached = cache();
+    if (cached.MANAGED_CLOUD_REDIRECT_URI.isEmpty() || skipManagedCloud
+      || !Objects.equals(cached.MANAGED_CLOUD_PROVIDER_NAME, providerName)) {
+      return cached.OAUTH_REDIRECT_URI;
     }
-    return MANAGED_CLOUD_REDIRECT_URI;
+    return cached.MANAGED_CLOUD_REDIRECT_URI;
   }
   
-  public synchronized String getManagedCloudRedirectUri() {
-    checkCache();
-    return MANAGED_CLOUD_REDIRECT_URI;
+  public String getManagedCloudRedirectUri() {
+    return cache().MANAGED_CLOUD_REDIRECT_URI;
   }
   
-  public synchronized String getManagedCloudProviderName() {
-    checkCache();
-    return MANAGED_CLOUD_PROVIDER_NAME;
+  public String getManagedCloudProviderName() {
+    return cache().MANAGED_CLOUD_PROVIDER_NAME;
   }
   
   public void updateOauthRedirectUri(String uri) {
-    updateVariableInternal(VARIABLE_OAUTH_REDIRECT_URI, uri + OAUTH_REDIRECT_URI_PATH,
+    updateVariableInternal(VARIABLE_OAUTH_REDIRECT_URI, uri + cache().OAUTH_REDIRECT_URI_PATH,
             VariablesVisibility.ADMIN);
   }
   
-  public synchronized String getOauthLogoutRedirectUri() {
-    checkCache();
-    return OAUTH_LOGOUT_REDIRECT_URI;
+  public String getOauthLogoutRedirectUri() {
+    return cache().OAUTH_LOGOUT_REDIRECT_URI;
   }
   
   public void addPathAndupdateOauthLogoutRedirectUri(String uri) {
-    updateOauthLogoutRedirectUri(uri + OAUTH_LOGOUT_REDIRECT_URI_PATH);
+    updateOauthLogoutRedirectUri(uri + cache().OAUTH_LOGOUT_REDIRECT_URI_PATH);
   }
   
   public void updateOauthLogoutRedirectUri(String uri) {
@@ -2658,111 +2714,100 @@ public class Settings {
     updateVariableInternal(VARIABLE_MANAGED_CLOUD_REDIRECT_URI, uri , VariablesVisibility.ADMIN);
   }
   
-  public synchronized int getOAuthAccountStatus() {
-    checkCache();
-    return OAUTH_ACCOUNT_STATUS;
+  public int getOAuthAccountStatus() {
+    return cache().OAUTH_ACCOUNT_STATUS;
   }
   
   public void updateOAuthAccountStatus(Integer val) {
     updateVariableInternal(VARIABLE_OAUTH_ACCOUNT_STATUS, val.toString(), VariablesVisibility.ADMIN);
   }
   
-  public synchronized  boolean shouldValidateEmailVerified() {
-    checkCache();
-    return VALIDATE_REMOTE_USER_EMAIL_VERIFIED;
+  public boolean shouldValidateEmailVerified() {
+    return cache().VALIDATE_REMOTE_USER_EMAIL_VERIFIED;
   }
   
-  public synchronized  boolean remoteAuthNeedConsent() {
-    checkCache();
-    return REMOTE_AUTH_NEED_CONSENT;
+  public boolean remoteAuthNeedConsent() {
+    return cache().REMOTE_AUTH_NEED_CONSENT;
   }
   
   public void updateRemoteAuthNeedConsent(boolean needConsent) {
     updateVariableInternal(VARIABLE_REMOTE_AUTH_NEED_CONSENT, Boolean.toString(needConsent), VariablesVisibility.ADMIN);
   }
 
-  public synchronized String getVarLdapAccountStatus() {
+  public String getVarLdapAccountStatus() {
     return VARIABLE_LDAP_ACCOUNT_STATUS;
   }
 
-  public synchronized String getVarLdapGroupMapping() {
+  public String getVarLdapGroupMapping() {
     return VARIABLE_LDAP_GROUP_MAPPING;
   }
 
-  public synchronized String getVarLdapUserId() {
+  public String getVarLdapUserId() {
     return VARIABLE_LDAP_USER_ID;
   }
 
-  public synchronized String getVarLdapUserGivenName() {
+  public String getVarLdapUserGivenName() {
     return VARIABLE_LDAP_USER_GIVEN_NAME;
   }
 
-  public synchronized String getVarLdapUserSurname() {
+  public String getVarLdapUserSurname() {
     return VARIABLE_LDAP_USER_SURNAME;
   }
 
-  public synchronized String getVarLdapUserMail() {
+  public String getVarLdapUserMail() {
     return VARIABLE_LDAP_USER_EMAIL;
   }
 
-  public synchronized String getVarLdapUserSearchFilter() {
+  public String getVarLdapUserSearchFilter() {
     return VARIABLE_LDAP_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getVarLdapGroupSearchFilter() {
+  public String getVarLdapGroupSearchFilter() {
     return VARIABLE_LDAP_GROUP_SEARCH_FILTER;
   }
 
-  public synchronized String getVarKrbUserSearchFilter() {
+  public String getVarKrbUserSearchFilter() {
     return VARIABLE_LDAP_KRB_USER_SEARCH_FILTER;
   }
 
-  public synchronized String getVarLdapAttrBinary() {
+  public String getVarLdapAttrBinary() {
     return VARIABLE_LDAP_ATTR_BINARY;
   }
 
-  public synchronized String getVarLdapGroupTarget() {
+  public String getVarLdapGroupTarget() {
     return VARIABLE_LDAP_GROUP_TARGET;
   }
 
-  public synchronized String getVarLdapDynGroupTarget() {
+  public String getVarLdapDynGroupTarget() {
     return VARIABLE_LDAP_DYNAMIC_GROUP_TARGET;
   }
 
-  public synchronized String getVarLdapUserDN() {
+  public String getVarLdapUserDN() {
     return VARIABLE_LDAP_USERDN;
   }
 
-  public synchronized String getVarLdapGroupDN() {
+  public String getVarLdapGroupDN() {
     return VARIABLE_LDAP_GROUPDN;
   }
   
-  public synchronized  boolean isPasswordLoginDisabled() {
-    checkCache();
-    return DISABLE_PASSWORD_LOGIN;
+  public boolean isPasswordLoginDisabled() {
+    return cache().DISABLE_PASSWORD_LOGIN;
   }
   
-  public synchronized  boolean isRegistrationDisabled() {
-    checkCache();
-    return DISABLE_REGISTRATION;
+  public boolean isRegistrationDisabled() {
+    return cache().DISABLE_REGISTRATION;
   }
   
   public void updateRegistrationDisabled(boolean disable) {
     updateVariableInternal(VARIABLE_DISABLE_REGISTRATION, Boolean.toString(disable), VariablesVisibility.ADMIN);
   }
 
-  // Special flag to disable only registration UI but not the backend
-  // It is used in managed cloud when user management is MANAGED by hopsworks.ai
-  // Variable value is set during instance initialization by ec2-init
-  private boolean DISABLE_REGISTRATION_UI = false;
-  public synchronized boolean isRegistrationUIDisabled() {
-    checkCache();
-    return isRegistrationDisabled() || DISABLE_REGISTRATION_UI;
+  public boolean isRegistrationUIDisabled() {
+    return isRegistrationDisabled() || cache().DISABLE_REGISTRATION_UI;
   }
 
-  public synchronized long ldapGroupMappingSyncInterval() {
-    checkCache();
-    return LDAP_GROUP_MAPPING_SYNC_INTERVAL;
+  public long ldapGroupMappingSyncInterval() {
+    return cache().LDAP_GROUP_MAPPING_SYNC_INTERVAL;
   }
   
   
@@ -2770,38 +2815,30 @@ public class Settings {
 
   // Service key rotation enabled
   private static final String SERVICE_KEY_ROTATION_ENABLED_KEY = "service_key_rotation_enabled";
-  private boolean serviceKeyRotationEnabled = false;
 
-  public synchronized boolean isServiceKeyRotationEnabled() {
-    checkCache();
-    return serviceKeyRotationEnabled;
+  public boolean isServiceKeyRotationEnabled() {
+    return cache().serviceKeyRotationEnabled;
   }
 
   // Service key rotation interval
   private static final String SERVICE_KEY_ROTATION_INTERVAL_KEY = "service_key_rotation_interval";
-  private String serviceKeyRotationInterval = "3d";
 
-  public synchronized String getServiceKeyRotationInterval() {
-    checkCache();
-    return serviceKeyRotationInterval;
+  public String getServiceKeyRotationInterval() {
+    return cache().serviceKeyRotationInterval;
   }
 
  // TensorBoard kill rotation interval in milliseconds (should be lower than the TensorBoardKillTimer)
   private static final String TENSORBOARD_MAX_LAST_ACCESSED = "tensorboard_max_last_accessed";
-  private int tensorBoardMaxLastAccessed = 1140000;
 
-  public synchronized int getTensorBoardMaxLastAccessed() {
-    checkCache();
-    return tensorBoardMaxLastAccessed;
+  public int getTensorBoardMaxLastAccessed() {
+    return cache().tensorBoardMaxLastAccessed;
   }
 
   // TensorBoard kill rotation interval in milliseconds
   private static final String SPARK_UI_LOGS_OFFSET = "spark_ui_logs_offset";
-  private int sparkUILogsOffset = 512000;
 
-  public synchronized int getSparkUILogsOffset() {
-    checkCache();
-    return sparkUILogsOffset;
+  public int getSparkUILogsOffset() {
+    return cache().sparkUILogsOffset;
   }
 
   public Long getConfTimeValue(String configurationTime) {
@@ -2824,402 +2861,249 @@ public class Settings {
     return timeUnitStr == null ? TimeUnit.MINUTES : TIME_SUFFIXES.get(timeUnitStr.toLowerCase());
   }
 
-  private Set<String> toSetFromCsv(String csv, String separator) {
-    return new HashSet<>(Splitter.on(separator).trimResults().splitToList(csv));
+  private Set<String> toImmutableSetFromCsv(String csv, String separator) {
+    return Collections.unmodifiableSet(new HashSet<>(Splitter.on(separator).trimResults().splitToList(csv)));
   }
 
-  // Libraries that should not be uninstallable
-  private Set<String> IMMUTABLE_PYTHON_LIBRARY_NAMES;
   private static final String VARIABLE_IMMUTABLE_PYTHON_LIBRARY_NAMES = "preinstalled_python_lib_names";
   private static final String DEFAULT_IMMUTABLE_PYTHON_LIBRARY_NAMES = "pydoop, pyspark, jupyterlab, sparkmagic, " +
       "hdfscontents, pyjks, hops-apache-beam, pyopenssl";
 
-  public synchronized Set<String> getImmutablePythonLibraryNames() {
-    checkCache();
-    return IMMUTABLE_PYTHON_LIBRARY_NAMES;
+  public Set<String> getImmutablePythonLibraryNames() {
+    return cache().IMMUTABLE_PYTHON_LIBRARY_NAMES;
   }
 
-  private String HOPSWORKS_VERSION;
-
-  public synchronized String getHopsworksVersion() {
-    checkCache();
-    return HOPSWORKS_VERSION;
+  public String getHopsworksVersion() {
+    return cache().HOPSWORKS_VERSION;
   }
 
-  private String KUBE_KSERVE_TENSORFLOW_VERSION;
-
-  public synchronized String getKServeTensorflowVersion() {
-    checkCache();
-    return KUBE_KSERVE_TENSORFLOW_VERSION;
+  public String getKServeTensorflowVersion() {
+    return cache().KUBE_KSERVE_TENSORFLOW_VERSION;
   }
 
-  private String TENSORFLOW_VERSION;
-
-  public synchronized String getTensorflowVersion() {
-    checkCache();
-    return TENSORFLOW_VERSION;
+  public String getTensorflowVersion() {
+    return cache().TENSORFLOW_VERSION;
   }
 
-  private String OPENSEARCH_VERSION;
-
-  public synchronized String getOpenSearchVersion() {
-    checkCache();
-    return OPENSEARCH_VERSION;
+  public String getOpenSearchVersion() {
+    return cache().OPENSEARCH_VERSION;
   }
 
-  private String KAFKA_VERSION;
-
-  public synchronized String getKafkaVersion() {
-    checkCache();
-    return KAFKA_VERSION;
+  public String getKafkaVersion() {
+    return cache().KAFKA_VERSION;
   }
 
-  private String EPIPE_VERSION;
-
-  public synchronized String getEpipeVersion() {
-    checkCache();
-    return EPIPE_VERSION;
+  public String getEpipeVersion() {
+    return cache().EPIPE_VERSION;
   }
 
-  private String FLINK_VERSION;
-
-  public synchronized String getFlinkVersion() {
-    checkCache();
-    return FLINK_VERSION;
+  public String getFlinkVersion() {
+    return cache().FLINK_VERSION;
   }
 
-  private String SPARK_VERSION;
-
-  public synchronized String getSparkVersion() {
-    checkCache();
-    return SPARK_VERSION;
+  public String getSparkVersion() {
+    return cache().SPARK_VERSION;
   }
 
-  private String TEZ_VERSION;
-
-  public synchronized String getTezVersion() {
-    checkCache();
-    return TEZ_VERSION;
+  public String getTezVersion() {
+    return cache().TEZ_VERSION;
   }
 
-  private String HIVE2_VERSION;
-
-  public synchronized String getHive2Version() {
-    checkCache();
-    return HIVE2_VERSION;
+  public String getHive2Version() {
+    return cache().HIVE2_VERSION;
   }
 
-  private String LIVY_VERSION;
-
-  public synchronized String getLivyVersion() {
-    checkCache();
-    return LIVY_VERSION;
+  public String getLivyVersion() {
+    return cache().LIVY_VERSION;
   }
 
-  private String NDB_VERSION;
-
-  public synchronized String getNdbVersion() {
-    checkCache();
-    return NDB_VERSION;
+  public String getNdbVersion() {
+    return cache().NDB_VERSION;
   }
 
-  private String FILEBEAT_VERSION;
-
-  public synchronized String getFilebeatVersion() {
-    checkCache();
-    return FILEBEAT_VERSION;
+  public String getFilebeatVersion() {
+    return cache().FILEBEAT_VERSION;
   }
 
-  private String KIBANA_VERSION;
-
-  public synchronized String getKibanaVersion() {
-    checkCache();
-    return KIBANA_VERSION;
+  public String getKibanaVersion() {
+    return cache().KIBANA_VERSION;
   }
 
-  private String LOGSTASH_VERSION;
-
-  public synchronized String getLogstashVersion() {
-    checkCache();
-    return LOGSTASH_VERSION;
+  public String getLogstashVersion() {
+    return cache().LOGSTASH_VERSION;
   }
 
-  private String GRAFANA_VERSION;
-
-  public synchronized String getGrafanaVersion() {
-    checkCache();
-    return GRAFANA_VERSION;
+  public String getGrafanaVersion() {
+    return cache().GRAFANA_VERSION;
   }
 
-  private String ZOOKEEPER_VERSION;
-
-  public synchronized String getZookeeperVersion() {
-    checkCache();
-    return ZOOKEEPER_VERSION;
+  public String getZookeeperVersion() {
+    return cache().ZOOKEEPER_VERSION;
   }
 
   // -------------------------------- Kubernetes ----------------------------------------------//
-  private String KUBE_USER = "kubernetes";
 
-  public synchronized String getKubeUser() {
-    checkCache();
-    return KUBE_USER;
+  public String getKubeUser() {
+    return cache().KUBE_USER;
   }
   
-  private String KUBE_HOPSWORKS_USER = "hopsworks";
-  
-  public synchronized String getKubeHopsworksUser() {
-    checkCache();
-    return KUBE_HOPSWORKS_USER;
+  public String getKubeHopsworksUser() {
+    return cache().KUBE_HOPSWORKS_USER;
   }
 
-  private String KUBEMASTER_URL = "https://192.168.68.102:6443";
-
-  public synchronized String getKubeMasterUrl() {
-    checkCache();
-    return KUBEMASTER_URL;
+  public String getKubeMasterUrl() {
+    return cache().KUBEMASTER_URL;
   }
 
-  private String KUBE_CA_CERTFILE = "/srv/hops/certs-dir/certs/ca.cert.pem";
-
-  public synchronized String getKubeCaCertfile() {
-    checkCache();
-    return KUBE_CA_CERTFILE;
+  public String getKubeCaCertfile() {
+    return cache().KUBE_CA_CERTFILE;
   }
 
-  private String KUBE_CLIENT_KEYFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.key.pem";
-
-  public synchronized String getKubeClientKeyfile() {
-    checkCache();
-    return KUBE_CLIENT_KEYFILE;
+  public String getKubeClientKeyfile() {
+    return cache().KUBE_CLIENT_KEYFILE;
   }
 
-  private String KUBE_CLIENT_CERTFILE = "/srv/hops/certs-dir/kube/hopsworks/hopsworks.cert.pem";
-
-  public synchronized String getKubeClientCertfile() {
-    checkCache();
-    return KUBE_CLIENT_CERTFILE;
+  public String getKubeClientCertfile() {
+    return cache().KUBE_CLIENT_CERTFILE;
   }
 
-  private String KUBE_CLIENT_KEYPASS = "adminpw";
-
-  public synchronized String getKubeClientKeypass() {
-    checkCache();
-    return KUBE_CLIENT_KEYPASS;
+  public String getKubeClientKeypass() {
+    return cache().KUBE_CLIENT_KEYPASS;
   }
 
-  private String KUBE_TRUSTSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__tstore.jks";
-
-  public synchronized String getKubeTruststorePath() {
-    checkCache();
-    return KUBE_TRUSTSTORE_PATH;
+  public String getKubeTruststorePath() {
+    return cache().KUBE_TRUSTSTORE_PATH;
   }
 
-  private String KUBE_TRUSTSTORE_KEY = "adminpw";
-
-  public synchronized String getKubeTruststoreKey() {
-    checkCache();
-    return KUBE_TRUSTSTORE_KEY;
+  public String getKubeTruststoreKey() {
+    return cache().KUBE_TRUSTSTORE_KEY;
   }
 
-  private String KUBE_KEYSTORE_PATH = "/srv/hops/certs-dir/kube/hopsworks/hopsworks__kstore.jks";
-
-  public synchronized String getKubeKeystorePath() {
-    checkCache();
-    return KUBE_KEYSTORE_PATH;
+  public String getKubeKeystorePath() {
+    return cache().KUBE_KEYSTORE_PATH;
   }
 
-  private String KUBE_KEYSTORE_KEY = "adminpw";
-
-  public synchronized String getKubeKeystoreKey() {
-    checkCache();
-    return KUBE_KEYSTORE_KEY;
+  public String getKubeKeystoreKey() {
+    return cache().KUBE_KEYSTORE_KEY;
   }
 
-  private String KUBE_PULL_POLICY = "Always";
-  public synchronized String getKubeImagePullPolicy() {
-    checkCache();
-    return KUBE_PULL_POLICY;
+  public String getKubeImagePullPolicy() {
+    return cache().KUBE_PULL_POLICY;
   }
 
-  private Integer KUBE_API_MAX_ATTEMPTS = 12;
-  public synchronized Integer getKubeAPIMaxAttempts() {
-    checkCache();
-    return KUBE_API_MAX_ATTEMPTS;
+  public Integer getKubeAPIMaxAttempts() {
+    return cache().KUBE_API_MAX_ATTEMPTS;
   }
   
-  private Boolean ONLINE_FEATURESTORE = false;
-  
-  public synchronized Boolean isOnlineFeaturestore() {
-    checkCache();
-    return ONLINE_FEATURESTORE;
+  public Boolean isOnlineFeaturestore() {
+    return cache().ONLINE_FEATURESTORE;
   }
 
-  private String ONLINE_FEATURESTORE_TS = "";
-  public synchronized String getOnlineFeatureStoreTableSpace() {
-    checkCache();
-    return ONLINE_FEATURESTORE_TS;
+  public String getOnlineFeatureStoreTableSpace() {
+    return cache().ONLINE_FEATURESTORE_TS;
   }
 
-  private Integer ONLINEFS_THREAD_NUMBER = 10;
-  public synchronized  Integer getOnlineFsThreadNumber() {
-    checkCache();
-    return ONLINEFS_THREAD_NUMBER;
+  public Integer getOnlineFsThreadNumber() {
+    return cache().ONLINEFS_THREAD_NUMBER;
   }
 
-  private Integer KUBE_DOCKER_MAX_MEMORY_ALLOCATION = 8192;
-  public synchronized Integer getKubeDockerMaxMemoryAllocation() {
-    checkCache();
-    return KUBE_DOCKER_MAX_MEMORY_ALLOCATION;
+  public Integer getKubeDockerMaxMemoryAllocation() {
+    return cache().KUBE_DOCKER_MAX_MEMORY_ALLOCATION;
   }
 
-  private Double KUBE_DOCKER_MAX_CORES_ALLOCATION = 4.0;
-  public synchronized Double getKubeDockerMaxCoresAllocation() {
-    checkCache();
-    return KUBE_DOCKER_MAX_CORES_ALLOCATION;
+  public Double getKubeDockerMaxCoresAllocation() {
+    return cache().KUBE_DOCKER_MAX_CORES_ALLOCATION;
   }
 
-  private Integer KUBE_DOCKER_MAX_GPUS_ALLOCATION = 1;
-  public synchronized Integer getKubeDockerMaxGpusAllocation() {
-    checkCache();
-    return KUBE_DOCKER_MAX_GPUS_ALLOCATION;
+  public Integer getKubeDockerMaxGpusAllocation() {
+    return cache().KUBE_DOCKER_MAX_GPUS_ALLOCATION;
   }
   
-  private Boolean KUBE_INSTALLED = false;
-  public synchronized Boolean getKubeInstalled() {
-    checkCache();
-    return KUBE_INSTALLED;
+  public Boolean getKubeInstalled() {
+    return cache().KUBE_INSTALLED;
   }
   
-  private Boolean KUBE_KSERVE_INSTALLED = false;
-  public synchronized Boolean getKubeKServeInstalled() {
-    checkCache();
-    return KUBE_KSERVE_INSTALLED;
+  public Boolean getKubeKServeInstalled() {
+    return cache().KUBE_KSERVE_INSTALLED;
   }
   
-  private String KUBE_SERVING_NODE_LABELS = "";
-  public synchronized String getKubeServingNodeLabels() {
-    checkCache();
-    return KUBE_SERVING_NODE_LABELS;
+  public String getKubeServingNodeLabels() {
+    return cache().KUBE_SERVING_NODE_LABELS;
   }
   
-  private String KUBE_SERVING_NODE_TOLERATIONS = "";
-  public synchronized String getKubeServingNodeTolerations() {
-    checkCache();
-    return KUBE_SERVING_NODE_TOLERATIONS;
+  public String getKubeServingNodeTolerations() {
+    return cache().KUBE_SERVING_NODE_TOLERATIONS;
   }
   
-  private Integer KUBE_SERVING_MAX_MEMORY_ALLOCATION = -1; // no upper limit
-  public synchronized Integer getKubeServingMaxMemoryAllocation() {
-    checkCache();
-    return KUBE_SERVING_MAX_MEMORY_ALLOCATION;
+  public Integer getKubeServingMaxMemoryAllocation() {
+    return cache().KUBE_SERVING_MAX_MEMORY_ALLOCATION;
   }
   
-  private Double KUBE_SERVING_MAX_CORES_ALLOCATION = -1.0;  // no upper limit
-  public synchronized Double getKubeServingMaxCoresAllocation() {
-    checkCache();
-    return KUBE_SERVING_MAX_CORES_ALLOCATION;
+  public Double getKubeServingMaxCoresAllocation() {
+    return cache().KUBE_SERVING_MAX_CORES_ALLOCATION;
   }
   
-  private Integer KUBE_SERVING_MAX_GPUS_ALLOCATION = -1; // no upper limit
-  public synchronized Integer getKubeServingMaxGpusAllocation() {
-    checkCache();
-    return KUBE_SERVING_MAX_GPUS_ALLOCATION;
+  public Integer getKubeServingMaxGpusAllocation() {
+    return cache().KUBE_SERVING_MAX_GPUS_ALLOCATION;
   }
   
-  // Maximum number of instances. Possible values >=-1 where -1 means no limit.
-  private Integer KUBE_SERVING_MAX_NUM_INSTANCES = -1;
-  public synchronized Integer getKubeServingMaxNumInstances() {
-    checkCache();
-    return KUBE_SERVING_MAX_NUM_INSTANCES;
+  public Integer getKubeServingMaxNumInstances() {
+    return cache().KUBE_SERVING_MAX_NUM_INSTANCES;
   }
   
-  // Minimum number of instances. Possible values: >=-1 where -1 means no limit and 0 enforces scale-to-zero
-  // capabilities when available
-  private Integer KUBE_SERVING_MIN_NUM_INSTANCES = -1;
-  public synchronized Integer getKubeServingMinNumInstances() {
-    checkCache();
-    return KUBE_SERVING_MIN_NUM_INSTANCES;
+  public Integer getKubeServingMinNumInstances() {
+    return cache().KUBE_SERVING_MIN_NUM_INSTANCES;
   }
   
-  private String KUBE_KNATIVE_DOMAIN_NAME = "";
-  public synchronized String getKubeKnativeDomainName() {
-    checkCache();
-    return KUBE_KNATIVE_DOMAIN_NAME;
+  public String getKubeKnativeDomainName() {
+    return cache().KUBE_KNATIVE_DOMAIN_NAME;
   }
 
-  //comma seperated list of tainted nodes
-  private String KUBE_TAINTED_NODES = "";
-  public synchronized String getKubeTaintedNodes() {
-    checkCache();
-    return KUBE_TAINTED_NODES;
+  public String getKubeTaintedNodes() {
+    return cache().KUBE_TAINTED_NODES;
   }
 
-  private String KUBE_TAINTED_NODES_MONITOR_INTERVAL = "30m";
-  public synchronized String getKubeTaintedMonitorInterval() {
-    checkCache();
-    return KUBE_TAINTED_NODES_MONITOR_INTERVAL;
+  public String getKubeTaintedMonitorInterval() {
+    return cache().KUBE_TAINTED_NODES_MONITOR_INTERVAL;
   }
 
-  private Boolean HOPSWORKS_ENTERPRISE = false;
-  public synchronized Boolean getHopsworksEnterprise() {
-    checkCache();
-    return HOPSWORKS_ENTERPRISE;
+  public Boolean getHopsworksEnterprise() {
+    return cache().HOPSWORKS_ENTERPRISE;
   }
 
-  private boolean ENABLE_DATA_SCIENCE_PROFILE = false;
-  public synchronized boolean getEnableDataScienceProfile() {
-    checkCache();
-    return ENABLE_DATA_SCIENCE_PROFILE;
+  public boolean getEnableDataScienceProfile() {
+    return cache().ENABLE_DATA_SCIENCE_PROFILE;
   }
 
-  private String SERVING_MONITOR_INT = "30s";
-
-  public synchronized String getServingMonitorInt() {
-    checkCache();
-    return SERVING_MONITOR_INT;
+  public String getServingMonitorInt() {
+    return cache().SERVING_MONITOR_INT;
   }
 
-  private int SERVING_CONNECTION_POOL_SIZE = 40;
-  public synchronized int getServingConnectionPoolSize() {
-    checkCache();
-    return SERVING_CONNECTION_POOL_SIZE;
+  public int getServingConnectionPoolSize() {
+    return cache().SERVING_CONNECTION_POOL_SIZE;
   }
 
-  private int SERVING_MAX_ROUTE_CONNECTIONS = 10;
-  public synchronized int getServingMaxRouteConnections() {
-    checkCache();
-    return SERVING_MAX_ROUTE_CONNECTIONS;
+  public int getServingMaxRouteConnections() {
+    return cache().SERVING_MAX_ROUTE_CONNECTIONS;
   }
 
-  private int TENSORBOARD_MAX_RELOAD_THREADS = 1;
-  public synchronized int getTensorBoardMaxReloadThreads() {
-    checkCache();
-    return TENSORBOARD_MAX_RELOAD_THREADS;
+  public int getTensorBoardMaxReloadThreads() {
+    return cache().TENSORBOARD_MAX_RELOAD_THREADS;
   }
 
-  private String JUPYTER_HOST = "localhost";
-
-  public synchronized String getJupyterHost() {
-    checkCache();
-    return JUPYTER_HOST;
+  public String getJupyterHost() {
+    return cache().JUPYTER_HOST;
   }
 
-  private boolean ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES = false;
-
-  public synchronized boolean isPythonKernelEnabled() {
-    checkCache();
+  public boolean isPythonKernelEnabled() {
     if(getKubeInstalled()) {
       return true;
     }
-    return ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES;
+    return cache().ENABLE_JUPYTER_PYTHON_KERNEL_NON_KUBERNETES;
   }
 
-  private boolean ENABLE_FLYINGDUCK = false;
-
-  public synchronized boolean isFlyingduckEnabled() {
-    checkCache();
-    return ENABLE_FLYINGDUCK;
+  public boolean isFlyingduckEnabled() {
+    return cache().ENABLE_FLYINGDUCK;
   }
 
   //These dependencies were collected by installing jupyterlab in a new environment
@@ -3233,166 +3117,114 @@ public class Settings {
       "packaging", "webencodings", "bleach", "testpath", "nbformat", "nest-asyncio", "async-generator",
       "nbclient", "nbconvert", "notebook", "json5", "jupyterlab-server", "jupyterlab", "sparkmagic"));
 
-  private String JWT_SIGNATURE_ALGORITHM = "HS512";
-  private String JWT_SIGNING_KEY_NAME = "apiKey";
-  private String JWT_ISSUER = "hopsworks@logicalclocks.com";
 
-  private long JWT_LIFETIME_MS = 1800000l;
-  private int JWT_EXP_LEEWAY_SEC = 900;
 
-  private long SERVICE_JWT_LIFETIME_MS = 86400000l;
-  private int SERVICE_JWT_EXP_LEEWAY_SEC = 43200;
 
-  public synchronized String getJWTSignatureAlg() {
-    checkCache();
-    return JWT_SIGNATURE_ALGORITHM;
+  public String getJWTSignatureAlg() {
+    return cache().JWT_SIGNATURE_ALGORITHM;
   }
 
-  public synchronized long getJWTLifetimeMs() {
-    checkCache();
-    return JWT_LIFETIME_MS;
+  public long getJWTLifetimeMs() {
+    return cache().JWT_LIFETIME_MS;
   }
 
-  public synchronized int getJWTExpLeewaySec() {
-    checkCache();
-    return JWT_EXP_LEEWAY_SEC;
+  public int getJWTExpLeewaySec() {
+    return cache().JWT_EXP_LEEWAY_SEC;
   }
 
-  public synchronized long getJWTLifetimeMsPlusLeeway() {
-    checkCache();
-    return JWT_LIFETIME_MS + (JWT_EXP_LEEWAY_SEC * 1000L);
+  public long getJWTLifetimeMsPlusLeeway() {
+    CachedVariables cached = cache();
+    return cached.JWT_LIFETIME_MS + (cached.JWT_EXP_LEEWAY_SEC * 1000L);
   }
 
-  public synchronized long getServiceJWTLifetimeMS() {
-    checkCache();
-    return SERVICE_JWT_LIFETIME_MS;
+  public long getServiceJWTLifetimeMS() {
+    return cache().SERVICE_JWT_LIFETIME_MS;
   }
 
-  public synchronized int getServiceJWTExpLeewaySec() {
-    checkCache();
-    return SERVICE_JWT_EXP_LEEWAY_SEC;
+  public int getServiceJWTExpLeewaySec() {
+    return cache().SERVICE_JWT_EXP_LEEWAY_SEC;
   }
 
-  public synchronized String getJWTSigningKeyName() {
-    checkCache();
-    return JWT_SIGNING_KEY_NAME;
+  public String getJWTSigningKeyName() {
+    return cache().JWT_SIGNING_KEY_NAME;
   }
 
-  public synchronized String getJWTIssuer() {
-    checkCache();
-    return JWT_ISSUER;
+  public String getJWTIssuer() {
+    return cache().JWT_ISSUER;
   }
 
-  private String SERVICE_API_KEY = "";
-  public synchronized String getServiceApiKey() {
-    checkCache();
-    return SERVICE_API_KEY;
+  public String getServiceApiKey() {
+    return cache().SERVICE_API_KEY;
   }
 
-  private int CONNECTION_KEEPALIVE_TIMEOUT = 30;
-  public synchronized int getConnectionKeepAliveTimeout() {
-    checkCache();
-    return CONNECTION_KEEPALIVE_TIMEOUT;
+  public int getConnectionKeepAliveTimeout() {
+    return cache().CONNECTION_KEEPALIVE_TIMEOUT;
   }
 
   private int MAGGY_CLEANUP_INTERVAL = 24 * 60 * 1000;
-  public synchronized int getMaggyCleanupInterval() {
-    checkCache();
+  public int getMaggyCleanupInterval() {
     return MAGGY_CLEANUP_INTERVAL;
   }
 
-  private String HIVE_CONF_PATH = "/srv/hops/apache-hive/conf/hive-site.xml";
-  public synchronized String getHiveConfPath() {
-    checkCache();
-    return HIVE_CONF_PATH;
+  public String getHiveConfPath() {
+    return cache().HIVE_CONF_PATH;
   }
 
-  private String FS_PY_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs_util-2.1.0-SNAPSHOT.py";
-  public synchronized String getFSPyJobUtilPath() {
-    checkCache();
-    return FS_PY_JOB_UTIL_PATH;
+  public String getFSPyJobUtilPath() {
+    return cache().FS_PY_JOB_UTIL_PATH;
   }
 
-  private String FS_JAVA_JOB_UTIL_PATH = "hdfs:///user/spark/hsfs-utils-2.1.0-SNAPSHOT.jar";
-  public synchronized String getFSJavaJobUtilPath() {
-    checkCache();
-    return FS_JAVA_JOB_UTIL_PATH;
+  public String getFSJavaJobUtilPath() {
+    return cache().FS_JAVA_JOB_UTIL_PATH;
   }
   
-  private String HDFS_FILE_OP_JOB_UTIL = "hdfs:///user/spark/hdfs_file_operations-0.1.0.py";
-  public synchronized String getHdfsFileOpJobUtil() {
-    checkCache();
-    return HDFS_FILE_OP_JOB_UTIL;
+  public String getHdfsFileOpJobUtil() {
+    return cache().HDFS_FILE_OP_JOB_UTIL;
   }
 
-  private int HDFS_FILE_OP_JOB_DRIVER_MEM = 2048;
-  public synchronized int getHdfsFileOpJobDriverMemory() {
-    checkCache();
-    return HDFS_FILE_OP_JOB_DRIVER_MEM;
+  public int getHdfsFileOpJobDriverMemory() {
+    return cache().HDFS_FILE_OP_JOB_DRIVER_MEM;
   }
-  private long FEATURESTORE_DB_DEFAULT_QUOTA = HdfsConstants.QUOTA_DONT_SET;
-  public synchronized long getFeaturestoreDbDefaultQuota() {
-    checkCache();
-    return FEATURESTORE_DB_DEFAULT_QUOTA;
+  public long getFeaturestoreDbDefaultQuota() {
+    return cache().FEATURESTORE_DB_DEFAULT_QUOTA;
   }
 
-  private String FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT = "ORC";
-
-  public synchronized String getFeaturestoreDbDefaultStorageFormat() {
-    checkCache();
-    return FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT;
+  public String getFeaturestoreDbDefaultStorageFormat() {
+    return cache().FEATURESTORE_DB_DEFAULT_STORAGE_FORMAT;
   }
 
   // Storage connectors
 
-  private boolean ENABLE_REDSHIFT_STORAGE_CONNECTORS = true;
-  public synchronized boolean isRedshiftStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_REDSHIFT_STORAGE_CONNECTORS;
+  public boolean isRedshiftStorageConnectorsEnabled() {
+    return cache().ENABLE_REDSHIFT_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_ADLS_STORAGE_CONNECTORS = false;
-  public synchronized boolean isAdlsStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_ADLS_STORAGE_CONNECTORS;
+  public boolean isAdlsStorageConnectorsEnabled() {
+    return cache().ENABLE_ADLS_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_SNOWFLAKE_STORAGE_CONNECTORS = true;
-  public synchronized boolean isSnowflakeStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_SNOWFLAKE_STORAGE_CONNECTORS;
+  public boolean isSnowflakeStorageConnectorsEnabled() {
+    return cache().ENABLE_SNOWFLAKE_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_KAFKA_STORAGE_CONNECTORS = true;
-  public synchronized boolean isKafkaStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_KAFKA_STORAGE_CONNECTORS;
+  public boolean isKafkaStorageConnectorsEnabled() {
+    return cache().ENABLE_KAFKA_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_GCS_STORAGE_CONNECTORS = false;
-  public synchronized boolean isGcsStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_GCS_STORAGE_CONNECTORS;
+  public boolean isGcsStorageConnectorsEnabled() {
+    return cache().ENABLE_GCS_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_BIGQUERY_STORAGE_CONNECTORS = false;
-  public synchronized boolean isBigqueryStorageConnectorsEnabled() {
-    checkCache();
-    return ENABLE_BIGQUERY_STORAGE_CONNECTORS;
+  public boolean isBigqueryStorageConnectorsEnabled() {
+    return cache().ENABLE_BIGQUERY_STORAGE_CONNECTORS;
   }
 
-  private boolean ENABLE_BRING_YOUR_OWN_KAFKA = false;
-  public synchronized boolean isBringYourOwnKafkaEnabled() {
-    checkCache();
-    return ENABLE_BRING_YOUR_OWN_KAFKA;
+  public boolean isBringYourOwnKafkaEnabled() {
+    return cache().ENABLE_BRING_YOUR_OWN_KAFKA;
   }
 
-  // test connectors docker
-  private String TESTCONNECTOR_IMAGE_VERSION = "0.1";
-  
   public String getTestConnectorImage() {
-    checkCache();
-    return "testconnector:" + TESTCONNECTOR_IMAGE_VERSION;
+    return "testconnector:" + cache().TESTCONNECTOR_IMAGE_VERSION;
   }
   
   // launch script for test connectors
@@ -3403,36 +3235,28 @@ public class Settings {
   }
   // End - Storage connectors
   
-  private boolean ENABLE_FEATURE_MONITORING = false;
-  public synchronized boolean isFeatureMonitoringEnabled() {
-    checkCache();
-    return ENABLE_FEATURE_MONITORING;
+  public boolean isFeatureMonitoringEnabled() {
+    return cache().ENABLE_FEATURE_MONITORING;
   }
   
-  private Boolean LOCALHOST = false;
-
-  public synchronized Boolean isLocalHost() {
-    checkCache();
-    return LOCALHOST;
+  public Boolean isLocalHost() {
+    return cache().LOCALHOST;
   }
 
-  private String CLOUD = "";
-
-  public synchronized String getCloudProvider() {
-    checkCache();
-    return CLOUD;
+  public String getCloudProvider() {
+    return cache().CLOUD;
   }
 
   public Boolean isCloud() {
     return !getCloudProvider().isEmpty();
   }
 
-  public synchronized CLOUD_TYPES getCloudType() {
-    checkCache();
-    if (CLOUD.isEmpty()) {
+  public CLOUD_TYPES getCloudType() {
+    CachedVariables cached = cache();
+    if (cached.CLOUD.isEmpty()) {
       return CLOUD_TYPES.NONE;
     }
-    return CLOUD_TYPES.fromString(CLOUD);
+    return CLOUD_TYPES.fromString(cached.CLOUD);
   }
   
   public static enum CLOUD_TYPES {
@@ -3450,45 +3274,32 @@ public class Settings {
     return isCloud() || isLocalHost();
   }
   
-  private String FEATURESTORE_JDBC_URL = "jdbc:mysql://onlinefs.mysql.service.consul:3306/";
-  public synchronized String getFeaturestoreJdbcUrl() {
-    checkCache();
-    return FEATURESTORE_JDBC_URL;
+  public String getFeaturestoreJdbcUrl() {
+    return cache().FEATURESTORE_JDBC_URL;
   }
 
-  private String FEATURESTORE_DB_ADMIN_USER = "";
-  public synchronized String getVariableFeaturestoreDbAdminUser() {
-    checkCache();
-    return FEATURESTORE_DB_ADMIN_USER;
+  public String getVariableFeaturestoreDbAdminUser() {
+    return cache().FEATURESTORE_DB_ADMIN_USER;
   }
 
-  private String FEATURESTORE_DB_ADMIN_PWD = "";
-  public synchronized String getVariableFeaturestoreDbAdminPwd() {
-    checkCache();
-    return FEATURESTORE_DB_ADMIN_PWD;
+  public String getVariableFeaturestoreDbAdminPwd() {
+    return cache().FEATURESTORE_DB_ADMIN_PWD;
   }
 
-  private Boolean REQUESTS_VERIFY = false;
-  
   /**
    * Whether to verify HTTP requests in hops-util-py. Accepted values are "true", "false"
    *
    */
-  public synchronized Boolean getRequestsVerify() {
-    checkCache();
-    return REQUESTS_VERIFY;
+  public Boolean getRequestsVerify() {
+    return cache().REQUESTS_VERIFY;
   }
   
-  private  Boolean KIBANA_HTTPS_ENABELED = false;
-  public synchronized Boolean isKibanaHTTPSEnabled() {
-    checkCache();
-    return KIBANA_HTTPS_ENABELED;
+  public Boolean isKibanaHTTPSEnabled() {
+    return cache().KIBANA_HTTPS_ENABELED;
   }
   
-  private  Boolean KIBANA_MULTI_TENANCY_ENABELED = false;
-  public synchronized Boolean isKibanaMultiTenancyEnabled() {
-    checkCache();
-    return KIBANA_MULTI_TENANCY_ENABELED;
+  public Boolean isKibanaMultiTenancyEnabled() {
+    return cache().KIBANA_MULTI_TENANCY_ENABELED;
   }
   
   public static final int OPENSEARCH_KIBANA_NO_CONNECTIONS = 5;
@@ -3500,367 +3311,262 @@ public class Settings {
   private static final String VARIABLE_PROVENANCE_CLEANER_PERIOD = "provenance_cleaner_period";
   
   public static final String PROV_FILE_INDEX_SUFFIX = "__file_prov";
-  private Provenance.Type PROVENANCE_TYPE = Provenance.Type.MIN;
-  private String PROVENANCE_TYPE_S = PROVENANCE_TYPE.name();
-  private Integer PROVENANCE_CLEANUP_SIZE = 5;
-  private Integer PROVENANCE_GRAPH_MAX_SIZE = 50;
-  private Long PROVENANCE_CLEANER_PERIOD = 3600L; //1h in s
   public static final Integer PROVENANCE_OPENSEARCH_PAGE_DEFAULT_SIZE = 1000;
   
   public String getProvFileIndex(Long projectIId) {
     return projectIId.toString() + Settings.PROV_FILE_INDEX_SUFFIX;
   }
   
-  private void populateProvenanceCache() {
-    PROVENANCE_TYPE_S = setStrVar(VARIABLE_PROVENANCE_TYPE, PROVENANCE_TYPE_S);
+  private void populateProvenanceCache(CachedVariables next) {
+    next.PROVENANCE_TYPE_S = setStrVar(VARIABLE_PROVENANCE_TYPE, next.PROVENANCE_TYPE_S);
     try {
-      PROVENANCE_TYPE = ProvTypeDTO.provTypeFromString(PROVENANCE_TYPE_S);
+      next.PROVENANCE_TYPE = ProvTypeDTO.provTypeFromString(next.PROVENANCE_TYPE_S);
     } catch(ProvenanceException e) {
-      LOGGER.log(Level.WARNING, "unknown prov type:" + PROVENANCE_TYPE_S + ", using default");
-      PROVENANCE_TYPE = Provenance.Type.MIN;
-      PROVENANCE_TYPE_S = PROVENANCE_TYPE.name();
+      LOGGER.log(Level.WARNING, "unknown prov type:" + next.PROVENANCE_TYPE_S + ", using default");
+      next.PROVENANCE_TYPE = Provenance.Type.MIN;
+      next.PROVENANCE_TYPE_S = next.PROVENANCE_TYPE.name();
     }
-    PROVENANCE_GRAPH_MAX_SIZE = setIntVar(VARIABLE_PROVENANCE_GRAPH_MAX_SIZE, PROVENANCE_GRAPH_MAX_SIZE);
-    PROVENANCE_CLEANUP_SIZE = setIntVar(VARIABLE_PROVENANCE_CLEANUP_SIZE, PROVENANCE_CLEANUP_SIZE);
-    PROVENANCE_CLEANER_PERIOD = setLongVar(VARIABLE_PROVENANCE_CLEANER_PERIOD, PROVENANCE_CLEANER_PERIOD);
+    next.PROVENANCE_GRAPH_MAX_SIZE = setIntVar(VARIABLE_PROVENANCE_GRAPH_MAX_SIZE, next.PROVENANCE_GRAPH_MAX_SIZE);
+    next.PROVENANCE_CLEANUP_SIZE = setIntVar(VARIABLE_PROVENANCE_CLEANUP_SIZE, next.PROVENANCE_CLEANUP_SIZE);
+    next.PROVENANCE_CLEANER_PERIOD = setLongVar(VARIABLE_PROVENANCE_CLEANER_PERIOD, next.PROVENANCE_CLEANER_PERIOD);
   }
   
-  public synchronized Provenance.Type getProvType() {
-    checkCache();
-    return PROVENANCE_TYPE;
+  public Provenance.Type getProvType() {
+    return cache().PROVENANCE_TYPE;
   }
 
-  public synchronized Integer getProvenanceGraphMaxSize() {
-    checkCache();
-    return PROVENANCE_GRAPH_MAX_SIZE;
+  public Integer getProvenanceGraphMaxSize() {
+    return cache().PROVENANCE_GRAPH_MAX_SIZE;
   }
 
-  public synchronized Integer getProvCleanupSize() {
-    checkCache();
-    return PROVENANCE_CLEANUP_SIZE;
+  public Integer getProvCleanupSize() {
+    return cache().PROVENANCE_CLEANUP_SIZE;
   }
 
-  public synchronized Long getProvCleanerPeriod() {
-    checkCache();
-    return PROVENANCE_CLEANER_PERIOD;
+  public Long getProvCleanerPeriod() {
+    return cache().PROVENANCE_CLEANER_PERIOD;
   }
 
   //------------------------------ END PROVENANCE --------------------------------------------//
   
-  private String CLIENT_PATH = "/srv/hops/client.tar.gz";
-  public synchronized String getClientPath() {
-    checkCache();
-    return CLIENT_PATH;
+  public String getClientPath() {
+    return cache().CLIENT_PATH;
   }
   
-  // CLOUD
-  private String CLOUD_EVENTS_ENDPOINT = "";
-  
-  public synchronized String getCloudEventsEndPoint() {
-    checkCache();
-    return CLOUD_EVENTS_ENDPOINT;
+  public String getCloudEventsEndPoint() {
+    return cache().CLOUD_EVENTS_ENDPOINT;
   }
   
-  private String CLOUD_EVENTS_ENDPOINT_API_KEY = "";
-  
-  public synchronized String getCloudEventsEndPointAPIKey() {
-    checkCache();
-    return CLOUD_EVENTS_ENDPOINT_API_KEY;
+  public String getCloudEventsEndPointAPIKey() {
+    return cache().CLOUD_EVENTS_ENDPOINT_API_KEY;
   }
 
-  private int FG_PREVIEW_LIMIT = 100;
-  public synchronized int getFGPreviewLimit() {
-    checkCache();
-    return FG_PREVIEW_LIMIT;
+  public int getFGPreviewLimit() {
+    return cache().FG_PREVIEW_LIMIT;
   }
 
   public static final String FEATURESTORE_INDEX = "featurestore";
+  // indices built by the reindex, the FEATURESTORE_INDEX alias is swapped to the last one
+  public static final String FEATURESTORE_REINDEX_INDEX_PATTERN_PREFIX = FEATURESTORE_INDEX + "_reindex_";
+  public static final String FEATURESTORE_REINDEX_INDEX_REGEX = FEATURESTORE_REINDEX_INDEX_PATTERN_PREFIX + "*";
   public static final String FEATURESTORE_PROJECT_ID_FIELD = "project_id";
 
   //-----------------------------YARN DOCKER-------------------------------------------------//
-  private static String YARN_RUNTIME = "docker";
   
-  public synchronized String getYarnRuntime(){
-    checkCache();
-    return YARN_RUNTIME;
+  public String getYarnRuntime(){
+    return cache().YARN_RUNTIME;
   }
 
   //----------------------------YARN NODEMANAGER--------------------------------------------//
-  private boolean checkNodemanagersStatus = false;
-  public synchronized boolean isCheckingForNodemanagerStatusEnabled() {
-    checkCache();
-    return checkNodemanagersStatus;
+  public boolean isCheckingForNodemanagerStatusEnabled() {
+    return cache().checkNodemanagersStatus;
   }
 
-  private static String DOCKER_MOUNTS =
-      "/srv/hops/hadoop/etc/hadoop,/srv/hops/spark,/srv/hops/flink";
-  
-  public synchronized String getDockerMounts() {
-    checkCache();
+  public String getDockerMounts() {
     StringBuilder result = new StringBuilder();
-    for(String mountPoint: DOCKER_MOUNTS.split(",")){
+    for(String mountPoint: cache().DOCKER_MOUNTS.split(",")){
       result.append(mountPoint).append(":").append(mountPoint).append(":ro,");
     }
     return result.substring(0, result.length() - 1);
   }
 
-  private String DOCKER_BASE_IMAGE_PYTHON_NAME = "python310";
-
-  public synchronized String getBaseDockerImagePythonName() {
-    checkCache();
+  public String getBaseDockerImagePythonName() {
+    CachedVariables cached = cache();
     if(isManagedDockerRegistry()){
-      return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + DOCKER_BASE_IMAGE_PYTHON_NAME +
-          "_" + HOPSWORKS_VERSION;
+      return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + cached.DOCKER_BASE_IMAGE_PYTHON_NAME +
+          "_" + cached.HOPSWORKS_VERSION;
     }else{
-      return DOCKER_BASE_IMAGE_PYTHON_NAME + ":" + HOPSWORKS_VERSION;
+      return cached.DOCKER_BASE_IMAGE_PYTHON_NAME + ":" + cached.HOPSWORKS_VERSION;
     }
   }
 
-  private String DOCKER_BASE_IMAGE_PYTHON_VERSION = "3.10";
-
-  public synchronized String getDockerBaseImagePythonVersion() {
-    checkCache();
-    return DOCKER_BASE_IMAGE_PYTHON_VERSION;
+  public String getDockerBaseImagePythonVersion() {
+    return cache().DOCKER_BASE_IMAGE_PYTHON_VERSION;
   }
 
   private final static String DOCKER_BASE_NON_PYTHON_IMAGE = "base";
-  public synchronized String getBaseNonPythonDockerImage() {
-    return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + HOPSWORKS_VERSION;
+  public String getBaseNonPythonDockerImage() {
+    return DOCKER_BASE_NON_PYTHON_IMAGE + ":" + cache().HOPSWORKS_VERSION;
   }
 
-  private long YARN_APP_UID = 1235L;
   public long getYarnAppUID() {
-    checkCache();
-    return YARN_APP_UID;
+    return cache().YARN_APP_UID;
   }
   //-----------------------------END YARN DOCKER-------------------------------------------------//
   
-  private KubeType KUBE_TYPE = KubeType.Local;
-  public synchronized KubeType getKubeType() {
-    checkCache();
-    return KUBE_TYPE;
+  public KubeType getKubeType() {
+    return cache().KUBE_TYPE;
   }
   
-  private String DOCKER_NAMESPACE = "";
-  public synchronized String getDockerNamespace(){
-    checkCache();
-    return DOCKER_NAMESPACE;
+  public String getDockerNamespace(){
+    return cache().DOCKER_NAMESPACE;
   }
   
-  private Boolean MANAGED_DOCKER_REGISTRY = false;
-  public synchronized Boolean isManagedDockerRegistry(){
-    checkCache();
-    return MANAGED_DOCKER_REGISTRY && isCloud();
+  public Boolean isManagedDockerRegistry(){
+    return cache().MANAGED_DOCKER_REGISTRY && isCloud();
   }
 
-  public synchronized String getBaseNonPythonDockerImageWithNoTag(){
-    checkCache();
+  public String getBaseNonPythonDockerImageWithNoTag(){
     return DOCKER_BASE_NON_PYTHON_IMAGE;
   }
 
-  private String DOCKER_JOB_MOUNTS_LIST;
-  public synchronized List<String> getDockerMountsList(){
-    checkCache();
-    return Arrays.asList(DOCKER_JOB_MOUNTS_LIST.split(","));
+  public List<String> getDockerMountsList(){
+    return Arrays.asList(cache().DOCKER_JOB_MOUNTS_LIST.split(","));
   }
 
-  private Boolean DOCKER_JOB_MOUNT_ALLOWED = true;
-  public synchronized Boolean isDockerJobMountAllowed(){
-    checkCache();
-    return DOCKER_JOB_MOUNT_ALLOWED;
+  public Boolean isDockerJobMountAllowed(){
+    return cache().DOCKER_JOB_MOUNT_ALLOWED;
   }
 
-  private Boolean DOCKER_JOB_UID_STRICT = true;
-  public synchronized Boolean isDockerJobUidStrict(){
-    checkCache();
-    return DOCKER_JOB_UID_STRICT;
+  public Boolean isDockerJobUidStrict(){
+    return cache().DOCKER_JOB_UID_STRICT;
   }
 
-  private int EXECUTIONS_PER_JOB_LIMIT = 10000;
-  public synchronized int getExecutionsPerJobLimit(){
-    checkCache();
-    return EXECUTIONS_PER_JOB_LIMIT;
+  public int getExecutionsPerJobLimit(){
+    return cache().EXECUTIONS_PER_JOB_LIMIT;
   }
 
-  private int EXECUTIONS_CLEANER_BATCH_SIZE = 1000;
-  public synchronized int getExecutionsCleanerBatchSize(){
-    checkCache();
-    return EXECUTIONS_CLEANER_BATCH_SIZE;
+  public int getExecutionsCleanerBatchSize(){
+    return cache().EXECUTIONS_CLEANER_BATCH_SIZE;
   }
 
-  private int EXECUTIONS_CLEANER_INTERVAL_MS = 600000;
-  public synchronized int getExecutionsCleanerInterval(){
-    checkCache();
-    return EXECUTIONS_CLEANER_INTERVAL_MS;
+  public int getExecutionsCleanerInterval(){
+    return cache().EXECUTIONS_CLEANER_INTERVAL_MS;
   }
   
-  private int STATISTICS_CLEANER_BATCH_SIZE = 1000;
-  public synchronized int getStatisticsCleanerBatchSize(){
-    checkCache();
-    return STATISTICS_CLEANER_BATCH_SIZE;
+  public int getStatisticsCleanerBatchSize(){
+    return cache().STATISTICS_CLEANER_BATCH_SIZE;
   }
   
-  private int STATISTICS_CLEANER_INTERVAL_MS = 900000;
-  public synchronized int getStatisticsCleanerInterval(){
-    checkCache();
-    return STATISTICS_CLEANER_INTERVAL_MS;
+  public int getStatisticsCleanerInterval(){
+    return cache().STATISTICS_CLEANER_INTERVAL_MS;
   }
 
-  private int MAX_ENV_YML_BYTE_SIZE = 20000;
-  public synchronized int getMaxEnvYmlByteSize() {
-    checkCache();
-    return MAX_ENV_YML_BYTE_SIZE;
+  public int getMaxEnvYmlByteSize() {
+    return cache().MAX_ENV_YML_BYTE_SIZE;
   }
   
-  private int LIVY_STARTUP_TIMEOUT = 240;
-  public synchronized int getLivyStartupTimeout() {
-    checkCache();
-    return LIVY_STARTUP_TIMEOUT;
+  public int getLivyStartupTimeout() {
+    return cache().LIVY_STARTUP_TIMEOUT;
   }
   
-  private boolean USER_SEARCH_ENABLED = true;
-  public synchronized boolean isUserSearchEnabled() {
-    checkCache();
-    return USER_SEARCH_ENABLED;
+  public boolean isUserSearchEnabled() {
+    return cache().USER_SEARCH_ENABLED;
   }
   
-  /*
-   * When a user try to connect for the first time with OAuth or LDAP
-   * do not create the user if it does not bellong to any group.
-   * This is to avoid having users that belong to no group poluting the users table
-   */
-  private boolean REJECT_REMOTE_USER_NO_GROUP = false;
-  public synchronized boolean getRejectRemoteNoGroup() {
-    checkCache();
-    return REJECT_REMOTE_USER_NO_GROUP;
+  public boolean getRejectRemoteNoGroup() {
+    return cache().REJECT_REMOTE_USER_NO_GROUP;
   }
   
   public void updateRejectRemoteNoGroup(boolean reject) {
     updateVariableInternal(VARIABLE_REJECT_REMOTE_USER_NO_GROUP, Boolean.toString(reject), VariablesVisibility.ADMIN);
   }
   
-  private boolean SKIP_NAMESPACE_CREATION = false;
-  public synchronized boolean shouldSkipNamespaceCreation() {
-    checkCache();
-    return SKIP_NAMESPACE_CREATION;
+  public boolean shouldSkipNamespaceCreation() {
+    return cache().SKIP_NAMESPACE_CREATION;
   }
 
-  private long QUOTAS_ONLINE_ENABLED_FEATUREGROUPS = -1L;
-  public synchronized long getQuotasOnlineEnabledFeaturegroups() {
-    checkCache();
-    return QUOTAS_ONLINE_ENABLED_FEATUREGROUPS;
+  public long getQuotasOnlineEnabledFeaturegroups() {
+    return cache().QUOTAS_ONLINE_ENABLED_FEATUREGROUPS;
   }
 
-  private long QUOTAS_ONLINE_DISABLED_FEATUREGROUPS = -1L;
-  public synchronized long getQuotasOnlineDisabledFeaturegroups() {
-    checkCache();
-    return QUOTAS_ONLINE_DISABLED_FEATUREGROUPS;
+  public long getQuotasOnlineDisabledFeaturegroups() {
+    return cache().QUOTAS_ONLINE_DISABLED_FEATUREGROUPS;
   }
 
-  private long QUOTAS_TRAINING_DATASETS = -1L;
-  public synchronized long getQuotasTrainingDatasets() {
-    checkCache();
-    return QUOTAS_TRAINING_DATASETS;
+  public long getQuotasTrainingDatasets() {
+    return cache().QUOTAS_TRAINING_DATASETS;
   }
 
-  private long QUOTAS_RUNNING_MODEL_DEPLOYMENTS = -1L;
-  public synchronized long getQuotasRunningModelDeployments() {
-    checkCache();
-    return QUOTAS_RUNNING_MODEL_DEPLOYMENTS;
+  public long getQuotasRunningModelDeployments() {
+    return cache().QUOTAS_RUNNING_MODEL_DEPLOYMENTS;
   }
 
-  private long QUOTAS_TOTAL_MODEL_DEPLOYMENTS = -1L;
-  public synchronized long getQuotasTotalModelDeployments() {
-    checkCache();
-    return QUOTAS_TOTAL_MODEL_DEPLOYMENTS;
+  public long getQuotasTotalModelDeployments() {
+    return cache().QUOTAS_TOTAL_MODEL_DEPLOYMENTS;
   }
 
-  private long QUOTAS_MAX_PARALLEL_EXECUTIONS = -1L;
-  public synchronized long getQuotasMaxParallelExecutions() {
-    checkCache();
-    return QUOTAS_MAX_PARALLEL_EXECUTIONS;
+  public long getQuotasMaxParallelExecutions() {
+    return cache().QUOTAS_MAX_PARALLEL_EXECUTIONS;
   }
 
   private static final String VARIABLE_SQL_MAX_SELECT_IN = "sql_max_select_in";
-  private Integer SQL_MAX_SELECT_IN = 100;
   /**
    * For performance reasons SELECT ... WHERE col_name IN (.. , ..) queries should not have an unbounded in array.
    */
-  public synchronized Integer getSQLMaxSelectIn() {
-    checkCache();
-    return SQL_MAX_SELECT_IN;
+  public Integer getSQLMaxSelectIn() {
+    return cache().SQL_MAX_SELECT_IN;
   }
 
-  // The maximum number of http threads in the thread pool is set to 200 by default
-  private int MAX_LONG_RUNNING_HTTP_REQUESTS = 50;
-
-  public synchronized int getMaxLongRunningHttpRequests() {
-    checkCache();
-    return MAX_LONG_RUNNING_HTTP_REQUESTS;
+  public int getMaxLongRunningHttpRequests() {
+    return cache().MAX_LONG_RUNNING_HTTP_REQUESTS;
   }
   
   /**
    * Search commands
    */
   private final Integer MAX_ONGOING_OPENSEARCH_DOC_WRITE = 100;
-  public synchronized int getMaxOngoingOpensearchDocIndexOps() {
-    checkCache();
+  public int getMaxOngoingOpensearchDocIndexOps() {
     return MAX_ONGOING_OPENSEARCH_DOC_WRITE;
   }
   
-  //1s
-  private Long COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD = 1000l;
   private final static String VARIABLE_COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD =
     "command_search_fs_process_timer_period_as_ms";
   public Long commandSearchFSProcessTimerPeriod() {
-    checkCache();
-    return COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD;
+    return cache().COMMAND_SEARCH_FS_PROCESS_TIMER_PERIOD;
   }
   
-  //enable command search fs history
-  private boolean COMMAND_SEARCH_FS_HISTORY_ENABLE = false;
   private final static String VARIABLE_COMMAND_SEARCH_FS_HISTORY_ENABLE =
     "command_search_fs_history_enable";
   public boolean commandSearchFSHistoryEnabled() {
-    checkCache();
-    return COMMAND_SEARCH_FS_HISTORY_ENABLE;
+    return cache().COMMAND_SEARCH_FS_HISTORY_ENABLE;
   }
   
   //1h as ms
   private final static String VARIABLE_COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD =
     "command_search_fs_history_clean_period_as_ms";
-  private Long COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD = 1000l*60;
   public Long commandSearchFSHistoryCleanPeriod() {
-    checkCache();
-    return COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD;
+    return cache().COMMAND_SEARCH_FS_HISTORY_CLEAN_PERIOD;
   }
   
   //1h as s
   private final static String VARIABLE_COMMAND_SEARCH_FS_HISTORY_WINDOW
     = "command_search_fs_history_window_as_s";
-  private Long COMMAND_SEARCH_FS_HISTORY_WINDOW = 60*60L;
   public Long commandSearchFSHistoryWindow() {
-    checkCache();
-    return COMMAND_SEARCH_FS_HISTORY_WINDOW;
+    return cache().COMMAND_SEARCH_FS_HISTORY_WINDOW;
   }
   
   private final static String VARIABLE_COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL =
     "command_search_fs_retry_per_clean_interval";
-  private int COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL = 5;
   public Integer commandRetryPerCleanInterval() {
-    checkCache();
-    return COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL;
+    return cache().COMMAND_SEARCH_FS_RETRY_PER_CLEAN_INTERVAL;
   }
   
-  private boolean ENABLE_CONDA_INSTALL = true;
-  public synchronized boolean getEnableCondaInstall() {
-    checkCache();
-    return ENABLE_CONDA_INSTALL;
+  public boolean getEnableCondaInstall() {
+    return cache().ENABLE_CONDA_INSTALL;
   }
 
-  private Integer DEFAULT_FEATURE_STORE_PROJECT_ID = null;
-  public synchronized Integer getDefaultFeatureStoreProjectId() {
-    checkCache();
-    return DEFAULT_FEATURE_STORE_PROJECT_ID;
+  public Integer getDefaultFeatureStoreProjectId() {
+    return cache().DEFAULT_FEATURE_STORE_PROJECT_ID;
   }
 }
\ No newline at end of file
@@ -0,0 +1,322 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.util;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
+import org.eclipse.persistence.jpa.JpaEntityManagerFactory;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+import org.eclipse.persistence.sessions.changesets.ObjectChangeSet;
+import org.eclipse.persistence.sessions.server.ServerSession;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the JPA shared cache of the entities marked as cacheable consistent across the Payara instances of the
+ * cluster. Entities changed or removed on this instance are evicted from the shared cache of the other instances once
+ * the transaction commits. Rows removed by a foreign key cascade of the database never go through JPA, so removing an
+ * entity also evicts, on every instance, all the cached entities of the classes its removal cascades to.
+ * Also counts the shared cache hits and misses of every cacheable entity.
+ */
+@Startup
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class SharedCacheCoordinator {
+
+  private static final Logger LOGGER = Logger.getLogger(SharedCacheCoordinator.class.getName());
+  private static final String TOPIC_NAME = "jpa_shared_cache_evicted";
+  // Cacheable entity -> cacheable entities whose rows are removed by an ON DELETE CASCADE when it is removed
+  private static final Map<String, List<String>> DELETE_CASCADES = new HashMap<>();
+  static {
+    String project = "io.hops.hopsworks.persistence.entity.project.Project";
+    String featurestore = "io.hops.hopsworks.persistence.entity.featurestore.Featurestore";
+    String featuregroup = "io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup";
+    DELETE_CASCADES.put(project, Arrays.asList(featurestore, featuregroup));
+    DELETE_CASCADES.put(featurestore, Collections.singletonList(featuregroup));
+  }
+
+  @PersistenceUnit(unitName = "kthfsPU")
+  private EntityManagerFactory emf;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+  @Resource
+  private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  // Class name -> stats of the entities cached in the shared cache
+  private final Map<String, EntityCacheStats> stats = new HashMap<>();
+  private ITopic<EvictedEntities> evictedTopic;
+  private UUID listenerId;
+  private ServerSession session;
+  private SessionEventAdapter commitListener;
+
+  @PostConstruct
+  public void init() {
+    try {
+      session = emf.unwrap(JpaEntityManagerFactory.class).getServerSession();
+    } catch (Exception e) {
+      LOGGER.log(Level.WARNING, "Could not access the persistence session, shared cache coordination disabled", e);
+      return;
+    }
+    for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+      if (descriptor.isSharedIsolation() && !descriptor.isAggregateDescriptor() && descriptor.getJavaClass() != null) {
+        stats.put(descriptor.getJavaClassName(), new EntityCacheStats(descriptor.getJavaClass()));
+      }
+    }
+    if (stats.isEmpty()) {
+      return;
+    }
+    session.setProfiler(new CacheHitProfiler());
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      evictedTopic = hazelcastInstance.getTopic(TOPIC_NAME);
+      listenerId = evictedTopic.addMessageListener(new EvictedEntitiesListener());
+    }
+    commitListener = new CommitListener();
+    session.getEventManager().addListener(commitListener);
+    LOGGER.log(Level.INFO, "Shared cache enabled for {0}", stats.keySet());
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (evictedTopic != null) {
+      //needed for redeploy to remove the listener
+      evictedTopic.removeMessageListener(listenerId);
+    }
+    if (session != null) {
+      if (commitListener != null) {
+        session.getEventManager().removeListener(commitListener);
+      }
+      session.setProfiler(null);
+    }
+  }
+
+  /**
+   * @return the shared cache hits and misses of every cacheable entity since the application started
+   */
+  public List<SharedCacheStatsDTO> getStats() {
+    List<SharedCacheStatsDTO> result = new ArrayList<>(stats.size());
+    for (EntityCacheStats entityStats : stats.values()) {
+      result.add(new SharedCacheStatsDTO(entityStats.entityClass.getSimpleName(), entityStats.hits.sum(),
+        entityStats.misses.sum()));
+    }
+    result.sort((s1, s2) -> s1.getEntity().compareTo(s2.getEntity()));
+    return result;
+  }
+
+  /**
+   * Empty the shared cache of this instance, e.g. after the database was changed by hand.
+   */
+  public void evictAll() {
+    emf.getCache().evictAll();
+  }
+
+  private void publish(List<EvictedEntity> evicted) {
+    //Notify other nodes if evictedTopic is created == Hazelcast is enabled
+    if (evictedTopic == null) {
+      return;
+    }
+    try {
+      evictedTopic.publish(new EvictedEntities(evicted));
+    } catch (Exception e) {
+      LOGGER.log(Level.WARNING, "Failed to notify the cluster of changed entities, they will expire from the " +
+        "shared cache of the other instances", e);
+    }
+  }
+
+  private List<EvictedEntity> getEvicted(UnitOfWorkChangeSet changeSet) {
+    List<EvictedEntity> evicted = new ArrayList<>();
+    for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().keySet()) {
+      if (!objectChangeSet.isNew() && stats.containsKey(objectChangeSet.getClassName())) {
+        evicted.add(new EvictedEntity(objectChangeSet.getClassName(), objectChangeSet.getId()));
+      }
+    }
+    Set<String> cascaded = new HashSet<>();
+    for (ObjectChangeSet objectChangeSet : changeSet.getDeletedObjects().keySet()) {
+      if (stats.containsKey(objectChangeSet.getClassName())) {
+        evicted.add(new EvictedEntity(objectChangeSet.getClassName(), objectChangeSet.getId()));
+        cascaded.addAll(DELETE_CASCADES.getOrDefault(objectChangeSet.getClassName(), Collections.emptyList()));
+      }
+    }
+    for (String className : cascaded) {
+      if (stats.containsKey(className)) {
+        // The ids of the rows removed by the database are unknown, evict the whole class
+        evicted.add(new EvictedEntity(className, null));
+      }
+    }
+    return evicted;
+  }
+
+  private void evict(List<EvictedEntity> evicted) {
+    for (EvictedEntity evictedEntity : evicted) {
+      EntityCacheStats entityStats = stats.get(evictedEntity.className);
+      if (entityStats == null) {
+        continue;
+      }
+      if (evictedEntity.id == null) {
+        emf.getCache().evict(entityStats.entityClass);
+      } else {
+        emf.getCache().evict(entityStats.entityClass, evictedEntity.id);
+      }
+    }
+  }
+
+  private List<EvictedEntity> getCascaded(List<EvictedEntity> evicted) {
+    List<EvictedEntity> cascaded = new ArrayList<>();
+    for (EvictedEntity evictedEntity : evicted) {
+      if (evictedEntity.id == null) {
+        cascaded.add(evictedEntity);
+      }
+    }
+    return cascaded;
+  }
+
+  private class CommitListener extends SessionEventAdapter {
+    @Override
+    public void postCalculateUnitOfWorkChangeSet(SessionEvent event) {
+      if (!(event.getResult() instanceof UnitOfWorkChangeSet)) {
+        return;
+      }
+      List<EvictedEntity> evicted = getEvicted((UnitOfWorkChangeSet) event.getResult());
+      if (evicted.isEmpty()) {
+        return;
+      }
+      // This instance only knows about the rows it changed itself, not about the ones removed by a cascade
+      List<EvictedEntity> cascaded = getCascaded(evicted);
+      if (transactionSynchronizationRegistry.getTransactionKey() == null) {
+        evict(cascaded);
+        publish(evicted);
+        return;
+      }
+      // The other instances must not reload the entities before the new values are committed
+      transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+        @Override
+        public void beforeCompletion() {
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          if (status == Status.STATUS_COMMITTED) {
+            evict(cascaded);
+            publish(evicted);
+          }
+        }
+      });
+    }
+  }
+
+  private class EvictedEntitiesListener implements MessageListener<EvictedEntities> {
+    @Override
+    public void onMessage(Message<EvictedEntities> message) {
+      if (message.getPublishingMember().localMember()) {
+        return;
+      }
+      evict(message.getMessageObject().entities);
+    }
+  }
+
+  private class CacheHitProfiler extends SessionProfilerAdapter {
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+      if (query == null || query.getReferenceClassName() == null) {
+        return;
+      }
+      if (SessionProfiler.CacheHits.equals(operationName)) {
+        EntityCacheStats entityStats = stats.get(query.getReferenceClassName());
+        if (entityStats != null) {
+          entityStats.hits.increment();
+        }
+      } else if (SessionProfiler.CacheMisses.equals(operationName)) {
+        EntityCacheStats entityStats = stats.get(query.getReferenceClassName());
+        if (entityStats != null) {
+          entityStats.misses.increment();
+        }
+      }
+    }
+
+    @Override
+    public int getProfileWeight() {
+      return SessionProfiler.NORMAL;
+    }
+  }
+
+  private static class EntityCacheStats {
+    private final Class<?> entityClass;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private EntityCacheStats(Class<?> entityClass) {
+      this.entityClass = entityClass;
+    }
+  }
+
+  private static class EvictedEntity implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String className;
+    // null for all the entities of the class
+    private final Object id;
+
+    private EvictedEntity(String className, Object id) {
+      this.className = className;
+      this.id = id;
+    }
+  }
+
+  private static class EvictedEntities implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final List<EvictedEntity> entities;
+
+    private EvictedEntities(List<EvictedEntity> entities) {
+      this.entities = Collections.unmodifiableList(new ArrayList<>(entities));
+    }
+  }
+}
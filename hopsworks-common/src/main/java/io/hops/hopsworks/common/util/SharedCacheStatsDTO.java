@@ -0,0 +1,68 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.util;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement
+public class SharedCacheStatsDTO {
+  private String entity;
+  private long hits;
+  private long misses;
+  private double hitRatio;
+
+  public SharedCacheStatsDTO() {
+  }
+
+  public SharedCacheStatsDTO(String entity, long hits, long misses) {
+    this.entity = entity;
+    this.hits = hits;
+    this.misses = misses;
+    this.hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public void setEntity(String entity) {
+    this.entity = entity;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public void setHits(long hits) {
+    this.hits = hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public void setMisses(long misses) {
+    this.misses = misses;
+  }
+
+  public double getHitRatio() {
+    return hitRatio;
+  }
+
+  public void setHitRatio(double hitRatio) {
+    this.hitRatio = hitRatio;
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.commands.featurestore.search;
+
+import io.hops.hopsworks.common.commands.CommandException;
+import io.hops.hopsworks.common.dao.project.ProjectFacade;
+import io.hops.hopsworks.common.featurestore.FeaturestoreFacade;
+import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupFacade;
+import io.hops.hopsworks.common.featurestore.featureview.FeatureViewFacade;
+import io.hops.hopsworks.common.featurestore.trainingdatasets.TrainingDatasetFacade;
+import io.hops.hopsworks.common.opensearch.OpenSearchClientController;
+import io.hops.hopsworks.common.util.PayaraClusterManager;
+import io.hops.hopsworks.common.util.Settings;
+import io.hops.hopsworks.exceptions.OpenSearchException;
+import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
+import io.hops.hopsworks.persistence.entity.project.Project;
+import io.hops.hopsworks.restutils.RESTCodes;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.opensearch.client.indices.GetIndexResponse;
+
+import javax.ejb.TimerService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.logging.Level;
+
+public class TestSearchFSReindexer {
+
+  @Mock
+  private PayaraClusterManager payaraClusterManager;
+  @Mock
+  private TimerService timerService;
+  @Mock
+  private OpenSearchClientController searchClient;
+  @Mock
+  private SearchFSOpenSearchController searchController;
+  @Mock
+  private ProjectFacade projectFacade;
+  @Mock
+  private FeaturestoreFacade featurestoreFacade;
+  @Mock
+  private FeaturegroupFacade featureGroupFacade;
+  @Mock
+  private FeatureViewFacade featureViewFacade;
+  @Mock
+  private TrainingDatasetFacade trainingDatasetFacade;
+  @Mock
+  private SearchFSCommandLogger searchFSCommandLogger;
+  // no HazelcastInstance mock, the reindexer uses its local maps
+  @InjectMocks
+  private SearchFSReindexer reindexer = new SearchFSReindexer();
+
+  @Before
+  public void setup() throws Exception {
+    MockitoAnnotations.openMocks(this);
+    Mockito.when(searchClient.mngIndicesGetBySimplifiedRegex(Mockito.anyString())).thenReturn(new String[0]);
+    Mockito.when(searchClient.mngIndicesGetBySimplifiedRegex(Settings.FEATURESTORE_INDEX))
+      .thenReturn(new String[]{Settings.FEATURESTORE_INDEX});
+    Mockito.when(featurestoreFacade.findAll()).thenReturn(Arrays.asList(featureStore(1), featureStore(2)));
+    Mockito.when(payaraClusterManager.amIThePrimary()).thenReturn(true);
+    reindexer.init();
+  }
+
+  private Featurestore featureStore(Integer projectId) {
+    Featurestore featureStore = new Featurestore();
+    featureStore.setProject(new Project(projectId));
+    return featureStore;
+  }
+
+  @Test
+  public void testReindexEnqueuesProjects() throws Exception {
+    reindexer.reindex();
+
+    SearchFSCommandStatus status = reindexer.status();
+    Assert.assertTrue(reindexer.getShadowIndex().isPresent());
+    Assert.assertEquals(reindexer.getShadowIndex().get(), status.getReindexIndex());
+    Assert.assertEquals(2, status.getReindexPendingProjects());
+    Mockito.verify(searchClient).mngIndexCreate(Mockito.any(CreateIndexRequest.class));
+  }
+
+  @Test
+  public void testReindexOngoing() throws Exception {
+    reindexer.reindex();
+    String shadowIndex = reindexer.getShadowIndex().get();
+    reindexer.recordDeletedDoc(10L);
+
+    try {
+      reindexer.reindex();
+      Assert.fail("a second reindex started");
+    } catch (CommandException e) {
+      Assert.assertEquals(RESTCodes.CommandErrorCode.REINDEX_ONGOING, e.getErrorCode());
+    }
+    // the ongoing reindex is left untouched
+    Assert.assertEquals(shadowIndex, reindexer.getShadowIndex().get());
+    Assert.assertEquals(2, reindexer.status().getReindexPendingProjects());
+    Mockito.verify(searchClient, Mockito.times(1)).mngIndexCreate(Mockito.any(CreateIndexRequest.class));
+    Mockito.verify(searchClient, Mockito.never()).mngIndexDelete(Mockito.anyString());
+
+    // the deleted doc recorded before the second attempt is still applied
+    reindexer.process();
+    Mockito.verify(searchController).delete(shadowIndex, 10L);
+  }
+
+  @Test
+  public void testReleaseFailedStart() throws Exception {
+    Mockito.when(searchClient.mngIndexCreate(Mockito.any(CreateIndexRequest.class)))
+      .thenThrow(new OpenSearchException(RESTCodes.OpenSearchErrorCode.OPENSEARCH_INTERNAL_REQ_ERROR, Level.INFO,
+        "unavailable"))
+      .thenReturn(null);
+
+    try {
+      reindexer.reindex();
+      Assert.fail("the reindex started without its index");
+    } catch (OpenSearchException e) {
+      // expected
+    }
+    Assert.assertFalse(reindexer.getShadowIndex().isPresent());
+    Assert.assertEquals(0, reindexer.status().getReindexPendingProjects());
+
+    // the claim was released
+    reindexer.reindex();
+    Assert.assertTrue(reindexer.getShadowIndex().isPresent());
+  }
+
+  @Test
+  public void testReleaseFailedProject() throws Exception {
+    reindexer.reindex();
+    Mockito.when(projectFacade.find(Mockito.anyInt()))
+      .thenThrow(new IllegalStateException("database unavailable"))
+      .thenReturn(null);
+
+    reindexer.process();
+    // the failed project is pending again, nothing is swapped
+    Assert.assertTrue(reindexer.status().getReindexPendingProjects() > 0);
+    Assert.assertTrue(reindexer.getShadowIndex().isPresent());
+    Mockito.verify(searchClient, Mockito.never()).aliasUpdate(Mockito.any(IndicesAliasesRequest.class));
+
+    reindexer.process();
+    Assert.assertEquals(0, reindexer.status().getReindexPendingProjects());
+    Assert.assertFalse(reindexer.getShadowIndex().isPresent());
+    Mockito.verify(searchClient).aliasUpdate(Mockito.any(IndicesAliasesRequest.class));
+  }
+
+  @Test
+  public void testSwap() throws Exception {
+    reindexer.reindex();
+    String shadowIndex = reindexer.getShadowIndex().get();
+    reindexer.recordDeletedDoc(10L);
+    reindexer.recordDeletedProject(3);
+
+    reindexer.process();
+
+    ArgumentCaptor<IndicesAliasesRequest> aliases = ArgumentCaptor.forClass(IndicesAliasesRequest.class);
+    Mockito.verify(searchClient).aliasUpdate(aliases.capture());
+    // the index created before the first reindex is replaced by the alias
+    Assert.assertEquals(2, aliases.getValue().getAliasActions().size());
+    Assert.assertEquals(IndicesAliasesRequest.AliasActions.Type.REMOVE_INDEX,
+      aliases.getValue().getAliasActions().get(0).actionType());
+    Assert.assertEquals(IndicesAliasesRequest.AliasActions.Type.ADD,
+      aliases.getValue().getAliasActions().get(1).actionType());
+    Assert.assertArrayEquals(new String[]{shadowIndex}, aliases.getValue().getAliasActions().get(1).indices());
+    Mockito.verify(searchController).delete(shadowIndex, 10L);
+    Mockito.verify(searchController).deleteProject(shadowIndex, 3);
+    Mockito.verify(searchClient, Mockito.never()).mngIndexDelete(Settings.FEATURESTORE_INDEX);
+    Assert.assertFalse(reindexer.getShadowIndex().isPresent());
+
+    // the next reindex can start once swapped, the deletes of the previous one are not applied again
+    Mockito.when(searchClient.mngIndicesGetBySimplifiedRegex(Settings.FEATURESTORE_INDEX))
+      .thenReturn(new String[]{shadowIndex});
+    Mockito.clearInvocations(searchController, searchClient);
+    reindexer.reindex();
+    Assert.assertTrue(reindexer.getShadowIndex().isPresent());
+    reindexer.process();
+    Mockito.verify(searchController, Mockito.never()).delete(Mockito.anyString(), Mockito.anyLong());
+    Mockito.verify(searchController, Mockito.never()).deleteProject(Mockito.anyString(), Mockito.anyInt());
+    Assert.assertFalse(reindexer.getShadowIndex().isPresent());
+  }
+
+  @Test
+  public void testCopySettings() throws Exception {
+    org.opensearch.common.settings.Settings settings = org.opensearch.common.settings.Settings.builder()
+      .put("index.number_of_shards", 3)
+      .put("index.number_of_replicas", 2)
+      .put("index.analysis.analyzer.name_analyzer.tokenizer", "standard")
+      .put("index.uuid", "abc")
+      .put("index.creation_date", 1L)
+      .put("index.provided_name", Settings.FEATURESTORE_INDEX)
+      .put("index.version.created", 1)
+      .build();
+    GetIndexResponse current = Mockito.mock(GetIndexResponse.class);
+    Mockito.when(current.getMappings()).thenReturn(Collections.emptyMap());
+    Mockito.when(current.getSettings()).thenReturn(Collections.singletonMap(Settings.FEATURESTORE_INDEX, settings));
+    Mockito.when(searchClient.mngIndexExists(Settings.FEATURESTORE_INDEX)).thenReturn(true);
+    Mockito.when(searchClient.mngIndexGet(Mockito.any(GetIndexRequest.class))).thenReturn(current);
+
+    reindexer.reindex();
+
+    ArgumentCaptor<CreateIndexRequest> request = ArgumentCaptor.forClass(CreateIndexRequest.class);
+    Mockito.verify(searchClient).mngIndexCreate(request.capture());
+    org.opensearch.common.settings.Settings copied = request.getValue().settings();
+    Assert.assertEquals("3", copied.get("index.number_of_shards"));
+    Assert.assertEquals("2", copied.get("index.number_of_replicas"));
+    Assert.assertEquals("standard", copied.get("index.analysis.analyzer.name_analyzer.tokenizer"));
+    Assert.assertNull(copied.get("index.uuid"));
+    Assert.assertNull(copied.get("index.creation_date"));
+    Assert.assertNull(copied.get("index.provided_name"));
+    Assert.assertNull(copied.get("index.version.created"));
+  }
+}
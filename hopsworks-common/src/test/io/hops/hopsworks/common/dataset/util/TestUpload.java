@@ -28,10 +28,12 @@ import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Answers;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 
@@ -71,6 +73,7 @@ public class TestUpload {
   private final Path destExistingFilePath = new Path(testUploadPath, "dest/random.txt");
   private final DistributedFsService dfs = mock(DistributedFsService.class);
   private final DistributedFileSystemOps distributedFileSystemOps = mock(DistributedFileSystemOps.class);
+  private final MetricRegistry metricRegistry = mock(MetricRegistry.class, Answers.RETURNS_MOCKS);
 
   private UploadController uploadController;
 
@@ -80,7 +83,7 @@ public class TestUpload {
     storage.initialize();
     setUpDistributedFileSystemOps();
     setUpDistributedFsService();
-    uploadController = new UploadController(dfs, storage);
+    uploadController = new UploadController(dfs, storage, metricRegistry);
   }
 
   @After
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.featuregroup.cached;
+
+import io.hops.hopsworks.common.featurestore.feature.FeatureGroupFeatureDTO;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestFeatureGroupSchemaCache {
+
+  @Mock(answer = Answers.RETURNS_MOCKS)
+  private MetricRegistry metricRegistry;
+  @InjectMocks
+  private FeatureGroupSchemaCache target = new FeatureGroupSchemaCache();
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    target.init();
+  }
+
+  private List<FeatureGroupFeatureDTO> load(String... features) {
+    loads.incrementAndGet();
+    List<FeatureGroupFeatureDTO> schema = new ArrayList<>();
+    for (String feature : features) {
+      schema.add(new FeatureGroupFeatureDTO(feature, "int", false, null));
+    }
+    return schema;
+  }
+
+  @Test
+  public void testCachedCopy() throws Exception {
+    List<FeatureGroupFeatureDTO> schema = target.get(1, () -> load("a", "b"));
+    schema.get(0).setPrimary(true);
+    schema.remove(1);
+
+    List<FeatureGroupFeatureDTO> cached = target.get(1, () -> load("a", "b"));
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals(2, cached.size());
+    Assert.assertFalse(cached.get(0).getPrimary());
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    target.get(1, () -> load("a"));
+    target.get(2, () -> load("c"));
+    target.invalidate(1);
+
+    List<FeatureGroupFeatureDTO> schema = target.get(1, () -> load("a", "b"));
+    Assert.assertEquals(3, loads.get());
+    Assert.assertEquals(2, schema.size());
+    target.get(2, () -> load("c"));
+    Assert.assertEquals(3, loads.get());
+  }
+
+  @Test
+  public void testVersion() {
+    long version = target.getVersion(1);
+    Assert.assertEquals(version, target.getVersion(1));
+    Assert.assertNotEquals(version, target.getVersion(2));
+
+    target.invalidate(1);
+    Assert.assertNotEquals(version, target.getVersion(1));
+  }
+
+  @Test
+  public void testInvalidatedWhileLoading() throws Exception {
+    List<FeatureGroupFeatureDTO> schema = target.get(1, () -> {
+      List<FeatureGroupFeatureDTO> stale = load("a");
+      // the table is altered after the metastore answered
+      target.invalidate(1);
+      return stale;
+    });
+    Assert.assertEquals(1, schema.size());
+
+    schema = target.get(1, () -> load("a", "b"));
+    Assert.assertEquals(2, loads.get());
+    Assert.assertEquals(Arrays.asList("a", "b"), Arrays.asList(schema.get(0).getName(), schema.get(1).getName()));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.query;
+
+import io.hops.hopsworks.common.featurestore.featuregroup.cached.FeatureGroupSchemaCache;
+import io.hops.hopsworks.common.featurestore.query.ServingPreparedStatementCache.ServingPreparedStatements;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestServingPreparedStatementCache {
+
+  @Mock
+  private FeatureGroupSchemaCache featureGroupSchemaCache;
+  @Mock(answer = Answers.RETURNS_MOCKS)
+  private MetricRegistry metricRegistry;
+  @InjectMocks
+  private ServingPreparedStatementCache target = new ServingPreparedStatementCache();
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    target.init();
+  }
+
+  private List<ServingPreparedStatementDTO> load(String... queries) {
+    loads.incrementAndGet();
+    List<ServingPreparedStatementDTO> statements = new ArrayList<>();
+    for (int i = 0; i < queries.length; i++) {
+      statements.add(new ServingPreparedStatementDTO(i, i,
+        Collections.singletonList(new PreparedStatementParameterDTO("id", 1)), queries[i], null));
+    }
+    return statements;
+  }
+
+  @Test
+  public void testCachedUntilSchemaChanges() throws Exception {
+    ServingPreparedStatements statements = target.get(1, false, false, Arrays.asList(1, 2), () -> load("q1", "q2"));
+    ServingPreparedStatements cached = target.get(1, false, false, Arrays.asList(1, 2), () -> load("q1", "q2"));
+    Assert.assertEquals(1, loads.get());
+    Assert.assertSame(statements, cached);
+
+    Mockito.when(featureGroupSchemaCache.getVersion(2)).thenReturn(1L);
+    ServingPreparedStatements reloaded = target.get(1, false, false, Arrays.asList(1, 2), () -> load("q1", "q3"));
+    Assert.assertEquals(2, loads.get());
+    Assert.assertEquals("q3", reloaded.getStatements().get(1).getQueryOnline());
+  }
+
+  @Test
+  public void testKeyedByBatchAndHelperColumns() throws Exception {
+    target.get(1, false, false, Collections.singletonList(1), () -> load("q1"));
+    target.get(1, true, false, Collections.singletonList(1), () -> load("q1"));
+    target.get(1, false, true, Collections.singletonList(1), () -> load("q1"));
+    target.get(2, false, false, Collections.singletonList(1), () -> load("q1"));
+    Assert.assertEquals(4, loads.get());
+  }
+
+  @Test
+  public void testEntityTag() throws Exception {
+    ServingPreparedStatements statements = target.get(1, false, false, Collections.singletonList(1),
+      () -> load("q1"));
+    ServingPreparedStatements equal = target.get(2, false, false, Collections.singletonList(1), () -> load("q1"));
+    ServingPreparedStatements different = target.get(3, false, false, Collections.singletonList(1),
+      () -> load("q2"));
+    Assert.assertEquals(statements.getEntityTag(), equal.getEntityTag());
+    Assert.assertNotEquals(statements.getEntityTag(), different.getEntityTag());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.featurestore.statistics;
+
+import org.apache.hadoop.fs.PositionedReadable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestExtendedStatisticsFile {
+
+  @Test
+  public void testReadAll() throws Exception {
+    Map<String, String> statistics = new LinkedHashMap<>();
+    statistics.put("a", "{\"histogram\": [1, 2]}");
+    statistics.put("b", "{\"correlations\": []}");
+    statistics.put("\u00f6", "{\"name\": \"\u20ac\"}");
+
+    ByteArrayReadable file = new ByteArrayReadable(ExtendedStatisticsFile.write(statistics));
+    Assert.assertEquals(statistics, ExtendedStatisticsFile.read(file, null));
+    // the features of a small file are read with the header
+    Assert.assertEquals(1, file.reads);
+  }
+
+  @Test
+  public void testReadSubset() throws Exception {
+    Map<String, String> statistics = new LinkedHashMap<>();
+    char[] large = new char[100 * 1024];
+    Arrays.fill(large, 'x');
+    statistics.put("a", "{\"a\": 1}");
+    statistics.put("b", "{\"b\": \"" + new String(large) + "\"}");
+    statistics.put("c", "{\"c\": 3}");
+
+    ByteArrayReadable file = new ByteArrayReadable(ExtendedStatisticsFile.write(statistics));
+    Map<String, String> read = ExtendedStatisticsFile.read(file, new HashSet<>(Arrays.asList("a", "c", "d")));
+    Assert.assertEquals(2, read.size());
+    Assert.assertEquals("{\"a\": 1}", read.get("a"));
+    Assert.assertEquals("{\"c\": 3}", read.get("c"));
+    // a is read with the header, c is too far apart to be read with it
+    Assert.assertEquals(2, file.reads);
+  }
+
+  @Test
+  public void testReadLargeHeader() throws Exception {
+    Map<String, String> statistics = new LinkedHashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      statistics.put("feature_with_a_long_name_" + i, "{\"id\": " + i + "}");
+    }
+
+    ByteArrayReadable file = new ByteArrayReadable(ExtendedStatisticsFile.write(statistics));
+    Assert.assertEquals(statistics, ExtendedStatisticsFile.read(file, null));
+    // read ahead, rest of the header and a single read of the features
+    Assert.assertEquals(3, file.reads);
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotPacked() throws Exception {
+    ExtendedStatisticsFile.read(new ByteArrayReadable("{\"histogram\": [1, 2]}".getBytes()), null);
+  }
+
+  @Test
+  public void testIsPacked() {
+    Assert.assertTrue(ExtendedStatisticsFile.isPacked("/Projects/p/Statistics/FeatureGroups/fg_1/100.stats"));
+    Assert.assertFalse(ExtendedStatisticsFile.isPacked("/Projects/p/Statistics/FeatureGroups/fg_1/100_a.json"));
+  }
+
+  private static class ByteArrayReadable implements PositionedReadable {
+    private final byte[] content;
+    private int reads = 0;
+
+    private ByteArrayReadable(byte[] content) {
+      this.content = content;
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) {
+      reads++;
+      int read = (int) Math.min(length, content.length - position);
+      System.arraycopy(content, (int) position, buffer, offset, read);
+      return read;
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer, int offset, int length) throws IOException {
+      if (position + length > content.length) {
+        throw new EOFException();
+      }
+      read(position, buffer, offset, length);
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer) throws IOException {
+      readFully(position, buffer, 0, buffer.length);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import io.hops.hopsworks.common.dao.jobs.description.JobScheduleV2Facade;
 import io.hops.hopsworks.common.jobs.execution.ExecutionController;
 import io.hops.hopsworks.common.jobs.scheduler.JobScheduleV2Controller;
 import io.hops.hopsworks.common.jobs.scheduler.JobScheduleV2DTO;
+import io.hops.hopsworks.common.jobs.scheduler.JobScheduleV2Wheel;
 import io.hops.hopsworks.exceptions.GenericException;
 import io.hops.hopsworks.exceptions.JobException;
 import io.hops.hopsworks.exceptions.ProjectException;
@@ -66,6 +67,9 @@ public class TestJobSchedulerV2Controller {
   @Mock
   private ExecutionController executionController;
 
+  @Mock
+  private JobScheduleV2Wheel jobScheduleWheel;
+
   @Before
   public void before() throws Exception {
     MockitoAnnotations.openMocks(this);
@@ -0,0 +1,185 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.jobs.execution;
+
+import io.hops.hopsworks.common.jobs.JobLogDTO;
+import io.hops.hopsworks.common.util.Settings;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.hadoop.fs.Seekable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class TestJobLogReader {
+
+  private static final String LOG = "line 0\nline 1\nline 2\nline 3\n";
+
+  @Test
+  public void testReadBytes() throws Exception {
+    JobLogDTO dto = read(LOG, JobLogRange.bytes(7, 14));
+    Assert.assertEquals("line 1\nline 2\n", dto.getLog());
+    Assert.assertEquals(Long.valueOf(7), dto.getOffset());
+    Assert.assertEquals(Long.valueOf(21), dto.getNextOffset());
+    Assert.assertEquals(Long.valueOf(LOG.length()), dto.getSize());
+  }
+
+  @Test
+  public void testReadBytesPastTheEnd() throws Exception {
+    JobLogDTO dto = read(LOG, JobLogRange.bytes(100, 10));
+    Assert.assertEquals("", dto.getLog());
+    Assert.assertEquals(Long.valueOf(LOG.length()), dto.getNextOffset());
+  }
+
+  @Test
+  public void testReadLines() throws Exception {
+    JobLogDTO dto = read(LOG, JobLogRange.lines(1, 2));
+    Assert.assertEquals("line 1\nline 2\n", dto.getLog());
+    Assert.assertEquals(Long.valueOf(7), dto.getOffset());
+    Assert.assertEquals(Long.valueOf(21), dto.getNextOffset());
+
+    Assert.assertEquals("line 3\n", read(LOG, JobLogRange.lines(3, 10)).getLog());
+    Assert.assertEquals("", read(LOG, JobLogRange.lines(10, 10)).getLog());
+  }
+
+  @Test
+  public void testReadLinesAcrossChunks() throws Exception {
+    StringBuilder log = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      log.append("line ").append(i).append('\n');
+    }
+    JobLogDTO dto = read(log.toString(), JobLogRange.lines(15000, 2));
+    Assert.assertEquals("line 15000\nline 15001\n", dto.getLog());
+    Assert.assertEquals(Long.valueOf(log.indexOf("line 15000\n")), dto.getOffset());
+  }
+
+  @Test
+  public void testTail() throws Exception {
+    Assert.assertEquals("line 2\nline 3\n", read(LOG, JobLogRange.tail(2)).getLog());
+    Assert.assertEquals("line 2\nline 3", read("line 0\nline 1\nline 2\nline 3", JobLogRange.tail(2)).getLog());
+    Assert.assertEquals(LOG, read(LOG, JobLogRange.tail(100)).getLog());
+    Assert.assertEquals("", read("", JobLogRange.tail(1)).getLog());
+  }
+
+  @Test
+  public void testTailIsCappedAtDisplaySize() throws Exception {
+    StringBuilder log = new StringBuilder();
+    while (log.length() < 2 * Settings.JOB_LOGS_DISPLAY_SIZE) {
+      log.append("0123456789\n");
+    }
+    JobLogDTO dto = read(log.toString(), JobLogRange.last());
+    Assert.assertEquals(Settings.JOB_LOGS_DISPLAY_SIZE, dto.getLog().length());
+    Assert.assertEquals(Long.valueOf(log.length()), dto.getNextOffset());
+  }
+
+  @Test
+  public void testReadBytesKeepsCharactersWhole() throws Exception {
+    // "\u00e9" is 2 bytes and "\u20ac" 3 bytes in UTF-8
+    String log = "a\u00e9b\u20acc";
+    JobLogDTO dto = read(log, JobLogRange.bytes(0, 5));
+    Assert.assertEquals("a\u00e9b", dto.getLog());
+    Assert.assertEquals(Long.valueOf(4), dto.getNextOffset());
+
+    dto = read(log, JobLogRange.bytes(dto.getNextOffset(), 5));
+    Assert.assertEquals("\u20acc", dto.getLog());
+    Assert.assertEquals(Long.valueOf(8), dto.getNextOffset());
+
+    dto = read(log, JobLogRange.bytes(2, 3));
+    Assert.assertEquals("b", dto.getLog());
+    Assert.assertEquals(Long.valueOf(3), dto.getOffset());
+    Assert.assertEquals(Long.valueOf(4), dto.getNextOffset());
+  }
+
+  @Test
+  public void testTailDoesNotStartInsideACharacter() throws Exception {
+    StringBuilder log = new StringBuilder();
+    while (log.length() < Settings.JOB_LOGS_DISPLAY_SIZE) {
+      log.append("\u20ac");
+    }
+    JobLogDTO dto = read(log.toString(), JobLogRange.last());
+    Assert.assertEquals(0, dto.getOffset() % 3);
+    Assert.assertEquals(log.substring((int) (dto.getOffset() / 3)), dto.getLog());
+  }
+
+  @Test
+  public void testCopy() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long next = JobLogReader.copy(stream(LOG), 14, LOG.length(), out);
+    Assert.assertEquals("line 2\nline 3\n", out.toString(StandardCharsets.UTF_8.name()));
+    Assert.assertEquals(LOG.length(), next);
+  }
+
+  private JobLogDTO read(String log, JobLogRange range) throws IOException {
+    JobLogDTO dto = new JobLogDTO(JobLogDTO.LogType.OUT);
+    JobLogReader.read(stream(log), log.getBytes(StandardCharsets.UTF_8).length, range, dto);
+    return dto;
+  }
+
+  private FSDataInputStream stream(String log) throws IOException {
+    return new FSDataInputStream(new SeekableByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static class SeekableByteArrayInputStream extends ByteArrayInputStream
+    implements Seekable, PositionedReadable {
+
+    SeekableByteArrayInputStream(byte[] buf) {
+      super(buf);
+    }
+
+    @Override
+    public void seek(long pos) {
+      this.pos = (int) pos;
+    }
+
+    @Override
+    public long getPos() {
+      return pos;
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length) {
+      if (position >= count) {
+        return -1;
+      }
+      int read = (int) Math.min(length, count - position);
+      System.arraycopy(buf, (int) position, buffer, offset, read);
+      return read;
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer, int offset, int length) throws IOException {
+      if (position + length > count) {
+        throw new EOFException();
+      }
+      System.arraycopy(buf, (int) position, buffer, offset, length);
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer) throws IOException {
+      readFully(position, buffer, 0, buffer.length);
+    }
+  }
+}
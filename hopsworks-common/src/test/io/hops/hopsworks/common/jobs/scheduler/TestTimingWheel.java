@@ -0,0 +1,110 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.common.jobs.scheduler;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class TestTimingWheel {
+
+  private static final long TICK = TimeUnit.MINUTES.toMillis(1);
+
+  private TimingWheel<Integer> wheel;
+  private Instant start;
+
+  @Before
+  public void before() {
+    wheel = new TimingWheel<>(8, TICK);
+    start = Instant.parse("2024-01-01T00:00:00Z");
+  }
+
+  @Test
+  public void testFirstAdvanceReturnsOverdue() {
+    wheel.schedule(1, start.minusSeconds(3600));
+    wheel.schedule(2, start.minusSeconds(60));
+    wheel.schedule(3, start.plusSeconds(60));
+
+    Map<Integer, Instant> due = wheel.advance(start);
+    Assert.assertEquals(2, due.size());
+    Assert.assertEquals(start.minusSeconds(3600), due.get(1));
+    Assert.assertEquals(start.minusSeconds(60), due.get(2));
+    Assert.assertEquals(1, wheel.size());
+  }
+
+  @Test
+  public void testEntryLaterInCurrentTick() {
+    wheel.advance(start);
+    wheel.schedule(1, start.plusSeconds(30));
+
+    Assert.assertTrue(wheel.advance(start.plusSeconds(10)).isEmpty());
+    Assert.assertTrue(wheel.advance(start.plusSeconds(30)).containsKey(1));
+  }
+
+  @Test
+  public void testEntryAfterFullTurn() {
+    wheel.advance(start);
+    // Same slot as the next tick, one turn later
+    Instant fireAt = start.plusMillis(9 * TICK);
+    wheel.schedule(1, fireAt);
+
+    Assert.assertTrue(wheel.advance(start.plusMillis(TICK)).isEmpty());
+    Assert.assertEquals(fireAt, wheel.advance(fireAt).get(1));
+  }
+
+  @Test
+  public void testScheduleInPastTick() {
+    wheel.advance(start.plusMillis(5 * TICK));
+    wheel.schedule(1, start);
+
+    Assert.assertEquals(start, wheel.advance(start.plusMillis(5 * TICK)).get(1));
+    Assert.assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void testReschedule() {
+    wheel.advance(start);
+    wheel.schedule(1, start.plusMillis(TICK));
+    wheel.schedule(1, start.plusMillis(3 * TICK));
+
+    Assert.assertTrue(wheel.advance(start.plusMillis(2 * TICK)).isEmpty());
+    Assert.assertTrue(wheel.advance(start.plusMillis(3 * TICK)).containsKey(1));
+  }
+
+  @Test
+  public void testRemove() {
+    wheel.advance(start);
+    wheel.schedule(1, start.plusMillis(TICK));
+    wheel.remove(1);
+
+    Assert.assertTrue(wheel.advance(start.plusMillis(TICK)).isEmpty());
+    Assert.assertEquals(0, wheel.size());
+  }
+
+  @Test
+  public void testGapLongerThanTurn() {
+    wheel.advance(start);
+    wheel.schedule(1, start.plusMillis(3 * TICK));
+    wheel.schedule(2, start.plusMillis(20 * TICK));
+
+    Map<Integer, Instant> due = wheel.advance(start.plusMillis(30 * TICK));
+    Assert.assertEquals(2, due.size());
+  }
+}
@@ -17,6 +17,7 @@
 package io.hops.hopsworks.common.security;
 
 import io.hops.hopsworks.common.dao.jobhistory.ExecutionFacade;
+import io.hops.hopsworks.common.dao.serving.ServingFacade;
 import io.hops.hopsworks.common.featurestore.featuregroup.FeaturegroupFacade;
 import io.hops.hopsworks.common.featurestore.trainingdatasets.TrainingDatasetFacade;
 import io.hops.hopsworks.common.serving.ServingController;
@@ -24,12 +25,6 @@ import io.hops.hopsworks.common.serving.ServingStatusEnum;
 import io.hops.hopsworks.common.serving.ServingWrapper;
 import io.hops.hopsworks.common.util.Settings;
 import io.hops.hopsworks.persistence.entity.featurestore.Featurestore;
-import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.Featuregroup;
-import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.cached.CachedFeaturegroup;
-import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.ondemand.OnDemandFeaturegroup;
-import io.hops.hopsworks.persistence.entity.featurestore.featuregroup.stream.StreamFeatureGroup;
-import io.hops.hopsworks.persistence.entity.featurestore.trainingdataset.TrainingDataset;
-import io.hops.hopsworks.persistence.entity.jobs.history.Execution;
 import io.hops.hopsworks.persistence.entity.project.Project;
 import io.hops.hopsworks.persistence.entity.serving.Serving;
 import org.junit.Assert;
@@ -49,25 +44,8 @@ public class TestQuotasEnforcement {
   @Test
   public void testQuotasOnlineEnabledFeaturegroups() throws Exception {
     FeaturegroupFacade featuregroupFacade = Mockito.mock(FeaturegroupFacade.class);
-    List<Featuregroup> mockedOnlineEnabledFeaturegroups = new ArrayList<>();
-    CachedFeaturegroup onlineCachedFG = new CachedFeaturegroup();
-    StreamFeatureGroup onlineStreamFG = new StreamFeatureGroup();
-    OnDemandFeaturegroup onlineOnDemandFG = new OnDemandFeaturegroup();
-
-    Featuregroup fg0 = new Featuregroup();
-    fg0.setCachedFeaturegroup(onlineCachedFG);
-    fg0.setOnlineEnabled(true);
-    mockedOnlineEnabledFeaturegroups.add(fg0);
-    Featuregroup fg1 = new Featuregroup();
-    fg1.setStreamFeatureGroup(onlineStreamFG);
-    fg1.setOnlineEnabled(true);
-    mockedOnlineEnabledFeaturegroups.add(fg1);
-    Featuregroup fg2 = new Featuregroup();
-    fg2.setOnDemandFeaturegroup(onlineOnDemandFG);
-    fg2.setOnlineEnabled(true);
-    mockedOnlineEnabledFeaturegroups.add(fg2);
-
-    Mockito.when(featuregroupFacade.findByFeaturestore(Mockito.any(), Mockito.any())).thenReturn(mockedOnlineEnabledFeaturegroups);
+    // Cached, stream and on-demand online enabled feature groups
+    Mockito.when(featuregroupFacade.countByFeaturestore(Mockito.any(), Mockito.eq(true))).thenReturn(3L);
 
     Settings settings = Mockito.mock(Settings.class);
 
@@ -96,25 +74,8 @@ public class TestQuotasEnforcement {
   @Test
   public void testQuotasOnlineDisabledFeaturegroups() throws Exception {
     FeaturegroupFacade featuregroupFacade = Mockito.mock(FeaturegroupFacade.class);
-    List<Featuregroup> mockedOnlineDisabledFeaturegroups = new ArrayList<>();
-    CachedFeaturegroup offlineCachedFG = new CachedFeaturegroup();
-    StreamFeatureGroup offlineStreamFG = new StreamFeatureGroup();
-    OnDemandFeaturegroup offlineOnDemandFG = new OnDemandFeaturegroup();
-
-    Featuregroup fg0 = new Featuregroup();
-    fg0.setCachedFeaturegroup(offlineCachedFG);
-    fg0.setOnlineEnabled(false);
-    mockedOnlineDisabledFeaturegroups.add(fg0);
-    Featuregroup fg1 = new Featuregroup();
-    fg1.setStreamFeatureGroup(offlineStreamFG);
-    fg1.setOnlineEnabled(false);
-    mockedOnlineDisabledFeaturegroups.add(fg1);
-    Featuregroup fg2 = new Featuregroup();
-    fg2.setOnDemandFeaturegroup(offlineOnDemandFG);
-    fg2.setOnlineEnabled(false);
-    mockedOnlineDisabledFeaturegroups.add(fg2);
-
-    Mockito.when(featuregroupFacade.findByFeaturestore(Mockito.any(), Mockito.any())).thenReturn(mockedOnlineDisabledFeaturegroups);
+    // Cached and stream online disabled feature groups, the on-demand one is not counted by the query
+    Mockito.when(featuregroupFacade.countByFeaturestore(Mockito.any(), Mockito.eq(false))).thenReturn(2L);
 
     Settings settings = Mockito.mock(Settings.class);
 
@@ -129,12 +90,11 @@ public class TestQuotasEnforcement {
 
     // Test Online disabled
     Mockito.when(settings.getQuotasOnlineEnabledFeaturegroups()).thenReturn(100L);
-    // We make sure On-demand/External online disabled FGs are not counted
-    // It should pass with max: 3 even though current: 3 already
+    // It should go through current: 2 max: 3
     Mockito.when(settings.getQuotasOnlineDisabledFeaturegroups()).thenReturn(3L);
     qe.enforceFeaturegroupsQuota(fs, false);
 
-    // This time it should throw an exception current: 3 max: 2
+    // This time it should throw an exception current: 2 max: 2
     Mockito.when(settings.getQuotasOnlineDisabledFeaturegroups()).thenReturn(2L);
     thrown.expect(QuotaEnforcementException.class);
     thrown.expectMessage("Online disabled feature groups quota reached");
@@ -160,16 +120,13 @@ public class TestQuotasEnforcement {
     Mockito.when(settings.getQuotasOnlineDisabledFeaturegroups()).thenReturn(-1L);
     qe.enforceFeaturegroupsQuota(fs, false);
     qe.enforceFeaturegroupsQuota(fs, true);
-    Mockito.verify(featuregroupFacade, Mockito.never()).findByFeaturestore(Mockito.any(), Mockito.any());
+    Mockito.verify(featuregroupFacade, Mockito.never()).countByFeaturestore(Mockito.any(), Mockito.anyBoolean());
   }
 
   @Test
   public void testQuotasTrainingDatasets() throws Exception {
     TrainingDatasetFacade trainingDatasetFacade = Mockito.mock(TrainingDatasetFacade.class);
-    List<TrainingDataset> mockedTrainingDS = new ArrayList<>();
-    mockedTrainingDS.add(new TrainingDataset());
-    mockedTrainingDS.add(new TrainingDataset());
-    Mockito.when(trainingDatasetFacade.findByFeaturestore(Mockito.any())).thenReturn(mockedTrainingDS);
+    Mockito.when(trainingDatasetFacade.countByFeaturestore(Mockito.any())).thenReturn(2L);
 
     Settings settings = Mockito.mock(Settings.class);
 
@@ -211,7 +168,7 @@ public class TestQuotasEnforcement {
     // It should go through
     Mockito.when(settings.getQuotasTrainingDatasets()).thenReturn(-1L);
     qe.enforceTrainingDatasetsQuota(fs);
-    Mockito.verify(trainingDatasetFacade, Mockito.never()).findByFeaturestore(Mockito.any());
+    Mockito.verify(trainingDatasetFacade, Mockito.never()).countByFeaturestore(Mockito.any());
   }
 
   @Test
@@ -294,21 +251,13 @@ public class TestQuotasEnforcement {
   @Test
   public void testQuotasModelDeployments() throws Exception {
     Settings settings = Mockito.mock(Settings.class);
-    List<ServingWrapper> mockServings = new ArrayList<>();
-    ServingWrapper sw0 = new ServingWrapper(new Serving());
-    sw0.setStatus(ServingStatusEnum.STOPPED);
-    mockServings.add(sw0);
-
-    ServingWrapper sw1 = new ServingWrapper(new Serving());
-    sw1.setStatus(ServingStatusEnum.RUNNING);
-    mockServings.add(sw1);
-
-    ServingController servingController = Mockito.mock(ServingController.class);
-    Mockito.when(servingController.getAll(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(mockServings);
+    // A stopped and a running deployment
+    ServingFacade servingFacade = Mockito.mock(ServingFacade.class);
+    Mockito.when(servingFacade.countForProject(Mockito.any())).thenReturn(2L);
 
     QuotasEnforcement qe = new QuotasEnforcement();
     qe.setSettings(settings);
-    qe.setServingController(servingController);
+    qe.setServingFacade(servingFacade);
 
     Project project = new Project();
     project.setName("ProjectName");
@@ -326,17 +275,16 @@ public class TestQuotasEnforcement {
 
   @Test
   public void testIgnoreQuotasModelDeployments() throws Exception {
-    ServingController servingController = Mockito.mock(ServingController.class);
+    ServingFacade servingFacade = Mockito.mock(ServingFacade.class);
     Settings settings = Mockito.mock(Settings.class);
     Mockito.when(settings.getQuotasTotalModelDeployments()).thenReturn(-1L);
     Project project = new Project();
     project.setName("ProjectName");
     QuotasEnforcement qe = new QuotasEnforcement();
     qe.setSettings(settings);
-    qe.setServingController(servingController);
+    qe.setServingFacade(servingFacade);
     qe.enforceModelDeploymentsQuota(project);
-    Mockito.verify(servingController, Mockito.never()).getAll(Mockito.any(), Mockito.any(), Mockito.any(),
-      Mockito.any());
+    Mockito.verify(servingFacade, Mockito.never()).countForProject(Mockito.any());
   }
 
   @Test
@@ -345,10 +293,7 @@ public class TestQuotasEnforcement {
     ExecutionFacade executionFacade = Mockito.mock(ExecutionFacade.class);
     Mockito.when(settings.getQuotasMaxParallelExecutions()).thenReturn(2L);
 
-    List<Execution> executions = new ArrayList<>();
-    executions.add(new Execution());
-
-    Mockito.when(executionFacade.findByProjectAndNotFinished(Mockito.any())).thenReturn(executions);
+    Mockito.when(executionFacade.countByProjectAndNotFinished(Mockito.any())).thenReturn(1L);
     Project project = new Project();
     project.setName("project");
 
@@ -359,7 +304,7 @@ public class TestQuotasEnforcement {
     // This time should go through
     qe.enforceParallelExecutionsQuota(project);
 
-    executions.add(new Execution());
+    Mockito.when(executionFacade.countByProjectAndNotFinished(Mockito.any())).thenReturn(2L);
     thrown.expect(QuotaEnforcementException.class);
     thrown.expectMessage("Parallel executions quota reached for Project");
     qe.enforceParallelExecutionsQuota(project);
@@ -376,7 +321,7 @@ public class TestQuotasEnforcement {
     qe.setSettings(settings);
     qe.setExecutionFacade(executionFacade);
     qe.enforceParallelExecutionsQuota(project);
-    Mockito.verify(executionFacade, Mockito.never()).findByProjectAndNotFinished(Mockito.any());
+    Mockito.verify(executionFacade, Mockito.never()).countByProjectAndNotFinished(Mockito.any());
   }
 }
 
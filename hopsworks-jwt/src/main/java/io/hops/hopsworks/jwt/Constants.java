@@ -31,6 +31,8 @@ public class Constants {
   public static final String ONE_TIME_JWT_SIGNING_KEY_NAME = "oneTimeKey";
   public static final String OLD_ONE_TIME_JWT_SIGNING_KEY_NAME = ONE_TIME_JWT_SIGNING_KEY_NAME + "_old";
   public static final long ONE_TIME_JWT_LIFETIME_MS = 60000l;
+  // One time tokens with this claim are not invalidated by ranged requests, so ranges can be fetched in parallel
+  public static final String ONE_TIME_JWT_RANGED = "ranged";
   
   public final static String ELK_SIGNING_KEY_NAME = "elk_jwt_signing_key";
   public final static String ELK_VALID_PROJECT_NAME = "pn";
@@ -0,0 +1,190 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.hops.hopsworks.jwt;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.hops.hopsworks.jwt.dao.InvalidJwtFacade;
+import io.hops.hopsworks.persistence.entity.jwt.InvalidJwt;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory copy of the invalidated tokens table, so that token verification does not need a database round trip.
+ * Entries are kept until the token can no longer be renewed, the same criterion used to clean up the table.
+ * Invalidations are broadcast to the other nodes of the cluster, and the table is periodically reloaded to recover
+ * from missed messages.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class InvalidJwtCache {
+
+  private final static Logger LOGGER = Logger.getLogger(InvalidJwtCache.class.getName());
+  private static final String TOPIC_NAME = "jwt_invalidated";
+  private static final long RELOAD_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+
+  @EJB
+  private InvalidJwtFacade invalidJwtFacade;
+  @Inject
+  private HazelcastInstance hazelcastInstance;
+  @Resource
+  private TimerService timerService;
+
+  // jti -> epoch millis after which the token can not be renewed anymore
+  private final Map<String, Long> invalidated = new ConcurrentHashMap<>();
+  private volatile boolean loaded = false;
+  private ITopic<InvalidatedJwtMessage> invalidatedTopic;
+  private UUID listenerId;
+  private Timer timer;
+
+  @PostConstruct
+  public void init() {
+    // hazelcastInstance == null if Hazelcast is Disabled
+    if (hazelcastInstance != null) {
+      invalidatedTopic = hazelcastInstance.getTopic(TOPIC_NAME);
+      listenerId = invalidatedTopic.addMessageListener(new InvalidatedJwtListener());
+    }
+    reload();
+    timer = timerService.createIntervalTimer(RELOAD_INTERVAL_MS, RELOAD_INTERVAL_MS,
+      new TimerConfig("Invalidated JWT cache reload", false));
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (invalidatedTopic != null) {
+      //needed for redeploy to remove the listener
+      invalidatedTopic.removeMessageListener(listenerId);
+    }
+    if (timer != null) {
+      timer.cancel();
+    }
+  }
+
+  @Timeout
+  public void reload() {
+    try {
+      List<InvalidJwt> invalidJwts = invalidJwtFacade.findAll();
+      for (InvalidJwt invalidJwt : invalidJwts) {
+        put(invalidJwt.getJti(), invalidJwt.getExpirationTime(), invalidJwt.getRenewableForSec());
+      }
+      evictExpired();
+      loaded = true;
+    } catch (Exception e) {
+      LOGGER.log(Level.WARNING, "Failed to load invalidated tokens, falling back to database lookups", e);
+    }
+  }
+
+  /**
+   * @return true if the cache holds all the invalidated tokens and can answer lookups on its own.
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public boolean contains(String jti) {
+    return jti != null && invalidated.containsKey(jti);
+  }
+
+  /**
+   * Add an invalidated token on this node and broadcast it to the rest of the cluster. The token should already be
+   * persisted.
+   *
+   * @param jti token id
+   * @param exp token expiration
+   * @param leeway expiration leeway in seconds
+   */
+  public void add(String jti, Date exp, int leeway) {
+    put(jti, exp, leeway);
+    //Notify other nodes if invalidatedTopic is created == Hazelcast is enabled
+    if (invalidatedTopic != null) {
+      invalidatedTopic.publish(new InvalidatedJwtMessage(jti, exp.getTime(), leeway));
+    }
+  }
+
+  /**
+   * Drop the tokens that can not be renewed anymore.
+   *
+   * @return number of entries evicted
+   */
+  public int evictExpired() {
+    long now = System.currentTimeMillis();
+    int sizeBefore = invalidated.size();
+    invalidated.values().removeIf(renewableUntil -> renewableUntil < now);
+    return sizeBefore - invalidated.size();
+  }
+
+  public int size() {
+    return invalidated.size();
+  }
+
+  private void put(String jti, Date exp, int leeway) {
+    invalidated.put(jti, renewableUntil(exp.getTime(), leeway));
+  }
+
+  private long renewableUntil(long expMillis, int leeway) {
+    return expMillis + TimeUnit.SECONDS.toMillis(leeway);
+  }
+
+  private class InvalidatedJwtListener implements MessageListener<InvalidatedJwtMessage> {
+    @Override
+    public void onMessage(Message<InvalidatedJwtMessage> message) {
+      if (!message.getPublishingMember().localMember()) {
+        InvalidatedJwtMessage invalidatedJwt = message.getMessageObject();
+        invalidated.put(invalidatedJwt.jti, renewableUntil(invalidatedJwt.expMillis, invalidatedJwt.leeway));
+      }
+    }
+  }
+
+  private static class InvalidatedJwtMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String jti;
+    private final long expMillis;
+    private final int leeway;
+
+    private InvalidatedJwtMessage(String jti, long expMillis, int leeway) {
+      this.jti = jti;
+      this.expMillis = expMillis;
+      this.leeway = leeway;
+    }
+  }
+}
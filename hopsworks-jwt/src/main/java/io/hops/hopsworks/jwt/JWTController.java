@@ -52,6 +52,7 @@ import java.util.logging.Logger;
 import static io.hops.hopsworks.jwt.Constants.DEFAULT_EXPIRY_LEEWAY;
 import static io.hops.hopsworks.jwt.Constants.DEFAULT_RENEWABLE;
 import static io.hops.hopsworks.jwt.Constants.EXPIRY_LEEWAY;
+import static io.hops.hopsworks.jwt.Constants.ONE_TIME_JWT_RANGED;
 import static io.hops.hopsworks.jwt.Constants.RENEWABLE;
 import static io.hops.hopsworks.jwt.Constants.ROLES;
 
@@ -63,6 +64,8 @@ public class JWTController {
   @EJB
   private InvalidJwtFacade invalidJwtFacade;
   @EJB
+  private InvalidJwtCache invalidJwtCache;
+  @EJB
   private AlgorithmFactory algorithmFactory;
   @EJB
   private JwtSigningKeyFacade jwtSigningKeyFacade;
@@ -273,7 +276,9 @@ public class JWTController {
   }
   
   /**
-   * Will verify then invalidate a one time key
+   * Will verify then invalidate a one time key. A key issued for ranged requests is not invalidated, see
+   * {@link #invalidateOneTimeToken(DecodedJWT, boolean)}. The invalidation inserts the key in the invalid tokens
+   * table, which fails if another request already used it.
    * @param token
    * @param issuer
    * @return
@@ -284,10 +289,36 @@ public class JWTController {
   public DecodedJWT verifyOneTimeToken(String token, String issuer) throws SigningKeyNotFoundException,
       VerificationException, InvalidationException {
     DecodedJWT jwt = verifyToken(token, issuer);
-    invalidateJWT(jwt.getId(), jwt.getExpiresAt(), getExpLeewayClaim(jwt));
+    // The cache of the other nodes learns about an invalidation eventually, the database is the authority for keys
+    // that must be used once
+    if (invalidJwtFacade.find(jwt.getId()) != null) {
+      throw new VerificationException("Invalidated token.");
+    }
+    if (!isRangedClaim(jwt)) {
+      invalidateJWT(jwt.getId(), jwt.getExpiresAt(), getExpLeewayClaim(jwt));
+    }
     return jwt;
   }
 
+  /**
+   * Will invalidate a one time key issued for ranged requests once a request is not answered with a partial content.
+   * Such a key can be used by several ranged requests until it expires. Other one time keys are already invalidated
+   * by {@link #verifyOneTimeToken(String, String)}.
+   * @param jwt
+   * @param partialContent
+   * @throws InvalidationException
+   */
+  public void invalidateOneTimeToken(DecodedJWT jwt, boolean partialContent) throws InvalidationException {
+    if (!partialContent && isRangedClaim(jwt)) {
+      invalidateJWT(jwt.getId(), jwt.getExpiresAt(), getExpLeewayClaim(jwt));
+    }
+  }
+
+  private boolean isRangedClaim(DecodedJWT jwt) {
+    Claim rangedClaim = jwt.getClaim(ONE_TIME_JWT_RANGED);
+    return rangedClaim != null && !rangedClaim.isNull() && Boolean.TRUE.equals(rangedClaim.asBoolean());
+  }
+
   /**
    * Verify a token
    *
@@ -361,6 +392,9 @@ public class JWTController {
   }
 
   private boolean isTokenInvalidated(String id) {
+    if (invalidJwtCache.isLoaded()) {
+      return invalidJwtCache.contains(id);
+    }
     InvalidJwt invalidJwt = invalidJwtFacade.find(id);
     return invalidJwt != null;
   }
@@ -488,6 +522,7 @@ public class JWTController {
     try {
       InvalidJwt invalidJwt = new InvalidJwt(id, exp, leeway);
       invalidJwtFacade.persist(invalidJwt);
+      invalidJwtCache.add(id, exp, leeway);
     } catch (Exception e) {
       throw new InvalidationException("Could not persist token.", e.getCause());
     }
@@ -588,6 +623,7 @@ public class JWTController {
         count++;
       }
     }
+    invalidJwtCache.evictExpired();
     return count;
   }
   
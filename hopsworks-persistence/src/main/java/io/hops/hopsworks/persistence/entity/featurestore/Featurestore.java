@@ -19,6 +19,7 @@ package io.hops.hopsworks.persistence.entity.featurestore;
 import io.hops.hopsworks.persistence.entity.project.Project;
 
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -32,6 +33,7 @@ import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.xml.bind.annotation.XmlRootElement;
+import org.eclipse.persistence.annotations.Cache;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.Objects;
@@ -41,6 +43,8 @@ import java.util.Objects;
  * An instance of this class represents a row in the database.
  */
 @Entity
+@Cacheable
+@Cache(expiry = 600000)
 @Table(name = "feature_store", catalog = "hopsworks")
 @XmlRootElement
 @NamedQueries({
@@ -29,6 +29,7 @@ import io.hops.hopsworks.persistence.entity.featurestore.statistics.StatisticsCo
 import io.hops.hopsworks.persistence.entity.user.Users;
 
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -48,6 +49,8 @@ import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.validation.constraints.NotNull;
 import javax.xml.bind.annotation.XmlRootElement;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.Noncacheable;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Date;
@@ -58,6 +61,8 @@ import java.util.Objects;
  * An instance of this class represents a row in the database.
  */
 @Entity
+@Cacheable
+@Cache(expiry = 600000)
 @Table(name = "feature_group", catalog = "hopsworks")
 @XmlRootElement
 @NamedQueries({
@@ -79,6 +84,15 @@ import java.util.Objects;
         + " AND (fg.onDemandFeaturegroup IS NOT null "
         + "OR fg.cachedFeaturegroup IS NOT null "
         + "OR fg.streamFeatureGroup IS NOT null)"),
+    @NamedQuery(name = "Featuregroup.countOnlineEnabledByFeaturestore", query = "SELECT count(fg.id) " +
+        "FROM Featuregroup fg WHERE fg.featurestore = :featurestore AND fg.onlineEnabled = true"
+        + " AND (fg.onDemandFeaturegroup IS NOT null "
+        + "OR fg.cachedFeaturegroup IS NOT null "
+        + "OR fg.streamFeatureGroup IS NOT null)"),
+    @NamedQuery(name = "Featuregroup.countOnlineDisabledByFeaturestore", query = "SELECT count(fg.id) " +
+        "FROM Featuregroup fg WHERE fg.featurestore = :featurestore AND fg.onlineEnabled = false"
+        + " AND (fg.cachedFeaturegroup IS NOT null "
+        + "OR fg.streamFeatureGroup IS NOT null)"),
     @NamedQuery(name = "Featuregroup.findByFeaturestoreAndId", query = "SELECT fg FROM Featuregroup fg " +
         "WHERE fg.featurestore = :featurestore AND fg.id = :id"),
     @NamedQuery(name = "Featuregroup.findByFeaturestoreAndNameVersion", query = "SELECT fg FROM Featuregroup fg " +
@@ -138,6 +152,7 @@ public class Featuregroup implements Serializable {
   @Column(name = "deprecated")
   private boolean deprecated;
   @OneToOne(cascade = CascadeType.ALL, mappedBy = "featuregroup")
+  @Noncacheable
   private Embedding embedding;
   @NotNull
   @Enumerated(EnumType.ORDINAL)
@@ -145,24 +160,33 @@ public class Featuregroup implements Serializable {
   private FeaturegroupType featuregroupType = FeaturegroupType.CACHED_FEATURE_GROUP;
   @JoinColumn(name = "on_demand_feature_group_id", referencedColumnName = "id")
   @OneToOne
+  @Noncacheable
   private OnDemandFeaturegroup onDemandFeaturegroup;
   @JoinColumn(name = "stream_feature_group_id", referencedColumnName = "id")
   @OneToOne
+  @Noncacheable
   private StreamFeatureGroup streamFeatureGroup;
   @JoinColumn(name = "cached_feature_group_id", referencedColumnName = "id")
   @OneToOne
+  @Noncacheable
   private CachedFeaturegroup cachedFeaturegroup;
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "featureGroup")
+  @Noncacheable
   private Collection<FeaturestoreActivity> activities;
   @OneToOne(cascade = CascadeType.ALL, mappedBy = "featuregroup")
+  @Noncacheable
   private StatisticsConfig statisticsConfig;
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "featureGroup")
+  @Noncacheable
   private Collection<FeatureGroupAlert> featureGroupAlerts;
   @OneToOne(cascade = CascadeType.ALL, mappedBy = "featuregroup")
+  @Noncacheable
   private ExpectationSuite expectationSuite;
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "featuregroup")
+  @Noncacheable
   private Collection<ValidationReport> validationReports;
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "featureGroup")
+  @Noncacheable
   private Collection<FeatureMonitoringConfiguration> featureMonitoringConfigurations;
   
   public Featuregroup() { }
@@ -38,7 +38,10 @@ import java.util.Objects;
 @NamedQueries({@NamedQuery(name = "FeatureDescriptiveStatistics.findById",
   query = "SELECT fds FROM FeatureDescriptiveStatistics fds WHERE fds.id = :id"),
   @NamedQuery(name = "FeatureDescriptiveStatistics.deleteBatch",
-    query = "DELETE FROM FeatureDescriptiveStatistics fds WHERE fds.id IN :fdsIds")})
+    query = "DELETE FROM FeatureDescriptiveStatistics fds WHERE fds.id IN :fdsIds"),
+  @NamedQuery(name = "FeatureDescriptiveStatistics.countByExtendedStatisticsPath",
+    query = "SELECT COUNT(fds.id) FROM FeatureDescriptiveStatistics fds " +
+      "WHERE fds.extendedStatisticsPath = :extendedStatisticsPath")})
 
 @XmlRootElement
 public class FeatureDescriptiveStatistics implements Serializable {
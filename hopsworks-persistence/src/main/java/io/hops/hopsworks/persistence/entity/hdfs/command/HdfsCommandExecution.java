@@ -50,7 +50,9 @@ import java.util.Objects;
   @NamedQuery(name = "HdfsCommandExecution.findByExecution",
     query = "SELECT c FROM HdfsCommandExecution c WHERE c.execution = :execution"),
   @NamedQuery(name = "HdfsCommandExecution.findBySrcPath",
-    query = "SELECT c FROM HdfsCommandExecution c WHERE c.srcPath = :srcPath")})
+    query = "SELECT c FROM HdfsCommandExecution c WHERE c.srcPath = :srcPath"),
+  @NamedQuery(name = "HdfsCommandExecution.findBySrcPaths",
+    query = "SELECT c FROM HdfsCommandExecution c WHERE c.srcPath IN :srcPaths")})
 public class HdfsCommandExecution {
 
   @Id
@@ -121,12 +121,18 @@ import java.util.List;
   @NamedQuery(name = "Execution.findByProjectAndStates",
           query
           = "SELECT e FROM Execution e WHERE e.job.project = :project AND e.state in :states"),
+  @NamedQuery(name = "Execution.countByProjectAndStates",
+          query
+          = "SELECT count(e.id) FROM Execution e WHERE e.job.project = :project AND e.state in :states"),
   @NamedQuery(name = "Execution.findByTypesAndStates",
           query
           = "SELECT e FROM Execution e WHERE e.job.type in :types AND e.state in :states"),
   @NamedQuery(name = "Execution.findByJob",
           query
           = "SELECT e FROM Execution e WHERE e.job = :job ORDER BY e.submissionTime DESC"),
+  @NamedQuery(name = "Execution.countByJob",
+          query
+          = "SELECT count(e.id) FROM Execution e WHERE e.job = :job"),
   @NamedQuery(name = "Execution.findOrphanExecutions",
           query
           = "SELECT e FROM Execution e WHERE e.job NOT IN (SELECT j FROM Jobs j)"),
@@ -56,6 +56,7 @@ import io.hops.hopsworks.persistence.entity.user.Users;
 import io.hops.hopsworks.persistence.entity.user.activity.Activity;
 
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -80,6 +81,8 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.Noncacheable;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Date;
@@ -87,6 +90,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Entity
+@Cacheable
+@Cache(expiry = 600000)
 @Table(name = "project", catalog = "hopsworks")
 @XmlRootElement
 @NamedQueries({
@@ -110,34 +115,44 @@ public class Project implements Serializable {
 
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "project")
+  @Noncacheable
   private Collection<ProjectTeam> projectTeamCollection;
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "project")
+  @Noncacheable
   private Collection<Activity> activityCollection;
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "project")
+  @Noncacheable
   private Collection<ProjectServices> projectServicesCollection;
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "project", fetch = FetchType.LAZY)
+  @Noncacheable
   private Collection<Dataset> datasetCollection;
   @OneToMany(cascade = CascadeType.ALL,
     mappedBy = "project", fetch = FetchType.LAZY)
+  @Noncacheable
   private Collection<DatasetSharedWith> datasetSharedWithCollection;
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "projectId")
+  @Noncacheable
   private Collection<CondaCommands> condaCommandsCollection;
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "project")
+  @Noncacheable
   private Collection<Serving> servingCollection;
   @OneToMany(cascade = CascadeType.ALL,
           mappedBy = "project")
+  @Noncacheable
   private Collection<TensorBoard> tensorBoardCollection;
   @OneToMany(cascade = CascadeType.ALL,
     mappedBy = "project",
     orphanRemoval=true)
+  @Noncacheable
   private Collection<DefaultJobConfiguration> defaultJobConfigurationCollection;
   @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY,
       mappedBy = "project")
+  @Noncacheable
   private Collection<Jobs> jobsCollection;
 
   private static final long serialVersionUID = 1L;
@@ -162,6 +177,7 @@ public class Project implements Serializable {
   @OneToOne(cascade = CascadeType.ALL,
       orphanRemoval = true)
   @JoinColumn(name = "python_env_id", referencedColumnName = "id")
+  @Noncacheable
   private PythonEnvironment pythonEnvironment;
 
   @Basic(optional = false)
@@ -217,12 +233,15 @@ public class Project implements Serializable {
         @JoinColumn(name = "dep_id",
             referencedColumnName = "id")})
   @ManyToMany(fetch = FetchType.LAZY)
+  @Noncacheable
   private Collection<PythonDep> pythonDepCollection;
 
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "project")
+  @Noncacheable
   private Collection<JupyterProject> jupyterProjectCollection;
 
   @OneToMany(cascade = CascadeType.ALL, mappedBy = "project")
+  @Noncacheable
   private Collection<ProjectServiceAlert> projectServiceAlerts;
 
   public Project() {
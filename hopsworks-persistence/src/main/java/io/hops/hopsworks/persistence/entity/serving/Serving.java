@@ -52,6 +52,8 @@ import java.util.Date;
     @NamedQuery(name = "Serving.findById", query = "SELECT t FROM Serving t WHERE t.id = :id"),
     @NamedQuery(name = "Serving.findByProject", query = "SELECT t FROM Serving t " +
       "WHERE t.project = :project"),
+    @NamedQuery(name = "Serving.countByProject", query = "SELECT count(t.id) FROM Serving t " +
+      "WHERE t.project = :project"),
     @NamedQuery(name = "Serving.findByProjectAndModel", query = "SELECT t FROM Serving t " +
             "WHERE t.project = :project AND t.modelName = :modelName"),
   @NamedQuery(name = "Serving.findByProjectAndModelVersion", query = "SELECT t FROM Serving t " +
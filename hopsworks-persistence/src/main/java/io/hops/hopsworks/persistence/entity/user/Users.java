@@ -46,6 +46,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -68,6 +69,8 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.Noncacheable;
 
 import io.hops.hopsworks.persistence.entity.tensorflow.TensorBoard;
 import io.hops.hopsworks.persistence.entity.user.security.ua.UserAccountStatus;
@@ -76,6 +79,8 @@ import io.hops.hopsworks.persistence.entity.user.security.ua.ValidationKeyType;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
+@Cacheable
+@Cache(expiry = 600000)
 @Table(name = "users", catalog = "hopsworks")
 @XmlRootElement
 @NamedQueries({
@@ -88,6 +93,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
   @NamedQuery(name = "Users.findByUsername",
       query = "SELECT u FROM Users u WHERE u.username = :username")
   ,
+  @NamedQuery(name = "Users.findByUsernames",
+      query = "SELECT u FROM Users u WHERE u.username IN :usernames")
+  ,
   @NamedQuery(name = "Users.findByPassword",
       query = "SELECT u FROM Users u WHERE u.password = :password")
   ,
@@ -244,14 +252,17 @@ public class Users implements Serializable {
         @JoinColumn(name = "gid",
             referencedColumnName = "gid")})
   @ManyToMany
+  @Noncacheable
   private Collection<BbcGroup> bbcGroupCollection;
 
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "users")
+  @Noncacheable
   private Collection<JupyterSettings> jupyterSettingsCollection;
 
   @OneToMany(cascade = CascadeType.ALL,
       mappedBy = "users")
+  @Noncacheable
   private Collection<TensorBoard> tensorBoardCollection;
   
   //Only used for adding group by name to the used
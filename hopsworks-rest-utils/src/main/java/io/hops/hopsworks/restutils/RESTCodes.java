@@ -458,7 +458,9 @@ public class RESTCodes {
     JOB_SCHEDULE_NOT_FOUND(42, "Cannot find the job schedule.", Response.Status.NOT_FOUND),
     UNMATCHED_JOB_NAME(43, "Provided job names do not match.", Response.Status.BAD_REQUEST),
     UNMATCHED_JOB_SCHEDULE_AND_JOB_NAME(44, "Requested job schedule id does not match the job name.",
-      Response.Status.BAD_REQUEST);
+      Response.Status.BAD_REQUEST),
+    JOB_LOG_FOLLOW_LIMIT_EXCEEDED(45, "The maximum number of long-running requests exceeded. Please try again later.",
+      Response.Status.SERVICE_UNAVAILABLE);
 
     private Integer code;
     private String message;
@@ -2364,7 +2366,8 @@ public class RESTCodes {
       Response.Status.NOT_IMPLEMENTED),
     DB_QUERY_ERROR(8, "DB error on query", Response.Status.INTERNAL_SERVER_ERROR),
     ARTIFACT_DELETED(9, "Artifact was deleted before command could be executed",
-      Response.Status.INTERNAL_SERVER_ERROR);
+      Response.Status.INTERNAL_SERVER_ERROR),
+    REINDEX_ONGOING(10, "Feature store search reindex is already ongoing", Response.Status.CONFLICT);
     
     private final int code;
     private final String message;
@@ -0,0 +1,41 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+/**
+ * Streams documents into an index. Documents are buffered and sent in bulk requests once the buffer reaches the
+ * number of documents or bytes of the {@link BulkWriterConfig}. When the maximum number of bulk requests is in
+ * flight, add blocks until one completes. A failed bulk request is reported by the next call to add, flush or close.
+ */
+public interface BulkWriter extends AutoCloseable {
+  /**
+   * @param docId id of the document, null to let the database generate one
+   * @param data the document as JSON
+   */
+  void add(String docId, String data) throws VectorDatabaseException;
+
+  /**
+   * Send the buffered documents and wait for all the bulk requests in flight to complete.
+   */
+  void flush() throws VectorDatabaseException;
+
+  /**
+   * Flush and release the writer.
+   */
+  @Override
+  void close() throws VectorDatabaseException;
+}
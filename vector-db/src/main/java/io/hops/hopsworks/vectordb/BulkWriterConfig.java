@@ -0,0 +1,48 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Builder
+public class BulkWriterConfig {
+
+  // A bulk request is sent once this many documents are buffered
+  @Getter
+  @Builder.Default
+  private int maxDocuments = 1000;
+  // or once the buffered documents reach this size
+  @Getter
+  @Builder.Default
+  private long maxBytes = 5L * 1024 * 1024;
+  // Bulk requests in flight, add blocks while this many are not completed
+  @Getter
+  @Builder.Default
+  private int maxConcurrentRequests = 2;
+  // Retries of a bulk request rejected because the cluster is overloaded
+  @Getter
+  @Builder.Default
+  private int maxRetries = 3;
+  @Getter
+  @Builder.Default
+  private long retryDelayMs = 100;
+
+  public static BulkWriterConfig defaults() {
+    return BulkWriterConfig.builder().build();
+  }
+}
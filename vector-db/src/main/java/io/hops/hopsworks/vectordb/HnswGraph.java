@@ -0,0 +1,312 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical navigable small world graph over the vectors of one knn_vector field. Not thread safe, searches can
+ * run concurrently as long as no vector is added or removed. Removed vectors stay in the graph to keep it connected,
+ * they are only excluded from the results.
+ */
+class HnswGraph {
+
+  static final int DEFAULT_M = 16;
+  static final int DEFAULT_EF_CONSTRUCTION = 100;
+  static final int DEFAULT_EF_SEARCH = 100;
+
+  /**
+   * Distances and scores of the space types of the OpenSearch k-NN plugin.
+   */
+  enum Space {
+    L2("l2"),
+    COSINESIMIL("cosinesimil"),
+    INNERPRODUCT("innerproduct");
+
+    private final String name;
+
+    Space(String name) {
+      this.name = name;
+    }
+
+    static Space fromName(String name) throws VectorDatabaseException {
+      if (name == null) {
+        return L2;
+      }
+      for (Space space : values()) {
+        if (space.name.equals(name)) {
+          return space;
+        }
+      }
+      throw new VectorDatabaseException("Unsupported space type: " + name);
+    }
+
+    float distance(float[] v1, float[] v2) {
+      switch (this) {
+        case COSINESIMIL:
+          // vectors are normalized when added
+          return 1 - dot(v1, v2);
+        case INNERPRODUCT:
+          return -dot(v1, v2);
+        default:
+          float sum = 0;
+          for (int i = 0; i < v1.length; i++) {
+            float diff = v1[i] - v2[i];
+            sum += diff * diff;
+          }
+          return sum;
+      }
+    }
+
+    float score(float distance) {
+      if (this == INNERPRODUCT && distance < 0) {
+        return 1 - distance;
+      }
+      return 1 / (1 + distance);
+    }
+
+    float[] prepare(float[] vector) {
+      if (this != COSINESIMIL) {
+        return vector;
+      }
+      float norm = (float) Math.sqrt(dot(vector, vector));
+      float[] normalized = new float[vector.length];
+      for (int i = 0; i < vector.length; i++) {
+        normalized[i] = norm == 0 ? 0 : vector[i] / norm;
+      }
+      return normalized;
+    }
+
+    private static float dot(float[] v1, float[] v2) {
+      float sum = 0;
+      for (int i = 0; i < v1.length; i++) {
+        sum += v1[i] * v2[i];
+      }
+      return sum;
+    }
+  }
+
+  private final int dimension;
+  private final Space space;
+  private final int m;
+  private final int efConstruction;
+  private final double levelMultiplier;
+  private final Random random = new Random(42);
+
+  private final List<Node> nodes = new ArrayList<>();
+  // document id -> node of its current vector
+  private final Map<String, Integer> nodeIds = new HashMap<>();
+  private int entryPoint = -1;
+  private int maxLevel = -1;
+
+  HnswGraph(int dimension, Space space, int m, int efConstruction) {
+    this.dimension = dimension;
+    this.space = space;
+    this.m = m;
+    this.efConstruction = efConstruction;
+    this.levelMultiplier = 1 / Math.log(m);
+  }
+
+  int getDimension() {
+    return dimension;
+  }
+
+  int size() {
+    return nodeIds.size();
+  }
+
+  void add(String docId, float[] vector) throws VectorDatabaseException {
+    if (vector.length != dimension) {
+      throw new VectorDatabaseException(
+          String.format("Vector dimension mismatch. Expected: %d, actual: %d", dimension, vector.length));
+    }
+    remove(docId);
+    int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    Node node = new Node(docId, space.prepare(vector), level);
+    int id = nodes.size();
+    nodes.add(node);
+    nodeIds.put(docId, id);
+    if (entryPoint == -1) {
+      entryPoint = id;
+      maxLevel = level;
+      return;
+    }
+
+    int closest = entryPoint;
+    for (int layer = maxLevel; layer > level; layer--) {
+      closest = greedySearch(node.vector, closest, layer);
+    }
+    for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+      List<Candidate> candidates = searchLayer(node.vector, closest, efConstruction, layer, n -> true);
+      int maxConnections = layer == 0 ? 2 * m : m;
+      for (int i = 0; i < Math.min(m, candidates.size()); i++) {
+        int neighbor = candidates.get(i).node;
+        node.neighbors.get(layer).add(neighbor);
+        List<Integer> neighborLinks = nodes.get(neighbor).neighbors.get(layer);
+        neighborLinks.add(id);
+        if (neighborLinks.size() > maxConnections) {
+          shrink(neighbor, neighborLinks, maxConnections);
+        }
+      }
+      closest = candidates.get(0).node;
+    }
+    if (level > maxLevel) {
+      entryPoint = id;
+      maxLevel = level;
+    }
+  }
+
+  void remove(String docId) {
+    Integer id = nodeIds.remove(docId);
+    if (id != null) {
+      nodes.get(id).removed = true;
+    }
+  }
+
+  /**
+   * @param filter document ids to consider, the graph is still navigated through the other documents
+   * @return the k closest documents, closest first
+   */
+  List<Candidate> search(float[] query, int k, int ef, Predicate<String> filter) throws VectorDatabaseException {
+    if (query.length != dimension) {
+      throw new VectorDatabaseException(
+          String.format("Query dimension mismatch. Expected: %d, actual: %d", dimension, query.length));
+    }
+    if (entryPoint == -1) {
+      return Collections.emptyList();
+    }
+    float[] prepared = space.prepare(query);
+    int closest = entryPoint;
+    for (int layer = maxLevel; layer > 0; layer--) {
+      closest = greedySearch(prepared, closest, layer);
+    }
+    List<Candidate> results = searchLayer(prepared, closest, Math.max(ef, k), 0,
+        n -> !nodes.get(n).removed && filter.test(nodes.get(n).docId));
+    return results.size() > k ? results.subList(0, k) : results;
+  }
+
+  String getDocId(int node) {
+    return nodes.get(node).docId;
+  }
+
+  float score(Candidate candidate) {
+    return space.score(candidate.distance);
+  }
+
+  private int greedySearch(float[] vector, int start, int layer) {
+    int closest = start;
+    float closestDistance = space.distance(vector, nodes.get(start).vector);
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int neighbor : nodes.get(closest).neighbors.get(layer)) {
+        float distance = space.distance(vector, nodes.get(neighbor).vector);
+        if (distance < closestDistance) {
+          closest = neighbor;
+          closestDistance = distance;
+          changed = true;
+        }
+      }
+    }
+    return closest;
+  }
+
+  // Nodes that do not pass accept are navigated through but not returned
+  private List<Candidate> searchLayer(float[] vector, int start, int ef, int layer, Predicate<Integer> accept) {
+    BitSet visited = new BitSet(nodes.size());
+    PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(c -> c.distance));
+    PriorityQueue<Candidate> results =
+        new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.distance).reversed());
+    Candidate first = new Candidate(start, space.distance(vector, nodes.get(start).vector));
+    visited.set(start);
+    candidates.add(first);
+    if (accept.test(start)) {
+      results.add(first);
+    }
+    while (!candidates.isEmpty()) {
+      Candidate candidate = candidates.poll();
+      if (results.size() >= ef && candidate.distance > results.peek().distance) {
+        break;
+      }
+      for (int neighbor : nodes.get(candidate.node).neighbors.get(layer)) {
+        if (visited.get(neighbor)) {
+          continue;
+        }
+        visited.set(neighbor);
+        float distance = space.distance(vector, nodes.get(neighbor).vector);
+        if (results.size() < ef || distance < results.peek().distance) {
+          Candidate next = new Candidate(neighbor, distance);
+          candidates.add(next);
+          if (accept.test(neighbor)) {
+            results.add(next);
+            if (results.size() > ef) {
+              results.poll();
+            }
+          }
+        }
+      }
+    }
+    List<Candidate> sorted = new ArrayList<>(results);
+    sorted.sort(Comparator.comparingDouble(c -> c.distance));
+    return sorted;
+  }
+
+  private void shrink(int node, List<Integer> links, int maxConnections) {
+    float[] vector = nodes.get(node).vector;
+    links.sort(Comparator.comparingDouble(n -> space.distance(vector, nodes.get(n).vector)));
+    links.subList(maxConnections, links.size()).clear();
+  }
+
+  static class Candidate {
+    private final int node;
+    private final float distance;
+
+    private Candidate(int node, float distance) {
+      this.node = node;
+      this.distance = distance;
+    }
+
+    int getNode() {
+      return node;
+    }
+  }
+
+  private static class Node {
+    private final String docId;
+    private final float[] vector;
+    private final List<List<Integer>> neighbors;
+    private boolean removed = false;
+
+    private Node(String docId, float[] vector, int level) {
+      this.docId = docId;
+      this.vector = vector;
+      this.neighbors = new ArrayList<>(level + 1);
+      for (int i = 0; i <= level; i++) {
+        neighbors.add(new ArrayList<>());
+      }
+    }
+  }
+}
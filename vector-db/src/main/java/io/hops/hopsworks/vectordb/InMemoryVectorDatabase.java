@@ -0,0 +1,402 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Vector database kept in memory, with an HNSW graph per knn_vector field. Meant for local testing and as a baseline
+ * for benchmarks. Mappings follow the OpenSearch format, the space_type, m and ef_construction of the method of a
+ * knn_vector field are honoured. Filters are applied while searching the graph, so up to k documents are returned
+ * even with a selective filter. deleteByQuery only supports the queries "field:*" and "field:value".
+ */
+public class InMemoryVectorDatabase implements VectorDatabase {
+
+  private static final String KNN_VECTOR = "knn_vector";
+
+  private final Map<String, MemoryIndex> indices = new ConcurrentHashMap<>();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Override
+  public Set<Index> getAllIndices() {
+    return indices.keySet().stream().map(Index::new).collect(Collectors.toSet());
+  }
+
+  @Override
+  public void createIndex(Index index, String mapping, Boolean skipIfExist) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = new MemoryIndex();
+    memoryIndex.addProperties(getProperties(mapping));
+    if (indices.putIfAbsent(index.getName(), memoryIndex) != null && !skipIfExist) {
+      throw new VectorDatabaseException("Index already exists: " + index.getName());
+    }
+  }
+
+  @Override
+  public void deleteIndex(Index index) throws VectorDatabaseException {
+    if (indices.remove(index.getName()) == null) {
+      throw new VectorDatabaseException("Index does not exist: " + index.getName());
+    }
+  }
+
+  @Override
+  public void addFields(Index index, String mapping) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = getIndex(index);
+    memoryIndex.lock.writeLock().lock();
+    try {
+      memoryIndex.addProperties(getProperties(mapping));
+    } finally {
+      memoryIndex.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Field> getSchema(Index index) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = getIndex(index);
+    memoryIndex.lock.readLock().lock();
+    try {
+      return memoryIndex.properties.entrySet().stream()
+          .map(entry -> new Field(entry.getKey(), entry.getValue()))
+          .collect(Collectors.toList());
+    } finally {
+      memoryIndex.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void writeMap(Index index, Map<String, Object> data) throws VectorDatabaseException {
+    writeMap(index, data, null);
+  }
+
+  @Override
+  public void writeMap(Index index, Map<String, Object> data, String docId) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = getIndex(index);
+    memoryIndex.lock.writeLock().lock();
+    try {
+      memoryIndex.put(docId == null ? UUID.randomUUID().toString() : docId, Maps.newLinkedHashMap(data));
+    } finally {
+      memoryIndex.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void batchWriteMap(Index index, List<Map<String, Object>> data) throws VectorDatabaseException {
+    for (Map<String, Object> doc : data) {
+      writeMap(index, doc, null);
+    }
+  }
+
+  @Override
+  public void batchWriteMap(Index index, Map<String, Map<String, Object>> data) throws VectorDatabaseException {
+    for (Map.Entry<String, Map<String, Object>> entry : data.entrySet()) {
+      writeMap(index, entry.getValue(), entry.getKey());
+    }
+  }
+
+  @Override
+  public void write(Index index, String data) throws VectorDatabaseException {
+    write(index, data, null);
+  }
+
+  @Override
+  public void write(Index index, String data, String docId) throws VectorDatabaseException {
+    writeMap(index, parse(data), docId);
+  }
+
+  @Override
+  public void batchWrite(Index index, List<String> data) throws VectorDatabaseException {
+    for (String doc : data) {
+      write(index, doc, null);
+    }
+  }
+
+  @Override
+  public void batchWrite(Index index, Map<String, String> data) throws VectorDatabaseException {
+    for (Map.Entry<String, String> entry : data.entrySet()) {
+      write(index, entry.getValue(), entry.getKey());
+    }
+  }
+
+  @Override
+  public void deleteByQuery(Index index, String query) throws VectorDatabaseException {
+    String[] term = query.split(":", 2);
+    if (term.length != 2 || term[0].isEmpty()) {
+      throw new VectorDatabaseException("Unsupported query: " + query);
+    }
+    MemoryIndex memoryIndex = getIndex(index);
+    memoryIndex.lock.writeLock().lock();
+    try {
+      List<String> matching = memoryIndex.documents.entrySet().stream()
+          .filter(entry -> "*".equals(term[1])
+              ? entry.getValue().get(term[0]) != null
+              : Objects.equals(String.valueOf(entry.getValue().get(term[0])), term[1]))
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toList());
+      matching.forEach(memoryIndex::remove);
+    } finally {
+      memoryIndex.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Map<String, Object>> preview(Index index, Set<Field> fields, int n) throws VectorDatabaseException {
+    if (fields.size() == 0) {
+      return Lists.newArrayList();
+    }
+    MemoryIndex memoryIndex = getIndex(index);
+    memoryIndex.lock.readLock().lock();
+    try {
+      return memoryIndex.documents.values().stream()
+          .filter(doc -> fields.stream().allMatch(field -> doc.get(field.getName()) != null))
+          .limit(n)
+          .<Map<String, Object>>map(Maps::newLinkedHashMap)
+          .collect(Collectors.toList());
+    } finally {
+      memoryIndex.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<SearchResult> search(Index index, String field, float[] query, int k, Map<String, Object> filter)
+      throws VectorDatabaseException {
+    MemoryIndex memoryIndex = getIndex(index);
+    memoryIndex.lock.readLock().lock();
+    try {
+      return memoryIndex.search(field, query, k, filter);
+    } finally {
+      memoryIndex.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<List<SearchResult>> batchSearch(Index index, String field, List<float[]> queries, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = getIndex(index);
+    List<List<SearchResult>> results = Lists.newArrayList();
+    memoryIndex.lock.readLock().lock();
+    try {
+      for (float[] query : queries) {
+        results.add(memoryIndex.search(field, query, k, filter));
+      }
+    } finally {
+      memoryIndex.lock.readLock().unlock();
+    }
+    return results;
+  }
+
+  /**
+   * Documents are written as they are added, the writer does not buffer.
+   */
+  @Override
+  public BulkWriter bulkWriter(Index index, BulkWriterConfig config) throws VectorDatabaseException {
+    getIndex(index);
+    return new BulkWriter() {
+      @Override
+      public void add(String docId, String data) throws VectorDatabaseException {
+        write(index, data, docId);
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    indices.clear();
+  }
+
+  private MemoryIndex getIndex(Index index) throws VectorDatabaseException {
+    MemoryIndex memoryIndex = indices.get(index.getName());
+    if (memoryIndex == null) {
+      throw new VectorDatabaseException("Index does not exist: " + index.getName());
+    }
+    return memoryIndex;
+  }
+
+  private Map<String, Object> parse(String json) throws VectorDatabaseException {
+    try {
+      return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+    } catch (IOException e) {
+      throw new VectorDatabaseException("Failed to parse document. Err: " + e);
+    }
+  }
+
+  // Accepts both index bodies {"mappings": {"properties": ...}} and mappings {"properties": ...}
+  private Map<String, Object> getProperties(String mapping) throws VectorDatabaseException {
+    if (mapping == null || mapping.isEmpty()) {
+      return Maps.newLinkedHashMap();
+    }
+    Map<String, Object> body = parse(mapping);
+    Object mappings = body.getOrDefault("mappings", body);
+    Object properties = mappings instanceof Map ? ((Map<?, ?>) mappings).get("properties") : null;
+    if (properties == null) {
+      return Maps.newLinkedHashMap();
+    }
+    if (!(properties instanceof Map)) {
+      throw new VectorDatabaseException("Invalid mapping properties: " + properties);
+    }
+    return (Map<String, Object>) properties;
+  }
+
+  private static class MemoryIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Object> properties = Maps.newLinkedHashMap();
+    private final Map<String, Map<String, Object>> documents = Maps.newLinkedHashMap();
+    // knn_vector field -> graph of its vectors
+    private final Map<String, HnswGraph> graphs = Maps.newHashMap();
+
+    private void addProperties(Map<String, Object> newProperties) throws VectorDatabaseException {
+      for (Map.Entry<String, Object> entry : newProperties.entrySet()) {
+        if (properties.containsKey(entry.getKey())) {
+          continue;
+        }
+        Map<String, Object> fieldMapping = (Map<String, Object>) entry.getValue();
+        if (KNN_VECTOR.equals(fieldMapping.get("type"))) {
+          graphs.put(entry.getKey(), createGraph(entry.getKey(), fieldMapping));
+        }
+        properties.put(entry.getKey(), fieldMapping);
+      }
+    }
+
+    private HnswGraph createGraph(String field, Map<String, Object> fieldMapping) throws VectorDatabaseException {
+      if (!(fieldMapping.get("dimension") instanceof Number)) {
+        throw new VectorDatabaseException("Missing dimension of knn_vector field: " + field);
+      }
+      Map<String, Object> method = (Map<String, Object>) fieldMapping.getOrDefault("method", Maps.newHashMap());
+      Map<String, Object> parameters = (Map<String, Object>) method.getOrDefault("parameters", Maps.newHashMap());
+      return new HnswGraph(((Number) fieldMapping.get("dimension")).intValue(),
+          HnswGraph.Space.fromName((String) method.get("space_type")),
+          ((Number) parameters.getOrDefault("m", HnswGraph.DEFAULT_M)).intValue(),
+          ((Number) parameters.getOrDefault("ef_construction", HnswGraph.DEFAULT_EF_CONSTRUCTION)).intValue());
+    }
+
+    private void put(String docId, Map<String, Object> doc) throws VectorDatabaseException {
+      // validate all vectors before changing anything
+      Map<String, float[]> vectors = Maps.newHashMap();
+      for (Map.Entry<String, HnswGraph> graph : graphs.entrySet()) {
+        Object value = doc.get(graph.getKey());
+        if (value != null) {
+          float[] vector = toVector(graph.getKey(), value);
+          if (vector.length != graph.getValue().getDimension()) {
+            throw new VectorDatabaseException(String.format("Vector dimension mismatch for field %s. Expected: %d, " +
+                "actual: %d", graph.getKey(), graph.getValue().getDimension(), vector.length));
+          }
+          vectors.put(graph.getKey(), vector);
+        }
+      }
+      for (Map.Entry<String, Object> entry : doc.entrySet()) {
+        if (!properties.containsKey(entry.getKey())) {
+          // dynamic mapping
+          properties.put(entry.getKey(), Maps.newHashMap(
+              Collections.singletonMap("type", dynamicType(entry.getValue()))));
+        }
+      }
+      remove(docId);
+      documents.put(docId, doc);
+      for (Map.Entry<String, float[]> vector : vectors.entrySet()) {
+        graphs.get(vector.getKey()).add(docId, vector.getValue());
+      }
+    }
+
+    private void remove(String docId) {
+      if (documents.remove(docId) != null) {
+        graphs.values().forEach(graph -> graph.remove(docId));
+      }
+    }
+
+    private List<SearchResult> search(String field, float[] query, int k, Map<String, Object> filter)
+        throws VectorDatabaseException {
+      HnswGraph graph = graphs.get(field);
+      if (graph == null) {
+        throw new VectorDatabaseException("Not a knn_vector field: " + field);
+      }
+      List<SearchResult> results = Lists.newArrayList();
+      for (HnswGraph.Candidate candidate : graph.search(query, k, HnswGraph.DEFAULT_EF_SEARCH,
+          docId -> matches(documents.get(docId), filter))) {
+        String docId = graph.getDocId(candidate.getNode());
+        results.add(new SearchResult(docId, graph.score(candidate), Maps.newLinkedHashMap(documents.get(docId))));
+      }
+      return results;
+    }
+
+    private boolean matches(Map<String, Object> doc, Map<String, Object> filter) {
+      if (filter == null) {
+        return true;
+      }
+      for (Map.Entry<String, Object> term : filter.entrySet()) {
+        Object value = doc.get(term.getKey());
+        if (value == null || !String.valueOf(value).equals(String.valueOf(term.getValue()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private float[] toVector(String field, Object value) throws VectorDatabaseException {
+      if (value instanceof float[]) {
+        return (float[]) value;
+      }
+      if (!(value instanceof List)) {
+        throw new VectorDatabaseException("Value of knn_vector field " + field + " is not an array");
+      }
+      List<?> values = (List<?>) value;
+      float[] vector = new float[values.size()];
+      for (int i = 0; i < vector.length; i++) {
+        if (!(values.get(i) instanceof Number)) {
+          throw new VectorDatabaseException("Value of knn_vector field " + field + " is not numeric");
+        }
+        vector[i] = ((Number) values.get(i)).floatValue();
+      }
+      return vector;
+    }
+
+    private String dynamicType(Object value) {
+      if (value instanceof List && !((List<?>) value).isEmpty()) {
+        return dynamicType(((List<?>) value).get(0));
+      } else if (value instanceof Integer || value instanceof Long) {
+        return "long";
+      } else if (value instanceof Number) {
+        return "float";
+      } else if (value instanceof Boolean) {
+        return "boolean";
+      } else if (value instanceof Map) {
+        return "object";
+      }
+      return "text";
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.ResponseException;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.rest.RestStatus;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk writer sending asynchronous bulk requests. The number of requests in flight is bounded by a semaphore, so add
+ * blocks when OpenSearch does not keep up. Documents, or whole requests, rejected because the cluster is overloaded
+ * are retried with exponential backoff, any other failure is reported by the next call to the writer.
+ */
+class OpensearchBulkWriter implements BulkWriter {
+
+  private final RestHighLevelClient client;
+  private final Index index;
+  private final BulkWriterConfig config;
+  private final Semaphore inFlight;
+  private final ScheduledExecutorService retryExecutor;
+  private final AtomicReference<VectorDatabaseException> failure = new AtomicReference<>();
+  private BulkRequest pending = new BulkRequest();
+  private boolean closed = false;
+
+  OpensearchBulkWriter(RestHighLevelClient client, Index index, BulkWriterConfig config,
+      ScheduledExecutorService retryExecutor) {
+    this.client = client;
+    this.index = index;
+    this.config = config;
+    this.inFlight = new Semaphore(config.getMaxConcurrentRequests());
+    this.retryExecutor = retryExecutor;
+  }
+
+  @Override
+  public synchronized void add(String docId, String data) throws VectorDatabaseException {
+    if (closed) {
+      throw new VectorDatabaseException("Bulk writer of index " + index.getName() + " is closed");
+    }
+    throwFailure();
+    IndexRequest indexRequest = new IndexRequest(index.getName()).source(data, XContentType.JSON);
+    if (docId != null) {
+      indexRequest.id(docId);
+    }
+    pending.add(indexRequest);
+    if (pending.numberOfActions() >= config.getMaxDocuments()
+        || pending.estimatedSizeInBytes() >= config.getMaxBytes()) {
+      send();
+    }
+  }
+
+  @Override
+  public synchronized void flush() throws VectorDatabaseException {
+    send();
+    // wait for the requests in flight
+    acquire(config.getMaxConcurrentRequests());
+    inFlight.release(config.getMaxConcurrentRequests());
+    throwFailure();
+  }
+
+  @Override
+  public synchronized void close() throws VectorDatabaseException {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      closed = true;
+    }
+  }
+
+  private void send() throws VectorDatabaseException {
+    if (pending.numberOfActions() == 0) {
+      return;
+    }
+    BulkRequest request = pending;
+    pending = new BulkRequest();
+    acquire(1);
+    execute(request, 0);
+  }
+
+  private void acquire(int permits) throws VectorDatabaseException {
+    try {
+      inFlight.acquire(permits);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VectorDatabaseException("Interrupted while waiting for bulk requests to complete");
+    }
+  }
+
+  // The permit acquired for the request is released once it is completed, retries included
+  private void execute(BulkRequest request, int attempt) {
+    client.bulkAsync(request, RequestOptions.DEFAULT, new ActionListener<BulkResponse>() {
+      @Override
+      public void onResponse(BulkResponse response) {
+        if (!response.hasFailures()) {
+          inFlight.release();
+          return;
+        }
+        BulkRequest rejected = new BulkRequest();
+        boolean retryable = true;
+        for (BulkItemResponse item : response.getItems()) {
+          if (!item.isFailed()) {
+            continue;
+          }
+          if (item.status() == RestStatus.TOO_MANY_REQUESTS) {
+            rejected.add(request.requests().get(item.getItemId()));
+          } else {
+            retryable = false;
+          }
+        }
+        if (retryable && attempt < config.getMaxRetries()) {
+          retry(rejected, attempt + 1);
+        } else {
+          fail(new VectorDatabaseException(
+              String.format("Index data failed partially. Response status %d; Message: %s",
+                  response.status().getStatus(), response.buildFailureMessage())));
+        }
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        // Nothing was indexed if the whole request was rejected, it can be sent again as it is
+        if (isRejected(e) && attempt < config.getMaxRetries()) {
+          retry(request, attempt + 1);
+        } else {
+          fail(new VectorDatabaseException("Cannot index data. Err: " + e));
+        }
+      }
+    });
+  }
+
+  private static boolean isRejected(Exception e) {
+    RestStatus status = null;
+    if (e instanceof OpenSearchException) {
+      status = ((OpenSearchException) e).status();
+    } else if (e instanceof ResponseException) {
+      status = RestStatus.fromCode(((ResponseException) e).getResponse().getStatusLine().getStatusCode());
+    }
+    return status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE;
+  }
+
+  private void retry(BulkRequest request, int attempt) {
+    try {
+      retryExecutor.schedule(() -> execute(request, attempt), config.getRetryDelayMs() << (attempt - 1),
+          TimeUnit.MILLISECONDS);
+    } catch (RuntimeException e) {
+      // the vector database was closed
+      fail(new VectorDatabaseException("Cannot retry rejected documents. Err: " + e));
+    }
+  }
+
+  private void fail(VectorDatabaseException e) {
+    failure.compareAndSet(null, e);
+    inFlight.release();
+  }
+
+  private void throwFailure() throws VectorDatabaseException {
+    VectorDatabaseException e = failure.getAndSet(null);
+    if (e != null) {
+      throw e;
+    }
+  }
+}
@@ -21,10 +21,10 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.opensearch.OpenSearchException;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
-import org.opensearch.action.bulk.BulkRequest;
-import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.master.AcknowledgedResponse;
@@ -48,9 +48,12 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -61,6 +64,8 @@ public class OpensearchVectorDatabase implements VectorDatabase {
   private ObjectMapper objectMapper = new ObjectMapper();
   private static final Logger LOGGER = Logger.getLogger(
       OpensearchVectorDatabase.class.getName());
+  // Schedules the retries of all the bulk writers, created with the first writer
+  private ScheduledExecutorService bulkRetryExecutor = null;
 
   public OpensearchVectorDatabase(RestHighLevelClient client) {
     this.client = client;
@@ -179,24 +184,37 @@ public class OpensearchVectorDatabase implements VectorDatabase {
 
   @Override
   public void batchWrite(Index index, List<String> data) throws VectorDatabaseException {
-    BulkRequest bulkRequest = new BulkRequest();
-    for (String doc : data) {
-      bulkRequest.add(
-          makeIndexRequest(index.getName(), doc, null)
-      );
+    // large batches are split into bounded bulk requests
+    try (BulkWriter writer = bulkWriter(index, BulkWriterConfig.defaults())) {
+      for (String doc : data) {
+        writer.add(null, doc);
+      }
     }
-    bulkRequest(bulkRequest);
   }
 
   @Override
   public void batchWrite(Index index, Map<String, String> data) throws VectorDatabaseException {
-    BulkRequest bulkRequest = new BulkRequest();
-    for (Map.Entry<String, String> entry : data.entrySet()) {
-      bulkRequest.add(
-          makeIndexRequest(index.getName(), entry.getValue(), entry.getKey())
-      );
+    try (BulkWriter writer = bulkWriter(index, BulkWriterConfig.defaults())) {
+      for (Map.Entry<String, String> entry : data.entrySet()) {
+        writer.add(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  @Override
+  public BulkWriter bulkWriter(Index index, BulkWriterConfig config) {
+    return new OpensearchBulkWriter(client, index, config, getBulkRetryExecutor());
+  }
+
+  private synchronized ScheduledExecutorService getBulkRetryExecutor() {
+    if (bulkRetryExecutor == null) {
+      bulkRetryExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "opensearch-bulk-writer-retry");
+        thread.setDaemon(true);
+        return thread;
+      });
     }
-    bulkRequest(bulkRequest);
+    return bulkRetryExecutor;
   }
 
   @Override
@@ -241,25 +259,75 @@ public class OpensearchVectorDatabase implements VectorDatabase {
     return results;
   }
 
-  private void bulkRequest(BulkRequest bulkRequest) throws VectorDatabaseException {
+  @Override
+  public List<SearchResult> search(Index index, String field, float[] query, int k, Map<String, Object> filter)
+      throws VectorDatabaseException {
     try {
-      BulkResponse response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-      if (response.status().getStatus() != 200) {
-        throw new VectorDatabaseException(
-            String.format("Cannot index data. Response status %d; Message: %s",
-                response.status().getStatus(), response.buildFailureMessage())
-        );
-      } else {
-        if (response.hasFailures()) {
-          throw new VectorDatabaseException(
-              String.format("Index data failed partially. Response status %d; Message: %s",
-                  response.status().getStatus(), response.buildFailureMessage())
-          );
+      SearchResponse response = client.search(makeKnnSearchRequest(index, field, query, k, filter),
+          RequestOptions.DEFAULT);
+      return toSearchResults(response);
+    } catch (IOException | OpenSearchException e) {
+      throw new VectorDatabaseException("Failed to search opensearch index: " + index.getName() + " Err: " + e);
+    }
+  }
+
+  @Override
+  public List<List<SearchResult>> batchSearch(Index index, String field, List<float[]> queries, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    List<List<SearchResult>> results = Lists.newArrayList();
+    if (queries.isEmpty()) {
+      return results;
+    }
+    MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+    for (float[] query : queries) {
+      multiSearchRequest.add(makeKnnSearchRequest(index, field, query, k, filter));
+    }
+    try {
+      MultiSearchResponse response = client.msearch(multiSearchRequest, RequestOptions.DEFAULT);
+      for (MultiSearchResponse.Item item : response.getResponses()) {
+        if (item.isFailure()) {
+          throw new VectorDatabaseException("Failed to search opensearch index: " + index.getName() + " Err: "
+              + item.getFailureMessage());
         }
+        results.add(toSearchResults(item.getResponse()));
       }
+    } catch (IOException | OpenSearchException e) {
+      throw new VectorDatabaseException("Failed to search opensearch index: " + index.getName() + " Err: " + e);
+    }
+    return results;
+  }
+
+  // The k-NN plugin filters the k nearest neighbours found on each shard, so a filter can return less than k results
+  private SearchRequest makeKnnSearchRequest(Index index, String field, float[] query, int k,
+      Map<String, Object> filter) throws VectorDatabaseException {
+    Map<String, Object> knnParams = Maps.newLinkedHashMap();
+    knnParams.put("vector", query);
+    knnParams.put("k", k);
+    String knnQuery;
+    try {
+      knnQuery = objectMapper.writeValueAsString(
+          Collections.singletonMap("knn", Collections.singletonMap(field, knnParams)));
     } catch (IOException e) {
-      throw new VectorDatabaseException("Cannot index data. Err: " + e);
+      throw new VectorDatabaseException("Failed to build k-NN query for field: " + field);
     }
+    BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery().must(QueryBuilders.wrapperQuery(knnQuery));
+    if (filter != null) {
+      for (Map.Entry<String, Object> entry : filter.entrySet()) {
+        boolQueryBuilder.filter(QueryBuilders.termQuery(entry.getKey(), entry.getValue()));
+      }
+    }
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+    sourceBuilder.query(boolQueryBuilder);
+    sourceBuilder.size(k);
+    return new SearchRequest(index.getName()).source(sourceBuilder);
+  }
+
+  private List<SearchResult> toSearchResults(SearchResponse searchResponse) {
+    List<SearchResult> results = Lists.newArrayList();
+    for (SearchHit hit : searchResponse.getHits().getHits()) {
+      results.add(new SearchResult(hit.getId(), hit.getScore(), hit.getSourceAsMap()));
+    }
+    return results;
   }
 
   @Override
@@ -326,6 +394,12 @@ public class OpensearchVectorDatabase implements VectorDatabase {
 
   @Override
   public void close() {
+    synchronized (this) {
+      if (bulkRetryExecutor != null) {
+        bulkRetryExecutor.shutdownNow();
+        bulkRetryExecutor = null;
+      }
+    }
     if (client != null) {
       try {
         client.close();
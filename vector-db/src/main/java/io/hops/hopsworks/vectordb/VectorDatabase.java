@@ -36,5 +36,24 @@ public interface VectorDatabase {
   void batchWrite(Index index, Map<String, String> data) throws VectorDatabaseException;
   void deleteByQuery(Index index, String query) throws VectorDatabaseException;
   List<Map<String, Object>> preview(Index index, Set<Field> fields, int n) throws VectorDatabaseException;
+
+  /**
+   * Approximate k nearest neighbour search.
+   *
+   * @param field the knn_vector field to search
+   * @param filter documents must have these exact field values, null for no filter. The filter may be applied to
+   *               the nearest neighbours found, in which case fewer than k documents are returned
+   * @return at most k documents, the closest first
+   */
+  List<SearchResult> search(Index index, String field, float[] query, int k, Map<String, Object> filter)
+      throws VectorDatabaseException;
+  /**
+   * Search the nearest neighbours of several query vectors in one request.
+   *
+   * @return the results of each query, in the order of the queries
+   */
+  List<List<SearchResult>> batchSearch(Index index, String field, List<float[]> queries, int k,
+      Map<String, Object> filter) throws VectorDatabaseException;
+  BulkWriter bulkWriter(Index index, BulkWriterConfig config) throws VectorDatabaseException;
   void close();
 }
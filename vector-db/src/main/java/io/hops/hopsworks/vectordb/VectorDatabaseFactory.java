@@ -74,5 +74,9 @@ public class VectorDatabaseFactory {
   public static VectorDatabase getOpensearchDatabase(RestHighLevelClient client) {
     return new OpensearchVectorDatabase(client);
   }
+
+  public static VectorDatabase getInMemoryDatabase() {
+    return new InMemoryVectorDatabase();
+  }
 }
 
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Hopsworks
+ * Copyright (C) 2024, Hopsworks AB. All rights reserved
+ *
+ * Hopsworks is free software: you can redistribute it and/or modify it under the terms of
+ * the GNU Affero General Public License as published by the Free Software Foundation,
+ * either version 3 of the License, or (at your option) any later version.
+ *
+ * Hopsworks is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR
+ * PURPOSE.  See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package io.hops.hopsworks.vectordb;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestInMemoryVectorDatabase {
+
+  private static final String MAPPING = "{\"mappings\": {\"properties\": {" +
+      "\"emb\": {\"type\": \"knn_vector\", \"dimension\": %d, \"method\": {\"space_type\": \"%s\"}}}}}";
+
+  private VectorDatabase vectorDatabase;
+  private final Index index = new Index("test_index");
+
+  @BeforeEach
+  public void setup() {
+    vectorDatabase = VectorDatabaseFactory.getInMemoryDatabase();
+  }
+
+  @Test
+  public void testSearch() throws Exception {
+    vectorDatabase.createIndex(index, String.format(MAPPING, 2, "l2"), false);
+    vectorDatabase.write(index, "{\"emb\": [0.0, 0.0], \"fg\": 1}", "a");
+    vectorDatabase.write(index, "{\"emb\": [1.0, 1.0], \"fg\": 2}", "b");
+    vectorDatabase.write(index, "{\"emb\": [5.0, 5.0], \"fg\": 1}", "c");
+
+    List<SearchResult> results = vectorDatabase.search(index, "emb", new float[]{0.9f, 0.9f}, 2, null);
+    Assertions.assertEquals(Arrays.asList("b", "a"), ids(results));
+    Assertions.assertTrue(results.get(0).getScore() > results.get(1).getScore());
+
+    results = vectorDatabase.search(index, "emb", new float[]{0.9f, 0.9f}, 2, Collections.singletonMap("fg", 1));
+    Assertions.assertEquals(Arrays.asList("a", "c"), ids(results));
+  }
+
+  @Test
+  public void testOverwriteAndDelete() throws Exception {
+    vectorDatabase.createIndex(index, String.format(MAPPING, 2, "l2"), false);
+    vectorDatabase.write(index, "{\"emb\": [0.0, 0.0], \"fg\": 1}", "a");
+    vectorDatabase.write(index, "{\"emb\": [5.0, 5.0], \"fg\": 2}", "b");
+    vectorDatabase.write(index, "{\"emb\": [1.0, 1.0], \"fg\": 2}", "b");
+
+    Assertions.assertEquals(Collections.singletonList("b"),
+        ids(vectorDatabase.search(index, "emb", new float[]{1f, 1f}, 1, null)));
+    Assertions.assertEquals(2, vectorDatabase.search(index, "emb", new float[]{1f, 1f}, 10, null).size());
+
+    vectorDatabase.deleteByQuery(index, "fg:2");
+    Assertions.assertEquals(Collections.singletonList("a"),
+        ids(vectorDatabase.search(index, "emb", new float[]{1f, 1f}, 10, null)));
+  }
+
+  @Test
+  public void testDimensionMismatch() throws Exception {
+    vectorDatabase.createIndex(index, String.format(MAPPING, 2, "l2"), false);
+    Assertions.assertThrows(VectorDatabaseException.class,
+        () -> vectorDatabase.write(index, "{\"emb\": [1.0]}", "a"));
+    Assertions.assertThrows(VectorDatabaseException.class,
+        () -> vectorDatabase.search(index, "emb", new float[]{1f}, 1, null));
+  }
+
+  @Test
+  public void testRecall() throws Exception {
+    int dimension = 16;
+    int k = 10;
+    vectorDatabase.createIndex(index, String.format(MAPPING, dimension, "cosinesimil"), false);
+    Random random = new Random(1);
+    Map<String, float[]> vectors = new HashMap<>();
+    try (BulkWriter writer = vectorDatabase.bulkWriter(index, BulkWriterConfig.defaults())) {
+      for (int i = 0; i < 2000; i++) {
+        float[] vector = randomVector(random, dimension);
+        vectors.put("doc" + i, vector);
+        writer.add("doc" + i, "{\"emb\": " + Arrays.toString(vector) + "}");
+      }
+    }
+
+    List<float[]> queries = IntStream.range(0, 20).mapToObj(i -> randomVector(random, dimension))
+        .collect(Collectors.toList());
+    List<List<SearchResult>> results = vectorDatabase.batchSearch(index, "emb", queries, k, null);
+    int found = 0;
+    for (int q = 0; q < queries.size(); q++) {
+      float[] query = queries.get(q);
+      Set<String> exact = vectors.entrySet().stream()
+          .sorted(Comparator.comparingDouble(entry -> -cosine(query, entry.getValue())))
+          .limit(k)
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toSet());
+      found += (int) results.get(q).stream().filter(result -> exact.contains(result.getId())).count();
+    }
+    Assertions.assertTrue(found >= 0.9 * k * queries.size(), "recall " + found / (double) (k * queries.size()));
+  }
+
+  @Test
+  public void testPreviewAndSchema() throws Exception {
+    vectorDatabase.createIndex(index, String.format(MAPPING, 2, "l2"), false);
+    vectorDatabase.write(index, "{\"emb\": [0.0, 0.0], \"fg\": 1}", "a");
+    vectorDatabase.write(index, "{\"other\": \"value\"}", "b");
+
+    Set<String> fields = vectorDatabase.getSchema(index).stream().map(Field::getName).collect(Collectors.toSet());
+    Assertions.assertEquals(new HashSet<>(Arrays.asList("emb", "fg", "other")), fields);
+    List<Map<String, Object>> preview =
+        vectorDatabase.preview(index, Collections.singleton(new Field("fg", null)), 10);
+    Assertions.assertEquals(1, preview.size());
+    Assertions.assertEquals(1, preview.get(0).get("fg"));
+  }
+
+  private List<String> ids(List<SearchResult> results) {
+    return results.stream().map(SearchResult::getId).collect(Collectors.toList());
+  }
+
+  private float[] randomVector(Random random, int dimension) {
+    float[] vector = new float[dimension];
+    for (int i = 0; i < dimension; i++) {
+      vector[i] = random.nextFloat() * 2 - 1;
+    }
+    return vector;
+  }
+
+  private double cosine(float[] v1, float[] v2) {
+    double dot = 0;
+    double norm1 = 0;
+    double norm2 = 0;
+    for (int i = 0; i < v1.length; i++) {
+      dot += v1[i] * v2[i];
+      norm1 += v1[i] * v1[i];
+      norm2 += v2[i] * v2[i];
+    }
+    return dot / Math.sqrt(norm1 * norm2);
+  }
+}